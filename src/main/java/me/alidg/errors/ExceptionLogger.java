@@ -8,6 +8,11 @@ import org.springframework.lang.Nullable;
  * <p>
  * For a richer alternative check {@link WebErrorHandlerPostProcessor}.
  *
+ * <p>
+ * The {@link me.alidg.errors.annotation.StacklessException}s don't have a stack trace, unless they're sampled.
+ * Implementations may use the {@link me.alidg.errors.annotation.StacklessException#hasStackTrace()} to only log
+ * the stack traces of the sampled ones.
+ *
  * @author Ali Dehghani
  * @implNote Do not throw exceptions in method implementations.
  */
@@ -0,0 +1,188 @@
+package me.alidg.errors;
+
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Caches the result of {@link WebErrorHandler} resolution per exception type. For each exception type,
+ * the first resolution would consult all registered handlers in order and remember:
+ * <ul>
+ * <li>The type based handlers refusing to handle the type, to skip them from now on.</li>
+ * <li>The first type based handler accepting the type, to stop the search right there.</li>
+ * <li>All other handlers before that, since their decision depends on the exception state.</li>
+ * </ul>
+ * So when the matched handler is preceded only by type based handlers, the subsequent resolutions for
+ * the same type would be a single lookup without any {@link WebErrorHandler#canHandle(Throwable)} call.
+ *
+ * <p>Resolutions are stored in a {@link ClassValue}, so the cache won't prevent exception classes and
+ * their class loaders from being garbage collected.
+ *
+ * <h3>Statistics</h3>
+ * The cache records three counters:
+ * <ul>
+ * <li>Hits: The handler was resolved from the cache without consulting any handler.</li>
+ * <li>Misses: The exception type was seen for the first time and all handlers were consulted.</li>
+ * <li>Bypasses: The cache was used but at least one state dependent handler had to be consulted.</li>
+ * </ul>
+ *
+ * @see WebErrorHandler#isTypeBased()
+ */
+public final class HandlerResolutionCache {
+
+    /**
+     * Ordered collection of handlers to consult when the exception type is seen for the first time.
+     */
+    private final List<WebErrorHandler> webErrorHandlers;
+
+    /**
+     * Resolutions for each exception type.
+     */
+    private final ClassValue<Resolution> resolutions = new ClassValue<Resolution>() {
+        @Override
+        protected Resolution computeValue(Class<?> type) {
+            return new Resolution();
+        }
+    };
+
+    /**
+     * Number of resolutions without consulting any handler.
+     */
+    private final LongAdder hits = new LongAdder();
+
+    /**
+     * Number of resolutions for never seen before exception types.
+     */
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Number of resolutions consulting at least one state dependent handler.
+     */
+    private final LongAdder bypasses = new LongAdder();
+
+    /**
+     * Creates a cache over the given ordered collection of handlers.
+     *
+     * @param webErrorHandlers The handlers to consult.
+     * @throws NullPointerException When the given collection is null.
+     */
+    HandlerResolutionCache(@NonNull List<WebErrorHandler> webErrorHandlers) {
+        this.webErrorHandlers = requireNonNull(webErrorHandlers, "Web error handlers are required");
+    }
+
+    /**
+     * Finds the first handler capable of handling the given exception.
+     *
+     * @param exception The exception to find a handler for.
+     * @return The matched handler or {@code null} if no handler can handle the exception.
+     */
+    @Nullable
+    WebErrorHandler find(@NonNull Throwable exception) {
+        Resolution resolution = resolutions.get(exception.getClass());
+        Candidates candidates = resolution.candidates;
+        if (candidates == null) {
+            misses.increment();
+            candidates = resolve(exception);
+            resolution.candidates = candidates;
+        } else if (candidates.stateDependent.length == 0) {
+            hits.increment();
+        } else {
+            bypasses.increment();
+        }
+
+        for (WebErrorHandler handler : candidates.stateDependent) {
+            if (handler.canHandle(exception)) return handler;
+        }
+
+        return candidates.matched;
+    }
+
+    /**
+     * @return Number of resolutions without consulting any handler.
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return Number of resolutions for never seen before exception types.
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * @return Number of resolutions consulting at least one state dependent handler.
+     */
+    public long getBypassCount() {
+        return bypasses.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "HandlerResolutionCache{" +
+            "hits=" + getHitCount() +
+            ", misses=" + getMissCount() +
+            ", bypasses=" + getBypassCount() +
+            '}';
+    }
+
+    /**
+     * Consults all handlers for the given exception type and keeps the ones that should be consulted
+     * for subsequent exceptions of the same type.
+     *
+     * <p>The state dependent handlers would not be consulted here, since they're going to be
+     * consulted right after this resolution anyway.
+     *
+     * @param exception The first exception of its type.
+     * @return The candidates to consult for the exception type.
+     */
+    private Candidates resolve(Throwable exception) {
+        List<WebErrorHandler> stateDependent = new ArrayList<>();
+        for (WebErrorHandler handler : webErrorHandlers) {
+            if (!handler.isTypeBased()) stateDependent.add(handler);
+            else if (handler.canHandle(exception)) return new Candidates(stateDependent, handler);
+        }
+
+        return new Candidates(stateDependent, null);
+    }
+
+    /**
+     * The cached resolution for a particular exception type. The candidates would be populated on the
+     * first exception of that type, since handlers need an actual exception to decide. Concurrent first
+     * resolutions would compute the same candidates, so the last write wins without any harm.
+     */
+    private static final class Resolution {
+
+        /**
+         * The resolved candidates or {@code null} if the type has never been resolved.
+         */
+        private volatile Candidates candidates;
+    }
+
+    /**
+     * Encapsulates the handlers to consult for a particular exception type.
+     */
+    private static final class Candidates {
+
+        /**
+         * State dependent handlers to consult in order.
+         */
+        private final WebErrorHandler[] stateDependent;
+
+        /**
+         * The matched type based handler, if any.
+         */
+        private final WebErrorHandler matched;
+
+        private Candidates(List<WebErrorHandler> stateDependent, WebErrorHandler matched) {
+            this.stateDependent = stateDependent.toArray(new WebErrorHandler[0]);
+            this.matched = matched;
+        }
+    }
+}
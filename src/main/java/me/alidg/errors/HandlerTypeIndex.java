@@ -0,0 +1,128 @@
+package me.alidg.errors;
+
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A type hierarchy index over {@link TypedWebErrorHandler}s, mapping each declared exception type to its
+ * handler. The declared types may be classes or interfaces implemented by the exceptions. Resolving a handler
+ * for an exception class walks the type hierarchy only once per class and the outcome would be remembered in a
+ * {@link ClassValue}.
+ *
+ * @see TypedWebErrorHandler
+ */
+final class HandlerTypeIndex {
+
+    /**
+     * Maps each declared exception type to its handler.
+     */
+    private final Map<Class<?>, WebErrorHandler> handlersByType;
+
+    /**
+     * Remembers the resolved handler for each exception class.
+     */
+    private final ClassValue<Optional<WebErrorHandler>> resolutions = new ClassValue<Optional<WebErrorHandler>>() {
+        @Override
+        protected Optional<WebErrorHandler> computeValue(Class<?> type) {
+            return Optional.ofNullable(resolve(type));
+        }
+    };
+
+    private HandlerTypeIndex(Map<Class<?>, WebErrorHandler> handlersByType) {
+        this.handlersByType = handlersByType;
+    }
+
+    /**
+     * Compiles the given typed handlers into an index.
+     *
+     * @param handlers The typed handlers to index.
+     * @return The compiled index or {@code null} when there is nothing to index.
+     * @throws IllegalArgumentException When two handlers declare the same exception type.
+     * @throws NullPointerException     When a handler returns a null collection of types.
+     */
+    @Nullable
+    static HandlerTypeIndex compile(@NonNull List<TypedWebErrorHandler> handlers) {
+        if (handlers.isEmpty()) return null;
+
+        Map<Class<?>, WebErrorHandler> handlersByType = new HashMap<>();
+        for (TypedWebErrorHandler handler : handlers) {
+            Collection<Class<? extends Throwable>> types = requireNonNull(handler.getHandledTypes(),
+                () -> "Handled types of " + handler.getClass().getName() + " can't be null");
+
+            for (Class<? extends Throwable> type : types) {
+                WebErrorHandler existing = handlersByType.putIfAbsent(type, handler);
+                if (existing != null && existing != handler)
+                    throw new IllegalArgumentException("Both " + existing.getClass().getName() + " and " +
+                        handler.getClass().getName() + " declare " + type.getName() + " as a handled type");
+            }
+        }
+
+        return new HandlerTypeIndex(Collections.unmodifiableMap(handlersByType));
+    }
+
+    /**
+     * Finds the handler declaring the most specific type for the given exception class.
+     *
+     * @param exceptionType The exception class.
+     * @return The matched handler or {@code null} if there is no such handler.
+     */
+    @Nullable
+    WebErrorHandler find(@NonNull Class<?> exceptionType) {
+        return resolutions.get(exceptionType).orElse(null);
+    }
+
+    /**
+     * Walks the superclass chain, starting from the exception class itself, and returns the handler of the
+     * first declared type. After each class in the chain, the interfaces it implements would be examined,
+     * breadth-first, i.e. the directly implemented interfaces before their super-interfaces.
+     *
+     * @param exceptionType The exception class.
+     * @return The matched handler or {@code null} if there is no such handler.
+     */
+    private WebErrorHandler resolve(Class<?> exceptionType) {
+        Set<Class<?>> visited = new HashSet<>();
+        for (Class<?> current = exceptionType; current != null; current = current.getSuperclass()) {
+            WebErrorHandler handler = handlersByType.get(current);
+            if (handler != null) return handler;
+
+            handler = resolveInterfaces(current, visited);
+            if (handler != null) return handler;
+        }
+
+        return null;
+    }
+
+    /**
+     * @param type    The class to examine its interfaces.
+     * @param visited The already examined interfaces.
+     * @return The handler of the first declared interface or {@code null} if there is no such handler.
+     */
+    private WebErrorHandler resolveInterfaces(Class<?> type, Set<Class<?>> visited) {
+        Deque<Class<?>> interfaces = new ArrayDeque<>(Arrays.asList(type.getInterfaces()));
+        while (!interfaces.isEmpty()) {
+            Class<?> current = interfaces.poll();
+            if (!visited.add(current)) continue;
+
+            WebErrorHandler handler = handlersByType.get(current);
+            if (handler != null) return handler;
+
+            interfaces.addAll(Arrays.asList(current.getInterfaces()));
+        }
+
+        return null;
+    }
+}
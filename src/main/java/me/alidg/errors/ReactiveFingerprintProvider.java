@@ -0,0 +1,23 @@
+package me.alidg.errors;
+
+import org.springframework.lang.NonNull;
+import reactor.core.publisher.Mono;
+
+/**
+ * The non-blocking counterpart of the {@link FingerprintProvider}, e.g. to fetch the fingerprints from a remote
+ * error tracker. When registered as a Spring bean in a reactive application, it would be used by the
+ * {@link ReactiveWebErrorHandlers} instead of the {@link FingerprintProvider}.
+ *
+ * @see ReactiveWebErrorHandlers
+ */
+public interface ReactiveFingerprintProvider {
+
+    /**
+     * Generates a hopefully unique fingerprint from the given {@code httpError}.
+     *
+     * @param httpError Error event for which fingerprint is generated.
+     * @return Fingerprint - an identifier of given error event, or an empty {@link Mono} when there is none.
+     */
+    @NonNull
+    Mono<String> generate(@NonNull HttpError httpError);
+}
@@ -0,0 +1,28 @@
+package me.alidg.errors;
+
+import org.springframework.lang.NonNull;
+import reactor.core.publisher.Mono;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Resolves the error messages without blocking, e.g. from a remote translation service. When registered as a
+ * Spring bean in a reactive application, it would be used by the {@link ReactiveWebErrorHandlers} instead of
+ * the {@link org.springframework.context.MessageSource}.
+ *
+ * @see me.alidg.errors.message.TemplateAwareMessageSource#interpolate(HandledException, Locale)
+ */
+public interface ReactiveMessageInterpolator {
+
+    /**
+     * Interpolates the messages for all error codes of the given {@link HandledException}.
+     *
+     * @param handled The handled exception to interpolate its error messages.
+     * @param locale  Locale.
+     * @return Error codes, in their original order, mapped to their message or {@code null} when there is no
+     * message for the code.
+     */
+    @NonNull
+    Mono<Map<String, String>> interpolate(@NonNull HandledException handled, @NonNull Locale locale);
+}
@@ -0,0 +1,28 @@
+package me.alidg.errors;
+
+import org.springframework.lang.NonNull;
+import reactor.core.publisher.Mono;
+
+/**
+ * The non-blocking counterpart of the {@link WebErrorHandlerPostProcessor}. Every post processor registered
+ * as a Spring bean in a reactive application will be subscribed to after the error is prepared by the
+ * {@link ReactiveWebErrorHandlers}. The response won't be written until the returned {@link Mono} completes.
+ *
+ * <p>Since these post processors are subscribed to on the calling thread, e.g. a Netty event-loop thread,
+ * they should never block. The plain {@link WebErrorHandlerPostProcessor}s, on the other hand, would be
+ * offloaded to a bounded scheduler automatically.
+ *
+ * @see ReactiveWebErrorHandlers
+ */
+public interface ReactiveWebErrorHandlerPostProcessor {
+
+    /**
+     * The logic to execute when we finished to handle the exception and just before returning the
+     * result.
+     *
+     * @param error HttpError to act upon.
+     * @return Completes when the post processing is done.
+     */
+    @NonNull
+    Mono<Void> process(@NonNull HttpError error);
+}
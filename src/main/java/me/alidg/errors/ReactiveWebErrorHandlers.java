@@ -0,0 +1,251 @@
+package me.alidg.errors;
+
+import me.alidg.errors.HttpError.CodedMessage;
+import me.alidg.errors.fingerprint.Md5FingerprintProvider;
+import me.alidg.errors.fingerprint.UuidFingerprintProvider;
+import me.alidg.errors.message.TemplateAwareMessageSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * The non-blocking variant of the {@link WebErrorHandlers}, meant to be used on the event-loop threads of
+ * reactive applications. The exceptions would be refined and handled exactly like the {@link WebErrorHandlers}
+ * but all the potentially blocking steps are either non-blocking or offloaded to a bounded {@link Scheduler}:
+ * <ul>
+ *     <li>The error messages would be resolved by the {@link ReactiveMessageInterpolator}, if any. Otherwise,
+ *     the {@link org.springframework.context.MessageSource} would be consulted on the calling thread only if
+ *     it never blocks, e.g. a {@link me.alidg.errors.message.SnapshotMessageSource}.</li>
+ *     <li>The fingerprints would be generated by the {@link ReactiveFingerprintProvider}, if any. Otherwise,
+ *     only the built-in {@link FingerprintProvider}s would run on the calling thread.</li>
+ *     <li>The {@link ReactiveWebErrorHandlerPostProcessor}s would be subscribed to on the calling thread, while
+ *     the plain {@link WebErrorHandlerPostProcessor}s would be offloaded.</li>
+ *     <li>The {@link ExceptionLogger}, if any, would be offloaded.</li>
+ * </ul>
+ * This way, a slow post processor, e.g. one writing to disk, would only occupy one of the scheduler threads,
+ * instead of stalling the event-loop and every connection on it. Since the scheduler is bounded, a burst
+ * of such errors won't create an unbounded number of threads, either.
+ *
+ * <p>Just like the {@link WebErrorHandlers}, the handled errors are memoized in the
+ * {@link WebErrorHandlers#HTTP_ERROR_ATTRIBUTE} exchange attribute, so the same exception would be handled only
+ * once per exchange.
+ *
+ * @see WebErrorHandlers
+ */
+public class ReactiveWebErrorHandlers {
+
+    /**
+     * Plain old logger.
+     */
+    private static final Logger log = LoggerFactory.getLogger(ReactiveWebErrorHandlers.class);
+
+    /**
+     * To refine and handle the exceptions, i.e. the non-blocking part of the exception handling.
+     */
+    @NonNull
+    private final WebErrorHandlers webErrorHandlers;
+
+    /**
+     * The bounded scheduler to offload the blocking components to.
+     */
+    @NonNull
+    private final Scheduler blockingScheduler;
+
+    /**
+     * Resolves the error messages without blocking the calling thread.
+     */
+    @NonNull
+    private final ReactiveMessageInterpolator messageInterpolator;
+
+    /**
+     * Generates the fingerprints without blocking the calling thread. This is {@code null} when the fingerprints
+     * are disabled.
+     */
+    @Nullable
+    private final ReactiveFingerprintProvider fingerprintProvider;
+
+    /**
+     * The offloaded plain post processors followed by the reactive ones.
+     */
+    @NonNull
+    private final List<ReactiveWebErrorHandlerPostProcessor> postProcessors;
+
+    /**
+     * Whether there is an actual {@link ExceptionLogger} to offload.
+     */
+    private final boolean logExceptions;
+
+    /**
+     * Initializes the reactive error handlers with the plain ones and the given reactive components.
+     *
+     * @param webErrorHandlers    To refine and handle the exceptions. Its blocking components would be offloaded.
+     * @param blockingScheduler   The bounded scheduler to offload the blocking components to.
+     * @param messageInterpolator The non-blocking message resolver, if any.
+     * @param fingerprintProvider The non-blocking fingerprint generator, if any.
+     * @param postProcessors      The non-blocking post processors.
+     * @throws NullPointerException When one of the required parameters is null.
+     */
+    public ReactiveWebErrorHandlers(@NonNull WebErrorHandlers webErrorHandlers,
+                                    @NonNull Scheduler blockingScheduler,
+                                    @Nullable ReactiveMessageInterpolator messageInterpolator,
+                                    @Nullable ReactiveFingerprintProvider fingerprintProvider,
+                                    @NonNull List<ReactiveWebErrorHandlerPostProcessor> postProcessors) {
+        this.webErrorHandlers = requireNonNull(webErrorHandlers, "Web error handlers is required");
+        this.blockingScheduler = requireNonNull(blockingScheduler, "The blocking scheduler is required");
+        requireNonNull(postProcessors, "Post processors are required");
+
+        this.messageInterpolator = messageInterpolator != null ? messageInterpolator : offloadIfBlocking(webErrorHandlers.getMessageSource());
+        this.fingerprintProvider = !webErrorHandlers.getErrorsProperties().isAddFingerprint() ? null :
+            fingerprintProvider != null ? fingerprintProvider : offloadIfBlocking(webErrorHandlers.getFingerprintProvider());
+        this.logExceptions = webErrorHandlers.getExceptionLogger() != ExceptionLogger.NoOp.INSTANCE;
+
+        List<ReactiveWebErrorHandlerPostProcessor> processors = new ArrayList<>();
+        for (WebErrorHandlerPostProcessor processor : webErrorHandlers.getWebErrorHandlerPostProcessors()) {
+            processors.add(error -> offload(() -> processor.process(error)));
+        }
+        processors.addAll(postProcessors);
+        this.postProcessors = Collections.unmodifiableList(processors);
+    }
+
+    /**
+     * The non-blocking variant of the {@link WebErrorHandlers#handle(Throwable, Object, Locale)}.
+     *
+     * @param originalException The originalException to handle.
+     * @param httpRequest       The current HTTP request.
+     * @param locale            Will be used to target a specific locale while translating the codes to error
+     *                          messages.
+     * @return Emits an {@link HttpError} instance containing both error and message combinations and also,
+     * the intended HTTP Status Code.
+     */
+    @NonNull
+    public Mono<HttpError> handle(@Nullable Throwable originalException,
+                                  @Nullable Object httpRequest,
+                                  @Nullable Locale locale) {
+        HttpError memoized = RequestScopedErrors.get(httpRequest, originalException);
+        if (memoized != null) return Mono.just(memoized);
+
+        return logIfNeeded(originalException).then(Mono.defer(() -> {
+            log.debug("About to handle an exception", originalException);
+            Throwable exception = webErrorHandlers.refineIfNeeded(originalException);
+            HandledException handled = webErrorHandlers.findHandler(exception).handle(exception);
+
+            return toHttpError(handled, originalException, exception, httpRequest, locale);
+        }));
+    }
+
+    /**
+     * The non-blocking variant of the {@link WebErrorHandlers#handle(HandledException, Throwable, Object, Locale)}.
+     *
+     * @param handled           The already handled error.
+     * @param originalException The exception behind the error, if any.
+     * @param httpRequest       The current HTTP request.
+     * @param locale            Will be used to target a specific locale while translating the codes to error
+     *                          messages.
+     * @return Emits an {@link HttpError} instance containing both error and message combinations and also,
+     * the intended HTTP Status Code.
+     * @throws NullPointerException When the handled error is null.
+     */
+    @NonNull
+    public Mono<HttpError> handle(@NonNull HandledException handled,
+                                  @Nullable Throwable originalException,
+                                  @Nullable Object httpRequest,
+                                  @Nullable Locale locale) {
+        requireNonNull(handled, "The handled error is required");
+        HttpError memoized = RequestScopedErrors.get(httpRequest, originalException);
+        if (memoized != null) return Mono.just(memoized);
+
+        return logIfNeeded(originalException)
+            .then(Mono.defer(() -> toHttpError(handled, originalException, originalException, httpRequest, locale)));
+    }
+
+    /**
+     * @return The plain error handlers performing the non-blocking part of the exception handling.
+     */
+    @NonNull
+    public WebErrorHandlers getWebErrorHandlers() {
+        return webErrorHandlers;
+    }
+
+    private Mono<HttpError> toHttpError(HandledException handled,
+                                        Throwable originalException,
+                                        Throwable exception,
+                                        Object httpRequest,
+                                        Locale locale) {
+        return messageInterpolator.interpolate(handled, locale == null ? Locale.ROOT : locale)
+            .map(messages -> {
+                List<CodedMessage> codeWithMessages = WebErrorHandlers.toCodedMessages(handled, messages);
+
+                HttpError httpError = new HttpError(codeWithMessages, handled.getStatusCode());
+                httpError.setOriginalException(originalException);
+                httpError.setRefinedException(exception);
+                httpError.setRequest(httpRequest);
+
+                return httpError;
+            })
+            .flatMap(this::addFingerprintIfNeeded)
+            .flatMap(this::postProcess)
+            .doOnNext(httpError -> RequestScopedErrors.put(httpRequest, httpError));
+    }
+
+    private Mono<HttpError> addFingerprintIfNeeded(HttpError httpError) {
+        if (fingerprintProvider == null) return Mono.just(httpError);
+
+        return fingerprintProvider.generate(httpError)
+            .doOnNext(fingerprint -> {
+                log.debug("Generated fingerprint: {}", fingerprint);
+                httpError.setFingerprint(fingerprint);
+            })
+            .thenReturn(httpError);
+    }
+
+    private Mono<HttpError> postProcess(HttpError httpError) {
+        if (postProcessors.isEmpty()) return Mono.just(httpError);
+
+        log.debug("About to execute {} error handler post processors", postProcessors.size());
+        return Flux.fromIterable(postProcessors)
+            .concatMap(processor -> processor.process(httpError))
+            .then(Mono.just(httpError));
+    }
+
+    private Mono<Void> logIfNeeded(Throwable exception) {
+        if (!logExceptions || exception == null) return Mono.empty();
+
+        ExceptionLogger exceptionLogger = webErrorHandlers.getExceptionLogger();
+        return offload(() -> exceptionLogger.log(exception));
+    }
+
+    private Mono<Void> offload(Runnable blockingTask) {
+        return Mono.<Void>fromRunnable(blockingTask).subscribeOn(blockingScheduler);
+    }
+
+    private ReactiveMessageInterpolator offloadIfBlocking(TemplateAwareMessageSource messageSource) {
+        if (messageSource.isNonBlocking())
+            return (handled, locale) -> Mono.fromSupplier(() -> messageSource.interpolate(handled, locale));
+
+        return (handled, locale) -> Mono.fromSupplier(() -> messageSource.interpolate(handled, locale))
+            .subscribeOn(blockingScheduler);
+    }
+
+    /**
+     * The built-in fingerprint providers are CPU-bound, so they would run on the calling thread.
+     */
+    private ReactiveFingerprintProvider offloadIfBlocking(FingerprintProvider fingerprintProvider) {
+        if (fingerprintProvider instanceof UuidFingerprintProvider || fingerprintProvider instanceof Md5FingerprintProvider)
+            return httpError -> Mono.justOrEmpty(fingerprintProvider.generate(httpError));
+
+        return httpError -> Mono.fromSupplier(() -> fingerprintProvider.generate(httpError))
+            .subscribeOn(blockingScheduler);
+    }
+}
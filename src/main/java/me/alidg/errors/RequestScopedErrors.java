@@ -0,0 +1,121 @@
+package me.alidg.errors;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.server.ServerWebExchange;
+
+/**
+ * Memoizes the handled {@link HttpError} of each request in one of its attributes, keyed by the identity of the
+ * original exception. So when the same exception goes through the error handling more than once during a single
+ * request, e.g. first through the controller advice and then through the error attributes on the ERROR dispatch,
+ * the refinement, translation, fingerprinting and post-processing would happen only once.
+ *
+ * <p>Both Servlet {@link WebRequest}s and reactive {@link ServerWebExchange}s or {@link ServerRequest}s are
+ * supported. Any other request representation, including {@code null}, would not be memoized.
+ *
+ * @see WebErrorHandlers#HTTP_ERROR_ATTRIBUTE
+ */
+final class RequestScopedErrors {
+
+    /**
+     * Whether the Spring Web, i.e. the {@link WebRequest} and {@link ServerWebExchange}, is on the classpath.
+     */
+    private static final boolean WEB_PRESENT =
+        ClassUtils.isPresent("org.springframework.web.server.ServerWebExchange", RequestScopedErrors.class.getClassLoader());
+
+    /**
+     * Whether the Spring WebFlux, i.e. the {@link ServerRequest}, is on the classpath.
+     */
+    private static final boolean WEBFLUX_PRESENT = ClassUtils.isPresent(
+        "org.springframework.web.reactive.function.server.ServerRequest", RequestScopedErrors.class.getClassLoader());
+
+    private RequestScopedErrors() {
+    }
+
+    /**
+     * @param request   The current HTTP request, if any.
+     * @param exception The original exception to handle, if any.
+     * @return The already handled error of the same exception in the same request, if any. Otherwise {@code null}.
+     */
+    @Nullable
+    static HttpError get(@Nullable Object request, @Nullable Throwable exception) {
+        if (request == null || exception == null) return null;
+
+        Object memoized = getAttribute(request);
+        if (memoized instanceof HttpError && ((HttpError) memoized).getOriginalException() == exception)
+            return (HttpError) memoized;
+
+        return null;
+    }
+
+    /**
+     * Memoizes the given handled error in the given request, if it has an original exception.
+     *
+     * @param request   The current HTTP request, if any.
+     * @param httpError The handled error.
+     */
+    static void put(@Nullable Object request, HttpError httpError) {
+        if (request == null || httpError.getOriginalException() == null) return;
+
+        if (WEB_PRESENT && WebAccessor.put(request, httpError)) return;
+        if (WEBFLUX_PRESENT) WebFluxAccessor.put(request, httpError);
+    }
+
+    private static Object getAttribute(Object request) {
+        if (WEB_PRESENT) {
+            Object attribute = WebAccessor.get(request);
+            if (attribute != null) return attribute;
+        }
+
+        return WEBFLUX_PRESENT ? WebFluxAccessor.get(request) : null;
+    }
+
+    /**
+     * Isolates the Spring Web types, so they won't be loaded when they're not on the classpath.
+     */
+    private static final class WebAccessor {
+
+        private static Object get(Object request) {
+            if (request instanceof WebRequest)
+                return ((WebRequest) request).getAttribute(WebErrorHandlers.HTTP_ERROR_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+            if (request instanceof ServerWebExchange)
+                return ((ServerWebExchange) request).getAttribute(WebErrorHandlers.HTTP_ERROR_ATTRIBUTE);
+
+            return null;
+        }
+
+        private static boolean put(Object request, HttpError httpError) {
+            if (request instanceof WebRequest) {
+                ((WebRequest) request).setAttribute(WebErrorHandlers.HTTP_ERROR_ATTRIBUTE, httpError, RequestAttributes.SCOPE_REQUEST);
+                return true;
+            }
+            if (request instanceof ServerWebExchange) {
+                ((ServerWebExchange) request).getAttributes().put(WebErrorHandlers.HTTP_ERROR_ATTRIBUTE, httpError);
+                return true;
+            }
+
+            return false;
+        }
+    }
+
+    /**
+     * Isolates the Spring WebFlux types, so they won't be loaded when they're not on the classpath.
+     */
+    private static final class WebFluxAccessor {
+
+        private static Object get(Object request) {
+            if (request instanceof ServerRequest)
+                return ((ServerRequest) request).attribute(WebErrorHandlers.HTTP_ERROR_ATTRIBUTE).orElse(null);
+
+            return null;
+        }
+
+        private static void put(Object request, HttpError httpError) {
+            if (request instanceof ServerRequest)
+                ((ServerRequest) request).attributes().put(WebErrorHandlers.HTTP_ERROR_ATTRIBUTE, httpError);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package me.alidg.errors;
+
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import java.util.Collection;
+
+/**
+ * A {@link WebErrorHandler} declaring the exception types it can handle up front. Instead of being consulted
+ * one after another, typed handlers would be compiled into a type hierarchy index when the
+ * {@link WebErrorHandlers} is built. Then for any given exception, the handler declaring the most specific
+ * type would be selected, regardless of the registration order. For example, given the following handlers:
+ * <pre>
+ * {@code
+ *     public class ParentHandler implements TypedWebErrorHandler {
+ *
+ *         public Collection<Class<? extends Throwable>> getHandledTypes() {
+ *             return singletonList(IllegalArgumentException.class);
+ *         }
+ *         // omitted
+ *     }
+ *
+ *     public class ChildHandler implements TypedWebErrorHandler {
+ *
+ *         public Collection<Class<? extends Throwable>> getHandledTypes() {
+ *             return singletonList(NumberFormatException.class);
+ *         }
+ *         // omitted
+ *     }
+ * }
+ * </pre>
+ * A {@link NumberFormatException} would always be handled by the {@code ChildHandler}, while other
+ * {@link IllegalArgumentException}s would be handled by the {@code ParentHandler}.
+ *
+ * <p>The most specific type is determined by walking the superclass chain, starting from the exception class
+ * itself. After each class in the chain, the interfaces it implements, and then their super-interfaces, would be
+ * examined. So a handler may also declare a marker interface implemented by a family of exceptions. The registration order is still respected: the typical {@link WebErrorHandler}s registered before the
+ * matched typed handler would be consulted first and the typed handler would be selected only if none of them
+ * can handle the exception. So a broad typed handler, e.g. one for {@link RuntimeException}, registered after
+ * the built-in handlers won't pre-empt them.
+ *
+ * @see WebErrorHandlers
+ */
+public interface TypedWebErrorHandler extends WebErrorHandler {
+
+    /**
+     * Collection of exception types this handler can handle. Subtypes of the returned types are also
+     * supported by the handler. The returned collection is read only once when building the
+     * {@link WebErrorHandlers}.
+     *
+     * @return Collection of supported exception types.
+     */
+    @NonNull
+    Collection<Class<? extends Throwable>> getHandledTypes();
+
+    /**
+     * Determines whether the given exception is an instance of one of the {@link #getHandledTypes()}.
+     *
+     * @param exception The exception to examine.
+     * @return {@code true} if the exception is an instance of a handled type, {@code false} otherwise.
+     */
+    @Override
+    default boolean canHandle(@Nullable Throwable exception) {
+        if (exception == null) return false;
+
+        for (Class<? extends Throwable> type : getHandledTypes()) {
+            if (type.isInstance(exception)) return true;
+        }
+
+        return false;
+    }
+
+    @Override
+    default boolean isTypeBased() {
+        return true;
+    }
+}
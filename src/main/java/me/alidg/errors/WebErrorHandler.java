@@ -24,6 +24,23 @@ public interface WebErrorHandler {
      */
     boolean canHandle(@Nullable Throwable exception);
 
+    /**
+     * Determines whether the {@link #canHandle(Throwable)} decision depends only on the exception
+     * type and not on the exception state. Type based handlers are eligible for the handler resolution
+     * cache, which evaluates {@link #canHandle(Throwable)} only once per exception type.
+     *
+     * <p>The default implementation returns {@code false}, so handlers inspecting the exception state
+     * would be consulted for every single exception. Handlers deciding using a few {@code instanceof}
+     * checks, or any other check on the exception class, should override this to return {@code true}.
+     *
+     * @return {@code true} if the same exception type always results in the same decision, {@code false}
+     * otherwise.
+     * @see HandlerResolutionCache
+     */
+    default boolean isTypeBased() {
+        return false;
+    }
+
     /**
      * Handles the given exception and returns an instance of {@link HandledException}.
      * This method should be called iff the call to {@link #canHandle(Throwable)} for
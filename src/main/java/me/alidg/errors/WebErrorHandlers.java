@@ -4,6 +4,10 @@ import me.alidg.errors.HttpError.CodedMessage;
 import me.alidg.errors.conf.ErrorsProperties;
 import me.alidg.errors.fingerprint.UuidFingerprintProvider;
 import me.alidg.errors.handlers.LastResortWebErrorHandler;
+import me.alidg.errors.message.AcceptLanguageLocaleResolver;
+import me.alidg.errors.message.MappedMessageSource;
+import me.alidg.errors.message.MessageTemplateCache;
+import me.alidg.errors.message.SnapshotMessageSource;
 import me.alidg.errors.message.TemplateAwareMessageSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -11,13 +15,18 @@ import org.springframework.context.MessageSource;
 import org.springframework.lang.NonNull;
 import org.springframework.lang.Nullable;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
 
 import static java.util.Collections.emptyList;
 import static java.util.Objects.requireNonNull;
-import static java.util.stream.Collectors.toList;
 
 /**
  * A factory over {@link WebErrorHandler} implementations. The factory would query all the
@@ -26,7 +35,26 @@ import static java.util.stream.Collectors.toList;
  * <h3>Code to Message Translation</h3>
  * The {@link WebErrorHandlers} is also responsible for Error Code to Error Message translation
  * and i18n (RIP SRP!). In order to fulfill this requirement, we need an instance of {@link MessageSource}
- * to translate error codes to error messages.
+ * to translate error codes to error messages. With {@link ErrorsProperties#isCacheMessages()} enabled, the resolved
+ * message templates would be cached per error code and locale in a {@link MessageTemplateCache}.
+ *
+ * <h3>Locale Resolution</h3>
+ * With {@link ErrorsProperties.LocaleResolution#isEnabled()}, the {@link #resolveLocale(String, Locale)} would
+ * resolve the locale from the {@code Accept-Language} header using an {@link AcceptLanguageLocaleResolver}, matching
+ * it against the configured locales or the locales of the message catalog. Otherwise, the locale resolved by the
+ * web framework would be used as is.
+ *
+ * <h3>Typed Exception Handlers</h3>
+ * The {@link TypedWebErrorHandler}s are indexed by their handled types and the most specific one would be
+ * selected for each exception type. Still, the registration order is respected: other {@link WebErrorHandler}s
+ * registered before the selected typed handler would be consulted first, so a broad typed handler registered
+ * after the built-in ones can't pre-empt them.
+ *
+ * <h3>Request Scoped Memoization</h3>
+ * The handled {@link HttpError}s are memoized in the {@link #HTTP_ERROR_ATTRIBUTE} request attribute, keyed by the
+ * identity of the original exception. So when the same exception is handled more than once during the same request,
+ * e.g. by the controller advice and then by the error attributes on the ERROR dispatch, the first {@link HttpError}
+ * would be reused and the exception would be logged and post-processed only once.
  *
  * <h3>Default Exception Handler</h3>
  * By default, when we couldn't find any {@link WebErrorHandler} implementation to handle the
@@ -41,6 +69,11 @@ import static java.util.stream.Collectors.toList;
  */
 public class WebErrorHandlers {
 
+    /**
+     * The request attribute holding the last handled {@link HttpError} of the current request.
+     */
+    public static final String HTTP_ERROR_ATTRIBUTE = WebErrorHandlers.class.getName() + ".HTTP_ERROR";
+
     /**
      * Plain old logger.
      */
@@ -99,6 +132,39 @@ public class WebErrorHandlers {
     @NonNull
     private WebErrorHandler defaultWebErrorHandler = LastResortWebErrorHandler.INSTANCE;
 
+    /**
+     * Indexes all {@link TypedWebErrorHandler}s by their handled types. This is {@code null} when there is
+     * no typed handler.
+     */
+    @Nullable
+    private final HandlerTypeIndex handlerTypeIndex;
+
+    /**
+     * Handlers not present in the {@link #handlerTypeIndex}, which should be consulted one after another.
+     */
+    @NonNull
+    private final List<WebErrorHandler> untypedHandlers;
+
+    /**
+     * The registration position of each handler, to decide between a typed and an untyped match.
+     */
+    @NonNull
+    private final Map<WebErrorHandler, Integer> positions;
+
+    /**
+     * Caches the handler resolutions per exception type. This is {@code null} unless the
+     * {@link ErrorsProperties#isCacheHandlerResolution()} is enabled.
+     */
+    @Nullable
+    private final HandlerResolutionCache handlerResolutionCache;
+
+    /**
+     * Resolves the locales from the {@code Accept-Language} headers. This is {@code null} unless the
+     * {@link ErrorsProperties.LocaleResolution#isEnabled()} is enabled.
+     */
+    @Nullable
+    private final AcceptLanguageLocaleResolver localeResolver;
+
     /**
      * Backward-compatible constructor with defaults for {@link #webErrorHandlerPostProcessors}
      *
@@ -118,7 +184,7 @@ public class WebErrorHandlers {
         this(messageSource, webErrorHandlers, defaultWebErrorHandler,
             exceptionRefiner != null ? exceptionRefiner : ExceptionRefiner.NoOp.INSTANCE,
             exceptionLogger != null ? exceptionLogger : ExceptionLogger.NoOp.INSTANCE,
-            Collections.emptyList(), new UuidFingerprintProvider(), new ErrorsProperties());
+            Collections.emptyList(), new UuidFingerprintProvider(), new ErrorsProperties(), null);
     }
 
     /**
@@ -136,8 +202,10 @@ public class WebErrorHandlers {
      * @param webErrorHandlerPostProcessors Executes additional actions on HttpError.
      * @param fingerprintProvider           Calculates fingerprint of error message.
      * @param errorsProperties              Configuration properties bean.
+     * @param messageCacheDuration          How long the cached message templates are valid, if cached at all.
      * @throws NullPointerException     When one of the required parameters is null.
-     * @throws IllegalArgumentException When the collection of implementations is empty.
+     * @throws IllegalArgumentException When the collection of implementations is empty or two
+     *                                  {@link TypedWebErrorHandler}s declare the same type.
      */
     WebErrorHandlers(@NonNull MessageSource messageSource,
                      @NonNull List<WebErrorHandler> webErrorHandlers,
@@ -146,16 +214,34 @@ public class WebErrorHandlers {
                      @NonNull ExceptionLogger exceptionLogger,
                      @NonNull List<WebErrorHandlerPostProcessor> webErrorHandlerPostProcessors,
                      @NonNull FingerprintProvider fingerprintProvider,
-                     @NonNull ErrorsProperties errorsProperties) {
+                     @NonNull ErrorsProperties errorsProperties,
+                     @Nullable Duration messageCacheDuration) {
         this.errorsProperties = requireNonNull(errorsProperties);
         this.messageSource = new TemplateAwareMessageSource(
-            requireNonNull(messageSource, "We need a MessageSource implementation to message translation"));
+            requireNonNull(messageSource, "We need a MessageSource implementation to message translation"),
+            errorsProperties.isCacheMessages() ?
+                new MessageTemplateCache(MessageTemplateCache.DEFAULT_CAPACITY, messageCacheDuration) :
+                null);
         this.webErrorHandlers = requireAtLeastOneHandler(webErrorHandlers);
         if (defaultWebErrorHandler != null) this.defaultWebErrorHandler = defaultWebErrorHandler;
         this.exceptionRefiner = requireNonNull(exceptionRefiner);
         this.exceptionLogger = requireNonNull(exceptionLogger);
         this.webErrorHandlerPostProcessors = requireNonNull(webErrorHandlerPostProcessors);
         this.fingerprintProvider = requireNonNull(fingerprintProvider);
+
+        List<TypedWebErrorHandler> typedHandlers = new ArrayList<>();
+        this.untypedHandlers = new ArrayList<>();
+        this.positions = new IdentityHashMap<>();
+        for (WebErrorHandler handler : this.webErrorHandlers) {
+            if (handler instanceof TypedWebErrorHandler) typedHandlers.add((TypedWebErrorHandler) handler);
+            else untypedHandlers.add(handler);
+            positions.putIfAbsent(handler, positions.size());
+        }
+        this.handlerTypeIndex = HandlerTypeIndex.compile(typedHandlers);
+        this.handlerResolutionCache = errorsProperties.isCacheHandlerResolution() ?
+            new HandlerResolutionCache(untypedHandlers) : null;
+        this.localeResolver = errorsProperties.getLocaleResolution().isEnabled() ?
+            createLocaleResolver(errorsProperties.getLocaleResolution(), messageSource) : null;
     }
 
     /**
@@ -169,6 +255,26 @@ public class WebErrorHandlers {
         return new WebErrorHandlersBuilder(messageSource);
     }
 
+    private static AcceptLanguageLocaleResolver createLocaleResolver(ErrorsProperties.LocaleResolution properties,
+                                                                     MessageSource messageSource) {
+        Supplier<? extends Collection<Locale>> supportedLocales;
+        if (!properties.getSupportedLocales().isEmpty()) {
+            List<Locale> configured = new ArrayList<>(properties.getSupportedLocales());
+            supportedLocales = () -> configured;
+        } else if (messageSource instanceof SnapshotMessageSource) {
+            supportedLocales = ((SnapshotMessageSource) messageSource)::getLocales;
+        } else if (messageSource instanceof MappedMessageSource) {
+            List<Locale> catalogLocales = ((MappedMessageSource) messageSource).getLocales();
+            supportedLocales = () -> catalogLocales;
+        } else {
+            supportedLocales = Collections::emptyList;
+        }
+
+        Locale defaultLocale = properties.getDefaultLocale();
+        return new AcceptLanguageLocaleResolver(supportedLocales,
+            defaultLocale != null ? defaultLocale : Locale.getDefault(), properties.getCacheCapacity());
+    }
+
     private static <T> List<T> requireAtLeastOneHandler(List<T> handlers) {
         if (requireNonNull(handlers, "Collection of error handlers is required").isEmpty())
             throw new IllegalArgumentException("We need at least one error handler");
@@ -186,13 +292,40 @@ public class WebErrorHandlers {
      * @param locale            Will be used to target a specific locale while translating the codes to error
      *                          messages.
      * @return An {@link HttpError} instance containing both error and message combinations and also,
-     * the intended HTTP Status Code.
+     * the intended HTTP Status Code. When the same exception is already handled during the same request, the
+     * already handled error would be returned as is.
      */
     @NonNull
     public HttpError handle(@Nullable Throwable originalException, @Nullable Object httpRequest, @Nullable Locale locale) {
+        return handle(originalException, httpRequest, locale, true);
+    }
+
+    /**
+     * Handles the given exception exactly like the {@link #handle(Throwable, Object, Locale)}, except that the
+     * exception won't be logged by the {@link ExceptionLogger} and the {@link WebErrorHandlerPostProcessor}s won't
+     * be executed. This is useful to exercise the error handling path, e.g. while warming up the JIT compiler,
+     * without polluting the logs and metrics.
+     *
+     * @param exception The exception to handle.
+     * @param locale    Will be used to target a specific locale while translating the codes to error messages.
+     * @return An {@link HttpError} instance containing both error and message combinations and also,
+     * the intended HTTP Status Code.
+     */
+    @NonNull
+    public HttpError handleSilently(@Nullable Throwable exception, @Nullable Locale locale) {
+        return handle(exception, null, locale, false);
+    }
+
+    private HttpError handle(Throwable originalException, Object httpRequest, Locale locale, boolean sideEffects) {
         if (locale == null) locale = Locale.ROOT;
 
-        exceptionLogger.log(originalException);
+        HttpError memoized = RequestScopedErrors.get(httpRequest, originalException);
+        if (memoized != null) {
+            log.debug("The '{}' exception is already handled in this request", className(originalException));
+            return memoized;
+        }
+
+        if (sideEffects) exceptionLogger.log(originalException);
 
         log.debug("About to handle an exception", originalException);
 
@@ -202,6 +335,48 @@ public class WebErrorHandlers {
         log.debug("The '{}' is going to handle the '{}' exception", className(handler), className(exception));
 
         HandledException handled = handler.handle(exception);
+
+        return toHttpError(handled, originalException, exception, httpRequest, locale, sideEffects);
+    }
+
+    /**
+     * Converts an already handled error, e.g. a bare 404 status, to its corresponding {@link HttpError}. This is
+     * the fast path for the status-only errors, as there is no exception to refine or find a handler for. The
+     * original exception, if any, would be logged and the {@link WebErrorHandlerPostProcessor}s would be executed
+     * as usual.
+     *
+     * @param handled           The already handled error.
+     * @param originalException The exception behind the error, if any.
+     * @param httpRequest       The current HTTP request.
+     * @param locale            Will be used to target a specific locale while translating the codes to error
+     *                          messages.
+     * @return An {@link HttpError} instance containing both error and message combinations and also,
+     * the intended HTTP Status Code. When the same original exception is already handled during the same request,
+     * the already handled error would be returned as is.
+     * @throws NullPointerException When the handled error is null.
+     */
+    @NonNull
+    public HttpError handle(@NonNull HandledException handled,
+                            @Nullable Throwable originalException,
+                            @Nullable Object httpRequest,
+                            @Nullable Locale locale) {
+        requireNonNull(handled, "The handled error is required");
+        HttpError memoized = RequestScopedErrors.get(httpRequest, originalException);
+        if (memoized != null) return memoized;
+
+        if (originalException != null) exceptionLogger.log(originalException);
+        log.debug("About to translate the already handled '{}' error", handled.getErrorCodes());
+
+        return toHttpError(handled, originalException, originalException, httpRequest,
+            locale == null ? Locale.ROOT : locale, true);
+    }
+
+    private HttpError toHttpError(HandledException handled,
+                                  Throwable originalException,
+                                  Throwable exception,
+                                  Object httpRequest,
+                                  Locale locale,
+                                  boolean sideEffects) {
         List<CodedMessage> codeWithMessages = translateErrors(handled, locale);
 
         HttpError httpError = new HttpError(codeWithMessages, handled.getStatusCode());
@@ -215,13 +390,115 @@ public class WebErrorHandlers {
             httpError.setFingerprint(fingerprint);
         }
 
-        log.debug("About to execute {} error handler post processors", webErrorHandlerPostProcessors.size());
-        webErrorHandlerPostProcessors.forEach(p -> p.process(httpError));
+        if (sideEffects) {
+            log.debug("About to execute {} error handler post processors", webErrorHandlerPostProcessors.size());
+            webErrorHandlerPostProcessors.forEach(p -> p.process(httpError));
+            RequestScopedErrors.put(httpRequest, httpError);
+        }
 
         return httpError;
     }
 
-    private Throwable refineIfNeeded(Throwable exception) {
+    /**
+     * Resolves the locale to translate the error codes with. When the locale resolution is enabled, the given
+     * {@code Accept-Language} header value would be matched against the supported locales. Otherwise, the given
+     * locale, i.e. the one resolved by the web framework, would be returned as is.
+     *
+     * @param acceptLanguage The raw {@code Accept-Language} header value, if any.
+     * @param fallback       The locale resolved by the web framework, if any.
+     * @return The locale to translate the error codes with.
+     * @see ErrorsProperties.LocaleResolution
+     */
+    @Nullable
+    public Locale resolveLocale(@Nullable String acceptLanguage, @Nullable Locale fallback) {
+        return localeResolver == null ? fallback : localeResolver.resolve(acceptLanguage);
+    }
+
+    /**
+     * @return The {@code Accept-Language} based locale resolver, if enabled. Otherwise {@code null}.
+     * @see ErrorsProperties.LocaleResolution#isEnabled()
+     */
+    @Nullable
+    public AcceptLanguageLocaleResolver getLocaleResolver() {
+        return localeResolver;
+    }
+
+    /**
+     * @return The handler resolution cache, if enabled. Otherwise {@code null}.
+     * @see ErrorsProperties#isCacheHandlerResolution()
+     */
+    @Nullable
+    public HandlerResolutionCache getHandlerResolutionCache() {
+        return handlerResolutionCache;
+    }
+
+    /**
+     * @return The cache of resolved message templates, if enabled. Otherwise {@code null}. Call its
+     * {@link MessageTemplateCache#clear()} method whenever the {@link MessageSource} reloads its messages.
+     * @see ErrorsProperties#isCacheMessages()
+     */
+    @Nullable
+    public MessageTemplateCache getMessageCache() {
+        return messageSource.getMessageCache();
+    }
+
+    /**
+     * @return The source used to translate error codes to messages.
+     */
+    @NonNull
+    public TemplateAwareMessageSource getMessageSource() {
+        return messageSource;
+    }
+
+    /**
+     * @return The registered {@link WebErrorHandler}s, in their priority order, excluding the default handler.
+     */
+    @NonNull
+    public List<WebErrorHandler> getWebErrorHandlers() {
+        return Collections.unmodifiableList(webErrorHandlers);
+    }
+
+    /**
+     * @return The fallback {@link WebErrorHandler}.
+     */
+    @NonNull
+    public WebErrorHandler getDefaultWebErrorHandler() {
+        return defaultWebErrorHandler;
+    }
+
+    /**
+     * @return The logger of the to-be-handled exceptions.
+     */
+    @NonNull
+    public ExceptionLogger getExceptionLogger() {
+        return exceptionLogger;
+    }
+
+    /**
+     * @return The registered {@link WebErrorHandlerPostProcessor}s, in their execution order.
+     */
+    @NonNull
+    public List<WebErrorHandlerPostProcessor> getWebErrorHandlerPostProcessors() {
+        return Collections.unmodifiableList(webErrorHandlerPostProcessors);
+    }
+
+    /**
+     * @return The fingerprint generator.
+     */
+    @NonNull
+    public FingerprintProvider getFingerprintProvider() {
+        return fingerprintProvider;
+    }
+
+    /**
+     * @return The configuration properties of the error starter.
+     */
+    @NonNull
+    public ErrorsProperties getErrorsProperties() {
+        return errorsProperties;
+    }
+
+    Throwable refineIfNeeded(Throwable exception) {
         Throwable refined = exceptionRefiner.refine(exception);
         if (refined != null) {
             log.debug("The caught exception got refined", refined);
@@ -232,31 +509,38 @@ public class WebErrorHandlers {
     }
 
     private List<CodedMessage> translateErrors(HandledException handled, Locale locale) {
-        return handled
-            .getErrorCodes()
-            .stream()
-            .map(code -> withMessage(code, getArgumentsFor(handled, code), locale))
-            .collect(toList());
+        return toCodedMessages(handled, messageSource.interpolate(handled, locale));
     }
 
-    private CodedMessage withMessage(String code, List<Argument> arguments, Locale locale) {
-        try {
-            String message = messageSource.interpolate(code, arguments, locale);
-
-            return new CodedMessage(code, message, arguments);
-        } catch (Exception e) {
-            return new CodedMessage(code, null, arguments);
+    static List<CodedMessage> toCodedMessages(HandledException handled, Map<String, String> messages) {
+        List<CodedMessage> codedMessages = new ArrayList<>(messages.size());
+        for (Map.Entry<String, String> message : messages.entrySet()) {
+            String code = message.getKey();
+            codedMessages.add(new CodedMessage(code, message.getValue(), getArgumentsFor(handled, code)));
         }
+
+        return codedMessages;
     }
 
-    private WebErrorHandler findHandler(Throwable exception) {
+    WebErrorHandler findHandler(Throwable exception) {
         if (exception == null) return defaultWebErrorHandler;
 
-        return webErrorHandlers
-            .stream()
-            .filter(p -> p.canHandle(exception))
-            .findFirst()
-            .orElse(defaultWebErrorHandler);
+        WebErrorHandler typed = handlerTypeIndex == null ? null : handlerTypeIndex.find(exception.getClass());
+        int typedPosition = typed == null ? Integer.MAX_VALUE : positions.get(typed);
+
+        if (handlerResolutionCache != null) {
+            WebErrorHandler handler = handlerResolutionCache.find(exception);
+            if (handler != null && positions.get(handler) < typedPosition) return handler;
+
+            return typed == null ? defaultWebErrorHandler : typed;
+        }
+
+        for (WebErrorHandler handler : untypedHandlers) {
+            if (positions.get(handler) >= typedPosition) break;
+            if (handler.canHandle(exception)) return handler;
+        }
+
+        return typed == null ? defaultWebErrorHandler : typed;
     }
 
     private String className(Object toInspect) {
@@ -265,7 +549,7 @@ public class WebErrorHandlers {
         return toInspect.getClass().getName();
     }
 
-    private List<Argument> getArgumentsFor(HandledException handled, String errorCode) {
+    private static List<Argument> getArgumentsFor(HandledException handled, String errorCode) {
         return handled.getArguments().getOrDefault(errorCode, emptyList());
     }
 }
@@ -5,7 +5,9 @@ import me.alidg.errors.fingerprint.UuidFingerprintProvider;
 import me.alidg.errors.handlers.LastResortWebErrorHandler;
 import org.springframework.context.MessageSource;
 import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -62,6 +64,12 @@ public final class WebErrorHandlersBuilder {
      */
     private FingerprintProvider fingerprintProvider = new UuidFingerprintProvider();
 
+    /**
+     * How long the cached message templates are valid. When {@code null}, the
+     * {@link ErrorsProperties#getMessageCacheDuration()} would be used.
+     */
+    private Duration messageCacheDuration;
+
     /**
      * Creates a basic instance of the builder.
      *
@@ -203,16 +211,35 @@ public final class WebErrorHandlersBuilder {
     }
 
     /**
-     * Creates the {@link WebErrorHandlers} instance from the current builder state.
+     * Determines how long the cached message templates are valid, regardless of the
+     * {@link ErrorsProperties#getMessageCacheDuration()}.
+     *
+     * @param messageCacheDuration How long the cached templates are valid. Pass {@code null} to use the
+     *                             {@link ErrorsProperties#getMessageCacheDuration()}.
+     * @return This builder.
+     * @see #messageCacheDuration
+     */
+    public WebErrorHandlersBuilder withMessageCacheDuration(@Nullable Duration messageCacheDuration) {
+        this.messageCacheDuration = messageCacheDuration;
+
+        return this;
+    }
+
+    /**
+     * Creates the {@link WebErrorHandlers} instance from the current builder state. All registered
+     * {@link TypedWebErrorHandler}s would be compiled into a type hierarchy index, so the most specific
+     * handler for each exception type can be resolved regardless of the registration order.
      *
      * @return Instance of {@link WebErrorHandlers}.
+     * @throws IllegalArgumentException When two {@link TypedWebErrorHandler}s declare the same type.
      */
     @NonNull
     public WebErrorHandlers build() {
         return new WebErrorHandlers(
             messageSource, webErrorHandlers, defaultWebErrorHandler,
             exceptionRefiner, exceptionLogger, webErrorHandlerPostProcessors,
-            fingerprintProvider, errorsProperties
+            fingerprintProvider, errorsProperties,
+            messageCacheDuration != null ? messageCacheDuration : errorsProperties.getMessageCacheDuration()
         );
     }
 }
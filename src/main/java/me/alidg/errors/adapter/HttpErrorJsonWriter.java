@@ -0,0 +1,211 @@
+package me.alidg.errors.adapter;
+
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import me.alidg.errors.Argument;
+import me.alidg.errors.HttpError;
+import me.alidg.errors.HttpError.CodedMessage;
+import me.alidg.errors.conf.ErrorsProperties;
+import me.alidg.errors.conf.ErrorsProperties.ArgumentExposure;
+import org.springframework.lang.NonNull;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Writes the JSON representation of a handled {@link HttpError} straight into an {@link OutputStream}, e.g. a
+ * response buffer or stream. This is used by the components bypassing the framework's error rendering machinery,
+ * i.e. the error attributes, content negotiation and message converters.
+ *
+ * <p>When the {@link DefaultHttpErrorAttributesAdapter} is in use, its representation would be streamed directly
+ * from the {@link HttpError}, without any intermediate map. Otherwise, the map returned by the custom
+ * {@link HttpErrorAttributesAdapter} would be serialized as is.
+ *
+ * <p>Since the default representation is a map, the streamed fields follow the same inclusion rules the given
+ * {@link ObjectMapper} applies to the map values, e.g. null messages would be omitted with the
+ * {@code spring.jackson.default-property-inclusion=non_null}. The {@link Include#CUSTOM} inclusion is not supported
+ * by the streamed representation, though.
+ */
+public final class HttpErrorJsonWriter {
+
+    /**
+     * Adapts the internal representation of errors to a custom representation.
+     */
+    private final HttpErrorAttributesAdapter httpErrorAttributesAdapter;
+
+    /**
+     * To serialize the exposed arguments and custom representations.
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * To expose the arguments when streaming the default representation, just like the default adapter.
+     */
+    private final ErrorsProperties errorsProperties;
+
+    /**
+     * Whether the object mapper omits the null map values.
+     */
+    private final boolean suppressNulls;
+
+    /**
+     * Whether the object mapper omits the empty map values, e.g. empty strings or collections.
+     */
+    private final boolean suppressEmpty;
+
+    /**
+     * Whether we can stream the default representation without adapting the error.
+     */
+    private final boolean defaultRepresentation;
+
+    /**
+     * Initializes the writer with required dependencies.
+     *
+     * @param httpErrorAttributesAdapter To adapt our representation of an error, if customized.
+     * @param errorsProperties           To expose the arguments, as the default representation does.
+     * @param objectMapper               To write the JSON representations.
+     * @throws NullPointerException When one of the required parameters is null.
+     */
+    public HttpErrorJsonWriter(HttpErrorAttributesAdapter httpErrorAttributesAdapter,
+                               ErrorsProperties errorsProperties,
+                               ObjectMapper objectMapper) {
+        this.httpErrorAttributesAdapter = requireNonNull(httpErrorAttributesAdapter, "Adapter is required");
+        this.errorsProperties = requireNonNull(errorsProperties, "Errors properties is required");
+        this.objectMapper = requireNonNull(objectMapper, "Object mapper is required");
+        this.defaultRepresentation = httpErrorAttributesAdapter.getClass() == DefaultHttpErrorAttributesAdapter.class;
+
+        SerializationConfig config = objectMapper.getSerializationConfig();
+        Include inclusion = config.getDefaultPropertyInclusion(Map.class).getContentInclusion();
+        this.suppressEmpty = inclusion == Include.NON_EMPTY;
+        this.suppressNulls = suppressEmpty || inclusion == Include.NON_NULL || inclusion == Include.NON_ABSENT ||
+            inclusion == Include.NON_DEFAULT || !config.isEnabled(SerializationFeature.WRITE_NULL_MAP_VALUES);
+    }
+
+    /**
+     * Writes the representation of the given error into the given stream. The stream would not be closed.
+     *
+     * @param outputStream The stream to write into.
+     * @param httpError    The handled error to write.
+     * @throws IOException When failed to write the representation.
+     */
+    public void write(@NonNull OutputStream outputStream, @NonNull HttpError httpError) throws IOException {
+        if (defaultRepresentation) writeDefaultRepresentation(outputStream, httpError);
+        else writeCustomRepresentation(outputStream, httpError);
+    }
+
+    private void writeCustomRepresentation(OutputStream outputStream, HttpError httpError) throws IOException {
+        try (JsonGenerator generator = createGenerator(outputStream)) {
+            objectMapper.writeValue(generator, httpErrorAttributesAdapter.adapt(httpError));
+        }
+    }
+
+    /**
+     * Streams the representation of the {@link DefaultHttpErrorAttributesAdapter} without building it.
+     */
+    private void writeDefaultRepresentation(OutputStream outputStream, HttpError httpError) throws IOException {
+        ArgumentExposure argumentExposure = errorsProperties.getExposeArguments();
+        SerializerProvider provider = suppressEmpty ? objectMapper.getSerializerProviderInstance() : null;
+        try (JsonGenerator generator = createGenerator(outputStream)) {
+            generator.writeStartObject();
+            if (!isSuppressed(provider, httpError.getErrors())) {
+                generator.writeArrayFieldStart("errors");
+                for (CodedMessage error : httpError.getErrors()) {
+                    generator.writeStartObject();
+                    writeField(generator, provider, "code", error.getCode());
+                    writeField(generator, provider, "message", error.getMessage());
+                    writeArguments(generator, provider, argumentExposure, error.getArguments());
+                    generator.writeEndObject();
+                }
+                generator.writeEndArray();
+            }
+
+            if (httpError.getFingerprint() != null) writeField(generator, provider, "fingerprint", httpError.getFingerprint());
+            generator.writeEndObject();
+        }
+    }
+
+    private void writeArguments(JsonGenerator generator,
+                                SerializerProvider provider,
+                                ArgumentExposure argumentExposure,
+                                List<Argument> arguments) throws IOException {
+        if (argumentExposure == ArgumentExposure.NEVER) return;
+        if (argumentExposure == ArgumentExposure.NON_EMPTY && (arguments == null || arguments.isEmpty())) return;
+        if (suppressEmpty && !hasIncludedArgument(provider, arguments)) return;
+
+        generator.writeObjectFieldStart("arguments");
+        if (arguments != null) {
+            for (int i = 0; i < arguments.size(); i++) {
+                Argument argument = arguments.get(i);
+                if (isOverridden(arguments, i)) continue;
+
+                writeField(generator, provider, argument.getName(), argument.getValue());
+            }
+        }
+        generator.writeEndObject();
+    }
+
+    /**
+     * Creates a generator configured the same way as the generators the {@link #objectMapper} creates itself,
+     * e.g. to indent the output, if enabled.
+     */
+    private JsonGenerator createGenerator(OutputStream outputStream) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+        objectMapper.getSerializationConfig().initialize(generator);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        return generator;
+    }
+
+    private void writeField(JsonGenerator generator, SerializerProvider provider, String name, Object value)
+        throws IOException {
+        if (isSuppressed(provider, value)) return;
+
+        generator.writeFieldName(name);
+        generator.writeObject(value);
+    }
+
+    /**
+     * Just like the {@link ObjectMapper} writing a map, determines whether the given map value should be omitted.
+     * The provider is only required when the empty values are suppressed.
+     */
+    private boolean isSuppressed(SerializerProvider provider, Object value) throws IOException {
+        if (value == null) return suppressNulls;
+        if (!suppressEmpty) return false;
+
+        return provider.findValueSerializer(value.getClass()).isEmpty(provider, value);
+    }
+
+    /**
+     * Whether the arguments map would have at least one entry after omitting the suppressed values.
+     */
+    private boolean hasIncludedArgument(SerializerProvider provider, List<Argument> arguments) throws IOException {
+        if (arguments == null) return false;
+
+        for (int i = 0; i < arguments.size(); i++) {
+            if (!isOverridden(arguments, i) && !isSuppressed(provider, arguments.get(i).getValue())) return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Just like the arguments map of the default representation, the latter arguments override the former
+     * ones with the same name.
+     */
+    private static boolean isOverridden(List<Argument> arguments, int index) {
+        String name = arguments.get(index).getName();
+        for (int i = index + 1; i < arguments.size(); i++) {
+            if (name.equals(arguments.get(i).getName())) return true;
+        }
+
+        return false;
+    }
+}
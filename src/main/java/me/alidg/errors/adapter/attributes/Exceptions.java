@@ -1,10 +1,16 @@
 package me.alidg.errors.adapter.attributes;
 
+import me.alidg.errors.HandledException;
 import me.alidg.errors.annotation.ExceptionMapping;
 import me.alidg.errors.annotation.ExposeAsArg;
+import me.alidg.errors.annotation.StacklessException;
 
 import java.util.Map;
 
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static me.alidg.errors.Argument.arg;
 import static me.alidg.errors.handlers.ServletWebErrorHandler.NO_HANDLER;
 import static me.alidg.errors.handlers.SpringSecurityWebErrorHandler.ACCESS_DENIED;
 import static me.alidg.errors.handlers.SpringSecurityWebErrorHandler.AUTH_REQUIRED;
@@ -17,9 +23,61 @@ import static org.springframework.http.HttpStatus.*;
  */
 class Exceptions {
 
+    /**
+     * The precomputed outcome of handling a 401 without any exception.
+     */
+    private static final HandledException UNAUTHORIZED_ERROR =
+        new HandledException(AUTH_REQUIRED, UNAUTHORIZED, singletonMap(AUTH_REQUIRED, emptyList()));
+
+    /**
+     * The precomputed outcome of handling a 403 without any exception.
+     */
+    private static final HandledException FORBIDDEN_ERROR =
+        new HandledException(ACCESS_DENIED, FORBIDDEN, singletonMap(ACCESS_DENIED, emptyList()));
+
+    /**
+     * The shared exception behind the 401s without any exception. Being stackless and stateless, it's safe to share.
+     */
+    private static final Exception UNAUTHORIZED_EXCEPTION = new UnauthorizedException();
+
+    /**
+     * The shared exception behind the 403s without any exception. Being stackless and stateless, it's safe to share.
+     */
+    private static final Exception FORBIDDEN_EXCEPTION = new ForbiddenException();
+
+    /**
+     * Given a classic set of error attributes, it will determine the handled error from the status code,
+     * without creating any exception. This is the fast path for the status-only errors, e.g. the 404s during
+     * a scanner or bot flood, and is equivalent to handling the {@link #refineUnknownException(Map)} outcome.
+     *
+     * @param attributes Key-value pairs representing the error attributes.
+     * @return The handled error or {@code null} if the status code is not a 401, 403 or 404.
+     */
+    static HandledException handleUnknownStatus(Map<String, Object> attributes) {
+        switch (getStatusCode(attributes)) {
+            case 401:
+                return UNAUTHORIZED_ERROR;
+            case 403:
+                return FORBIDDEN_ERROR;
+            case 404:
+                return handlerNotFound(getPath(attributes));
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * @param path The request path.
+     * @return The handled error for a not found handler, exposing the given path.
+     */
+    static HandledException handlerNotFound(String path) {
+        return new HandledException(NO_HANDLER, NOT_FOUND, singletonMap(NO_HANDLER, singletonList(arg("path", path))));
+    }
+
     /**
      * Given a classic set of error attributes, it will determines the to-be-handled
-     * exception from the status code.
+     * exception from the status code. The 401 and 403 exceptions are shared and the 404
+     * one is stackless, so they're cheap enough to be passed along the fast path, too.
      *
      * @param attributes Key-value pairs representing the error attributes.
      * @return The mapped exception.
@@ -27,9 +85,9 @@ class Exceptions {
     static Exception refineUnknownException(Map<String, Object> attributes) {
         switch (getStatusCode(attributes)) {
             case 401:
-                return new UnauthorizedException();
+                return UNAUTHORIZED_EXCEPTION;
             case 403:
-                return new ForbiddenException();
+                return FORBIDDEN_EXCEPTION;
             case 404:
                 return new HandlerNotFoundException(getPath(attributes));
             default:
@@ -57,15 +115,23 @@ class Exceptions {
     }
 
     @ExceptionMapping(statusCode = UNAUTHORIZED, errorCode = AUTH_REQUIRED)
-    private static final class UnauthorizedException extends RuntimeException {
+    private static final class UnauthorizedException extends StacklessException {
+
+        private UnauthorizedException() {
+            super(null);
+        }
     }
 
     @ExceptionMapping(statusCode = FORBIDDEN, errorCode = ACCESS_DENIED)
-    private static final class ForbiddenException extends RuntimeException {
+    private static final class ForbiddenException extends StacklessException {
+
+        private ForbiddenException() {
+            super(null);
+        }
     }
 
     @ExceptionMapping(statusCode = NOT_FOUND, errorCode = NO_HANDLER)
-    private static final class HandlerNotFoundException extends RuntimeException {
+    private static final class HandlerNotFoundException extends StacklessException {
 
         /**
          * The to-be-exposed path.
@@ -75,6 +141,7 @@ class Exceptions {
         private final String path;
 
         private HandlerNotFoundException(String path) {
+            super(null);
             this.path = path;
         }
     }
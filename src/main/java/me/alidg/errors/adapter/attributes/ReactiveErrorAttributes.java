@@ -4,11 +4,12 @@ import me.alidg.errors.HttpError;
 import me.alidg.errors.WebErrorHandlers;
 import me.alidg.errors.adapter.HttpErrorAttributesAdapter;
 import org.springframework.boot.web.reactive.error.DefaultErrorAttributes;
-import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.reactive.function.server.ServerRequest;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.Locale;
 import java.util.Map;
 
 import static java.util.Objects.requireNonNull;
@@ -49,7 +50,14 @@ public class ReactiveErrorAttributes extends DefaultErrorAttributes {
 
     /**
      * Handles the exception by delegating it to the {@link #webErrorHandlers} and then adapting
-     * the representation.
+     * the representation. The not found {@link ResponseStatusException}s are translated from a
+     * precomputed handled error, just like the not found errors in the Servlet stack.
+     *
+     * <p>The locale would be resolved from the request itself, as the thread-local
+     * {@link org.springframework.context.i18n.LocaleContextHolder} is meaningless on the event-loop threads.
+     *
+     * <p>Since the adapted representation is built only from the {@link HttpError}, the default timestamp,
+     * message and stack trace attributes would be discarded anyway. So they won't be computed at all.
      *
      * @param request           The source request.
      * @param includeStackTrace whether to include the error stacktrace information.
@@ -57,18 +65,31 @@ public class ReactiveErrorAttributes extends DefaultErrorAttributes {
      */
     @Override
     public Map<String, Object> getErrorAttributes(ServerRequest request, boolean includeStackTrace) {
-        Map<String, Object> attributes = super.getErrorAttributes(request, includeStackTrace);
         Throwable exception = getError(request);
-        if (exception == null || isNotFoundException(exception))
-            exception = Exceptions.refineUnknownException(attributes);
+        Locale locale = resolveLocale(request);
 
-        HttpError httpError = webErrorHandlers.handle(exception, request, LocaleContextHolder.getLocale());
+        HttpError httpError = isNotFoundException(exception) ?
+            webErrorHandlers.handle(Exceptions.handlerNotFound(request.path()), exception, request, locale) :
+            webErrorHandlers.handle(exception, request, locale);
         Map<String, Object> adapted = httpErrorAttributesAdapter.adapt(httpError);
         adapted.put("status", httpError.getHttpStatus().value());
 
         return adapted;
     }
 
+    /**
+     * Resolves the locale from the exchange, falling back to the JVM default locale when the request does not
+     * specify any, just like the Servlet requests.
+     *
+     * @param request The source request.
+     * @return The locale to translate the error codes with.
+     */
+    private Locale resolveLocale(ServerRequest request) {
+        Locale requestLocale = request.exchange().getLocaleContext().getLocale();
+        return webErrorHandlers.resolveLocale(request.headers().asHttpHeaders().getFirst(HttpHeaders.ACCEPT_LANGUAGE),
+            requestLocale != null ? requestLocale : Locale.getDefault());
+    }
+
     /**
      * Returns {@code true} if the given exception represents a not found kind of
      * {@link ResponseStatusException}.
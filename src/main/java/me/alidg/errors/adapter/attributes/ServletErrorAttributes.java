@@ -1,11 +1,15 @@
 package me.alidg.errors.adapter.attributes;
 
+import me.alidg.errors.HandledException;
 import me.alidg.errors.HttpError;
 import me.alidg.errors.WebErrorHandlers;
 import me.alidg.errors.adapter.HttpErrorAttributesAdapter;
 import org.springframework.boot.web.servlet.error.DefaultErrorAttributes;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.context.request.WebRequest;
 
+import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
 
 import static java.util.Objects.requireNonNull;
@@ -29,6 +33,11 @@ public class ServletErrorAttributes extends DefaultErrorAttributes {
      */
     private static final String STATUS_CODE_ATTR = "javax.servlet.error.status_code";
 
+    /**
+     * The request attribute holding the original request URI.
+     */
+    private static final String REQUEST_URI_ATTR = "javax.servlet.error.request_uri";
+
     /**
      * To handle exceptions.
      */
@@ -57,26 +66,58 @@ public class ServletErrorAttributes extends DefaultErrorAttributes {
 
     /**
      * Extracts the thrown exception from the request attributes. If it was null, then checks the stored
-     * status code and tries its best to find an exception related to that status code. Finally, handles
+     * status code and tries its best to find an error related to that status code. Finally, handles
      * the exception using the {@link #webErrorHandlers} and adapts the returned {@link HttpError} to a
      * Spring Boot compatible representation.
      *
+     * <p>Since the adapted representation is built only from the {@link HttpError}, the default timestamp,
+     * message, binding errors and stack trace attributes would be discarded anyway. So they won't be computed
+     * at all and only the status code and path would be read from the request, when there is no exception.
+     *
      * @param webRequest        The current HTTP request.
      * @param includeStackTrace Whether or not to include the stack trace in the error attributes.
      * @return Error details.
      */
     @Override
     public Map<String, Object> getErrorAttributes(WebRequest webRequest, boolean includeStackTrace) {
-        Map<String, Object> attributes = super.getErrorAttributes(webRequest, includeStackTrace);
         Throwable exception = getError(webRequest);
-        if (exception == null) exception = Exceptions.refineUnknownException(attributes);
-
-        HttpError httpError = webErrorHandlers.handle(exception, webRequest, webRequest.getLocale());
+        HttpError httpError = exception == null ?
+            handleUnknownStatus(webRequest) :
+            webErrorHandlers.handle(exception, webRequest, resolveLocale(webRequest));
         saveStatusCodeInRequest(webRequest, httpError);
 
         return httpErrorAttributesAdapter.adapt(httpError);
     }
 
+    /**
+     * Handles the errors without any exception, e.g. the 404s, using their status code. The 401, 403 and 404
+     * errors are translated from precomputed handled errors, without handling their exception reflectively.
+     * Still, their stackless exceptions are passed along as the original exception, so the logger, post
+     * processors and fingerprint providers would see the same exception as before.
+     *
+     * @param webRequest The current HTTP request.
+     * @return The handled error.
+     */
+    private HttpError handleUnknownStatus(WebRequest webRequest) {
+        Map<String, Object> attributes = new HashMap<>(4);
+        attributes.put("status", webRequest.getAttribute(STATUS_CODE_ATTR, SCOPE_REQUEST));
+        attributes.put("path", webRequest.getAttribute(REQUEST_URI_ATTR, SCOPE_REQUEST));
+
+        Exception exception = Exceptions.refineUnknownException(attributes);
+        HandledException handled = Exceptions.handleUnknownStatus(attributes);
+        if (handled != null) return webErrorHandlers.handle(handled, exception, webRequest, resolveLocale(webRequest));
+
+        return webErrorHandlers.handle(exception, webRequest, resolveLocale(webRequest));
+    }
+
+    /**
+     * @param webRequest The current HTTP request.
+     * @return The locale resolved from the {@code Accept-Language} header, if enabled, or the request locale.
+     */
+    private Locale resolveLocale(WebRequest webRequest) {
+        return webErrorHandlers.resolveLocale(webRequest.getHeader(HttpHeaders.ACCEPT_LANGUAGE), webRequest.getLocale());
+    }
+
     /**
      * Storing the handled status code in the request as an attribute. The
      * {@link org.springframework.boot.autoconfigure.web.servlet.error.BasicErrorController}
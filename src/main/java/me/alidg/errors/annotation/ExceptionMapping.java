@@ -11,6 +11,7 @@ import java.lang.annotation.*;
  *
  * @author Ali Dehghani
  * @see ExposeAsArg
+ * @see StacklessException
  * @see me.alidg.errors.handlers.AnnotatedWebErrorHandler
  */
 @Inherited
@@ -32,4 +33,13 @@ public @interface ExceptionMapping {
      * @return The status code.
      */
     HttpStatus statusCode();
+
+    /**
+     * Whether the exception should capture its stack trace, even though it extends the
+     * {@link StacklessException}. Other exceptions always capture their stack traces, so this
+     * has no effect on them.
+     *
+     * @return {@code true} to capture the stack trace of {@link StacklessException}s.
+     */
+    boolean stackTrace() default false;
 }
@@ -0,0 +1,122 @@
+package me.alidg.errors.annotation;
+
+import org.springframework.lang.Nullable;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A base class for the {@link ExceptionMapping} exceptions representing expected control flow, e.g. an order
+ * not being found or an insufficient balance. Filling the stack trace dominates the cost of throwing such
+ * exceptions, while their stack traces are rarely of any use. So the subclasses won't capture their stack
+ * traces, unless:
+ * <ul>
+ *     <li>The exception is annotated with {@code @ExceptionMapping(stackTrace = true)}.</li>
+ *     <li>The exception is sampled, i.e. the {@link #setStackTraceSamplingRate(double)} is positive. This way
+ *     a few stack traces can still be captured, e.g. while debugging.</li>
+ * </ul>
+ * For example:
+ * <pre>
+ *
+ *     &#64;ExceptionMapping(statusCode=NOT_FOUND, errorCode="order.not_found")
+ *     public class OrderNotFoundException extends StacklessException {
+ *         &#64;ExposeAsArg(0) private final String orderId;
+ *
+ *         // constructor and etc.
+ *     }
+ * </pre>
+ * These exceptions would be handled by the {@link me.alidg.errors.handlers.AnnotatedWebErrorHandler} just like
+ * any other {@link ExceptionMapping} exceptions. Also, the {@link me.alidg.errors.ExceptionLogger}s can use the
+ * {@link #hasStackTrace()} to only log the stack traces of the sampled exceptions.
+ *
+ * @see ExceptionMapping#stackTrace()
+ */
+public abstract class StacklessException extends RuntimeException {
+
+    /**
+     * Whether each exception class should capture its stack traces, regardless of the sampling.
+     */
+    private static final ClassValue<Boolean> STACK_TRACES = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            ExceptionMapping mapping = type.getAnnotation(ExceptionMapping.class);
+            return mapping != null && mapping.stackTrace();
+        }
+    };
+
+    /**
+     * The probability of capturing the stack trace of a stackless exception, between {@code 0} and {@code 1}.
+     */
+    private static volatile double stackTraceSamplingRate = 0;
+
+    /**
+     * Whether this particular exception has captured its stack trace.
+     */
+    private transient boolean stackTraceCaptured;
+
+    /**
+     * Creates a stackless exception with the given message.
+     *
+     * @param message The exception message.
+     */
+    protected StacklessException(@Nullable String message) {
+        super(message);
+    }
+
+    /**
+     * Creates a stackless exception with the given message and cause.
+     *
+     * @param message The exception message.
+     * @param cause   The exception cause.
+     */
+    protected StacklessException(@Nullable String message, @Nullable Throwable cause) {
+        super(message, cause);
+    }
+
+    /**
+     * Only fills the stack trace when the exception class asks for it or when this exception is sampled.
+     * Otherwise, the stack trace would be empty.
+     *
+     * @return This exception.
+     */
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        if (!shouldCaptureStackTrace(getClass())) return this;
+
+        stackTraceCaptured = true;
+        return super.fillInStackTrace();
+    }
+
+    /**
+     * @return {@code true} if this exception has captured its stack trace, {@code false} otherwise.
+     */
+    public boolean hasStackTrace() {
+        return stackTraceCaptured;
+    }
+
+    /**
+     * Sets the JVM-wide probability of capturing the stack trace of stackless exceptions.
+     *
+     * @param rate The sampling rate, between {@code 0}, i.e. never, and {@code 1}, i.e. always.
+     * @throws IllegalArgumentException When the rate is not between {@code 0} and {@code 1}.
+     */
+    public static void setStackTraceSamplingRate(double rate) {
+        if (!(rate >= 0 && rate <= 1))
+            throw new IllegalArgumentException("The sampling rate should be between 0 and 1: " + rate);
+
+        stackTraceSamplingRate = rate;
+    }
+
+    /**
+     * @return The JVM-wide probability of capturing the stack trace of stackless exceptions.
+     */
+    public static double getStackTraceSamplingRate() {
+        return stackTraceSamplingRate;
+    }
+
+    private static boolean shouldCaptureStackTrace(Class<?> type) {
+        if (STACK_TRACES.get(type)) return true;
+
+        double rate = stackTraceSamplingRate;
+        return rate > 0 && (rate >= 1 || ThreadLocalRandom.current().nextDouble() < rate);
+    }
+}
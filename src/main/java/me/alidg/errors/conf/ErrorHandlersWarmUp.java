@@ -0,0 +1,341 @@
+package me.alidg.errors.conf;
+
+import me.alidg.errors.HttpError;
+import me.alidg.errors.WebErrorHandlers;
+import me.alidg.errors.adapter.HttpErrorAttributesAdapter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.TypeMismatchException;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.AccountExpiredException;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.DisabledException;
+import org.springframework.security.authentication.InsufficientAuthenticationException;
+import org.springframework.security.authentication.LockedException;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.util.ClassUtils;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindException;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.HttpMediaTypeNotSupportedException;
+import org.springframework.web.HttpRequestMethodNotSupportedException;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.MissingRequestCookieException;
+import org.springframework.web.bind.MissingRequestHeaderException;
+import org.springframework.web.bind.MissingServletRequestParameterException;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+import org.springframework.web.multipart.support.MissingServletRequestPartException;
+import org.springframework.web.server.MethodNotAllowedException;
+import org.springframework.web.server.NotAcceptableStatusException;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebInputException;
+import org.springframework.web.server.UnsupportedMediaTypeStatusException;
+import org.springframework.web.servlet.NoHandlerFoundException;
+
+import javax.validation.ConstraintViolationException;
+import javax.validation.Validation;
+import javax.validation.Validator;
+import javax.validation.ValidatorFactory;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotBlank;
+import java.beans.PropertyChangeEvent;
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+import static java.util.Collections.singleton;
+import static java.util.Collections.singletonList;
+
+/**
+ * Exercises the whole error handling path, i.e. the {@link WebErrorHandlers#handleSilently(Throwable, Locale)} and
+ * {@link HttpErrorAttributesAdapter#adapt(HttpError)}, with a set of synthetic exceptions for a configurable number
+ * of iterations. Since the application runners are called before the application is reported as ready, the JIT
+ * compiler would have compiled the error handling path before the first real burst of client errors.
+ *
+ * <p>The synthetic exceptions cover the validation and binding errors, type mismatches, the
+ * {@link ResponseStatusException} family, multipart errors, Servlet and Spring Security exceptions, when present,
+ * and the {@link me.alidg.errors.annotation.ExceptionMapping} exceptions with a no-arg or a single {@link String}
+ * argument constructor. The exceptions are handled without being logged or post processed.
+ */
+final class ErrorHandlersWarmUp implements ApplicationRunner {
+
+    /**
+     * Plain old logger.
+     */
+    private static final Logger log = LoggerFactory.getLogger(ErrorHandlersWarmUp.class);
+
+    /**
+     * The error handlers to warm up.
+     */
+    private final WebErrorHandlers webErrorHandlers;
+
+    /**
+     * To adapt the handled errors, just like the real error responses.
+     */
+    private final HttpErrorAttributesAdapter httpErrorAttributesAdapter;
+
+    /**
+     * How many times each synthetic exception should be handled.
+     */
+    private final int iterations;
+
+    /**
+     * The locales to handle the exceptions with, in a round-robin fashion.
+     */
+    private final List<Locale> locales;
+
+    /**
+     * The packages to scan for the {@link me.alidg.errors.annotation.ExceptionMapping} exceptions.
+     */
+    private final List<String> packages;
+
+    ErrorHandlersWarmUp(WebErrorHandlers webErrorHandlers,
+                        HttpErrorAttributesAdapter httpErrorAttributesAdapter,
+                        int iterations,
+                        List<Locale> locales,
+                        List<String> packages) {
+        this.webErrorHandlers = webErrorHandlers;
+        this.httpErrorAttributesAdapter = httpErrorAttributesAdapter;
+        this.iterations = iterations;
+        this.locales = locales.isEmpty() ? singletonList(Locale.ROOT) : locales;
+        this.packages = packages;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+        List<Throwable> exceptions = syntheticExceptions();
+
+        int handled = 0;
+        for (int i = 0; i < iterations; i++) {
+            Locale locale = locales.get(i % locales.size());
+            for (Throwable exception : exceptions) {
+                try {
+                    httpErrorAttributesAdapter.adapt(webErrorHandlers.handleSilently(exception, locale));
+                    handled++;
+                } catch (Exception e) {
+                    log.debug("Failed to handle the synthetic exception", e);
+                }
+            }
+        }
+
+        log.info("Warmed up the error handlers by handling {} synthetic exceptions {} times in {} ms",
+            exceptions.size(), iterations, (System.nanoTime() - start) / 1_000_000);
+        if (handled < exceptions.size() * iterations)
+            log.warn("Failed to handle {} synthetic exceptions while warming up", exceptions.size() * iterations - handled);
+    }
+
+    /**
+     * @return The synthetic exceptions to warm up the error handlers with.
+     */
+    List<Throwable> syntheticExceptions() {
+        List<Throwable> exceptions = new ArrayList<>();
+        addCoreExceptions(exceptions);
+        addMappedExceptions(exceptions);
+
+        ClassLoader classLoader = getClass().getClassLoader();
+        if (ClassUtils.isPresent("javax.validation.Validation", classLoader))
+            addSafely(exceptions, ValidationExceptions::create);
+        if (ClassUtils.isPresent("org.springframework.web.servlet.NoHandlerFoundException", classLoader))
+            addSafely(exceptions, ServletExceptions::create);
+        if (ClassUtils.isPresent("org.springframework.web.bind.MissingRequestHeaderException", classLoader))
+            addSafely(exceptions, MissingParameterExceptions::create);
+        if (ClassUtils.isPresent("org.springframework.security.access.AccessDeniedException", classLoader))
+            addSafely(exceptions, SecurityExceptions::create);
+
+        exceptions.add(new IllegalStateException("Synthetic warm-up exception"));
+        return exceptions;
+    }
+
+    private void addCoreExceptions(List<Throwable> exceptions) {
+        Sample target = new Sample();
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(target, "sample");
+        bindingResult.rejectValue("name", "required", "{sample.name.required}");
+        bindingResult.reject("invalid", "{sample.invalid}");
+
+        exceptions.add(new BindException(bindingResult));
+        exceptions.add(new MethodArgumentNotValidException(sampleParameter(), bindingResult));
+        exceptions.add(new TypeMismatchException(new PropertyChangeEvent(target, "age", null, "old"), Integer.class));
+        exceptions.add(new ResponseStatusException(HttpStatus.NOT_FOUND));
+        exceptions.add(new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Synthetic"));
+        exceptions.add(new MethodNotAllowedException(HttpMethod.PATCH, singleton(HttpMethod.GET)));
+        exceptions.add(new NotAcceptableStatusException(singletonList(MediaType.APPLICATION_JSON)));
+        exceptions.add(new UnsupportedMediaTypeStatusException(MediaType.TEXT_PLAIN,
+            singletonList(MediaType.APPLICATION_JSON)));
+        exceptions.add(new ServerWebInputException("Synthetic"));
+        exceptions.add(new MaxUploadSizeExceededException(1024));
+    }
+
+    private void addMappedExceptions(List<Throwable> exceptions) {
+        ClassLoader classLoader = getClass().getClassLoader();
+        for (AnnotatedBeanDefinition mapping : ErrorMessagesWarmUp.findExceptionMappings(packages)) {
+            try {
+                Class<?> type = ClassUtils.forName(mapping.getMetadata().getClassName(), classLoader);
+                if (!Throwable.class.isAssignableFrom(type)) continue;
+
+                Throwable exception = instantiate(type);
+                if (exception != null) exceptions.add(exception);
+            } catch (Exception | LinkageError e) {
+                log.debug("Failed to instantiate {}", mapping.getMetadata().getClassName(), e);
+            }
+        }
+    }
+
+    private static Throwable instantiate(Class<?> type) {
+        for (Constructor<?> constructor : type.getDeclaredConstructors()) {
+            Class<?>[] parameters = constructor.getParameterTypes();
+            if (parameters.length == 0) return (Throwable) BeanUtils.instantiateClass(constructor);
+            if (parameters.length == 1 && parameters[0] == String.class)
+                return (Throwable) BeanUtils.instantiateClass(constructor, "Synthetic");
+        }
+
+        return null;
+    }
+
+    private static void addSafely(List<Throwable> exceptions, ExceptionsFactory factory) {
+        try {
+            exceptions.addAll(factory.create());
+        } catch (Exception | LinkageError e) {
+            log.debug("Failed to create the synthetic exceptions", e);
+        }
+    }
+
+    /**
+     * @return A method parameter to build parameter related exceptions with.
+     */
+    private static MethodParameter sampleParameter() {
+        try {
+            return new MethodParameter(Object.class.getMethod("equals", Object.class), 0);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Creates a set of synthetic exceptions.
+     */
+    @FunctionalInterface
+    private interface ExceptionsFactory {
+
+        List<Throwable> create() throws Exception;
+    }
+
+    /**
+     * A sample bean to bind or validate.
+     */
+    static class Sample {
+
+        @NotBlank(message = "{sample.name.required}")
+        private String name;
+
+        @Min(value = 18, message = "{sample.age.min}")
+        private int age = 17;
+
+        public String getName() {
+            return name;
+        }
+
+        public int getAge() {
+            return age;
+        }
+    }
+
+    /**
+     * Bean Validation exceptions, isolated to be loaded only when the Bean Validation is present.
+     */
+    private static final class ValidationExceptions {
+
+        private static List<Throwable> create() {
+            ValidatorFactory factory = Validation.buildDefaultValidatorFactory();
+            try {
+                Validator validator = factory.getValidator();
+                Sample target = new Sample();
+                BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(target, "sample");
+                new SpringValidatorAdapter(validator)
+                    .validate(target, bindingResult);
+
+                List<Throwable> exceptions = new ArrayList<>();
+                exceptions.add(new ConstraintViolationException(validator.validate(target)));
+                exceptions.add(new MethodArgumentNotValidException(sampleParameter(), bindingResult));
+                return exceptions;
+            } finally {
+                factory.close();
+            }
+        }
+    }
+
+    /**
+     * Servlet exceptions, isolated to be loaded only in Servlet applications.
+     */
+    private static final class ServletExceptions {
+
+        private static List<Throwable> create() {
+            List<Throwable> exceptions = new ArrayList<>();
+            exceptions.add(new HttpMessageNotReadableException("Synthetic",
+                (HttpInputMessage) null));
+            exceptions.add(new HttpMediaTypeNotAcceptableException(
+                singletonList(MediaType.APPLICATION_JSON)));
+            exceptions.add(new HttpMediaTypeNotSupportedException(MediaType.TEXT_PLAIN,
+                singletonList(MediaType.APPLICATION_JSON)));
+            exceptions.add(new HttpRequestMethodNotSupportedException("PATCH"));
+            exceptions.add(new MissingServletRequestParameterException("name", "String"));
+            exceptions.add(new MissingServletRequestPartException("file"));
+            exceptions.add(new NoHandlerFoundException("GET", "/synthetic",
+                new HttpHeaders()));
+
+            return exceptions;
+        }
+    }
+
+    /**
+     * Missing request parameter exceptions, isolated to be loaded only when present, i.e. Spring 5.1+.
+     */
+    private static final class MissingParameterExceptions {
+
+        private static List<Throwable> create() {
+            List<Throwable> exceptions = new ArrayList<>();
+            exceptions.add(new MissingRequestHeaderException("X-Synthetic", sampleParameter()));
+            exceptions.add(new MissingRequestCookieException("synthetic", sampleParameter()));
+
+            return exceptions;
+        }
+    }
+
+    /**
+     * Spring Security exceptions, isolated to be loaded only when the Spring Security is present.
+     */
+    private static final class SecurityExceptions {
+
+        private static List<Throwable> create() {
+            List<Throwable> exceptions = new ArrayList<>();
+            Collections.addAll(exceptions,
+                new AccessDeniedException("Synthetic"),
+                new AccountExpiredException("Synthetic"),
+                new AuthenticationCredentialsNotFoundException("Synthetic"),
+                new AuthenticationServiceException("Synthetic"),
+                new BadCredentialsException("Synthetic"),
+                new UsernameNotFoundException("Synthetic"),
+                new InsufficientAuthenticationException("Synthetic"),
+                new LockedException("Synthetic"),
+                new DisabledException("Synthetic"));
+
+            return exceptions;
+        }
+    }
+}
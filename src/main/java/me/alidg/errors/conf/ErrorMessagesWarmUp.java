@@ -0,0 +1,172 @@
+package me.alidg.errors.conf;
+
+import me.alidg.errors.WebErrorHandler;
+import me.alidg.errors.WebErrorHandlers;
+import me.alidg.errors.annotation.ExceptionMapping;
+import me.alidg.errors.handlers.LastResortWebErrorHandler;
+import me.alidg.errors.message.MessageCatalogWarmer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Warms up the error messages right after all singletons are instantiated, i.e. before serving the first
+ * request. The statically known error codes are:
+ * <ul>
+ *     <li>The error code constants of the built-in {@link WebErrorHandler}s.</li>
+ *     <li>The error codes of the {@link ExceptionMapping} exceptions found in the given packages.</li>
+ *     <li>All keys of the configured message bundles.</li>
+ * </ul>
+ * The templates of these codes would be resolved and compiled for all configured locales and the locales of the
+ * bundles, filling the message caches along the way. The codes without any message or with malformed templates
+ * would be reported in the logs.
+ *
+ * @see MessageCatalogWarmer
+ */
+final class ErrorMessagesWarmUp implements SmartInitializingSingleton {
+
+    /**
+     * Plain old logger.
+     */
+    private static final Logger log = LoggerFactory.getLogger(ErrorMessagesWarmUp.class);
+
+    /**
+     * The package of the built-in handlers.
+     */
+    private static final String BUILT_IN_PACKAGE = LastResortWebErrorHandler.class.getPackage().getName();
+
+    /**
+     * The error handlers to warm up their message source.
+     */
+    private final WebErrorHandlers webErrorHandlers;
+
+    /**
+     * The bundle basenames to warm up their keys.
+     */
+    private final List<String> basenames;
+
+    /**
+     * The bundle files encoding.
+     */
+    private final Charset encoding;
+
+    /**
+     * The configured locales to warm up.
+     */
+    private final List<Locale> locales;
+
+    /**
+     * The packages to scan for the {@link ExceptionMapping} exceptions.
+     */
+    private final List<String> packages;
+
+    ErrorMessagesWarmUp(WebErrorHandlers webErrorHandlers,
+                        List<String> basenames,
+                        Charset encoding,
+                        List<Locale> locales,
+                        List<String> packages) {
+        this.webErrorHandlers = webErrorHandlers;
+        this.basenames = basenames;
+        this.encoding = encoding;
+        this.locales = locales;
+        this.packages = packages;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        try {
+            MessageCatalogWarmer.Report report = new MessageCatalogWarmer(webErrorHandlers.getMessageSource())
+                .withCodes(handlerCodes())
+                .withCodes(mappedCodes())
+                .withBundles(basenames, encoding)
+                .withLocales(locales)
+                .warmUp();
+
+            log.info("Warmed up {} error message templates of {} codes in {} locales in {} ms", report.getCompiled(),
+                report.getCodes(), report.getLocales(), report.getElapsedNanos() / 1_000_000);
+            for (Map.Entry<Locale, Set<String>> missing : report.getMissing().entrySet()) {
+                log.warn("No error message for locale '{}': {}", missing.getKey(), missing.getValue());
+            }
+            for (Map.Entry<Locale, Set<String>> malformed : report.getMalformed().entrySet()) {
+                log.warn("Malformed error messages for locale '{}': {}", malformed.getKey(), malformed.getValue());
+            }
+        } catch (Exception e) {
+            log.warn("Failed to warm up the error messages", e);
+        }
+    }
+
+    /**
+     * @return The error code constants of the built-in handlers.
+     */
+    Set<String> handlerCodes() {
+        List<WebErrorHandler> handlers = new ArrayList<>(webErrorHandlers.getWebErrorHandlers());
+        handlers.add(webErrorHandlers.getDefaultWebErrorHandler());
+
+        Set<String> codes = new LinkedHashSet<>();
+        for (WebErrorHandler handler : handlers) {
+            Class<?> type = handler.getClass();
+            if (type.getPackage() == null || !BUILT_IN_PACKAGE.equals(type.getPackage().getName())) continue;
+
+            for (Field field : type.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (field.getType() != String.class || !Modifier.isPublic(modifiers) ||
+                    !Modifier.isStatic(modifiers) || !Modifier.isFinal(modifiers)) continue;
+
+                try {
+                    codes.add((String) field.get(null));
+                } catch (IllegalAccessException ignored) {
+                }
+            }
+        }
+
+        return codes;
+    }
+
+    /**
+     * @return The error codes of the {@link ExceptionMapping} exceptions, read without loading the classes.
+     */
+    Set<String> mappedCodes() {
+        Set<String> codes = new LinkedHashSet<>();
+        for (AnnotatedBeanDefinition mapping : findExceptionMappings(packages)) {
+            Map<String, Object> attributes = mapping.getMetadata()
+                .getAnnotationAttributes(ExceptionMapping.class.getName());
+            if (attributes != null) codes.add((String) attributes.get("errorCode"));
+        }
+
+        return codes;
+    }
+
+    /**
+     * Scans the given packages for the {@link ExceptionMapping} exceptions.
+     *
+     * @param packages The packages to scan.
+     * @return The found exceptions, without loading their classes.
+     */
+    static List<AnnotatedBeanDefinition> findExceptionMappings(List<String> packages) {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter(new AnnotationTypeFilter(ExceptionMapping.class));
+
+        List<AnnotatedBeanDefinition> mappings = new ArrayList<>();
+        for (String basePackage : packages) {
+            for (BeanDefinition candidate : scanner.findCandidateComponents(basePackage)) {
+                if (candidate instanceof AnnotatedBeanDefinition) mappings.add((AnnotatedBeanDefinition) candidate);
+            }
+        }
+
+        return mappings;
+    }
+}
@@ -5,22 +5,41 @@ import me.alidg.errors.adapter.DefaultHttpErrorAttributesAdapter;
 import me.alidg.errors.adapter.HttpErrorAttributesAdapter;
 import me.alidg.errors.fingerprint.UuidFingerprintProvider;
 import me.alidg.errors.handlers.*;
+import me.alidg.errors.message.AcceptLanguageLocaleResolver;
+import me.alidg.errors.message.MappedMessageSource;
+import me.alidg.errors.message.MessageTemplateCache;
+import me.alidg.errors.message.SnapshotMessageSource;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.AutoConfigurationPackages;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.context.MessageSourceProperties;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.web.servlet.error.ErrorAttributes;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.MessageSource;
 import org.springframework.context.annotation.Bean;
 import org.springframework.core.annotation.AnnotationAwareOrderComparator;
+import org.springframework.util.StringUtils;
 import org.springframework.web.context.WebApplicationContext;
 
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 
@@ -34,6 +53,31 @@ import static org.springframework.boot.autoconfigure.condition.ConditionalOnWebA
  * Built in {@link WebErrorHandler}s are those we provided out of the box. It's highly recommended
  * to use these implementations with most possible priority, as we did in this auto-configuration.
  *
+ * <h3>Generated Web Error Handlers</h3>
+ * When the {@link me.alidg.errors.processor.ExceptionMappingProcessor} is enabled, the handlers generated for
+ * {@link me.alidg.errors.annotation.ExceptionMapping} exceptions would be registered right before the reflection
+ * based {@link AnnotatedWebErrorHandler}.
+ *
+ * <h3>Message Catalog</h3>
+ * With {@code errors.message-catalog.enabled=true}, error codes would be translated using a lock-free
+ * {@link SnapshotMessageSource} loading the same bundles as the application {@link MessageSource}, unless
+ * configured otherwise. With a {@code errors.message-catalog.reload-interval}, the bundles would be reloaded
+ * on modifications and the cached messages, if any, would be cleared afterwards. Also, by setting the
+ * {@code errors.message-catalog.location}, a memory-mapped {@link MappedMessageSource} would serve the
+ * messages from a catalog compiled by the {@link me.alidg.errors.message.MessageCatalogCompiler}.
+ *
+ * <h3>Locale Resolution</h3>
+ * With {@code errors.locale-resolution.enabled=true}, the locale of the error messages would be resolved from the
+ * {@code Accept-Language} header and matched against the {@code errors.locale-resolution.supported-locales} or,
+ * when not set, the locales of the message catalog. The resolved locales are cached per header value.
+ *
+ * <h3>Warm-up</h3>
+ * With {@code errors.warm-up.enabled=true}, the message templates of all statically known error codes would be
+ * resolved and compiled at startup, so the first failing requests won't pay for the cold bundle loading and
+ * template parsing. Missing and malformed messages would be reported along the way. Also, with a positive
+ * {@code errors.warm-up.iterations}, a set of synthetic exceptions would be handled that many times before the
+ * application is ready, so the error handling path would be JIT compiled before the first real errors.
+ *
  * <h3>Custom Web Error Handlers</h3>
  * You can also provide your own custom {@link WebErrorHandler} implementations. Just implement the
  * {@link WebErrorHandler} interface and register it as Spring Bean. If you're willing to prioritize
@@ -60,6 +104,11 @@ import static org.springframework.boot.autoconfigure.condition.ConditionalOnWebA
 @EnableConfigurationProperties(ErrorsProperties.class)
 public class ErrorsAutoConfiguration {
 
+    /**
+     * Name of the {@link SnapshotMessageSource} bean.
+     */
+    private static final String MESSAGE_CATALOG_BEAN = "errorsMessageCatalog";
+
     /**
      * Built-in {@link WebErrorHandler}s which would be on top of all other {@link WebErrorHandler}s
      * and will be consulted before any other implementations for error handling.
@@ -85,6 +134,7 @@ public class ErrorsAutoConfiguration {
      * @param webErrorHandlerPostProcessors Post processors to execute after we handled the exception.
      * @param fingerprintProvider           To generate unique fingerprints for handled exceptions.
      * @param errorsProperties              Configuration properties bean.
+     * @param messageSourceProperties       To expire the cached messages as often as the messages reload.
      * @param context                       To tell Servlet or Reactive stacks apart.
      * @return The expected {@link WebErrorHandlers}.
      */
@@ -98,11 +148,21 @@ public class ErrorsAutoConfiguration {
                                              @Autowired(required = false) List<WebErrorHandlerPostProcessor> webErrorHandlerPostProcessors,
                                              FingerprintProvider fingerprintProvider,
                                              ErrorsProperties errorsProperties,
+                                             ObjectProvider<MessageSourceProperties> messageSourceProperties,
                                              ApplicationContext context) {
 
+        Duration messageCacheDuration = errorsProperties.getMessageCacheDuration();
+        if (errorsProperties.isCacheMessages() && messageCacheDuration == null) {
+            MessageSourceProperties messageProperties = messageSourceProperties.getIfAvailable();
+            if (messageProperties != null) messageCacheDuration = messageProperties.getCacheDuration();
+        }
+
         List<WebErrorHandler> handlers = new ArrayList<>(BUILT_IN_HANDLERS);
         if (isServletApplication(context)) handlers.add(new ServletWebErrorHandler());
 
+        GeneratedMappingsWebErrorHandler generatedHandlers = GeneratedMappingsWebErrorHandler.load(context.getClassLoader());
+        if (generatedHandlers != null) handlers.add(indexOf(handlers, AnnotatedWebErrorHandler.class), generatedHandlers);
+
         if (customHandlers != null && !customHandlers.isEmpty()) {
             customHandlers.remove(defaultWebErrorHandler);
             customHandlers.removeIf(Objects::isNull);
@@ -111,18 +171,86 @@ public class ErrorsAutoConfiguration {
             handlers.addAll(customHandlers);
         }
 
+        MessageSource messageCatalog = errorsProperties.getMessageCatalog().isEnabled() &&
+            context.containsBean(MESSAGE_CATALOG_BEAN) ?
+            context.getBean(MESSAGE_CATALOG_BEAN, MessageSource.class) : null;
+
         WebErrorHandlersBuilder builder = WebErrorHandlers
-            .builder(messageSource)
+            .builder(messageCatalog != null ? messageCatalog : messageSource)
             .withErrorsProperties(errorsProperties)
             .withErrorHandlers(handlers)
             .withExceptionRefiner(exceptionRefiner)
             .withExceptionLogger(exceptionLogger)
-            .withFingerprintProvider(fingerprintProvider);
+            .withFingerprintProvider(fingerprintProvider)
+            .withMessageCacheDuration(messageCacheDuration);
 
         if (defaultWebErrorHandler != null) builder.withDefaultWebErrorHandler(defaultWebErrorHandler);
         if (webErrorHandlerPostProcessors != null) builder.withPostProcessors(webErrorHandlerPostProcessors);
 
-        return builder.build();
+        WebErrorHandlers webErrorHandlers = builder.build();
+        MessageTemplateCache messageCache = webErrorHandlers.getMessageCache();
+        if (messageCatalog instanceof SnapshotMessageSource && messageCache != null)
+            ((SnapshotMessageSource) messageCatalog).addReloadListener(messageCache::clear);
+
+        AcceptLanguageLocaleResolver localeResolver = webErrorHandlers.getLocaleResolver();
+        if (messageCatalog instanceof SnapshotMessageSource && localeResolver != null)
+            ((SnapshotMessageSource) messageCatalog).addReloadListener(localeResolver::clear);
+
+        return webErrorHandlers;
+    }
+
+    /**
+     * Registers a lock-free {@link SnapshotMessageSource} or, when a compiled catalog location is given, a
+     * {@link MappedMessageSource} to translate error codes to messages, when the
+     * {@code errors.message-catalog.enabled} is {@code true}. The registered bean is not an autowire candidate,
+     * so it won't compete with the application {@link MessageSource}.
+     *
+     * @param errorsProperties        Configuration properties bean.
+     * @param messageSourceProperties To load the same bundles as the application message source by default.
+     * @return The message catalog.
+     * @throws IOException When failed to map the compiled catalog.
+     */
+    @Bean(name = MESSAGE_CATALOG_BEAN, autowireCandidate = false)
+    @ConditionalOnProperty(name = "errors.message-catalog.enabled", havingValue = "true")
+    public MessageSource errorsMessageCatalog(ErrorsProperties errorsProperties,
+                                              ObjectProvider<MessageSourceProperties> messageSourceProperties)
+        throws IOException {
+        ErrorsProperties.MessageCatalog catalog = errorsProperties.getMessageCatalog();
+        if (catalog.getLocation() != null) return new MappedMessageSource(catalog.getLocation());
+
+        MessageSourceProperties messageProperties = messageSourceProperties.getIfAvailable();
+        SnapshotMessageSource messageCatalog = new SnapshotMessageSource(
+            basenamesOf(catalog, messageProperties), encodingOf(catalog, messageProperties));
+        if (catalog.getReloadInterval() != null) messageCatalog.startReloading(catalog.getReloadInterval());
+
+        return messageCatalog;
+    }
+
+    /**
+     * Registers a warm-up phase resolving and compiling the message templates of all statically known error
+     * codes right after all singletons are instantiated, when the {@code errors.warm-up.enabled} is {@code true}.
+     * The known error codes are the error code constants of the built-in handlers, the error codes of the
+     * {@link me.alidg.errors.annotation.ExceptionMapping} exceptions in the auto-configuration packages and all
+     * keys of the message bundles. The codes without any message or with malformed messages would be logged.
+     *
+     * @param webErrorHandlers        The error handlers to warm up their messages.
+     * @param errorsProperties        Configuration properties bean.
+     * @param messageSourceProperties To find the message bundles.
+     * @param beanFactory             To find the auto-configuration packages.
+     * @return The warm-up phase.
+     */
+    @Bean
+    @ConditionalOnBean(WebErrorHandlers.class)
+    @ConditionalOnProperty(name = "errors.warm-up.enabled", havingValue = "true")
+    public SmartInitializingSingleton errorMessagesWarmUp(WebErrorHandlers webErrorHandlers,
+                                                          ErrorsProperties errorsProperties,
+                                                          ObjectProvider<MessageSourceProperties> messageSourceProperties,
+                                                          BeanFactory beanFactory) {
+        ErrorsProperties.MessageCatalog catalog = errorsProperties.getMessageCatalog();
+        MessageSourceProperties messageProperties = messageSourceProperties.getIfAvailable();
+        return new ErrorMessagesWarmUp(webErrorHandlers, basenamesOf(catalog, messageProperties),
+            encodingOf(catalog, messageProperties), errorsProperties.getWarmUp().getLocales(),
+            autoConfigurationPackages(beanFactory));
     }
 
     /**
@@ -216,6 +344,92 @@ public class ErrorsAutoConfiguration {
         return new UuidFingerprintProvider();
     }
 
+    /**
+     * Registers a warm-up runner handling a set of synthetic exceptions, e.g. validation, type mismatch, security
+     * and {@link me.alidg.errors.annotation.ExceptionMapping} exceptions, {@code errors.warm-up.iterations} times
+     * before the application is reported as ready. This way, the error handling path would be already compiled by
+     * the JIT compiler when the first burst of client errors arrives.
+     *
+     * @param webErrorHandlers           The error handlers to warm up.
+     * @param httpErrorAttributesAdapter To adapt the handled errors.
+     * @param errorsProperties           Configuration properties bean.
+     * @param beanFactory                To find the auto-configuration packages.
+     * @return The warm-up runner.
+     */
+    @Bean
+    @ConditionalOnBean(WebErrorHandlers.class)
+    @ConditionalOnExpression("${errors.warm-up.iterations:0} > 0")
+    public ApplicationRunner errorHandlersWarmUp(WebErrorHandlers webErrorHandlers,
+                                                 HttpErrorAttributesAdapter httpErrorAttributesAdapter,
+                                                 ErrorsProperties errorsProperties,
+                                                 BeanFactory beanFactory) {
+        ErrorsProperties.WarmUp warmUp = errorsProperties.getWarmUp();
+        return new ErrorHandlersWarmUp(webErrorHandlers, httpErrorAttributesAdapter, warmUp.getIterations(),
+            warmUp.getLocales(), autoConfigurationPackages(beanFactory));
+    }
+
+    /**
+     * Applies the {@code errors.stack-trace-sampling-rate} to the
+     * {@link me.alidg.errors.annotation.StacklessException}s for the lifetime of this context, if configured.
+     *
+     * @param errorsProperties Configuration properties bean.
+     * @return The sampling rate holder restoring the previous rate on close.
+     */
+    @Bean
+    @ConditionalOnProperty("errors.stack-trace-sampling-rate")
+    public InitializingBean errorsStackTraceSampling(ErrorsProperties errorsProperties) {
+        return new StackTraceSampling(errorsProperties.getStackTraceSamplingRate());
+    }
+
+    /**
+     * @param beanFactory The bean factory.
+     * @return The auto-configuration packages, if any.
+     */
+    private List<String> autoConfigurationPackages(BeanFactory beanFactory) {
+        return AutoConfigurationPackages.has(beanFactory) ?
+            AutoConfigurationPackages.get(beanFactory) : Collections.emptyList();
+    }
+
+    /**
+     * @param catalog           The message catalog properties.
+     * @param messageProperties The application message source properties, if any.
+     * @return The configured catalog basenames, the {@code spring.messages.basename} or {@code messages}.
+     */
+    private List<String> basenamesOf(ErrorsProperties.MessageCatalog catalog, MessageSourceProperties messageProperties) {
+        List<String> basenames = catalog.getBasenames();
+        if (basenames != null && !basenames.isEmpty()) return basenames;
+
+        return messageProperties != null ?
+            Arrays.asList(StringUtils.commaDelimitedListToStringArray(
+                StringUtils.trimAllWhitespace(messageProperties.getBasename()))) :
+            Collections.singletonList("messages");
+    }
+
+    /**
+     * @param catalog           The message catalog properties.
+     * @param messageProperties The application message source properties, if any.
+     * @return The configured catalog encoding, the {@code spring.messages.encoding} or UTF-8.
+     */
+    private Charset encodingOf(ErrorsProperties.MessageCatalog catalog, MessageSourceProperties messageProperties) {
+        if (catalog.getEncoding() != null) return catalog.getEncoding();
+
+        return messageProperties != null && messageProperties.getEncoding() != null ?
+            messageProperties.getEncoding() : StandardCharsets.UTF_8;
+    }
+
+    /**
+     * @param handlers The handlers to search in.
+     * @param type     The handler type to find.
+     * @return The index of the first handler of the given type.
+     */
+    private int indexOf(List<WebErrorHandler> handlers, Class<? extends WebErrorHandler> type) {
+        for (int i = 0; i < handlers.size(); i++) {
+            if (type.isInstance(handlers.get(i))) return i;
+        }
+
+        return handlers.size();
+    }
+
     /**
      * @param context The application context.
      * @return {@code true} if this a traditional web application, not a reactive one.
@@ -2,11 +2,17 @@ package me.alidg.errors.conf;
 
 import me.alidg.errors.Argument;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.core.Ordered;
 import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
 
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 /**
@@ -28,6 +34,60 @@ public class ErrorsProperties {
      */
     private boolean addFingerprint = false;
 
+    /**
+     * Determines whether we should cache the {@link me.alidg.errors.WebErrorHandler} resolutions per
+     * exception type.
+     */
+    private boolean cacheHandlerResolution = false;
+
+    /**
+     * Determines whether we should cache the resolved message templates per error code and locale.
+     */
+    private boolean cacheMessages = false;
+
+    /**
+     * How long the cached message templates are valid. When not set, the {@code spring.messages.cache-duration}
+     * would be used, if any. Otherwise, the cached templates won't expire.
+     */
+    @Nullable
+    private Duration messageCacheDuration;
+
+    /**
+     * The probability of capturing the stack trace of the {@link me.alidg.errors.annotation.StacklessException}s,
+     * between {@code 0}, i.e. never, and {@code 1}, i.e. always.
+     */
+    private double stackTraceSamplingRate = 0;
+
+    /**
+     * Configures the {@link me.alidg.errors.message.SnapshotMessageSource} used for error messages.
+     */
+    @NonNull
+    private final MessageCatalog messageCatalog = new MessageCatalog();
+
+    /**
+     * Configures the startup warm-up of the error messages.
+     */
+    @NonNull
+    private final WarmUp warmUp = new WarmUp();
+
+    /**
+     * Configures the reactive error handling.
+     */
+    @NonNull
+    private final Reactive reactive = new Reactive();
+
+    /**
+     * Configures the servlet error handling.
+     */
+    @NonNull
+    private final Servlet servlet = new Servlet();
+
+    /**
+     * Configures the {@code Accept-Language} based locale resolution of the error messages.
+     */
+    @NonNull
+    private final LocaleResolution localeResolution = new LocaleResolution();
+
     /**
      * @return {@code exposeArguments}
      * @see #exposeArguments
@@ -60,6 +120,116 @@ public class ErrorsProperties {
         this.addFingerprint = addFingerprint;
     }
 
+    /**
+     * @return {@code cacheHandlerResolution}
+     * @see #cacheHandlerResolution
+     */
+    public boolean isCacheHandlerResolution() {
+        return cacheHandlerResolution;
+    }
+
+    /**
+     * @param cacheHandlerResolution {@code cacheHandlerResolution}
+     * @see #isCacheHandlerResolution()
+     */
+    public void setCacheHandlerResolution(boolean cacheHandlerResolution) {
+        this.cacheHandlerResolution = cacheHandlerResolution;
+    }
+
+    /**
+     * @return {@code cacheMessages}
+     * @see #cacheMessages
+     */
+    public boolean isCacheMessages() {
+        return cacheMessages;
+    }
+
+    /**
+     * @param cacheMessages {@code cacheMessages}
+     * @see #isCacheMessages()
+     */
+    public void setCacheMessages(boolean cacheMessages) {
+        this.cacheMessages = cacheMessages;
+    }
+
+    /**
+     * @return {@code stackTraceSamplingRate}
+     * @see #stackTraceSamplingRate
+     */
+    public double getStackTraceSamplingRate() {
+        return stackTraceSamplingRate;
+    }
+
+    /**
+     * @param stackTraceSamplingRate {@code stackTraceSamplingRate}
+     * @see #getStackTraceSamplingRate()
+     */
+    public void setStackTraceSamplingRate(double stackTraceSamplingRate) {
+        this.stackTraceSamplingRate = stackTraceSamplingRate;
+    }
+
+    /**
+     * @return {@code messageCacheDuration}
+     * @see #messageCacheDuration
+     */
+    @Nullable
+    public Duration getMessageCacheDuration() {
+        return messageCacheDuration;
+    }
+
+    /**
+     * @param messageCacheDuration {@code messageCacheDuration}
+     * @see #getMessageCacheDuration()
+     */
+    public void setMessageCacheDuration(@Nullable Duration messageCacheDuration) {
+        this.messageCacheDuration = messageCacheDuration;
+    }
+
+    /**
+     * @return {@code messageCatalog}
+     * @see #messageCatalog
+     */
+    @NonNull
+    public MessageCatalog getMessageCatalog() {
+        return messageCatalog;
+    }
+
+    /**
+     * @return {@code warmUp}
+     * @see #warmUp
+     */
+    @NonNull
+    public WarmUp getWarmUp() {
+        return warmUp;
+    }
+
+    /**
+     * @return {@code reactive}
+     * @see #reactive
+     */
+    @NonNull
+    public Reactive getReactive() {
+        return reactive;
+    }
+
+    /**
+     * @return {@code servlet}
+     * @see #servlet
+     */
+    @NonNull
+    public Servlet getServlet() {
+        return servlet;
+    }
+
+    /**
+     * @return {@code localeResolution}
+     * @see #localeResolution
+     */
+    @NonNull
+    public LocaleResolution getLocaleResolution() {
+        return localeResolution;
+    }
+
     /**
      * Determines how we're gonna expose the arguments parameter for each error code.
      */
@@ -112,4 +282,467 @@ public class ErrorsProperties {
         public void expose(Map<String, Object> error, List<Argument> arguments) {
         }
     }
+
+    /**
+     * Configuration properties of the {@link me.alidg.errors.message.SnapshotMessageSource}, which would be used
+     * to translate error codes instead of the application {@link org.springframework.context.MessageSource}.
+     */
+    public static class MessageCatalog {
+
+        /**
+         * Determines whether we should load error messages into a lock-free snapshot based message source.
+         */
+        private boolean enabled = false;
+
+        /**
+         * The bundle basenames to load. When not set, the {@code spring.messages.basename} would be used, if any.
+         * Otherwise, {@code messages} would be loaded.
+         */
+        @Nullable
+        private List<String> basenames;
+
+        /**
+         * The bundle files encoding. When not set, the {@code spring.messages.encoding} would be used, if any.
+         * Otherwise, UTF-8 would be used.
+         */
+        @Nullable
+        private Charset encoding;
+
+        /**
+         * How often the bundles should be checked for modifications. When not set, the bundles won't be reloaded.
+         */
+        @Nullable
+        private Duration reloadInterval;
+
+        /**
+         * Path to a catalog file compiled by the {@link me.alidg.errors.message.MessageCatalogCompiler}. When set,
+         * the memory-mapped catalog would be used instead of the bundles.
+         */
+        @Nullable
+        private Path location;
+
+        /**
+         * @return {@code enabled}
+         * @see #enabled
+         */
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        /**
+         * @param enabled {@code enabled}
+         * @see #isEnabled()
+         */
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        /**
+         * @return {@code basenames}
+         * @see #basenames
+         */
+        @Nullable
+        public List<String> getBasenames() {
+            return basenames;
+        }
+
+        /**
+         * @param basenames {@code basenames}
+         * @see #getBasenames()
+         */
+        public void setBasenames(@Nullable List<String> basenames) {
+            this.basenames = basenames;
+        }
+
+        /**
+         * @return {@code encoding}
+         * @see #encoding
+         */
+        @Nullable
+        public Charset getEncoding() {
+            return encoding;
+        }
+
+        /**
+         * @param encoding {@code encoding}
+         * @see #getEncoding()
+         */
+        public void setEncoding(@Nullable Charset encoding) {
+            this.encoding = encoding;
+        }
+
+        /**
+         * @return {@code reloadInterval}
+         * @see #reloadInterval
+         */
+        @Nullable
+        public Duration getReloadInterval() {
+            return reloadInterval;
+        }
+
+        /**
+         * @param reloadInterval {@code reloadInterval}
+         * @see #getReloadInterval()
+         */
+        public void setReloadInterval(@Nullable Duration reloadInterval) {
+            this.reloadInterval = reloadInterval;
+        }
+
+        /**
+         * @return {@code location}
+         * @see #location
+         */
+        @Nullable
+        public Path getLocation() {
+            return location;
+        }
+
+        /**
+         * @param location {@code location}
+         * @see #getLocation()
+         */
+        public void setLocation(@Nullable Path location) {
+            this.location = location;
+        }
+    }
+
+    /**
+     * Configuration properties of the startup warm-up, which resolves and compiles the message templates of
+     * all statically known error codes and exercises the error handlers before serving the first request.
+     */
+    public static class WarmUp {
+
+        /**
+         * Determines whether we should warm up and validate the error messages at startup.
+         */
+        private boolean enabled = false;
+
+        /**
+         * The locales to warm up, in addition to the locales of the discovered bundles.
+         */
+        @NonNull
+        private List<Locale> locales = Collections.emptyList();
+
+        /**
+         * How many times the error handlers should handle a set of synthetic exceptions at startup, so the error
+         * handling path would be compiled by the JIT compiler before the first real errors. Zero disables the
+         * handlers warm-up.
+         */
+        private int iterations = 0;
+
+        /**
+         * @return {@code enabled}
+         * @see #enabled
+         */
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        /**
+         * @param enabled {@code enabled}
+         * @see #isEnabled()
+         */
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        /**
+         * @return {@code locales}
+         * @see #locales
+         */
+        @NonNull
+        public List<Locale> getLocales() {
+            return locales;
+        }
+
+        /**
+         * @param locales {@code locales}
+         * @see #getLocales()
+         */
+        public void setLocales(@Nullable List<Locale> locales) {
+            this.locales = locales == null ? Collections.emptyList() : locales;
+        }
+
+        /**
+         * @return {@code iterations}
+         * @see #iterations
+         */
+        public int getIterations() {
+            return iterations;
+        }
+
+        /**
+         * @param iterations {@code iterations}
+         * @see #getIterations()
+         */
+        public void setIterations(int iterations) {
+            this.iterations = iterations;
+        }
+    }
+
+    /**
+     * Configuration properties of the reactive error handling.
+     */
+    public static class Reactive {
+
+        /**
+         * Determines whether the errors should be written directly by the
+         * {@link me.alidg.errors.webflux.ErrorsWebExceptionHandler}, instead of the Spring Boot's default
+         * exception handler. Disabled by default, as the direct write always responds with JSON.
+         */
+        private boolean directWrite = false;
+
+        /**
+         * The maximum number of threads to offload the blocking error handling components to, e.g. the
+         * {@link me.alidg.errors.ExceptionLogger} or {@link me.alidg.errors.WebErrorHandlerPostProcessor}s.
+         */
+        private int blockingThreadCap = 10 * Runtime.getRuntime().availableProcessors();
+
+        /**
+         * The maximum number of offloaded tasks waiting for a thread, after which the errors would be rejected.
+         */
+        private int blockingQueueCapacity = 100_000;
+
+        /**
+         * @return {@code directWrite}
+         * @see #directWrite
+         */
+        public boolean isDirectWrite() {
+            return directWrite;
+        }
+
+        /**
+         * @param directWrite {@code directWrite}
+         * @see #isDirectWrite()
+         */
+        public void setDirectWrite(boolean directWrite) {
+            this.directWrite = directWrite;
+        }
+
+        /**
+         * @return {@code blockingThreadCap}
+         * @see #blockingThreadCap
+         */
+        public int getBlockingThreadCap() {
+            return blockingThreadCap;
+        }
+
+        /**
+         * @param blockingThreadCap {@code blockingThreadCap}
+         * @see #getBlockingThreadCap()
+         */
+        public void setBlockingThreadCap(int blockingThreadCap) {
+            this.blockingThreadCap = blockingThreadCap;
+        }
+
+        /**
+         * @return {@code blockingQueueCapacity}
+         * @see #blockingQueueCapacity
+         */
+        public int getBlockingQueueCapacity() {
+            return blockingQueueCapacity;
+        }
+
+        /**
+         * @param blockingQueueCapacity {@code blockingQueueCapacity}
+         * @see #getBlockingQueueCapacity()
+         */
+        public void setBlockingQueueCapacity(int blockingQueueCapacity) {
+            this.blockingQueueCapacity = blockingQueueCapacity;
+        }
+    }
+
+    /**
+     * Configuration properties of the servlet error handling.
+     */
+    public static class Servlet {
+
+        /**
+         * Determines whether the Spring Security's {@code AccessDeniedHandler} and {@code AuthenticationEntryPoint}
+         * should write the errors directly, using the {@link me.alidg.errors.mvc.ServletErrorWriter}, instead of
+         * sending an error and going through the container ERROR dispatch.
+         */
+        private boolean directWrite = false;
+
+        /**
+         * Determines whether the {@link me.alidg.errors.mvc.ErrorsFilter} should be registered to render the
+         * exceptions thrown by the servlet filters directly, instead of the container's error page forwarding.
+         */
+        private boolean exceptionFilter = false;
+
+        /**
+         * The order of the {@link me.alidg.errors.mvc.ErrorsFilter}. By default, right after the Spring Boot's
+         * character encoding filter and before the Spring Security filters.
+         */
+        private int exceptionFilterOrder = Ordered.HIGHEST_PRECEDENCE + 1;
+
+        /**
+         * Determines whether the exceptions thrown by the Spring MVC handlers should be handled by the
+         * {@link me.alidg.errors.mvc.ErrorsHandlerExceptionResolver}, instead of the
+         * {@link me.alidg.errors.mvc.ErrorsControllerAdvice}.
+         */
+        private boolean exceptionResolver = false;
+
+        /**
+         * @return {@code directWrite}
+         * @see #directWrite
+         */
+        public boolean isDirectWrite() {
+            return directWrite;
+        }
+
+        /**
+         * @param directWrite {@code directWrite}
+         * @see #isDirectWrite()
+         */
+        public void setDirectWrite(boolean directWrite) {
+            this.directWrite = directWrite;
+        }
+
+        /**
+         * @return {@code exceptionFilter}
+         * @see #exceptionFilter
+         */
+        public boolean isExceptionFilter() {
+            return exceptionFilter;
+        }
+
+        /**
+         * @param exceptionFilter {@code exceptionFilter}
+         * @see #isExceptionFilter()
+         */
+        public void setExceptionFilter(boolean exceptionFilter) {
+            this.exceptionFilter = exceptionFilter;
+        }
+
+        /**
+         * @return {@code exceptionFilterOrder}
+         * @see #exceptionFilterOrder
+         */
+        public int getExceptionFilterOrder() {
+            return exceptionFilterOrder;
+        }
+
+        /**
+         * @param exceptionFilterOrder {@code exceptionFilterOrder}
+         * @see #getExceptionFilterOrder()
+         */
+        public void setExceptionFilterOrder(int exceptionFilterOrder) {
+            this.exceptionFilterOrder = exceptionFilterOrder;
+        }
+
+        /**
+         * @return {@code exceptionResolver}
+         * @see #exceptionResolver
+         */
+        public boolean isExceptionResolver() {
+            return exceptionResolver;
+        }
+
+        /**
+         * @param exceptionResolver {@code exceptionResolver}
+         * @see #isExceptionResolver()
+         */
+        public void setExceptionResolver(boolean exceptionResolver) {
+            this.exceptionResolver = exceptionResolver;
+        }
+    }
+
+    /**
+     * Configuration properties of the {@link me.alidg.errors.message.AcceptLanguageLocaleResolver}, resolving the
+     * locale of the error messages from the {@code Accept-Language} header on both stacks.
+     */
+    public static class LocaleResolution {
+
+        /**
+         * Determines whether we should resolve the locale from the {@code Accept-Language} header and match it
+         * against the supported locales, instead of relying on the locale resolved by the web framework.
+         */
+        private boolean enabled = false;
+
+        /**
+         * The locales the error messages are available in. When not set, the locales of the message catalog
+         * would be used, if enabled. Otherwise, any requested locale is considered supported.
+         */
+        @NonNull
+        private List<Locale> supportedLocales = Collections.emptyList();
+
+        /**
+         * The locale to use when the header is missing or does not match any supported locale. When not set,
+         * the JVM default locale would be used.
+         */
+        @Nullable
+        private Locale defaultLocale;
+
+        /**
+         * Maximum number of distinct header values to cache their resolved locales.
+         */
+        private int cacheCapacity = 1024;
+
+        /**
+         * @return {@code enabled}
+         * @see #enabled
+         */
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        /**
+         * @param enabled {@code enabled}
+         * @see #isEnabled()
+         */
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        /**
+         * @return {@code supportedLocales}
+         * @see #supportedLocales
+         */
+        @NonNull
+        public List<Locale> getSupportedLocales() {
+            return supportedLocales;
+        }
+
+        /**
+         * @param supportedLocales {@code supportedLocales}
+         * @see #getSupportedLocales()
+         */
+        public void setSupportedLocales(@Nullable List<Locale> supportedLocales) {
+            this.supportedLocales = supportedLocales == null ? Collections.emptyList() : supportedLocales;
+        }
+
+        /**
+         * @return {@code defaultLocale}
+         * @see #defaultLocale
+         */
+        @Nullable
+        public Locale getDefaultLocale() {
+            return defaultLocale;
+        }
+
+        /**
+         * @param defaultLocale {@code defaultLocale}
+         * @see #getDefaultLocale()
+         */
+        public void setDefaultLocale(@Nullable Locale defaultLocale) {
+            this.defaultLocale = defaultLocale;
+        }
+
+        /**
+         * @return {@code cacheCapacity}
+         * @see #cacheCapacity
+         */
+        public int getCacheCapacity() {
+            return cacheCapacity;
+        }
+
+        /**
+         * @param cacheCapacity {@code cacheCapacity}
+         * @see #getCacheCapacity()
+         */
+        public void setCacheCapacity(int cacheCapacity) {
+            this.cacheCapacity = cacheCapacity;
+        }
+    }
 }
@@ -1,26 +1,50 @@
 package me.alidg.errors.conf;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import me.alidg.errors.ReactiveFingerprintProvider;
+import me.alidg.errors.ReactiveMessageInterpolator;
+import me.alidg.errors.ReactiveWebErrorHandlerPostProcessor;
+import me.alidg.errors.ReactiveWebErrorHandlers;
 import me.alidg.errors.WebErrorHandlers;
 import me.alidg.errors.adapter.HttpErrorAttributesAdapter;
 import me.alidg.errors.adapter.attributes.ReactiveErrorAttributes;
+import me.alidg.errors.webflux.ErrorsWebExceptionHandler;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.AutoConfigureBefore;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.autoconfigure.web.reactive.error.ErrorWebFluxAutoConfiguration;
 import org.springframework.boot.web.reactive.error.ErrorAttributes;
+import org.springframework.boot.web.reactive.error.ErrorWebExceptionHandler;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Collections;
+import java.util.List;
 
 import static org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type.REACTIVE;
 
 /**
- * Encapsulates the reactive parts of the errors auto configurations.
+ * Encapsulates the reactive parts of the errors auto configurations. By default, the Spring Boot's default
+ * exception handler would use the {@link ReactiveErrorAttributes} to render the errors. When the
+ * {@code errors.reactive.direct-write} is enabled, the errors would be written by the
+ * {@link ErrorsWebExceptionHandler} directly.
  *
  * @author Ali Dehghani
  */
 @ConditionalOnWebApplication(type = REACTIVE)
 @AutoConfigureAfter(ErrorsAutoConfiguration.class)
 @AutoConfigureBefore(ErrorWebFluxAutoConfiguration.class)
+@Import(ReactiveErrorsAutoConfiguration.DirectWriteConfiguration.class)
 public class ReactiveErrorsAutoConfiguration {
 
     /**
@@ -37,4 +61,76 @@ public class ReactiveErrorsAutoConfiguration {
                                            HttpErrorAttributesAdapter httpErrorAttributesAdapter) {
         return new ReactiveErrorAttributes(webErrorHandlers, httpErrorAttributesAdapter);
     }
+
+    /**
+     * Registers an {@link ErrorWebExceptionHandler} writing the handled errors straight into the response
+     * buffers, instead of the Spring Boot's default handler, when the {@code errors.reactive.direct-write} is
+     * set to {@code true}. Unlike the default handler, this one always responds with JSON and won't negotiate
+     * the content type, e.g. to render HTML error pages. The non-blocking {@link ReactiveWebErrorHandlers} and
+     * its blocking scheduler are only needed by this handler, so they're registered along with it.
+     */
+    @Configuration
+    @ConditionalOnClass(ObjectMapper.class)
+    @ConditionalOnProperty(name = "errors.reactive.direct-write", havingValue = "true")
+    static class DirectWriteConfiguration {
+
+        /**
+         * The bounded scheduler to offload the blocking error handling components to, e.g. the plain post
+         * processors.
+         *
+         * @param errorsProperties Configuration properties bean.
+         * @return The to-be-registered scheduler.
+         */
+        @Bean(destroyMethod = "dispose")
+        @ConditionalOnBean(WebErrorHandlers.class)
+        @ConditionalOnMissingBean(name = "errorsBlockingScheduler")
+        public Scheduler errorsBlockingScheduler(ErrorsProperties errorsProperties) {
+            ErrorsProperties.Reactive reactive = errorsProperties.getReactive();
+            return Schedulers.newBoundedElastic(reactive.getBlockingThreadCap(), reactive.getBlockingQueueCapacity(),
+                "errors-blocking");
+        }
+
+        /**
+         * The non-blocking variant of the {@link WebErrorHandlers}, used to handle the exceptions on the
+         * event-loop threads.
+         *
+         * @param webErrorHandlers    To refine and handle the exceptions.
+         * @param blockingScheduler   To offload the blocking components to.
+         * @param messageInterpolator The optional non-blocking message resolver.
+         * @param fingerprintProvider The optional non-blocking fingerprint generator.
+         * @param postProcessors      The optional non-blocking post processors.
+         * @return The to-be-registered reactive error handlers.
+         */
+        @Bean
+        @ConditionalOnBean(WebErrorHandlers.class)
+        @ConditionalOnMissingBean
+        public ReactiveWebErrorHandlers reactiveWebErrorHandlers(WebErrorHandlers webErrorHandlers,
+                                                                 @Qualifier("errorsBlockingScheduler") Scheduler blockingScheduler,
+                                                                 ObjectProvider<ReactiveMessageInterpolator> messageInterpolator,
+                                                                 ObjectProvider<ReactiveFingerprintProvider> fingerprintProvider,
+                                                                 @Autowired(required = false) List<ReactiveWebErrorHandlerPostProcessor> postProcessors) {
+            return new ReactiveWebErrorHandlers(webErrorHandlers, blockingScheduler, messageInterpolator.getIfAvailable(),
+                fingerprintProvider.getIfAvailable(), postProcessors != null ? postProcessors : Collections.emptyList());
+        }
+
+        /**
+         * The exception handler writing the errors directly.
+         *
+         * @param webErrorHandlers           Performing the actual exception handling without blocking.
+         * @param httpErrorAttributesAdapter Adapter for error representation.
+         * @param errorsProperties           Configuration properties bean.
+         * @param objectMapper               To write the JSON responses, if available.
+         * @return The to-be-registered exception handler.
+         */
+        @Bean
+        @ConditionalOnBean(WebErrorHandlers.class)
+        @ConditionalOnMissingBean(ErrorWebExceptionHandler.class)
+        public ErrorsWebExceptionHandler errorsWebExceptionHandler(ReactiveWebErrorHandlers webErrorHandlers,
+                                                                   HttpErrorAttributesAdapter httpErrorAttributesAdapter,
+                                                                   ErrorsProperties errorsProperties,
+                                                                   ObjectProvider<ObjectMapper> objectMapper) {
+            return new ErrorsWebExceptionHandler(webErrorHandlers, httpErrorAttributesAdapter, errorsProperties,
+                objectMapper.getIfAvailable(ObjectMapper::new));
+        }
+    }
 }
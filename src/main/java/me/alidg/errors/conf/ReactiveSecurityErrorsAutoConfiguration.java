@@ -1,12 +1,15 @@
 package me.alidg.errors.conf;
 
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.web.reactive.error.ErrorWebFluxAutoConfiguration;
 import org.springframework.boot.web.reactive.error.ErrorWebExceptionHandler;
 import org.springframework.context.annotation.Bean;
 import org.springframework.security.web.server.ServerAuthenticationEntryPoint;
 import org.springframework.security.web.server.authorization.ServerAccessDeniedHandler;
+import reactor.core.publisher.Mono;
 
 import static org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type.REACTIVE;
 
@@ -45,35 +48,43 @@ import static org.springframework.boot.autoconfigure.condition.ConditionalOnWebA
  * </pre>
  */
 @ConditionalOnWebApplication(type = REACTIVE)
+@AutoConfigureAfter({ReactiveErrorsAutoConfiguration.class, ErrorWebFluxAutoConfiguration.class})
 @ConditionalOnBean(ErrorWebExceptionHandler.class)
 @ConditionalOnClass(name = "org.springframework.security.web.server.authorization.ServerAccessDeniedHandler")
 public class ReactiveSecurityErrorsAutoConfiguration {
 
     /**
      * Responsible for catching all access denied exceptions and delegating them to typical web error handlers
-     * to perform the actual exception handling procedures.
+     * to perform the actual exception handling procedures. The delegation is deferred until subscription, as the
+     * Spring Boot's default handler records the exception as soon as it's called.
      *
-     * @param errorWebExceptionHandler Spring Boot's default exception handler which in turn would delegate to our
-     *                                 typical error handlers.
+     * @param errorWebExceptionHandler The {@link me.alidg.errors.webflux.ErrorsWebExceptionHandler} writing the
+     *                                 errors directly or the Spring Boot's default exception handler which in
+     *                                 turn would delegate to our typical error handlers.
      * @return The registered access denied handler.
      */
     @Bean
     @ConditionalOnClass(name = "org.springframework.security.web.server.authorization.ServerAccessDeniedHandler")
     public ServerAccessDeniedHandler accessDeniedHandler(ErrorWebExceptionHandler errorWebExceptionHandler) {
-        return errorWebExceptionHandler::handle;
+        return (exchange, exception) -> Mono.defer(() -> errorWebExceptionHandler.handle(exchange, exception));
     }
 
     /**
      * Responsible for catching all authentication exceptions and delegating them to typical web error handlers
-     * to perform the actual exception handling procedures.
+     * to perform the actual exception handling procedures. The delegation is deferred until subscription, since
+     * the Spring Security may create the authentication entry point's {@link Mono} eagerly, even when it's not
+     * going to subscribe to it, e.g. to handle an access denied exception for an authenticated user. Otherwise,
+     * the Spring Boot's default handler would record the authentication exception first and then render it
+     * instead of the access denied one.
      *
-     * @param errorWebExceptionHandler Spring Boot's default exception handler which in turn would delegate to our
-     *                                 typical error handlers.
+     * @param errorWebExceptionHandler The {@link me.alidg.errors.webflux.ErrorsWebExceptionHandler} writing the
+     *                                 errors directly or the Spring Boot's default exception handler which in
+     *                                 turn would delegate to our typical error handlers.
      * @return The registered authentication entry point.
      */
     @Bean
     @ConditionalOnClass(name = "org.springframework.security.web.server.ServerAuthenticationEntryPoint")
     public ServerAuthenticationEntryPoint authenticationEntryPoint(ErrorWebExceptionHandler errorWebExceptionHandler) {
-        return errorWebExceptionHandler::handle;
+        return (exchange, exception) -> Mono.defer(() -> errorWebExceptionHandler.handle(exchange, exception));
     }
 }
@@ -1,14 +1,20 @@
 package me.alidg.errors.conf;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import me.alidg.errors.WebErrorHandlers;
 import me.alidg.errors.adapter.HttpErrorAttributesAdapter;
 import me.alidg.errors.adapter.attributes.ServletErrorAttributes;
 import me.alidg.errors.mvc.ErrorsControllerAdvice;
+import me.alidg.errors.mvc.ErrorsFilter;
+import me.alidg.errors.mvc.ErrorsHandlerExceptionResolver;
+import me.alidg.errors.mvc.ServletErrorWriter;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.AutoConfigureBefore;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.autoconfigure.web.ErrorProperties;
 import org.springframework.boot.autoconfigure.web.ServerProperties;
@@ -18,6 +24,8 @@ import org.springframework.boot.autoconfigure.web.servlet.error.ErrorViewResolve
 import org.springframework.boot.web.servlet.error.ErrorAttributes;
 import org.springframework.boot.web.servlet.error.ErrorController;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -31,19 +39,26 @@ import static org.springframework.boot.autoconfigure.condition.ConditionalOnWebA
 import static org.springframework.http.MediaType.ALL;
 
 /**
- * Encapsulates servlet-specific parts of errors auto-configuration.
+ * Encapsulates servlet-specific parts of errors auto-configuration. When Jackson is available, a
+ * {@link ServletErrorWriter} would be registered to write the errors directly into the responses, e.g. from the
+ * Spring Security handlers with {@code errors.servlet.direct-write=true}. Also, with
+ * {@code errors.servlet.exception-filter=true}, an {@link ErrorsFilter} would render the exceptions thrown by the
+ * servlet filters directly, instead of the container's error page forwarding. Similarly, with
+ * {@code errors.servlet.exception-resolver=true}, an {@link ErrorsHandlerExceptionResolver} would handle the
+ * exceptions thrown by the Spring MVC handlers instead of the {@link ErrorsControllerAdvice}.
  *
  * @author Ali Dehghani
  */
 @ConditionalOnWebApplication(type = SERVLET)
 @AutoConfigureAfter(ErrorsAutoConfiguration.class)
 @AutoConfigureBefore(ErrorMvcAutoConfiguration.class)
+@Import(ServletErrorsAutoConfiguration.DirectWriteConfiguration.class)
 public class ServletErrorsAutoConfiguration {
 
     /**
      * Registers a {@link org.springframework.web.bind.annotation.RestControllerAdvice} to catch all
      * exceptions thrown by the web layer. If there was no {@link WebErrorHandlers} in the application
-     * context, then the advice would not be registered.
+     * context or the {@link ErrorsHandlerExceptionResolver} is enabled, then the advice would not be registered.
      *
      * @param webErrorHandlers           The exception handler.
      * @param httpErrorAttributesAdapter To adapt our and Spring Boot's error representations.
@@ -51,6 +66,7 @@ public class ServletErrorsAutoConfiguration {
      */
     @Bean
     @ConditionalOnBean(WebErrorHandlers.class)
+    @ConditionalOnProperty(name = "errors.servlet.exception-resolver", havingValue = "false", matchIfMissing = true)
     public ErrorsControllerAdvice errorsControllerAdvice(WebErrorHandlers webErrorHandlers,
                                                          HttpErrorAttributesAdapter httpErrorAttributesAdapter) {
         return new ErrorsControllerAdvice(webErrorHandlers, httpErrorAttributesAdapter) {
@@ -92,6 +108,64 @@ public class ServletErrorsAutoConfiguration {
         return new CustomServletErrorController(errorAttributes, serverProperties.getError(), resolvers);
     }
 
+    /**
+     * Registers the {@link ServletErrorWriter} to write the handled errors straight into the responses, without
+     * any container ERROR dispatch.
+     */
+    @Configuration
+    @ConditionalOnClass(ObjectMapper.class)
+    static class DirectWriteConfiguration {
+
+        /**
+         * The writer handling and writing the errors directly.
+         *
+         * @param webErrorHandlers           Performing the actual exception handling.
+         * @param httpErrorAttributesAdapter Adapter for error representation.
+         * @param errorsProperties           Configuration properties bean.
+         * @param objectMapper               To write the JSON responses, if available.
+         * @return The to-be-registered error writer.
+         */
+        @Bean
+        @ConditionalOnBean(WebErrorHandlers.class)
+        @ConditionalOnMissingBean
+        public ServletErrorWriter servletErrorWriter(WebErrorHandlers webErrorHandlers,
+                                                     HttpErrorAttributesAdapter httpErrorAttributesAdapter,
+                                                     ErrorsProperties errorsProperties,
+                                                     ObjectProvider<ObjectMapper> objectMapper) {
+            return new ServletErrorWriter(webErrorHandlers, httpErrorAttributesAdapter, errorsProperties,
+                objectMapper.getIfAvailable(ObjectMapper::new));
+        }
+
+        /**
+         * The filter catching the exceptions of the rest of the filter chain and writing them directly.
+         *
+         * @param errorWriter      To handle and write the caught exceptions.
+         * @param errorsProperties Configuration properties bean.
+         * @return The to-be-registered filter.
+         */
+        @Bean
+        @ConditionalOnBean(WebErrorHandlers.class)
+        @ConditionalOnMissingBean
+        @ConditionalOnProperty(name = "errors.servlet.exception-filter", havingValue = "true")
+        public ErrorsFilter errorsFilter(ServletErrorWriter errorWriter, ErrorsProperties errorsProperties) {
+            return new ErrorsFilter(errorWriter, errorsProperties.getServlet().getExceptionFilterOrder());
+        }
+
+        /**
+         * The highest precedence exception resolver handling the Spring MVC exceptions and writing them directly.
+         *
+         * @param errorWriter To handle and write the exceptions.
+         * @return The to-be-registered exception resolver.
+         */
+        @Bean
+        @ConditionalOnBean(WebErrorHandlers.class)
+        @ConditionalOnMissingBean
+        @ConditionalOnProperty(name = "errors.servlet.exception-resolver", havingValue = "true")
+        public ErrorsHandlerExceptionResolver errorsHandlerExceptionResolver(ServletErrorWriter errorWriter) {
+            return new ErrorsHandlerExceptionResolver(errorWriter);
+        }
+    }
+
     /**
      * A very simple custom {@link ErrorController} responsible for fixing the status code
      * issue in Spring Boot 2.2+.
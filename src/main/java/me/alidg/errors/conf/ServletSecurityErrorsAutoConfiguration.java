@@ -1,5 +1,7 @@
 package me.alidg.errors.conf;
 
+import me.alidg.errors.mvc.ServletErrorWriter;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Bean;
@@ -16,6 +18,11 @@ import static org.springframework.boot.autoconfigure.condition.ConditionalOnWebA
  * two handlers will make sure that our exception handling mechanism would properly catch and handle
  * all security related exceptions.
  *
+ * <p>By default, these handlers would send an error, so the exception would be handled on the container ERROR
+ * dispatch to the {@code /error} endpoint. With {@code errors.servlet.direct-write=true}, they would handle the
+ * exception and write the error response on the spot, using the {@link ServletErrorWriter}. This way, each 401 and
+ * 403 costs one request pass instead of two.
+ *
  * @author Ali Dehghani
  * @implNote In contrast with other handlers that register themselves automatically, in order to use these
  * two handlers, you should register them in your security configuration manually as follows:
@@ -55,13 +62,21 @@ public class ServletSecurityErrorsAutoConfiguration {
     /**
      * Registers a handler to handle to access denied exceptions.
      *
+     * @param errorsProperties Configuration properties bean, if any.
+     * @param errorWriter      To write the errors directly, if enabled.
      * @return The registered access denied handler.
      */
     @Bean
     @ConditionalOnClass(name = "org.springframework.security.web.access.AccessDeniedHandler")
-    public AccessDeniedHandler accessDeniedHandler() {
+    public AccessDeniedHandler accessDeniedHandler(ObjectProvider<ErrorsProperties> errorsProperties,
+                                                   ObjectProvider<ServletErrorWriter> errorWriter) {
+        ServletErrorWriter writer = directWriter(errorsProperties, errorWriter);
         return (request, response, exception) -> {
-            if (!response.isCommitted()) {
+            if (response.isCommitted()) return;
+
+            if (writer != null) {
+                writer.handle(exception, request, response);
+            } else {
                 request.setAttribute(ERROR_ATTRIBUTE, exception);
                 response.sendError(HttpServletResponse.SC_FORBIDDEN);
             }
@@ -71,16 +86,37 @@ public class ServletSecurityErrorsAutoConfiguration {
     /**
      * Registers a handler to handle all authentication exceptions.
      *
+     * @param errorsProperties Configuration properties bean, if any.
+     * @param errorWriter      To write the errors directly, if enabled.
      * @return The registered authentication entry point.
      */
     @Bean
     @ConditionalOnClass(name = "org.springframework.security.web.AuthenticationEntryPoint")
-    public AuthenticationEntryPoint authenticationEntryPoint() {
+    public AuthenticationEntryPoint authenticationEntryPoint(ObjectProvider<ErrorsProperties> errorsProperties,
+                                                             ObjectProvider<ServletErrorWriter> errorWriter) {
+        ServletErrorWriter writer = directWriter(errorsProperties, errorWriter);
         return (request, response, exception) -> {
-            if (!response.isCommitted()) {
+            if (response.isCommitted()) return;
+
+            if (writer != null) {
+                writer.handle(exception, request, response);
+            } else {
                 request.setAttribute(ERROR_ATTRIBUTE, exception);
                 response.sendError(HttpServletResponse.SC_UNAUTHORIZED);
             }
         };
     }
+
+    /**
+     * @param errorsProperties Configuration properties bean, if any.
+     * @param errorWriter      The direct error writer, if any.
+     * @return The direct error writer, if it's available and enabled. Otherwise {@code null}.
+     */
+    private ServletErrorWriter directWriter(ObjectProvider<ErrorsProperties> errorsProperties,
+                                            ObjectProvider<ServletErrorWriter> errorWriter) {
+        ErrorsProperties properties = errorsProperties.getIfAvailable();
+        if (properties == null || !properties.getServlet().isDirectWrite()) return null;
+
+        return errorWriter.getIfAvailable();
+    }
 }
@@ -0,0 +1,41 @@
+package me.alidg.errors.conf;
+
+import me.alidg.errors.annotation.StacklessException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+/**
+ * Applies the configured {@code errors.stack-trace-sampling-rate} to the {@link StacklessException}s when the
+ * application context starts and restores the previous rate when the context closes. Since the sampling rate
+ * is shared by the whole JVM, this way a closed context, e.g. one of the many contexts of a test suite, won't
+ * leave its rate behind for others.
+ *
+ * @see StacklessException#setStackTraceSamplingRate(double)
+ */
+final class StackTraceSampling implements InitializingBean, DisposableBean {
+
+    /**
+     * The configured sampling rate.
+     */
+    private final double rate;
+
+    /**
+     * The sampling rate before applying the configured one.
+     */
+    private double previousRate;
+
+    StackTraceSampling(double rate) {
+        this.rate = rate;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        previousRate = StacklessException.getStackTraceSamplingRate();
+        StacklessException.setStackTraceSamplingRate(rate);
+    }
+
+    @Override
+    public void destroy() {
+        StacklessException.setStackTraceSamplingRate(previousRate);
+    }
+}
@@ -5,22 +5,32 @@ import me.alidg.errors.HttpError;
 import org.springframework.lang.NonNull;
 
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Generates a random and unique UUID for HTTP errors.
  *
+ * <p>The random bits are drawn from a {@link ThreadLocalRandom} instead of the {@link UUID#randomUUID()}'s
+ * {@link java.security.SecureRandom}, since the latter may read from the OS entropy source and block the
+ * calling thread, e.g. a reactive event-loop. Fingerprints are only meant to correlate the logs, so they
+ * don't need to be cryptographically strong.
+ *
  * @author Ali Dehghani
  */
 public class UuidFingerprintProvider implements FingerprintProvider {
 
     /**
-     * Generates a random UUID regardless of the given input.
+     * Generates a random version 4 UUID regardless of the given input.
      *
      * @param httpError Error event for which fingerprint is generated.
      * @return The generated UUID based fingerprint.
      */
     @Override
     public String generate(@NonNull HttpError httpError) {
-        return UUID.randomUUID().toString();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long mostSigBits = (random.nextLong() & ~0xF000L) | 0x4000L;
+        long leastSigBits = (random.nextLong() & ~(0xC000000000000000L)) | 0x8000000000000000L;
+
+        return new UUID(mostSigBits, leastSigBits).toString();
     }
 }
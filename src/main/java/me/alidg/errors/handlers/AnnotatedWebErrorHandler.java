@@ -8,14 +8,17 @@ import me.alidg.errors.annotation.ExposeAsArg;
 import org.springframework.http.HttpStatus;
 import org.springframework.lang.NonNull;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.Field;
 import java.lang.reflect.Member;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
-import java.util.Objects;
 import java.util.stream.Stream;
 
 import static java.util.Collections.singletonMap;
@@ -28,6 +31,12 @@ import static me.alidg.errors.Argument.arg;
  * extracted form the annotated exception. Also, any member annotated with {@link ExposeAsArg}
  * would be exposed as arguments.
  *
+ * <h3>Exception Metadata</h3>
+ * The annotations and members of each exception class are inspected only once, on the first exception of
+ * that class. The outcome, including a pre-bound {@link MethodHandle} for each exposed member, would be
+ * remembered in a {@link ClassValue}. So extracting the arguments afterwards is a simple loop over those
+ * accessors without any reflective lookup.
+ *
  * @author Ali Dehghani
  * @see ExposeAsArg
  * @see ExceptionMapping
@@ -38,9 +47,24 @@ public class AnnotatedWebErrorHandler implements WebErrorHandler {
      * Helps us to sort different elements annotated with {@link ExposeAsArg} based on their
      * {@link ExposeAsArg#value()}.
      */
-    private final Comparator<AnnotatedElement> byExposedIndex =
+    private static final Comparator<AnnotatedElement> byExposedIndex =
         Comparator.comparing(e -> e.getAnnotation(ExposeAsArg.class).value());
 
+    /**
+     * The accessor type we adapt all member accessors to.
+     */
+    private static final MethodType ACCESSOR_TYPE = MethodType.methodType(Object.class, Throwable.class);
+
+    /**
+     * Exception metadata for each exception class.
+     */
+    private static final ClassValue<ExceptionMetadata> METADATA = new ClassValue<ExceptionMetadata>() {
+        @Override
+        protected ExceptionMetadata computeValue(Class<?> type) {
+            return ExceptionMetadata.of(type);
+        }
+    };
+
     /**
      * Only can handle non-null exceptions annotated with {@link ExceptionMapping} annotation.
      *
@@ -52,7 +76,15 @@ public class AnnotatedWebErrorHandler implements WebErrorHandler {
     public boolean canHandle(Throwable exception) {
         if (exception == null) return false;
 
-        return exception.getClass().isAnnotationPresent(ExceptionMapping.class);
+        return METADATA.get(exception.getClass()).mapping != null;
+    }
+
+    /**
+     * @return {@code true}, since the {@link ExceptionMapping} annotation is a class level annotation.
+     */
+    @Override
+    public boolean isTypeBased() {
+        return true;
     }
 
     /**
@@ -67,111 +99,175 @@ public class AnnotatedWebErrorHandler implements WebErrorHandler {
     @NonNull
     @Override
     public HandledException handle(Throwable exception) {
-        ExceptionMapping exceptionMapping = exception.getClass().getAnnotation(ExceptionMapping.class);
-        String errorCode = exceptionMapping.errorCode();
-        HttpStatus httpStatus = exceptionMapping.statusCode();
-        List<Argument> arguments = getExposedValues(exception);
+        ExceptionMetadata metadata = METADATA.get(exception.getClass());
+        String errorCode = metadata.mapping.errorCode();
+        HttpStatus httpStatus = metadata.mapping.statusCode();
+        List<Argument> arguments = metadata.getExposedValues(exception);
 
         return new HandledException(errorCode, httpStatus, singletonMap(errorCode, arguments));
     }
 
     /**
-     * Finds all fields and methods annotated with {@link ExposeAsArg} and return their value or
-     * return value as to-be-exposed arguments.
-     *
-     * @param exception The exception to extract the members from.
-     * @return Array of exposed arguments.
+     * Encapsulates the {@link ExceptionMapping} and {@link ExposeAsArg} metadata of a particular
+     * exception class.
      */
-    private List<Argument> getExposedValues(Throwable exception) {
-        List<AnnotatedElement> members = new ArrayList<>();
-        members.addAll(getExposedFields(exception));
-        members.addAll(getExposedMethods(exception));
-        members.sort(byExposedIndex);
-
-        return members
-            .stream()
-            .map(e -> getArgument(e, exception))
-            .filter(Objects::nonNull)
-            .collect(toList());
-    }
+    private static final class ExceptionMetadata {
 
-    /**
-     * Given an element annotated with {@link ExposeAsArg}
-     *
-     * @param element   The field or method we're going to extract its value.
-     * @param exception The containing exception that those fields or methods are declared in.
-     * @return The field value or method return value.
-     */
-    private Argument getArgument(AnnotatedElement element, Throwable exception) {
-        try {
-            if (element instanceof Field) {
-                Field f = (Field) element;
-                f.setAccessible(true);
-
-                return arg(getExposedName(f), f.get(exception));
-            } else if (element instanceof Method) {
-                Method m = (Method) element;
-                m.setAccessible(true);
-
-                return arg(getExposedName(m), m.invoke(exception));
+        /**
+         * The exception mapping or {@code null} if the class is not annotated.
+         */
+        private final ExceptionMapping mapping;
+
+        /**
+         * The to-be-exposed names, sorted by {@link ExposeAsArg#value()}.
+         */
+        private final String[] names;
+
+        /**
+         * The accessors corresponding to the {@link #names}.
+         */
+        private final MethodHandle[] accessors;
+
+        private ExceptionMetadata(ExceptionMapping mapping, String[] names, MethodHandle[] accessors) {
+            this.mapping = mapping;
+            this.names = names;
+            this.accessors = accessors;
+        }
+
+        /**
+         * Inspects the given exception class and creates an accessor for each field or method annotated
+         * with {@link ExposeAsArg}. Members we can't access would be ignored.
+         *
+         * @param type The exception class.
+         * @return The exception metadata.
+         */
+        private static ExceptionMetadata of(Class<?> type) {
+            ExceptionMapping mapping = type.getAnnotation(ExceptionMapping.class);
+            if (mapping == null) return new ExceptionMetadata(null, new String[0], new MethodHandle[0]);
+
+            List<AnnotatedElement> members = new ArrayList<>();
+            members.addAll(getExposedFields(type));
+            members.addAll(getExposedMethods(type));
+            members.sort(byExposedIndex);
+
+            List<String> names = new ArrayList<>();
+            List<MethodHandle> accessors = new ArrayList<>();
+            for (AnnotatedElement member : members) {
+                MethodHandle accessor = getAccessor(member);
+                if (accessor != null) {
+                    names.add(getExposedName((AnnotatedElement & Member) member));
+                    accessors.add(accessor);
+                }
             }
-        } catch (Exception ignored) {
+
+            return new ExceptionMetadata(mapping, names.toArray(new String[0]), accessors.toArray(new MethodHandle[0]));
         }
 
-        return null;
-    }
+        /**
+         * Reads the field values or method return values of all exposed members.
+         *
+         * @param exception The exception to extract the values from.
+         * @return List of exposed arguments.
+         */
+        private List<Argument> getExposedValues(Throwable exception) {
+            List<Argument> arguments = new ArrayList<>(accessors.length);
+            for (int i = 0; i < accessors.length; i++) {
+                try {
+                    arguments.add(arg(names[i], (Object) accessors[i].invokeExact(exception)));
+                } catch (Error e) {
+                    throw e;
+                } catch (Throwable ignored) {
+                }
+            }
 
-    /**
-     * Returns all fields declared in the given {@code exception} that annotated with the
-     * {@link ExposeAsArg} annotation.
-     *
-     * @param exception The exception reflect on.
-     * @return List of all annotated fields.
-     */
-    private List<Field> getExposedFields(Throwable exception) {
-        return Stream.of(exception.getClass().getDeclaredFields())
-            .filter(f -> f.isAnnotationPresent(ExposeAsArg.class))
-            .collect(toList());
-    }
+            return arguments;
+        }
 
-    /**
-     * All methods (with a return type and no parameters) annotated with the {@link ExposeAsArg} annotation.
-     *
-     * @param exception The exception reflect on.
-     * @return List of all annotated methods.
-     */
-    private List<Method> getExposedMethods(Throwable exception) {
-        return Stream.of(exception.getClass().getMethods())
-            .filter(m -> annotationIsPresent(m) && hasReturnType(m) && hasNoParameters(m))
-            .collect(toList());
-    }
+        /**
+         * Creates an accessor for the given field or method annotated with {@link ExposeAsArg}. The accessors
+         * of static members would simply ignore the exception.
+         *
+         * @param element The field or method we're going to read its value.
+         * @return The accessor or {@code null} if the element is not accessible.
+         */
+        private static MethodHandle getAccessor(AnnotatedElement element) {
+            try {
+                MethodHandles.Lookup lookup = MethodHandles.lookup();
+                if (element instanceof Field) {
+                    Field f = (Field) element;
+                    f.setAccessible(true);
 
-    /**
-     * Returns the to-be-exposed name. If the {@link ExposeAsArg#name()} is not blank, then
-     * it would be the exposed name. Otherwise, we use the {@link Member#getName()} as that name.
-     *
-     * @param member The exception member.
-     * @param <T>    The member type.
-     * @return The to-be-exposed name.
-     */
-    private <T extends AnnotatedElement & Member> String getExposedName(T member) {
-        ExposeAsArg annotation = member.getAnnotation(ExposeAsArg.class);
-        if (annotation != null && !annotation.name().trim().isEmpty()) {
-            return annotation.name();
+                    return adapt(lookup.unreflectGetter(f), f);
+                } else if (element instanceof Method) {
+                    Method m = (Method) element;
+                    m.setAccessible(true);
+
+                    return adapt(lookup.unreflect(m), m);
+                }
+            } catch (Exception ignored) {
+            }
+
+            return null;
         }
 
-        return member.getName();
-    }
+        private static MethodHandle adapt(MethodHandle handle, Member member) {
+            if (Modifier.isStatic(member.getModifiers())) handle = MethodHandles.dropArguments(handle, 0, Throwable.class);
 
-    private boolean hasNoParameters(Method m) {
-        return m.getParameterCount() == 0;
-    }
+            return handle.asType(ACCESSOR_TYPE);
+        }
 
-    private boolean hasReturnType(Method m) {
-        return m.getReturnType() != Void.TYPE;
-    }
+        /**
+         * Returns all fields declared in the given exception class that annotated with the
+         * {@link ExposeAsArg} annotation.
+         *
+         * @param type The exception class to reflect on.
+         * @return List of all annotated fields.
+         */
+        private static List<Field> getExposedFields(Class<?> type) {
+            return Stream.of(type.getDeclaredFields())
+                .filter(f -> f.isAnnotationPresent(ExposeAsArg.class))
+                .collect(toList());
+        }
+
+        /**
+         * All methods (with a return type and no parameters) annotated with the {@link ExposeAsArg} annotation.
+         *
+         * @param type The exception class to reflect on.
+         * @return List of all annotated methods.
+         */
+        private static List<Method> getExposedMethods(Class<?> type) {
+            return Stream.of(type.getMethods())
+                .filter(m -> annotationIsPresent(m) && hasReturnType(m) && hasNoParameters(m))
+                .collect(toList());
+        }
+
+        /**
+         * Returns the to-be-exposed name. If the {@link ExposeAsArg#name()} is not blank, then
+         * it would be the exposed name. Otherwise, we use the {@link Member#getName()} as that name.
+         *
+         * @param member The exception member.
+         * @param <T>    The member type.
+         * @return The to-be-exposed name.
+         */
+        private static <T extends AnnotatedElement & Member> String getExposedName(T member) {
+            ExposeAsArg annotation = member.getAnnotation(ExposeAsArg.class);
+            if (annotation != null && !annotation.name().trim().isEmpty()) {
+                return annotation.name();
+            }
 
-    private boolean annotationIsPresent(Method m) {
-        return m.isAnnotationPresent(ExposeAsArg.class);
+            return member.getName();
+        }
+
+        private static boolean hasNoParameters(Method m) {
+            return m.getParameterCount() == 0;
+        }
+
+        private static boolean hasReturnType(Method m) {
+            return m.getReturnType() != Void.TYPE;
+        }
+
+        private static boolean annotationIsPresent(Method m) {
+            return m.isAnnotationPresent(ExposeAsArg.class);
+        }
     }
 }
@@ -0,0 +1,98 @@
+package me.alidg.errors.handlers;
+
+import me.alidg.errors.HandledException;
+import me.alidg.errors.WebErrorHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+/**
+ * A {@link WebErrorHandler} dispatching to {@link GeneratedWebErrorHandler}s by the exact exception class.
+ * Regardless of the number of generated handlers, finding the appropriate one is a single lookup.
+ *
+ * @see GeneratedWebErrorHandler
+ */
+public class GeneratedMappingsWebErrorHandler implements WebErrorHandler {
+
+    /**
+     * Plain old logger.
+     */
+    private static final Logger log = LoggerFactory.getLogger(GeneratedMappingsWebErrorHandler.class);
+
+    /**
+     * Maps each exception class to its generated handler.
+     */
+    private final Map<Class<?>, GeneratedWebErrorHandler> handlers = new HashMap<>();
+
+    /**
+     * Creates a dispatcher over the given generated handlers. When two handlers are generated for the
+     * same exception class, the first one wins.
+     *
+     * @param handlers The generated handlers.
+     */
+    public GeneratedMappingsWebErrorHandler(@NonNull Collection<GeneratedWebErrorHandler> handlers) {
+        handlers.forEach(h -> this.handlers.putIfAbsent(h.getExceptionType(), h));
+    }
+
+    /**
+     * Loads all generated handlers registered in the
+     * {@code META-INF/services/me.alidg.errors.handlers.GeneratedWebErrorHandler} files. The stale entries, e.g.
+     * the ones left behind by an incremental build after deleting an exception, would be skipped with a warning.
+     *
+     * @param classLoader The class loader to load the handlers with.
+     * @return The dispatcher or {@code null} if there is no generated handler.
+     */
+    @Nullable
+    public static GeneratedMappingsWebErrorHandler load(@Nullable ClassLoader classLoader) {
+        Map<Class<?>, GeneratedWebErrorHandler> loaded = new HashMap<>();
+        Iterator<GeneratedWebErrorHandler> handlers = ServiceLoader.load(GeneratedWebErrorHandler.class, classLoader).iterator();
+        while (true) {
+            try {
+                if (!handlers.hasNext()) break;
+
+                GeneratedWebErrorHandler handler = handlers.next();
+                loaded.putIfAbsent(handler.getExceptionType(), handler);
+            } catch (ServiceConfigurationError e) {
+                log.warn("Skipping a generated handler, consider a clean build: {}", e.getMessage());
+            }
+        }
+
+        return loaded.isEmpty() ? null : new GeneratedMappingsWebErrorHandler(loaded.values());
+    }
+
+    /**
+     * Only can handle exceptions with a generated handler.
+     *
+     * @param exception The exception to examine.
+     * @return {@code true} if there is a generated handler for the exception class, {@code false} otherwise.
+     */
+    @Override
+    public boolean canHandle(Throwable exception) {
+        return exception != null && handlers.containsKey(exception.getClass());
+    }
+
+    @Override
+    public boolean isTypeBased() {
+        return true;
+    }
+
+    /**
+     * Delegates to the generated handler of the exception class.
+     *
+     * @param exception The exception to handle.
+     * @return The handled exception.
+     */
+    @NonNull
+    @Override
+    public HandledException handle(Throwable exception) {
+        return handlers.get(exception.getClass()).handle(exception);
+    }
+}
@@ -0,0 +1,62 @@
+package me.alidg.errors.handlers;
+
+import me.alidg.errors.WebErrorHandler;
+import org.springframework.lang.NonNull;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Base class for {@link WebErrorHandler}s generated at compile time by the
+ * {@link me.alidg.errors.processor.ExceptionMappingProcessor} for exceptions annotated with
+ * {@link me.alidg.errors.annotation.ExceptionMapping}. Each generated handler is responsible for exactly one
+ * exception class and reads the {@link me.alidg.errors.annotation.ExposeAsArg} members directly, without any
+ * reflection.
+ *
+ * <p>Generated handlers are registered in {@code META-INF/services/me.alidg.errors.handlers.GeneratedWebErrorHandler}
+ * and would be picked up by the {@link GeneratedMappingsWebErrorHandler}.
+ *
+ * @see GeneratedMappingsWebErrorHandler
+ * @see me.alidg.errors.processor.ExceptionMappingProcessor
+ */
+public abstract class GeneratedWebErrorHandler implements WebErrorHandler {
+
+    /**
+     * The exception class this handler is generated for.
+     */
+    private final Class<? extends Throwable> exceptionType;
+
+    /**
+     * Initializes the handler for the given exception class.
+     *
+     * @param exceptionType The exception class this handler is generated for.
+     * @throws NullPointerException When the given exception class is null.
+     */
+    protected GeneratedWebErrorHandler(@NonNull Class<? extends Throwable> exceptionType) {
+        this.exceptionType = requireNonNull(exceptionType, "The exception type is required");
+    }
+
+    /**
+     * Only can handle the exact exception class this handler is generated for. Subclasses may declare
+     * their own exposed members, so they're not supported.
+     *
+     * @param exception The exception to examine.
+     * @return {@code true} if the exception class is exactly the {@link #exceptionType}.
+     */
+    @Override
+    public boolean canHandle(Throwable exception) {
+        return exception != null && exception.getClass() == exceptionType;
+    }
+
+    @Override
+    public boolean isTypeBased() {
+        return true;
+    }
+
+    /**
+     * @return The exception class this handler is generated for.
+     */
+    @NonNull
+    public Class<? extends Throwable> getExceptionType() {
+        return exceptionType;
+    }
+}
@@ -58,6 +58,11 @@ public class MissingRequestParametersWebErrorHandler implements WebErrorHandler
             exception instanceof MissingMatrixVariableException;
     }
 
+    @Override
+    public boolean isTypeBased() {
+        return true;
+    }
+
     /**
      * Handles the given exception by selecting the appropriate error code, status code and
      * to-be-exposed arguments conditionally.
@@ -43,6 +43,11 @@ public class MultipartWebErrorHandler implements WebErrorHandler {
         return exception instanceof MultipartException;
     }
 
+    @Override
+    public boolean isTypeBased() {
+        return true;
+    }
+
     @NonNull
     @Override
     public HandledException handle(Throwable exception) {
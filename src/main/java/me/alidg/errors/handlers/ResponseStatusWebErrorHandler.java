@@ -55,6 +55,11 @@ public class ResponseStatusWebErrorHandler implements WebErrorHandler {
         return exception instanceof ResponseStatusException;
     }
 
+    @Override
+    public boolean isTypeBased() {
+        return true;
+    }
+
     /**
      * Handle each subtype of {@link ResponseStatusException} class in its own unique and appropriate way.
      *
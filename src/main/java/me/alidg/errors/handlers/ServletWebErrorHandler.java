@@ -84,6 +84,11 @@ public class ServletWebErrorHandler implements WebErrorHandler {
             exception instanceof HttpMessageNotReadableException;
     }
 
+    @Override
+    public boolean isTypeBased() {
+        return true;
+    }
+
     /**
      * Bunch of if-else-es to return an appropriate {@link HandledException} based on the
      * nature of the given {@code exception}.
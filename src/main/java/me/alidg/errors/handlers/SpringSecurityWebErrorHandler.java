@@ -72,6 +72,11 @@ public class SpringSecurityWebErrorHandler implements WebErrorHandler {
             exception instanceof DisabledException;
     }
 
+    @Override
+    public boolean isTypeBased() {
+        return true;
+    }
+
     /**
      * Bunch of if-else-es to handle Spring Security specific exceptions.
      *
@@ -47,6 +47,11 @@ public class SpringValidationWebErrorHandler implements WebErrorHandler {
         return exception instanceof MethodArgumentNotValidException || exception instanceof BindException;
     }
 
+    @Override
+    public boolean isTypeBased() {
+        return true;
+    }
+
     /**
      * After extracting the {@link BindingResult} from the {@code exception}, would iterate over all errors and
      * pack all validation errors with their corresponding to be exposed arguments.
@@ -37,6 +37,11 @@ public class TypeMismatchWebErrorHandler implements WebErrorHandler {
         return exception instanceof TypeMismatchException;
     }
 
+    @Override
+    public boolean isTypeBased() {
+        return true;
+    }
+
     /**
      * Cast the given exception to {@link TypeMismatchException} and return a handled exception
      * instance by extracting the error code and exposing appropriate arguments.
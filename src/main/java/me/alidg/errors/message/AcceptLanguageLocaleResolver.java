@@ -0,0 +1,176 @@
+package me.alidg.errors.message;
+
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Resolves the locale of error messages from the raw value of the {@code Accept-Language} header. The header
+ * would be parsed into its weighted language ranges and then matched against the locales the message catalog
+ * actually supports, using the RFC 4647 lookup, e.g. {@code de-CH;q=0.9, en;q=0.5} would resolve to {@code de}
+ * when there is a German bundle but no Swiss German one. Since the resolved locale is always a supported one,
+ * the {@link org.springframework.context.MessageSource} would find the messages without walking the fallback
+ * chain of an unsupported locale.
+ *
+ * <p>The resolved locales are cached per raw header value in a bounded cache, as the set of distinct header
+ * values sent by the clients is usually very small. When there is no supported locale to match against, the
+ * most preferred language range of the header would be used as is.
+ *
+ * <p>Unlike the {@link org.springframework.context.i18n.LocaleContextHolder}, this resolution does not depend on
+ * any thread-local state, so it's safe to use on the event-loop threads of the reactive stack.
+ */
+public final class AcceptLanguageLocaleResolver {
+
+    /**
+     * The default maximum number of header values to cache their resolved locales.
+     */
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    /**
+     * The wildcard language range, matching any language.
+     */
+    private static final String WILDCARD = "*";
+
+    /**
+     * Provides the locales the message catalog supports, which would be consulted again after each
+     * {@link #clear()}.
+     */
+    private final Supplier<? extends Collection<Locale>> supportedLocales;
+
+    /**
+     * The locale to use when the header is missing, malformed or matches none of the supported locales.
+     */
+    private final Locale defaultLocale;
+
+    /**
+     * Caches the resolved locales per raw header value.
+     */
+    private final BoundedCache<String, Locale> cache;
+
+    /**
+     * The language tags of the supported locales, excluding the root locale.
+     */
+    private volatile List<String> supportedTags;
+
+    /**
+     * Creates a resolver matching the header values against the given fixed set of locales.
+     *
+     * @param supportedLocales The supported locales. An empty collection means any locale is supported.
+     * @param defaultLocale    The locale to use when the header does not match any supported locale.
+     * @throws NullPointerException When one of the parameters is null.
+     */
+    public AcceptLanguageLocaleResolver(@NonNull Collection<Locale> supportedLocales, @NonNull Locale defaultLocale) {
+        this(fixed(supportedLocales), defaultLocale, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a resolver matching the header values against the locales provided by the given supplier, e.g.
+     * the locales of a reloadable message catalog.
+     *
+     * @param supportedLocales Provides the supported locales. An empty collection means any locale is supported.
+     * @param defaultLocale    The locale to use when the header does not match any supported locale.
+     * @param capacity         Maximum number of header values to cache.
+     * @throws NullPointerException     When one of the parameters is null.
+     * @throws IllegalArgumentException When the capacity is not positive.
+     */
+    public AcceptLanguageLocaleResolver(@NonNull Supplier<? extends Collection<Locale>> supportedLocales,
+                                        @NonNull Locale defaultLocale,
+                                        int capacity) {
+        this.supportedLocales = requireNonNull(supportedLocales, "The supported locales are required");
+        this.defaultLocale = requireNonNull(defaultLocale, "The default locale is required");
+        this.cache = new BoundedCache<>(capacity);
+    }
+
+    /**
+     * Resolves the locale matching the given {@code Accept-Language} header value the most.
+     *
+     * @param acceptLanguage The raw header value, if any.
+     * @return The resolved locale or the default one, if nothing matches.
+     */
+    @NonNull
+    public Locale resolve(@Nullable String acceptLanguage) {
+        if (acceptLanguage == null || acceptLanguage.isEmpty()) return defaultLocale;
+
+        return cache.get(acceptLanguage, this::match);
+    }
+
+    /**
+     * Evicts all cached resolutions and reads the supported locales again on the next resolution. Call this
+     * method whenever the message catalog reloads its messages.
+     */
+    public void clear() {
+        supportedTags = null;
+        cache.clear();
+    }
+
+    /**
+     * @return Current number of cached header values.
+     */
+    public int size() {
+        return cache.size();
+    }
+
+    /**
+     * @return Number of resolutions served from the cache.
+     */
+    public long getHitCount() {
+        return cache.getHitCount();
+    }
+
+    /**
+     * @return Number of resolutions requiring the header to be parsed.
+     */
+    public long getMissCount() {
+        return cache.getMissCount();
+    }
+
+    private Locale match(String acceptLanguage) {
+        List<Locale.LanguageRange> ranges;
+        try {
+            ranges = Locale.LanguageRange.parse(acceptLanguage);
+        } catch (IllegalArgumentException e) {
+            return defaultLocale;
+        }
+
+        List<String> tags = supportedTags();
+        if (tags.isEmpty()) return mostPreferred(ranges);
+
+        String matched = Locale.lookupTag(ranges, tags);
+        return matched == null ? defaultLocale : Locale.forLanguageTag(matched);
+    }
+
+    private Locale mostPreferred(List<Locale.LanguageRange> ranges) {
+        for (Locale.LanguageRange range : ranges) {
+            if (range.getWeight() > 0 && !WILDCARD.equals(range.getRange()))
+                return Locale.forLanguageTag(range.getRange());
+        }
+
+        return defaultLocale;
+    }
+
+    private List<String> supportedTags() {
+        List<String> tags = supportedTags;
+        if (tags != null) return tags;
+
+        tags = new ArrayList<>();
+        for (Locale locale : supportedLocales.get()) {
+            if (locale != null && !Locale.ROOT.equals(locale)) tags.add(locale.toLanguageTag());
+        }
+
+        supportedTags = tags = Collections.unmodifiableList(tags);
+        return tags;
+    }
+
+    private static Supplier<Collection<Locale>> fixed(Collection<Locale> supportedLocales) {
+        List<Locale> locales = new ArrayList<>(requireNonNull(supportedLocales, "The supported locales are required"));
+        return () -> locales;
+    }
+}
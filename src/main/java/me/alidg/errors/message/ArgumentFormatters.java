@@ -0,0 +1,238 @@
+package me.alidg.errors.message;
+
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import java.lang.reflect.Array;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.NumberFormat;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.FormatStyle;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Formats the argument values according to the style hints of the placeholders, e.g. <code>{max,number}</code>.
+ * The supported styles are:
+ * <ul>
+ *     <li>{@code number}: Numbers, optionally followed by {@code integer}, {@code percent}, {@code currency}
+ *     or a {@link DecimalFormat} pattern, e.g. <code>{price,number,#.##}</code>.</li>
+ *     <li>{@code date}, {@code time} and {@code datetime}: Temporals, {@link Date}s and {@link Calendar}s, optionally
+ *     followed by {@code short}, {@code medium} (the default), {@code long}, {@code full} or a
+ *     {@link DateTimeFormatter} pattern, e.g. <code>{at,date,yyyy/MM/dd}</code>.</li>
+ *     <li>{@code list}: Iterables and arrays, with their elements joined by a comma, optionally followed by
+ *     the style of the elements, e.g. <code>{ids,list,number}</code>.</li>
+ * </ul>
+ * Values not matching their style and unknown styles are formatted using their {@code toString()}.
+ *
+ * <p>Formatters are cached per locale, style and pattern in a bounded cache, so they won't be rebuilt for each
+ * message. Since {@link NumberFormat}s are not thread-safe, the cached instances are only used as prototypes and
+ * cloned before each use, which is way cheaper than building them from the locale data. Invalid patterns are cached,
+ * too, so they would be rejected only once.
+ */
+final class ArgumentFormatters {
+
+    /**
+     * The default maximum number of formatters to cache.
+     */
+    static final int DEFAULT_CAPACITY = 256;
+
+    /**
+     * Represents the invalid date and time patterns in the cache, as the cache does not store {@code null}s.
+     */
+    private static final Object INVALID_PATTERN = new Object();
+
+    /**
+     * The cached formatters, either a {@link NumberFormat} prototype, a {@link DateTimeFormatter} or the
+     * {@link #INVALID_PATTERN}.
+     */
+    private final BoundedCache<FormatKey, Object> formatters;
+
+    /**
+     * Creates a formatter cache with the given capacity.
+     *
+     * @param capacity Maximum number of formatters to cache.
+     * @throws IllegalArgumentException When the capacity is not positive.
+     */
+    ArgumentFormatters(int capacity) {
+        this.formatters = new BoundedCache<>(capacity);
+    }
+
+    /**
+     * Formats the given value using the given style.
+     *
+     * @param value   The value to format.
+     * @param style   The style hint, e.g. {@code number}.
+     * @param pattern The optional style pattern, e.g. {@code short}.
+     * @param locale  The target locale.
+     * @return The formatted value.
+     */
+    @NonNull
+    String format(@Nullable Object value, @NonNull String style, @Nullable String pattern, @NonNull Locale locale) {
+        if (value == null) return "null";
+
+        switch (style) {
+            case "number":
+                if (!(value instanceof Number)) break;
+                NumberFormat prototype = (NumberFormat) formatterFor(style, pattern, locale);
+                return ((NumberFormat) prototype.clone()).format(value);
+            case "date":
+            case "time":
+            case "datetime":
+                TemporalAccessor temporal = toTemporal(value);
+                if (temporal == null) break;
+                Object formatter = formatterFor(style, pattern, locale);
+                if (formatter == INVALID_PATTERN) break;
+                try {
+                    return ((DateTimeFormatter) formatter).format(temporal);
+                } catch (RuntimeException e) {
+                    break;
+                }
+            case "list":
+                return formatList(value, pattern, locale);
+            default:
+        }
+
+        return value.toString();
+    }
+
+    /**
+     * @return Current number of cached formatters.
+     */
+    int size() {
+        return formatters.size();
+    }
+
+    private String formatList(Object value, String pattern, Locale locale) {
+        StringBuilder joined = new StringBuilder();
+        if (value instanceof Iterable) {
+            for (Object element : (Iterable<?>) value) append(joined, element, pattern, locale);
+        } else if (value.getClass().isArray()) {
+            for (int i = 0; i < Array.getLength(value); i++) append(joined, Array.get(value, i), pattern, locale);
+        } else {
+            return value.toString();
+        }
+
+        return joined.toString();
+    }
+
+    /**
+     * Appends the element to the list, using the list pattern, if any, as the element style.
+     */
+    private void append(StringBuilder joined, Object element, String style, Locale locale) {
+        if (joined.length() > 0) joined.append(", ");
+        joined.append(style == null ? String.valueOf(element) : format(element, style, null, locale));
+    }
+
+    private Object formatterFor(String style, String pattern, Locale locale) {
+        return formatters.get(new FormatKey(locale, style, pattern), ArgumentFormatters::createFormatter);
+    }
+
+    private static Object createFormatter(FormatKey key) {
+        try {
+            if ("number".equals(key.style)) return createNumberFormat(key.pattern, key.locale);
+
+            FormatStyle formatStyle = toFormatStyle(key.pattern);
+            DateTimeFormatter formatter;
+            if (formatStyle == null) formatter = DateTimeFormatter.ofPattern(key.pattern, key.locale);
+            else if ("date".equals(key.style)) formatter = DateTimeFormatter.ofLocalizedDate(formatStyle);
+            else if ("time".equals(key.style)) formatter = DateTimeFormatter.ofLocalizedTime(formatStyle);
+            else formatter = DateTimeFormatter.ofLocalizedDateTime(formatStyle);
+
+            return formatter.withLocale(key.locale);
+        } catch (IllegalArgumentException e) {
+            return "number".equals(key.style) ? NumberFormat.getInstance(key.locale) : INVALID_PATTERN;
+        }
+    }
+
+    private static NumberFormat createNumberFormat(String pattern, Locale locale) {
+        if (pattern == null) return NumberFormat.getInstance(locale);
+
+        switch (pattern) {
+            case "integer":
+                return NumberFormat.getIntegerInstance(locale);
+            case "percent":
+                return NumberFormat.getPercentInstance(locale);
+            case "currency":
+                return NumberFormat.getCurrencyInstance(locale);
+            default:
+                return new DecimalFormat(pattern, DecimalFormatSymbols.getInstance(locale));
+        }
+    }
+
+    private static FormatStyle toFormatStyle(String pattern) {
+        if (pattern == null) return FormatStyle.MEDIUM;
+
+        switch (pattern) {
+            case "short":
+                return FormatStyle.SHORT;
+            case "medium":
+                return FormatStyle.MEDIUM;
+            case "long":
+                return FormatStyle.LONG;
+            case "full":
+                return FormatStyle.FULL;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Converts the given value to a temporal, using the system default time-zone for instants, or returns
+     * {@code null} if the value does not represent a point in time.
+     */
+    private static TemporalAccessor toTemporal(Object value) {
+        if (value instanceof Date) return ZonedDateTime.ofInstant(((Date) value).toInstant(), ZoneId.systemDefault());
+        if (value instanceof Calendar) {
+            Calendar calendar = (Calendar) value;
+            return ZonedDateTime.ofInstant(calendar.toInstant(), calendar.getTimeZone().toZoneId());
+        }
+        if (value instanceof TemporalAccessor) {
+            TemporalAccessor temporal = (TemporalAccessor) value;
+            if (temporal.isSupported(ChronoField.INSTANT_SECONDS) && !temporal.isSupported(ChronoField.EPOCH_DAY))
+                return ZonedDateTime.ofInstant(Instant.from(temporal), ZoneId.systemDefault());
+
+            return temporal;
+        }
+
+        return null;
+    }
+
+    /**
+     * The formatter cache key.
+     */
+    private static final class FormatKey {
+
+        private final Locale locale;
+        private final String style;
+        private final String pattern;
+
+        private FormatKey(Locale locale, String style, String pattern) {
+            this.locale = locale;
+            this.style = style;
+            this.pattern = pattern;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof FormatKey)) return false;
+
+            FormatKey that = (FormatKey) o;
+            return locale.equals(that.locale) && style.equals(that.style) && Objects.equals(pattern, that.pattern);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(locale, style, pattern);
+        }
+    }
+}
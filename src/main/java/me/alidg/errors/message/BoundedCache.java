@@ -0,0 +1,122 @@
+package me.alidg.errors.message;
+
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A simple concurrent cache holding at most {@link #capacity} entries, approximately. Reads are plain
+ * {@link ConcurrentHashMap} lookups without any locking. When the capacity is exceeded, the oldest inserted
+ * entries would be evicted first.
+ *
+ * @param <K> The key type.
+ * @param <V> The value type.
+ */
+final class BoundedCache<K, V> {
+
+    /**
+     * Maximum number of entries to keep.
+     */
+    private final int capacity;
+
+    /**
+     * The cached entries.
+     */
+    private final ConcurrentHashMap<K, V> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Keys in their insertion order, used for eviction.
+     */
+    private final Queue<K> insertionOrder = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Number of lookups served from the cache.
+     */
+    private final LongAdder hits = new LongAdder();
+
+    /**
+     * Number of lookups requiring a load.
+     */
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Creates a cache with the given capacity.
+     *
+     * @param capacity Maximum number of entries to keep.
+     * @throws IllegalArgumentException When the capacity is not positive.
+     */
+    BoundedCache(int capacity) {
+        if (capacity <= 0) throw new IllegalArgumentException("The cache capacity should be positive");
+
+        this.capacity = capacity;
+    }
+
+    /**
+     * Returns the cached value for the given key or loads, caches and returns it. Concurrent loads for
+     * the same key may happen but only the first loaded value would be cached.
+     *
+     * @param key    The key to look up.
+     * @param loader Loads the value on cache misses. Null values would not be cached.
+     * @return The cached or loaded value.
+     */
+    @Nullable
+    V get(@NonNull K key, @NonNull Function<? super K, ? extends V> loader) {
+        V value = entries.get(key);
+        if (value != null) {
+            hits.increment();
+            return value;
+        }
+
+        misses.increment();
+        value = requireNonNull(loader).apply(key);
+        if (value == null) return null;
+
+        V existing = entries.putIfAbsent(key, value);
+        if (existing != null) return existing;
+
+        insertionOrder.offer(key);
+        while (entries.size() > capacity) {
+            K eldest = insertionOrder.poll();
+            if (eldest == null) break;
+            entries.remove(eldest);
+        }
+
+        return value;
+    }
+
+    /**
+     * Evicts all entries.
+     */
+    void clear() {
+        entries.clear();
+        insertionOrder.clear();
+    }
+
+    /**
+     * @return Current number of entries.
+     */
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return Number of lookups served from the cache.
+     */
+    long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return Number of lookups requiring a load.
+     */
+    long getMissCount() {
+        return misses.sum();
+    }
+}
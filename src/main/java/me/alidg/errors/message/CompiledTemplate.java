@@ -0,0 +1,542 @@
+package me.alidg.errors.message;
+
+import me.alidg.errors.Argument;
+import org.springframework.lang.NonNull;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * An immutable, pre-parsed representation of a message template. Each template is a sequence of literal
+ * segments, with their escapes already resolved, placeholder slots and plural or select choices. Rendering a
+ * compiled template is a single linear pass over its segments.
+ *
+ * <h3>Plural and Select Choices</h3>
+ * Similar to the ICU message format, a template may contain plural and select choices:
+ * <pre>
+ *     {count,plural,=0{No items} one{One item} other{# items}}
+ *     {gender,select,female{She} male{He} other{They}} failed the check
+ * </pre>
+ * The plural choices select their branch by the exact {@code =n} matches first and then by the plural category of
+ * the number in the compiled locale, as determined by {@link PluralRules}. Select choices select their branch by
+ * the argument value. Either way, the {@code other} branch is required and is used as the fallback. Inside the
+ * plural branches, each <code>#</code> would be replaced by the formatted number. Since the plural rules are locale
+ * dependent, the templates are compiled per locale.
+ *
+ * <h3>Cost</h3>
+ * Compiling a template of length {@code n} takes {@code O(n)} time, even for hostile templates like a long run of
+ * unclosed <code>{</code>s or deeply nested malformed choices. All braces are matched once up front and each choice
+ * is validated, i.e. its braces, selectors and the {@code other} branch, before compiling any of its branches. So
+ * each character is examined a constant number of times and no branch is ever compiled twice. Rendering takes
+ * {@code O(n + s)} time for {@code s} slots, plus building a name to index map once per rendering when there
+ * are more than {@link #LINEAR_SCAN_THRESHOLD} arguments.
+ *
+ * @see TemplateParser
+ */
+final class CompiledTemplate {
+
+    /**
+     * Up to this number of arguments, named arguments are found by a linear scan, which is cheaper than
+     * building a map for a handful of arguments.
+     */
+    private static final int LINEAR_SCAN_THRESHOLD = 4;
+
+    /**
+     * The template segments, in order.
+     */
+    private final Segment[] segments;
+
+    /**
+     * The rendered length, excluding the argument values.
+     */
+    private final int literalLength;
+
+    /**
+     * Whether or not the template has any slots.
+     */
+    private final boolean hasSlots;
+
+    /**
+     * Whether or not each unescaped <code>{</code> in the template starts a placeholder or a choice.
+     */
+    private final boolean wellFormed;
+
+    private CompiledTemplate(List<Segment> segments, boolean wellFormed) {
+        this.segments = segments.toArray(new Segment[0]);
+
+        int length = 0;
+        boolean hasSlots = false;
+        for (Segment segment : this.segments) {
+            if (segment instanceof Literal) length += ((Literal) segment).text.length();
+            else hasSlots = true;
+
+            if (segment instanceof Choice) {
+                for (CompiledTemplate branch : ((Choice) segment).branches.values()) {
+                    wellFormed &= branch.wellFormed;
+                }
+            }
+        }
+        this.literalLength = length;
+        this.hasSlots = hasSlots;
+        this.wellFormed = wellFormed;
+    }
+
+    /**
+     * Compiles the given template. A placeholder starts with a <code>{</code> not preceded by a backslash and
+     * ends with the first <code>}</code>, provided that there is no <code>{</code> or <code>^</code> in between.
+     * The placeholder may carry a style hint and a style pattern after its name, separated by commas, e.g.
+     * <code>{max,number,#.##}</code>. Malformed plural or select choices would be treated as plain text.
+     *
+     * @param template The template to compile.
+     * @param locale   The locale to select the plural categories with.
+     * @return The compiled template.
+     */
+    @NonNull
+    static CompiledTemplate compile(@NonNull String template, @NonNull Locale locale) {
+        return compile(template, 0, template.length(), matchBraces(template), locale, null);
+    }
+
+    /**
+     * Compiles the given range of the template, replacing the <code>#</code>s by the given plural slot, if any.
+     */
+    private static CompiledTemplate compile(String template, int from, int to, int[] closing, Locale locale,
+                                            String pluralSlot) {
+        List<Segment> segments = new ArrayList<>();
+        boolean wellFormed = true;
+        int literalStart = from;
+        for (int i = from; i < to; i++) {
+            char c = template.charAt(i);
+            if (c == '#' && pluralSlot != null) {
+                if (literalStart < i) segments.add(new Literal(unescape(template, literalStart, i)));
+                segments.add(new Slot(pluralSlot, "#"));
+                literalStart = i + 1;
+                continue;
+            }
+            if (c != '{' || (i > 0 && template.charAt(i - 1) == '\\')) continue;
+
+            Choice choice = Choice.parse(template, i, closing, locale, pluralSlot);
+            if (choice != null) {
+                if (literalStart < i) segments.add(new Literal(unescape(template, literalStart, i)));
+                segments.add(choice);
+                literalStart = choice.end + 1;
+                i = choice.end;
+                continue;
+            }
+
+            int end = i + 1;
+            while (end < to && !isPlaceholderBoundary(template.charAt(end))) end++;
+            if (end == to || template.charAt(end) != '}') {
+                wellFormed = false;
+                continue;
+            }
+
+            if (literalStart < i) segments.add(new Literal(unescape(template, literalStart, i)));
+            segments.add(new Slot(template.substring(i + 1, end), unescape(template, i, end + 1)));
+            literalStart = end + 1;
+            i = end;
+        }
+        if (literalStart < to) segments.add(new Literal(unescape(template, literalStart, to)));
+
+        return new CompiledTemplate(segments, wellFormed);
+    }
+
+    /**
+     * Renders the template by replacing each slot with its corresponding argument value. Slots without any
+     * value remain intact.
+     *
+     * @param arguments  The arguments to read the slot values from.
+     * @param locale     The locale to format the styled slots with.
+     * @param formatters Formats the values of the styled slots.
+     * @return The rendered message.
+     */
+    @NonNull
+    String render(@NonNull List<Argument> arguments, @NonNull Locale locale, @NonNull ArgumentFormatters formatters) {
+        ArgumentIndex index = hasSlots ? new ArgumentIndex(arguments) : null;
+        StringBuilder rendered = new StringBuilder(literalLength + 16 * arguments.size());
+        renderTo(rendered, index, locale, formatters);
+
+        return rendered.toString();
+    }
+
+    private void renderTo(StringBuilder rendered, ArgumentIndex index, Locale locale, ArgumentFormatters formatters) {
+        for (Segment segment : segments) {
+            segment.render(rendered, index, locale, formatters);
+        }
+    }
+
+    /**
+     * Determines whether or not the template is well-formed. Since malformed placeholders and choices are treated
+     * as plain text, such templates can still be rendered, though probably not as intended.
+     *
+     * @return {@code true} if each unescaped <code>{</code> in the template starts a placeholder or a choice.
+     */
+    boolean isWellFormed() {
+        return wellFormed;
+    }
+
+    /**
+     * Maps the index of each unescaped <code>{</code> to the index of its matching <code>}</code>, or {@code -1}
+     * when there is no such brace. All other indices are mapped to {@code -1}.
+     */
+    private static int[] matchBraces(String template) {
+        int length = template.length();
+        int[] closing = new int[length];
+        int[] opened = new int[length];
+        int depth = 0;
+        Arrays.fill(closing, -1);
+        for (int i = 0; i < length; i++) {
+            char c = template.charAt(i);
+            if (c == '\\' && i + 1 < length && Choice.isBrace(template.charAt(i + 1))) i++;
+            else if (c == '{') opened[depth++] = i;
+            else if (c == '}' && depth > 0) closing[opened[--depth]] = i;
+        }
+
+        return closing;
+    }
+
+    private static boolean isPlaceholderBoundary(char c) {
+        return c == '}' || c == '{' || c == '^';
+    }
+
+    /**
+     * Resolves the escaped delimiters, i.e. <code>\{</code> and <code>\}</code>, in the given range.
+     */
+    private static String unescape(String template, int from, int to) {
+        StringBuilder unescaped = null;
+        for (int i = from; i < to; i++) {
+            char c = template.charAt(i);
+            if (c == '\\' && i + 1 < to && (template.charAt(i + 1) == '{' || template.charAt(i + 1) == '}')) {
+                if (unescaped == null) unescaped = new StringBuilder(to - from).append(template, from, i);
+                continue;
+            }
+
+            if (unescaped != null) unescaped.append(c);
+        }
+
+        return unescaped == null ? template.substring(from, to) : unescaped.toString();
+    }
+
+    /**
+     * Represents a part of the template.
+     */
+    private interface Segment {
+
+        void render(StringBuilder rendered, ArgumentIndex index, Locale locale, ArgumentFormatters formatters);
+    }
+
+    /**
+     * A plain text part of the template.
+     */
+    private static final class Literal implements Segment {
+
+        private final String text;
+
+        private Literal(String text) {
+            this.text = text;
+        }
+
+        @Override
+        public void render(StringBuilder rendered, ArgumentIndex index, Locale locale, ArgumentFormatters formatters) {
+            rendered.append(text);
+        }
+    }
+
+    /**
+     * A placeholder, which would be replaced by either a named or a positional argument.
+     */
+    private static final class Slot implements Segment {
+
+        /**
+         * The placeholder variable.
+         */
+        private final String name;
+
+        /**
+         * The argument position, if the variable is a non-negative integer. Otherwise, {@code -1}.
+         */
+        private final int position;
+
+        /**
+         * The style hint, e.g. {@code number}, or {@code null} for plain values.
+         */
+        private final String style;
+
+        /**
+         * The optional style pattern, e.g. {@code integer}.
+         */
+        private final String pattern;
+
+        /**
+         * The placeholder text to render when there is no value for the slot.
+         */
+        private final String placeholder;
+
+        private Slot(String content, String placeholder) {
+            String[] parts = content.indexOf(',') < 0 ? new String[]{content} : content.split(",", 3);
+            this.name = parts.length == 1 ? content : parts[0].trim();
+            this.position = toPosition(name);
+            this.style = parts.length > 1 ? parts[1].trim() : null;
+            this.pattern = parts.length > 2 ? parts[2].trim() : null;
+            this.placeholder = placeholder;
+        }
+
+        @Override
+        public void render(StringBuilder rendered, ArgumentIndex index, Locale locale, ArgumentFormatters formatters) {
+            Argument argument = index.find(name, position);
+            if (argument == null) {
+                rendered.append(placeholder);
+                return;
+            }
+
+            Object value = argument.getValue();
+            if (style != null) rendered.append(formatters.format(value, style, pattern, locale));
+            else rendered.append(value == null ? "null" : value.toString());
+        }
+
+        private static int toPosition(String name) {
+            try {
+                return Math.max(Integer.parseInt(name), -1);
+            } catch (NumberFormatException e) {
+                return -1;
+            }
+        }
+    }
+
+    /**
+     * A plural or select choice, rendering one of its branches based on the argument value.
+     */
+    private static final class Choice implements Segment {
+
+        /**
+         * The choice variable.
+         */
+        private final String name;
+
+        /**
+         * The argument position, if the variable is a non-negative integer. Otherwise, {@code -1}.
+         */
+        private final int position;
+
+        /**
+         * The plural rules of the compiled locale, or {@code null} for select choices.
+         */
+        private final PluralRules pluralRules;
+
+        /**
+         * The branches keyed by their selector, e.g. {@code one} or {@code =0}.
+         */
+        private final Map<String, CompiledTemplate> branches;
+
+        /**
+         * The exact values of the {@code =n} selectors, in the same order as {@link #exactBranches}.
+         */
+        private final BigDecimal[] exactValues;
+
+        /**
+         * The branches of the {@code =n} selectors.
+         */
+        private final CompiledTemplate[] exactBranches;
+
+        /**
+         * The placeholder text to render when there is no value for the choice.
+         */
+        private final String placeholder;
+
+        /**
+         * Index of the closing <code>}</code> in the enclosing template.
+         */
+        private final int end;
+
+        private Choice(String name,
+                       PluralRules pluralRules,
+                       Map<String, CompiledTemplate> branches,
+                       String placeholder,
+                       int end) {
+            this.name = name;
+            this.position = Slot.toPosition(name);
+            this.pluralRules = pluralRules;
+            this.branches = branches;
+            this.placeholder = placeholder;
+            this.end = end;
+
+            List<BigDecimal> values = new ArrayList<>();
+            List<CompiledTemplate> exact = new ArrayList<>();
+            if (pluralRules != null) {
+                for (Map.Entry<String, CompiledTemplate> branch : branches.entrySet()) {
+                    BigDecimal value = branch.getKey().startsWith("=") ? toDecimal(branch.getKey().substring(1)) : null;
+                    if (value == null) continue;
+
+                    values.add(value);
+                    exact.add(branch.getValue());
+                }
+            }
+            this.exactValues = values.toArray(new BigDecimal[0]);
+            this.exactBranches = exact.toArray(new CompiledTemplate[0]);
+        }
+
+        /**
+         * Parses the choice starting at the given index, e.g. <code>{count,plural,one{...} other{...}}</code>.
+         * The whole choice is validated before compiling any of its branches, so a malformed choice costs only
+         * a scan over its own selectors.
+         *
+         * @return The parsed choice or {@code null} if there is no well-formed choice at the given index.
+         */
+        private static Choice parse(String template, int start, int[] closing, Locale locale, String pluralSlot) {
+            int end = closing[start];
+            if (end < 0) return null;
+
+            int nameEnd = indexOfComma(template, start + 1, end);
+            int typeEnd = nameEnd < 0 ? -1 : indexOfComma(template, nameEnd + 1, end);
+            if (typeEnd < 0) return null;
+
+            String name = template.substring(start + 1, nameEnd).trim();
+            String type = template.substring(nameEnd + 1, typeEnd).trim();
+            boolean plural = "plural".equals(type);
+            if (name.isEmpty() || (!plural && !"select".equals(type))) return null;
+
+            List<String> selectors = new ArrayList<>();
+            List<Integer> bodies = new ArrayList<>();
+            int i = typeEnd + 1;
+            while (true) {
+                while (i < end && Character.isWhitespace(template.charAt(i))) i++;
+                if (i == end) break;
+
+                int selectorStart = i;
+                while (i < end && !Character.isWhitespace(template.charAt(i)) && !isBrace(template.charAt(i))) i++;
+                String selector = template.substring(selectorStart, i);
+                while (i < end && Character.isWhitespace(template.charAt(i))) i++;
+                if (selector.isEmpty() || i == end || template.charAt(i) != '{' || closing[i] < 0) return null;
+
+                selectors.add(selector);
+                bodies.add(i);
+                i = closing[i] + 1;
+            }
+            if (!selectors.contains(PluralRules.OTHER)) return null;
+
+            Map<String, CompiledTemplate> branches = new LinkedHashMap<>();
+            String slot = plural ? name + ",number" : pluralSlot;
+            for (int b = 0; b < selectors.size(); b++) {
+                int body = bodies.get(b);
+                if (!branches.containsKey(selectors.get(b)))
+                    branches.put(selectors.get(b), compile(template, body + 1, closing[body], closing, locale, slot));
+            }
+
+            return new Choice(name, plural ? PluralRules.forLocale(locale) : null, branches,
+                unescape(template, start, end + 1), end);
+        }
+
+        @Override
+        public void render(StringBuilder rendered, ArgumentIndex index, Locale locale, ArgumentFormatters formatters) {
+            Argument argument = index.find(name, position);
+            if (argument == null) {
+                rendered.append(placeholder);
+                return;
+            }
+
+            select(argument.getValue()).renderTo(rendered, index, locale, formatters);
+        }
+
+        private CompiledTemplate select(Object value) {
+            CompiledTemplate branch;
+            if (pluralRules == null) {
+                branch = branches.get(String.valueOf(value));
+            } else {
+                BigDecimal number = toDecimal(value);
+                branch = number == null ? null : selectPlural(number);
+            }
+
+            return branch == null ? branches.get(PluralRules.OTHER) : branch;
+        }
+
+        private CompiledTemplate selectPlural(BigDecimal number) {
+            for (int i = 0; i < exactValues.length; i++) {
+                if (exactValues[i].compareTo(number) == 0) return exactBranches[i];
+            }
+
+            return branches.get(pluralRules.select(number));
+        }
+
+        /**
+         * Finds the next comma before the given index, provided that there is no brace or <code>^</code> before it.
+         */
+        private static int indexOfComma(String template, int from, int to) {
+            for (int i = from; i < to; i++) {
+                char c = template.charAt(i);
+                if (c == ',') return i;
+                if (isPlaceholderBoundary(c)) return -1;
+            }
+
+            return -1;
+        }
+
+        private static boolean isBrace(char c) {
+            return c == '{' || c == '}';
+        }
+
+        private static BigDecimal toDecimal(Object value) {
+            try {
+                if (value instanceof BigDecimal) return (BigDecimal) value;
+                if (value instanceof BigInteger) return new BigDecimal((BigInteger) value);
+                if (value instanceof Double || value instanceof Float) {
+                    double d = ((Number) value).doubleValue();
+                    return Double.isFinite(d) ? BigDecimal.valueOf(d).stripTrailingZeros() : null;
+                }
+                if (value instanceof Number) return new BigDecimal(value.toString());
+                if (value instanceof CharSequence) return new BigDecimal(value.toString().trim());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+
+            return null;
+        }
+    }
+
+    /**
+     * Finds named or positional arguments within a particular argument list.
+     */
+    private static final class ArgumentIndex {
+
+        private final List<Argument> arguments;
+
+        /**
+         * Maps each argument name to its first index. Would be {@code null} for small argument lists.
+         */
+        private final Map<String, Integer> indexByName;
+
+        private ArgumentIndex(List<Argument> arguments) {
+            this.arguments = arguments;
+            if (arguments.size() <= LINEAR_SCAN_THRESHOLD) {
+                this.indexByName = null;
+            } else {
+                this.indexByName = new HashMap<>(arguments.size() * 2);
+                for (int i = 0; i < arguments.size(); i++) {
+                    indexByName.putIfAbsent(arguments.get(i).getName(), i);
+                }
+            }
+        }
+
+        /**
+         * Finds the first argument with the given name or the argument at the given position.
+         */
+        private Argument find(String name, int position) {
+            if (indexByName != null) {
+                Integer index = indexByName.get(name);
+                if (index != null) return arguments.get(index);
+            } else {
+                for (Argument argument : arguments) {
+                    if (Objects.equals(argument.getName(), name)) return argument;
+                }
+            }
+
+            return position >= 0 && position < arguments.size() ? arguments.get(position) : null;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package me.alidg.errors.message;
+
+import org.springframework.context.support.AbstractMessageSource;
+import org.springframework.lang.NonNull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.requireNonNull;
+import static me.alidg.errors.message.MessageCatalogCompiler.ENTRY_SIZE;
+
+/**
+ * A {@link org.springframework.context.MessageSource} serving the messages from a catalog file compiled by the
+ * {@link MessageCatalogCompiler}. The catalog is memory-mapped and the messages are looked up using a binary search
+ * over the encoded keys, so the messages live outside of the heap and would be decoded to {@link String}s only when
+ * they're actually requested. This makes it suitable for very large multi-locale code sets.
+ *
+ * <p>Messages would be resolved through the locale fallback chain, e.g. {@code de_CH -> de -> ROOT}, and each
+ * lookup costs {@code O(log n)} byte comparisons per locale in the chain. The mapped catalog is read-only and all
+ * reads are lock-free.
+ *
+ * @see MessageCatalogCompiler
+ */
+public class MappedMessageSource extends AbstractMessageSource {
+
+    /**
+     * Maximum number of locales to cache their fallback sections.
+     */
+    private static final int LOCALES_CAPACITY = 256;
+
+    /**
+     * The memory-mapped catalog. Only absolute reads are allowed, since the buffer is shared between threads.
+     */
+    private final ByteBuffer catalog;
+
+    /**
+     * Index sections of each locale in the catalog.
+     */
+    private final Map<Locale, Section> sections;
+
+    /**
+     * Caches the sections in the fallback chain of each requested locale.
+     */
+    private final BoundedCache<Locale, Section[]> sectionsByLocale = new BoundedCache<>(LOCALES_CAPACITY);
+
+    /**
+     * Maps the given catalog file into memory.
+     *
+     * @param catalogFile The catalog file compiled by the {@link MessageCatalogCompiler}.
+     * @throws NullPointerException     When the file is null.
+     * @throws IllegalArgumentException When the file is not a valid catalog.
+     * @throws IOException              When failed to map the file.
+     */
+    public MappedMessageSource(@NonNull Path catalogFile) throws IOException {
+        requireNonNull(catalogFile, "The catalog file is required");
+        try (FileChannel channel = FileChannel.open(catalogFile, StandardOpenOption.READ)) {
+            this.catalog = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        this.sections = readSections(catalog, catalogFile);
+    }
+
+    /**
+     * @return The locales available in the catalog.
+     */
+    @NonNull
+    public List<Locale> getLocales() {
+        return new ArrayList<>(sections.keySet());
+    }
+
+    @Override
+    protected String resolveCodeWithoutArguments(String code, Locale locale) {
+        return find(code, locale);
+    }
+
+    @Override
+    protected MessageFormat resolveCode(String code, Locale locale) {
+        String message = find(code, locale);
+        return message == null ? null : createMessageFormat(message, locale);
+    }
+
+    private String find(String code, Locale locale) {
+        Section[] chain = sectionsByLocale.get(locale, this::sectionsOf);
+        if (chain.length == 0) return null;
+
+        byte[] key = code.getBytes(UTF_8);
+        for (Section section : chain) {
+            int entry = section.search(key);
+            if (entry >= 0) return decode(catalog.getInt(entry + 8), catalog.getInt(entry + 12));
+        }
+
+        return null;
+    }
+
+    private Section[] sectionsOf(Locale locale) {
+        List<Section> chain = new ArrayList<>();
+        for (Locale candidate : MessageTemplateCache.computeFallbackChain(locale)) {
+            Section section = sections.get(candidate);
+            if (section != null) chain.add(section);
+        }
+
+        return chain.toArray(new Section[0]);
+    }
+
+    private String decode(int offset, int length) {
+        byte[] bytes = new byte[length];
+        ByteBuffer view = catalog.duplicate();
+        view.position(offset);
+        view.get(bytes);
+
+        return new String(bytes, UTF_8);
+    }
+
+    private static Map<Locale, Section> readSections(ByteBuffer catalog, Path file) {
+        try {
+            if (catalog.getInt(0) != MessageCatalogCompiler.MAGIC || catalog.getInt(4) != MessageCatalogCompiler.VERSION)
+                throw new IllegalArgumentException("Not a compiled message catalog: " + file);
+
+            int count = catalog.getInt(8);
+            int position = 12;
+            Map<Locale, Section> sections = new HashMap<>();
+            for (int i = 0; i < count; i++) {
+                byte[] tag = new byte[catalog.getShort(position)];
+                ByteBuffer view = catalog.duplicate();
+                view.position(position + 2);
+                view.get(tag);
+                position += 2 + tag.length;
+
+                Locale locale = Locale.forLanguageTag(new String(tag, UTF_8));
+                sections.put(locale, new Section(catalog, catalog.getInt(position + 4), catalog.getInt(position)));
+                position += 8;
+            }
+
+            return sections;
+        } catch (IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Corrupted message catalog: " + file, e);
+        }
+    }
+
+    /**
+     * The sorted index of a locale.
+     */
+    private static final class Section {
+
+        private final ByteBuffer catalog;
+        private final int offset;
+        private final int size;
+
+        private Section(ByteBuffer catalog, int offset, int size) {
+            this.catalog = catalog;
+            this.offset = offset;
+            this.size = size;
+        }
+
+        /**
+         * Binary searches the given key.
+         *
+         * @return The index entry offset or {@code -1} if not found.
+         */
+        private int search(byte[] key) {
+            int low = 0;
+            int high = size - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int entry = offset + mid * ENTRY_SIZE;
+                int cmp = compare(catalog.getInt(entry), catalog.getInt(entry + 4), key);
+                if (cmp < 0) low = mid + 1;
+                else if (cmp > 0) high = mid - 1;
+                else return entry;
+            }
+
+            return -1;
+        }
+
+        /**
+         * Compares the stored key with the given one, as unsigned bytes.
+         */
+        private int compare(int keyOffset, int keyLength, byte[] key) {
+            int length = Math.min(keyLength, key.length);
+            for (int i = 0; i < length; i++) {
+                int diff = (catalog.get(keyOffset + i) & 0xFF) - (key[i] & 0xFF);
+                if (diff != 0) return diff;
+            }
+
+            return keyLength - key.length;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package me.alidg.errors.message;
+
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.lang.NonNull;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Discovers and reads the properties bundles for the {@link SnapshotMessageSource} and the
+ * {@link MessageCatalogCompiler}.
+ *
+ * <p>Each basename, e.g. {@code messages}, {@code classpath:i18n/errors} or {@code file:/etc/app/messages}, is
+ * resolved to all its {@code basename.properties} and {@code basename_<locale>.properties} files. Basenames without
+ * any prefix are loaded from the classpath. When more than one basename defines the same code for the same locale,
+ * the first basename wins.
+ *
+ * <p>Just like the {@link java.util.ResourceBundle}s, only the first {@code classpath:} file of each locale would be
+ * read, so other jars can't shadow or add codes to an existing bundle file. In order to merge the files of the same
+ * name from all classpath roots, use the {@code classpath*:} prefix explicitly. Also, only the suffixes made of a
+ * valid language and optional country and variant codes are considered as locales, so sibling bundles like
+ * {@code messages_errors.properties} are not part of the {@code messages} bundle.
+ */
+final class MessageBundles {
+
+    /**
+     * The properties file extension.
+     */
+    private static final String EXTENSION = ".properties";
+
+    /**
+     * The {@code classpath:} location prefix.
+     */
+    private static final String CLASSPATH = "classpath:";
+
+    /**
+     * The locale suffix of a bundle file, i.e. the language, an optional country and an optional variant.
+     */
+    private static final Pattern LOCALE_SUFFIX = Pattern.compile("_([a-z]{2,3})(?:_([A-Z]{2}|[0-9]{3})?(?:_([0-9A-Za-z]+))?)?");
+
+    /**
+     * The two letter ISO 639 language codes.
+     */
+    private static final Set<String> ISO_LANGUAGES = new HashSet<>(Arrays.asList(Locale.getISOLanguages()));
+
+    private MessageBundles() {
+    }
+
+    /**
+     * Finds all bundle files of all basenames, in the basenames order.
+     *
+     * @param basenames The bundle basenames.
+     * @param resolver  To find the bundle files.
+     * @return Each bundle file mapped to its locale.
+     * @throws IOException When failed to find the files.
+     */
+    @NonNull
+    static Map<Resource, Locale> discover(@NonNull List<String> basenames,
+                                          @NonNull ResourcePatternResolver resolver) throws IOException {
+        Map<Resource, Locale> resources = new LinkedHashMap<>();
+        for (String basename : basenames) {
+            String location = basename.contains(":") ? basename : CLASSPATH + basename;
+            boolean firstOnly = location.startsWith(CLASSPATH);
+            String pattern = firstOnly ? "classpath*:" + location.substring(CLASSPATH.length()) : location;
+
+            String filename = StringUtils.getFilename(basename.substring(basename.indexOf(':') + 1));
+            for (Resource resource : resolver.getResources(pattern + "*" + EXTENSION)) {
+                Locale locale = localeOf(filename, resource.getFilename());
+                if (locale == null) continue;
+
+                // The pattern just lists the file names, the first one on the classpath would be read
+                if (firstOnly) resource = resolver.getResource(location + resource.getFilename().substring(filename.length()));
+                resources.putIfAbsent(resource, locale);
+            }
+        }
+
+        return resources;
+    }
+
+    /**
+     * Reads the given bundle files and merges the files of the same locale, the first file wins.
+     *
+     * @param resources Each bundle file mapped to its locale.
+     * @param encoding  The bundle files encoding.
+     * @return Messages of each locale, without the messages inherited from the fallback locales.
+     * @throws IOException When failed to read the files.
+     */
+    @NonNull
+    static Map<Locale, Map<String, String>> read(@NonNull Map<Resource, Locale> resources,
+                                                 @NonNull Charset encoding) throws IOException {
+        Map<Locale, Map<String, String>> bundles = new HashMap<>();
+        for (Map.Entry<Resource, Locale> resource : resources.entrySet()) {
+            Map<String, String> bundle = bundles.computeIfAbsent(resource.getValue(), l -> new HashMap<>());
+            for (Map.Entry<Object, Object> entry : read(resource.getKey(), encoding).entrySet()) {
+                bundle.putIfAbsent((String) entry.getKey(), (String) entry.getValue());
+            }
+        }
+
+        return bundles;
+    }
+
+    /**
+     * Extracts the locale from the bundle file name or returns {@code null} if the file does not belong to
+     * the bundle.
+     */
+    private static Locale localeOf(String basename, String filename) {
+        if (filename == null || !filename.startsWith(basename) || !filename.endsWith(EXTENSION)) return null;
+
+        String suffix = filename.substring(basename.length(), filename.length() - EXTENSION.length());
+        if (suffix.isEmpty()) return Locale.ROOT;
+
+        Matcher matcher = LOCALE_SUFFIX.matcher(suffix);
+        if (!matcher.matches()) return null;
+
+        String language = matcher.group(1);
+        if (language.length() == 2 && !ISO_LANGUAGES.contains(language)) return null;
+
+        return new Locale(language, nullToEmpty(matcher.group(2)), nullToEmpty(matcher.group(3)));
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+
+    private static Properties read(Resource resource, Charset encoding) throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = resource.getInputStream(); Reader reader = new InputStreamReader(in, encoding)) {
+            properties.load(reader);
+        }
+
+        return properties;
+    }
+}
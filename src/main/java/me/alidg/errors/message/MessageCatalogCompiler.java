@@ -0,0 +1,217 @@
+package me.alidg.errors.message;
+
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.lang.NonNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A build-time compiler turning the properties bundles into a compact binary catalog, to be served by the
+ * {@link MappedMessageSource}. The compiler can be executed as part of the build, e.g. using the
+ * {@code exec-maven-plugin}:
+ * <pre>
+ *     java me.alidg.errors.message.MessageCatalogCompiler [--encoding=UTF-8] output-file basename...
+ * </pre>
+ * The bundles are discovered the same way as the {@link SnapshotMessageSource}.
+ *
+ * <h3>Catalog Format</h3>
+ * All numbers are big-endian 32-bit integers, except for the locale tag lengths which are 16-bit:
+ * <pre>
+ *     magic, version, locale count
+ *     for each locale: tag length, UTF-8 language tag, entry count, index offset
+ *     for each locale: entry count * (key offset, key length, value offset, value length), sorted by key
+ *     UTF-8 string pool
+ * </pre>
+ * The index entries are sorted by the unsigned UTF-8 bytes of the keys, so they can be binary searched without
+ * decoding the keys. Each distinct string is stored only once in the pool, so the codes are shared among
+ * all locales. The catalog file can be at most 2 GB.
+ *
+ * @see MappedMessageSource
+ */
+public final class MessageCatalogCompiler {
+
+    /**
+     * The catalog file magic number, i.e. {@code ERRC}.
+     */
+    static final int MAGIC = 0x45525243;
+
+    /**
+     * The catalog format version.
+     */
+    static final int VERSION = 1;
+
+    /**
+     * Size of each index entry in bytes.
+     */
+    static final int ENTRY_SIZE = 16;
+
+    /**
+     * The encoding option prefix.
+     */
+    private static final String ENCODING_OPTION = "--encoding=";
+
+    private MessageCatalogCompiler() {
+    }
+
+    /**
+     * Compiles the bundles using the command line arguments.
+     *
+     * @param args An optional {@code --encoding=<charset>}, the output file and at least one basename.
+     * @throws IOException When failed to read the bundles or write the catalog.
+     */
+    public static void main(String[] args) throws IOException {
+        List<String> arguments = new ArrayList<>(Arrays.asList(args));
+        Charset encoding = UTF_8;
+        if (!arguments.isEmpty() && arguments.get(0).startsWith(ENCODING_OPTION)) {
+            encoding = Charset.forName(arguments.remove(0).substring(ENCODING_OPTION.length()));
+        }
+
+        if (arguments.size() < 2) {
+            System.err.println("Usage: MessageCatalogCompiler [--encoding=<charset>] <output-file> <basename>...");
+            System.exit(1);
+        }
+
+        Path output = Paths.get(arguments.get(0));
+        int entries = compile(arguments.subList(1, arguments.size()), encoding, output);
+        System.out.println("Compiled " + entries + " messages into " + output);
+    }
+
+    /**
+     * Compiles the given bundles into the given catalog file.
+     *
+     * @param basenames The bundle basenames, in their precedence order.
+     * @param encoding  The bundle files encoding.
+     * @param output    The catalog file to write.
+     * @return Number of compiled messages, for all locales.
+     * @throws IOException When failed to read the bundles or write the catalog.
+     */
+    public static int compile(@NonNull List<String> basenames,
+                              @NonNull Charset encoding,
+                              @NonNull Path output) throws IOException {
+        requireNonNull(output, "The output file is required");
+        Map<Locale, Map<String, String>> bundles = MessageBundles.read(
+            MessageBundles.discover(requireNonNull(basenames), new PathMatchingResourcePatternResolver()),
+            requireNonNull(encoding));
+
+        Path parent = output.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        try (OutputStream out = Files.newOutputStream(output)) {
+            return write(bundles, out);
+        }
+    }
+
+    /**
+     * Writes the given bundles in the catalog format.
+     *
+     * @param bundles Messages of each locale.
+     * @param out     The stream to write the catalog into.
+     * @return Number of written messages.
+     * @throws IOException When failed to write.
+     */
+    static int write(Map<Locale, Map<String, String>> bundles, OutputStream out) throws IOException {
+        List<Locale> locales = new ArrayList<>(bundles.keySet());
+        locales.sort(Comparator.comparing(Locale::toLanguageTag));
+
+        StringPool pool = new StringPool();
+        Map<Locale, List<byte[][]>> sections = new LinkedHashMap<>();
+        int headerSize = 12;
+        int entries = 0;
+        for (Locale locale : locales) {
+            List<byte[][]> section = new ArrayList<>();
+            for (Map.Entry<String, String> message : bundles.get(locale).entrySet()) {
+                section.add(new byte[][]{message.getKey().getBytes(UTF_8), message.getValue().getBytes(UTF_8)});
+            }
+            section.sort((a, b) -> compare(a[0], b[0]));
+            section.forEach(e -> {
+                pool.add(e[0]);
+                pool.add(e[1]);
+            });
+
+            sections.put(locale, section);
+            headerSize += 2 + locale.toLanguageTag().getBytes(UTF_8).length + 8;
+            entries += section.size();
+        }
+
+        int poolOffset = headerSize + entries * ENTRY_SIZE;
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+        data.writeInt(locales.size());
+        int indexOffset = headerSize;
+        for (Map.Entry<Locale, List<byte[][]>> section : sections.entrySet()) {
+            byte[] tag = section.getKey().toLanguageTag().getBytes(UTF_8);
+            data.writeShort(tag.length);
+            data.write(tag);
+            data.writeInt(section.getValue().size());
+            data.writeInt(indexOffset);
+            indexOffset += section.getValue().size() * ENTRY_SIZE;
+        }
+        for (List<byte[][]> section : sections.values()) {
+            for (byte[][] entry : section) {
+                data.writeInt(poolOffset + pool.offsetOf(entry[0]));
+                data.writeInt(entry[0].length);
+                data.writeInt(poolOffset + pool.offsetOf(entry[1]));
+                data.writeInt(entry[1].length);
+            }
+        }
+        pool.writeTo(data);
+        data.flush();
+
+        return entries;
+    }
+
+    /**
+     * Compares the given UTF-8 bytes as unsigned values, which is the same as comparing their code points.
+     */
+    static int compare(byte[] a, byte[] b) {
+        int length = Math.min(a.length, b.length);
+        for (int i = 0; i < length; i++) {
+            int diff = (a[i] & 0xFF) - (b[i] & 0xFF);
+            if (diff != 0) return diff;
+        }
+
+        return a.length - b.length;
+    }
+
+    /**
+     * Stores each distinct string only once.
+     */
+    private static final class StringPool {
+
+        private final Map<String, Integer> offsets = new LinkedHashMap<>();
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        private void add(byte[] string) {
+            offsets.computeIfAbsent(new String(string, UTF_8), s -> {
+                int offset = bytes.size();
+                bytes.write(string, 0, string.length);
+                return offset;
+            });
+        }
+
+        private int offsetOf(byte[] string) {
+            return offsets.get(new String(string, UTF_8));
+        }
+
+        private void writeTo(OutputStream out) throws IOException {
+            bytes.writeTo(out);
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package me.alidg.errors.message;
+
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.lang.NonNull;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Warms up the message translation of a {@link TemplateAwareMessageSource} by resolving and compiling the
+ * templates of all statically known error codes for all given locales, ahead of the first request. This way,
+ * the cold bundle loading, template resolution and template parsing would happen at startup, filling the
+ * message caches along the way, instead of being paid by the first failing requests.
+ *
+ * <p>Along the way, the warmer also validates the message catalog and reports the codes without any message
+ * and the malformed templates, i.e. templates with placeholders or choices that would be rendered as plain text.
+ */
+public final class MessageCatalogWarmer {
+
+    /**
+     * The message source to warm up.
+     */
+    private final TemplateAwareMessageSource messageSource;
+
+    /**
+     * The error codes to warm up.
+     */
+    private final Set<String> codes = new LinkedHashSet<>();
+
+    /**
+     * The locales to warm up.
+     */
+    private final Set<Locale> locales = new LinkedHashSet<>();
+
+    /**
+     * Creates a warmer for the given message source.
+     *
+     * @param messageSource The message source to warm up.
+     * @throws NullPointerException When the message source is null.
+     */
+    public MessageCatalogWarmer(@NonNull TemplateAwareMessageSource messageSource) {
+        this.messageSource = requireNonNull(messageSource, "The message source is required");
+    }
+
+    /**
+     * Adds the given error codes to the to-be-warmed codes.
+     *
+     * @param codes The error codes.
+     * @return The same warmer instance.
+     */
+    @NonNull
+    public MessageCatalogWarmer withCodes(@NonNull Collection<String> codes) {
+        this.codes.addAll(requireNonNull(codes, "Codes are required"));
+        return this;
+    }
+
+    /**
+     * Adds the given locales to the to-be-warmed locales.
+     *
+     * @param locales The locales.
+     * @return The same warmer instance.
+     */
+    @NonNull
+    public MessageCatalogWarmer withLocales(@NonNull Collection<Locale> locales) {
+        this.locales.addAll(requireNonNull(locales, "Locales are required"));
+        return this;
+    }
+
+    /**
+     * Adds all codes and locales of the given bundles, discovered the same way as the
+     * {@link SnapshotMessageSource}, to the to-be-warmed codes and locales.
+     *
+     * @param basenames The bundle basenames.
+     * @param encoding  The bundle files encoding.
+     * @return The same warmer instance.
+     * @throws IOException When failed to read the bundles.
+     */
+    @NonNull
+    public MessageCatalogWarmer withBundles(@NonNull List<String> basenames,
+                                            @NonNull Charset encoding) throws IOException {
+        Map<Locale, Map<String, String>> bundles = MessageBundles.read(
+            MessageBundles.discover(requireNonNull(basenames), new PathMatchingResourcePatternResolver()),
+            requireNonNull(encoding));
+
+        for (Map.Entry<Locale, Map<String, String>> bundle : bundles.entrySet()) {
+            locales.add(bundle.getKey());
+            codes.addAll(bundle.getValue().keySet());
+        }
+
+        return this;
+    }
+
+    /**
+     * Resolves and compiles the templates of all codes for all locales. Without any locale, only the
+     * {@link Locale#ROOT} would be warmed up.
+     *
+     * @return The warm-up report.
+     */
+    @NonNull
+    public Report warmUp() {
+        long start = System.nanoTime();
+        Collection<Locale> targets = locales.isEmpty() ? Collections.singleton(Locale.ROOT) : locales;
+
+        int compiled = 0;
+        Map<Locale, Set<String>> missing = new LinkedHashMap<>();
+        Map<Locale, Set<String>> malformed = new LinkedHashMap<>();
+        for (Locale locale : targets) {
+            Map<String, CompiledTemplate> templates = messageSource.precompile(codes, locale);
+            compiled += templates.size();
+
+            for (String code : codes) {
+                CompiledTemplate template = templates.get(code);
+                if (template == null) missing.computeIfAbsent(locale, l -> new TreeSet<>()).add(code);
+                else if (!template.isWellFormed()) malformed.computeIfAbsent(locale, l -> new TreeSet<>()).add(code);
+            }
+        }
+
+        return new Report(codes.size(), targets.size(), compiled, missing, malformed, System.nanoTime() - start);
+    }
+
+    /**
+     * The outcome of a warm-up.
+     */
+    public static final class Report {
+
+        /**
+         * Number of warmed codes.
+         */
+        private final int codes;
+
+        /**
+         * Number of warmed locales.
+         */
+        private final int locales;
+
+        /**
+         * Number of compiled templates, for all locales.
+         */
+        private final int compiled;
+
+        /**
+         * Codes without any message, per locale.
+         */
+        private final Map<Locale, Set<String>> missing;
+
+        /**
+         * Codes with malformed templates, per locale.
+         */
+        private final Map<Locale, Set<String>> malformed;
+
+        /**
+         * The warm-up duration in nanoseconds.
+         */
+        private final long elapsedNanos;
+
+        private Report(int codes,
+                       int locales,
+                       int compiled,
+                       Map<Locale, Set<String>> missing,
+                       Map<Locale, Set<String>> malformed,
+                       long elapsedNanos) {
+            this.codes = codes;
+            this.locales = locales;
+            this.compiled = compiled;
+            this.missing = Collections.unmodifiableMap(missing);
+            this.malformed = Collections.unmodifiableMap(malformed);
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        /**
+         * @return Number of warmed codes.
+         */
+        public int getCodes() {
+            return codes;
+        }
+
+        /**
+         * @return Number of warmed locales.
+         */
+        public int getLocales() {
+            return locales;
+        }
+
+        /**
+         * @return Number of compiled templates, for all locales.
+         */
+        public int getCompiled() {
+            return compiled;
+        }
+
+        /**
+         * @return Codes without any message, even after the locale fallbacks, per locale.
+         */
+        @NonNull
+        public Map<Locale, Set<String>> getMissing() {
+            return missing;
+        }
+
+        /**
+         * @return Codes with malformed templates, i.e. templates with unparsable placeholders or choices, per locale.
+         */
+        @NonNull
+        public Map<Locale, Set<String>> getMalformed() {
+            return malformed;
+        }
+
+        /**
+         * @return The warm-up duration in nanoseconds.
+         */
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return "Warmed up " + compiled + " message templates of " + codes + " codes in " + locales +
+                " locales in " + elapsedNanos / 1_000_000 + " ms, missing: " + missing + ", malformed: " + malformed;
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package me.alidg.errors.message;
+
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A bounded and concurrent cache of {@code (code, locale) -> message template} entries, to be used by the
+ * {@link TemplateAwareMessageSource}. On each cache miss, the template would be resolved only once for the
+ * requested locale, as the underlying message source already falls back to the less specific locales, if it
+ * supports any fallback at all. Missing templates are cached, too, so looking up a code without any template
+ * would be a simple cache hit after the first time.
+ *
+ * <h3>Invalidation</h3>
+ * When the underlying message source reloads its messages, the cached templates should be invalidated using
+ * the {@link #clear()} method. Also, it's possible to expire all entries periodically by passing a
+ * {@link Duration} to the constructor. This is useful for message sources reloading their messages periodically,
+ * such as {@link org.springframework.context.support.ReloadableResourceBundleMessageSource}.
+ *
+ * @see TemplateAwareMessageSource
+ */
+public final class MessageTemplateCache {
+
+    /**
+     * The default maximum number of templates to cache.
+     */
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    /**
+     * The cached templates. Missing templates are represented as empty {@link Optional}s.
+     */
+    private final BoundedCache<MessageKey, Optional<String>> templates;
+
+    /**
+     * How long each generation of the cached templates is valid, in nanoseconds. Non-positive values mean
+     * that the entries won't expire.
+     */
+    private final long timeToLive;
+
+    /**
+     * When the current generation of the cached templates expires, based on {@link System#nanoTime()}.
+     */
+    private volatile long expiresAt;
+
+    /**
+     * Creates a cache with the given capacity, which keeps its entries until getting cleared.
+     *
+     * @param capacity Maximum number of templates to cache.
+     * @throws IllegalArgumentException When the capacity is not positive.
+     */
+    public MessageTemplateCache(int capacity) {
+        this(capacity, null);
+    }
+
+    /**
+     * Creates a cache with the given capacity, which expires all its entries after the given duration.
+     *
+     * @param capacity   Maximum number of templates to cache.
+     * @param timeToLive How long the cached templates are valid. A {@code null}, zero or negative value means
+     *                   that the entries won't expire.
+     * @throws IllegalArgumentException When the capacity is not positive.
+     */
+    public MessageTemplateCache(int capacity, @Nullable Duration timeToLive) {
+        this.templates = new BoundedCache<>(capacity);
+        this.timeToLive = timeToLive == null || timeToLive.isNegative() ? 0 : timeToLive.toNanos();
+        this.expiresAt = System.nanoTime() + this.timeToLive;
+    }
+
+    /**
+     * Returns the cached template for the given code and locale or resolves and caches it. The resolver would be
+     * called at most once per code and locale, until the cache gets cleared or expires.
+     *
+     * @param code     The message code.
+     * @param locale   The message locale.
+     * @param resolver Resolves the template for a code and locale. Returns {@code null} for missing templates.
+     * @return The template or {@code null} when there is no template in the whole fallback chain.
+     */
+    @Nullable
+    String get(@NonNull String code, @NonNull Locale locale, @NonNull BiFunction<String, Locale, String> resolver) {
+        return forLocale(locale, resolver).apply(code);
+    }
+
+    /**
+     * Returns a view of the cache for the given locale, which can be used to look up multiple codes with the
+     * same locale. The expiration would be checked only once for all those lookups.
+     *
+     * @param locale   The message locale.
+     * @param resolver Resolves the template for a code and locale. Returns {@code null} for missing templates.
+     * @return A function returning the template for each code or {@code null} for missing templates.
+     * @see #get(String, Locale, BiFunction)
+     */
+    @NonNull
+    Function<String, String> forLocale(@NonNull Locale locale, @NonNull BiFunction<String, Locale, String> resolver) {
+        expireIfNeeded();
+
+        return code -> {
+            Optional<String> template = templates.get(new MessageKey(code, locale),
+                key -> Optional.ofNullable(resolver.apply(code, locale)));
+
+            return template == null ? null : template.orElse(null);
+        };
+    }
+
+    /**
+     * Evicts all cached templates. Should be called whenever the underlying message source reloads its messages.
+     */
+    public void clear() {
+        templates.clear();
+        expiresAt = System.nanoTime() + timeToLive;
+    }
+
+    /**
+     * @return Current number of cached templates, including the missing ones.
+     */
+    public int size() {
+        return templates.size();
+    }
+
+    /**
+     * @return Number of lookups served from the cache.
+     */
+    public long getHitCount() {
+        return templates.getHitCount();
+    }
+
+    /**
+     * @return Number of lookups requiring the template resolution.
+     */
+    public long getMissCount() {
+        return templates.getMissCount();
+    }
+
+    /**
+     * @return The ratio of lookups served from the cache, between {@code 0} and {@code 1}.
+     */
+    public double getHitRate() {
+        long hits = getHitCount();
+        long total = hits + getMissCount();
+
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    /**
+     * Computes the fallback chain for the given locale by removing the variant, country and language one after
+     * another. For example, the chain for {@code de_CH} would be {@code de_CH -> de -> ROOT}. This is meant for
+     * the message sources doing their own fallback, e.g. the {@link SnapshotMessageSource}.
+     *
+     * @param locale The locale to compute its chain.
+     * @return The fallback chain, starting with the locale itself.
+     */
+    @NonNull
+    static Locale[] computeFallbackChain(@NonNull Locale locale) {
+        List<Locale> chain = new ArrayList<>(4);
+        chain.add(locale);
+
+        String language = locale.getLanguage();
+        String country = locale.getCountry();
+        if (!locale.getVariant().isEmpty() || !locale.getScript().isEmpty() || locale.hasExtensions())
+            addIfAbsent(chain, new Locale(language, country));
+        if (!country.isEmpty()) addIfAbsent(chain, new Locale(language));
+        addIfAbsent(chain, Locale.ROOT);
+
+        return chain.toArray(new Locale[0]);
+    }
+
+    private static void addIfAbsent(List<Locale> chain, Locale locale) {
+        if (!chain.contains(locale)) chain.add(locale);
+    }
+
+    private void expireIfNeeded() {
+        if (timeToLive > 0 && System.nanoTime() - expiresAt > 0) clear();
+    }
+
+    /**
+     * The cache key, i.e. a code and locale pair.
+     */
+    private static final class MessageKey {
+
+        private final String code;
+        private final Locale locale;
+        private final int hash;
+
+        private MessageKey(String code, Locale locale) {
+            this.code = requireNonNull(code, "The message code is required");
+            this.locale = requireNonNull(locale, "The locale is required");
+            this.hash = 31 * code.hashCode() + locale.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof MessageKey)) return false;
+
+            MessageKey that = (MessageKey) o;
+            return hash == that.hash && code.equals(that.code) && locale.equals(that.locale);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package me.alidg.errors.message;
+
+import org.springframework.lang.NonNull;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A compact subset of the CLDR plural rules, selecting the plural category of a number, i.e. one of
+ * {@code zero}, {@code one}, {@code two}, {@code few}, {@code many} or {@code other}, for the most common
+ * languages. Languages without a known rule would use the English rule, since the default message bundles
+ * are usually written in English.
+ *
+ * <p>The rules are evaluated over the CLDR operands, where {@code i} is the integer part of the number,
+ * {@code v} is the number of its visible fraction digits, including the trailing zeros, and {@code w} is the
+ * number of its visible fraction digits, without the trailing zeros. For example, {@code 1.0} has one visible
+ * fraction digit, so it's not singular in English.
+ */
+enum PluralRules {
+
+    /**
+     * Languages without any plural forms, e.g. Chinese or Japanese.
+     */
+    NONE {
+        @Override
+        String select(long i, int v, int w) {
+            return OTHER;
+        }
+    },
+
+    /**
+     * Only {@code 1} is singular, e.g. English or German.
+     */
+    ONE {
+        @Override
+        String select(long i, int v, int w) {
+            return i == 1 && v == 0 ? "one" : OTHER;
+        }
+    },
+
+    /**
+     * Both {@code 0} and {@code 1}, including their fractions, are singular, e.g. French.
+     */
+    ZERO_AND_ONE {
+        @Override
+        String select(long i, int v, int w) {
+            return i == 0 || i == 1 ? "one" : OTHER;
+        }
+    },
+
+    /**
+     * Fractions of {@code 0} and {@code 1} itself, even with trailing zeros, are singular, e.g. Persian or Hindi.
+     */
+    FRACTIONS_AND_ONE {
+        @Override
+        String select(long i, int v, int w) {
+            return i == 0 || (i == 1 && w == 0) ? "one" : OTHER;
+        }
+    },
+
+    /**
+     * East Slavic languages, e.g. Russian or Ukrainian.
+     */
+    EAST_SLAVIC {
+        @Override
+        String select(long i, int v, int w) {
+            if (v != 0) return OTHER;
+
+            long mod10 = i % 10;
+            long mod100 = i % 100;
+            if (mod10 == 1 && mod100 != 11) return "one";
+            if (mod10 >= 2 && mod10 <= 4 && (mod100 < 12 || mod100 > 14)) return "few";
+
+            return "many";
+        }
+    },
+
+    /**
+     * Polish.
+     */
+    POLISH {
+        @Override
+        String select(long i, int v, int w) {
+            if (v != 0) return OTHER;
+            if (i == 1) return "one";
+
+            long mod10 = i % 10;
+            long mod100 = i % 100;
+            if (mod10 >= 2 && mod10 <= 4 && (mod100 < 12 || mod100 > 14)) return "few";
+
+            return "many";
+        }
+    },
+
+    /**
+     * Czech and Slovak.
+     */
+    WEST_SLAVIC {
+        @Override
+        String select(long i, int v, int w) {
+            if (v != 0) return "many";
+            if (i == 1) return "one";
+            if (i >= 2 && i <= 4) return "few";
+
+            return OTHER;
+        }
+    },
+
+    /**
+     * Arabic.
+     */
+    ARABIC {
+        @Override
+        String select(long i, int v, int w) {
+            if (w != 0) return OTHER;
+            if (i == 0) return "zero";
+            if (i == 1) return "one";
+            if (i == 2) return "two";
+
+            long mod100 = i % 100;
+            if (mod100 >= 3 && mod100 <= 10) return "few";
+            if (mod100 >= 11) return "many";
+
+            return OTHER;
+        }
+    },
+
+    /**
+     * Hebrew.
+     */
+    HEBREW {
+        @Override
+        String select(long i, int v, int w) {
+            if (v != 0) return i == 0 ? "one" : OTHER;
+            if (i == 1) return "one";
+            if (i == 2) return "two";
+
+            return OTHER;
+        }
+    };
+
+    /**
+     * The catch-all plural category.
+     */
+    static final String OTHER = "other";
+
+    /**
+     * Integer parts larger than this would be reduced, while keeping their last digits.
+     */
+    private static final BigInteger REDUCTION = BigInteger.valueOf(1_000_000);
+
+    /**
+     * Maps each language to its plural rules.
+     */
+    private static final Map<String, PluralRules> RULES_BY_LANGUAGE = new HashMap<>();
+
+    static {
+        register(NONE, "id", "ja", "km", "ko", "lo", "ms", "my", "th", "vi", "zh");
+        register(ZERO_AND_ONE, "fr", "hy", "pt");
+        register(FRACTIONS_AND_ONE, "am", "bn", "fa", "gu", "hi", "kn", "mr", "zu");
+        register(EAST_SLAVIC, "be", "ru", "uk");
+        register(POLISH, "pl");
+        register(WEST_SLAVIC, "cs", "sk");
+        register(ARABIC, "ar");
+        register(HEBREW, "he", "iw");
+    }
+
+    /**
+     * Finds the plural rules of the given locale.
+     *
+     * @param locale The locale to find its rules.
+     * @return The plural rules of the locale language.
+     */
+    @NonNull
+    static PluralRules forLocale(@NonNull Locale locale) {
+        return RULES_BY_LANGUAGE.getOrDefault(locale.getLanguage(), ONE);
+    }
+
+    /**
+     * Selects the plural category of the given number.
+     *
+     * @param number The number to categorize.
+     * @return The plural category.
+     */
+    @NonNull
+    String select(@NonNull BigDecimal number) {
+        BigDecimal n = number.abs();
+        BigInteger integer = n.toBigInteger();
+        long i = integer.bitLength() < 63 ? integer.longValue() : integer.mod(REDUCTION).longValue() + 1_000_000;
+        int v = Math.max(n.scale(), 0);
+        int w = v == 0 ? 0 : Math.max(n.stripTrailingZeros().scale(), 0);
+
+        return select(i, v, w);
+    }
+
+    /**
+     * Selects the plural category using the CLDR operands.
+     *
+     * @param i The integer part of the number.
+     * @param v Number of the visible fraction digits, with the trailing zeros.
+     * @param w Number of the visible fraction digits, without the trailing zeros.
+     * @return The plural category.
+     */
+    abstract String select(long i, int v, int w);
+
+    private static void register(PluralRules rules, String... languages) {
+        for (String language : languages) RULES_BY_LANGUAGE.put(language, rules);
+    }
+}
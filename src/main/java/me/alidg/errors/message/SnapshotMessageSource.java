@@ -0,0 +1,312 @@
+package me.alidg.errors.message;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.support.AbstractMessageSource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.text.MessageFormat;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@link org.springframework.context.MessageSource} tuned for the error path. All properties bundles are loaded
+ * once into immutable per-locale maps and then published as one snapshot through a volatile reference. Therefore,
+ * resolving a message is a few hash lookups without any locking, in contrast to the Spring's
+ * {@link org.springframework.context.support.ResourceBundleMessageSource} which synchronizes on its caches.
+ *
+ * <h3>Bundles</h3>
+ * Each basename, e.g. {@code messages}, {@code classpath:i18n/errors} or {@code file:/etc/app/messages}, is
+ * resolved to all its {@code basename.properties} and {@code basename_<locale>.properties} files. Basenames without
+ * any prefix are loaded from the classpath. When more than one basename defines the same code for the same locale,
+ * the first basename wins. Just like the {@link java.util.ResourceBundle}s, only the first {@code classpath:} file
+ * of each locale would be read, unless the {@code classpath*:} prefix is used explicitly. Please note that bundles
+ * located in the root of jar files may not be discovered, so prefer putting them in a directory.
+ *
+ * <h3>Locale Fallback</h3>
+ * Messages would be resolved through the locale fallback chain, e.g. {@code de_CH -> de -> ROOT}. Unlike the
+ * {@link org.springframework.context.support.ResourceBundleMessageSource}, there is no fallback to the
+ * system locale.
+ *
+ * <h3>Hot Reload</h3>
+ * The {@link #reload()} method builds a new snapshot and swaps it atomically, so concurrent readers would see either
+ * the old or the new messages but never a mix of them. By calling the {@link #startReloading(Duration)} method,
+ * the bundles would be checked for modifications periodically on a background thread and reloaded when needed.
+ * The registered {@link #addReloadListener(Runnable) reload listeners} would be notified after each reload, e.g. to
+ * clear the {@link MessageTemplateCache}.
+ */
+public class SnapshotMessageSource extends AbstractMessageSource implements AutoCloseable {
+
+    /**
+     * Plain old logger.
+     */
+    private static final Logger log = LoggerFactory.getLogger(SnapshotMessageSource.class);
+
+    /**
+     * Maximum number of locales to cache their resolved messages.
+     */
+    private static final int LOCALES_CAPACITY = 256;
+
+    /**
+     * The bundle basenames to load.
+     */
+    private final List<String> basenames;
+
+    /**
+     * The properties files encoding.
+     */
+    private final Charset encoding;
+
+    /**
+     * To discover the bundle files.
+     */
+    private final ResourcePatternResolver resourceResolver;
+
+    /**
+     * To be notified after each reload.
+     */
+    private final List<Runnable> reloadListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * The current immutable snapshot of all messages.
+     */
+    private volatile Snapshot snapshot;
+
+    /**
+     * Checks the bundles for modifications. This is {@code null} unless the {@link #startReloading(Duration)}
+     * is called.
+     */
+    @Nullable
+    private ScheduledExecutorService reloader;
+
+    /**
+     * Creates a message source loading the given bundles from the classpath or file system.
+     *
+     * @param basenames The bundle basenames to load, in their precedence order.
+     * @param encoding  The properties files encoding.
+     * @throws NullPointerException  When one of the parameters is null.
+     * @throws IllegalStateException When failed to load the bundles.
+     */
+    public SnapshotMessageSource(@NonNull List<String> basenames, @NonNull Charset encoding) {
+        this(basenames, encoding, new PathMatchingResourcePatternResolver());
+    }
+
+    /**
+     * Creates a message source loading the given bundles using the given resolver.
+     *
+     * @param basenames        The bundle basenames to load, in their precedence order.
+     * @param encoding         The properties files encoding.
+     * @param resourceResolver To discover the bundle files.
+     * @throws NullPointerException  When one of the parameters is null.
+     * @throws IllegalStateException When failed to load the bundles.
+     */
+    public SnapshotMessageSource(@NonNull List<String> basenames,
+                                 @NonNull Charset encoding,
+                                 @NonNull ResourcePatternResolver resourceResolver) {
+        this.basenames = new ArrayList<>(requireNonNull(basenames, "The basenames are required"));
+        this.encoding = requireNonNull(encoding, "The encoding is required");
+        this.resourceResolver = requireNonNull(resourceResolver, "The resource resolver is required");
+
+        try {
+            this.snapshot = load();
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to load the message bundles", e);
+        }
+    }
+
+    /**
+     * Loads all bundles again and swaps the current snapshot with the new one. When the loading fails, the
+     * current snapshot remains intact.
+     *
+     * @return {@code true} if the messages got reloaded, {@code false} otherwise.
+     */
+    public boolean reload() {
+        try {
+            snapshot = load();
+        } catch (Exception e) {
+            log.warn("Failed to reload the message bundles, keeping the current messages", e);
+            return false;
+        }
+
+        log.debug("Reloaded the message bundles");
+        for (Runnable listener : reloadListeners) {
+            try {
+                listener.run();
+            } catch (Exception e) {
+                log.warn("A message reload listener failed", e);
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Checks the bundles for modifications every {@code interval} on a background thread and reloads them
+     * when they're modified, added or removed.
+     *
+     * @param interval The delay between two consecutive checks.
+     * @throws IllegalArgumentException When the interval is not positive.
+     * @throws IllegalStateException    When the reloading is already started.
+     */
+    public synchronized void startReloading(@NonNull Duration interval) {
+        if (interval.isZero() || interval.isNegative())
+            throw new IllegalArgumentException("The reload interval should be positive");
+        if (reloader != null) throw new IllegalStateException("The reloading is already started");
+
+        reloader = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "errors-message-reloader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long millis = interval.toMillis();
+        reloader.scheduleWithFixedDelay(this::reloadIfModified, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Reloads the bundles only if they're modified since the last load.
+     *
+     * @return {@code true} if the messages got reloaded, {@code false} otherwise.
+     */
+    public boolean reloadIfModified() {
+        try {
+            if (snapshot.lastModified.equals(lastModifiedOf(MessageBundles.discover(basenames, resourceResolver))))
+                return false;
+        } catch (Exception e) {
+            log.warn("Failed to check the message bundles for modifications", e);
+            return false;
+        }
+
+        return reload();
+    }
+
+    /**
+     * Registers a listener to be notified after each successful reload.
+     *
+     * @param listener The listener to register.
+     */
+    public void addReloadListener(@NonNull Runnable listener) {
+        reloadListeners.add(requireNonNull(listener, "The listener is required"));
+    }
+
+    /**
+     * @return The locales of the currently loaded bundles.
+     */
+    @NonNull
+    public List<Locale> getLocales() {
+        return new ArrayList<>(snapshot.messages.keySet());
+    }
+
+    /**
+     * Stops the background reloading, if any.
+     */
+    @Override
+    public synchronized void close() {
+        if (reloader != null) {
+            reloader.shutdownNow();
+            reloader = null;
+        }
+    }
+
+    @Override
+    protected String resolveCodeWithoutArguments(String code, Locale locale) {
+        return snapshot.find(code, locale);
+    }
+
+    @Override
+    protected MessageFormat resolveCode(String code, Locale locale) {
+        String message = snapshot.find(code, locale);
+        return message == null ? null : createMessageFormat(message, locale);
+    }
+
+    private Snapshot load() throws IOException {
+        Map<Resource, Locale> resources = MessageBundles.discover(basenames, resourceResolver);
+        Map<Locale, Map<String, String>> bundles = MessageBundles.read(resources, encoding);
+
+        Map<Locale, Map<String, String>> messages = new HashMap<>();
+        for (Locale locale : bundles.keySet()) {
+            Locale[] chain = MessageTemplateCache.computeFallbackChain(locale);
+            Map<String, String> flattened = new HashMap<>();
+            for (int i = chain.length - 1; i >= 0; i--) {
+                Map<String, String> bundle = bundles.get(chain[i]);
+                if (bundle != null) flattened.putAll(bundle);
+            }
+            messages.put(locale, Collections.unmodifiableMap(flattened));
+        }
+
+        return new Snapshot(messages, lastModifiedOf(resources));
+    }
+
+    private static Map<String, Long> lastModifiedOf(Map<Resource, Locale> resources) {
+        Map<String, Long> lastModified = new HashMap<>();
+        for (Resource resource : resources.keySet()) {
+            long modifiedAt;
+            try {
+                modifiedAt = resource.lastModified();
+            } catch (IOException e) {
+                modifiedAt = -1;
+            }
+            lastModified.put(resource.getDescription(), modifiedAt);
+        }
+
+        return lastModified;
+    }
+
+    /**
+     * An immutable snapshot of all loaded messages.
+     */
+    private static final class Snapshot {
+
+        /**
+         * Messages of each loaded locale, including the messages inherited from its fallback locales.
+         */
+        private final Map<Locale, Map<String, String>> messages;
+
+        /**
+         * The last modification time of each loaded bundle file.
+         */
+        private final Map<String, Long> lastModified;
+
+        /**
+         * Caches the messages to use for each requested locale, including the not loaded ones.
+         */
+        private final BoundedCache<Locale, Map<String, String>> messagesByLocale = new BoundedCache<>(LOCALES_CAPACITY);
+
+        private Snapshot(Map<Locale, Map<String, String>> messages, Map<String, Long> lastModified) {
+            this.messages = messages;
+            this.lastModified = lastModified;
+        }
+
+        private String find(String code, Locale locale) {
+            return messagesByLocale.get(locale, this::messagesOf).get(code);
+        }
+
+        /**
+         * Finds the messages of the most specific loaded locale in the fallback chain of the given locale.
+         */
+        private Map<String, String> messagesOf(Locale locale) {
+            for (Locale candidate : MessageTemplateCache.computeFallbackChain(locale)) {
+                Map<String, String> found = messages.get(candidate);
+                if (found != null) return found;
+            }
+
+            return Collections.emptyMap();
+        }
+    }
+}
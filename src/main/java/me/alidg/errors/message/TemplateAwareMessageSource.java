@@ -1,24 +1,40 @@
 package me.alidg.errors.message;
 
 import me.alidg.errors.Argument;
+import me.alidg.errors.HandledException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.MessageSource;
 import org.springframework.context.NoSuchMessageException;
+import org.springframework.context.support.AbstractMessageSource;
 import org.springframework.lang.NonNull;
 import org.springframework.lang.Nullable;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
+import java.util.function.Function;
+
+import static java.util.Collections.emptyList;
 
 /**
  * A simple wrapper for {@link MessageSource} capable of resolving templated expressions. Basically, we first
  * resolve the message template using the wrapped {@link #messageSource}. Then {@link #templateParser} would
- * help us to replace all placeholders with their corresponding argument value.
+ * help us to replace all placeholders with their corresponding argument value. Placeholders carrying a style hint,
+ * e.g. <code>{max,number}</code>, would be formatted according to the requested locale.
+ *
+ * <p>Missing messages are resolved to {@code null} without relying on the {@link
+ * org.springframework.context.NoSuchMessageException}, so codes without any message, which are quite common
+ * for validation errors, won't pay for the exception construction. Optionally, the resolved templates can be
+ * cached per code and locale using a {@link MessageTemplateCache}.
+ * The cached templates should be invalidated whenever the wrapped {@link #messageSource} reloads its messages.
  *
  * @author zarebski-m
  * @see TemplateParser
+ * @see MessageTemplateCache
  */
 public class TemplateAwareMessageSource {
 
@@ -37,6 +53,12 @@ public class TemplateAwareMessageSource {
      */
     private final TemplateParser templateParser = new TemplateParser();
 
+    /**
+     * Caches the resolved templates. This is {@code null} when the templates should not be cached.
+     */
+    @Nullable
+    private final MessageTemplateCache messageCache;
+
     /**
      * Construct an instance of {@link TemplateAwareMessageSource} with the given {@code messageSource}
      * to resolve messages.
@@ -45,7 +67,21 @@ public class TemplateAwareMessageSource {
      * @throws NullPointerException When the given message source is null.
      */
     public TemplateAwareMessageSource(@NonNull MessageSource messageSource) {
+        this(messageSource, null);
+    }
+
+    /**
+     * Construct an instance of {@link TemplateAwareMessageSource} with the given {@code messageSource}
+     * to resolve messages and the given cache to cache the resolved templates.
+     *
+     * @param messageSource Source of message templates.
+     * @param messageCache  Caches the resolved templates. Pass {@code null} to disable the caching.
+     * @throws NullPointerException When the given message source is null.
+     */
+    public TemplateAwareMessageSource(@NonNull MessageSource messageSource,
+                                      @Nullable MessageTemplateCache messageCache) {
         this.messageSource = Objects.requireNonNull(messageSource, "The message source is required");
+        this.messageCache = messageCache;
     }
 
     /**
@@ -54,13 +90,87 @@ public class TemplateAwareMessageSource {
      * @param code      Error code a.k.a. message template key from {@link #messageSource}.
      * @param arguments Error arguments to interpolate/substitute in message template.
      * @param locale    Locale.
-     * @return String with resolved arguments.
+     * @return String with resolved arguments or {@code null} when there is no message for the given code.
      */
     @Nullable
     public String interpolate(@NonNull String code, @NonNull List<Argument> arguments, @NonNull Locale locale) {
+        return interpolate(code, arguments, locale, templatesFor(locale));
+    }
+
+    /**
+     * Interpolates the messages for all error codes of the given {@link HandledException} at once. The locale
+     * dependent work, e.g. checking the cache expiration, would be done only once for all codes. Also,
+     * since the error codes are unique, each template would be resolved and rendered only once, no matter how
+     * many violations are represented by the same code.
+     *
+     * @param handled The handled exception to interpolate its error messages.
+     * @param locale  Locale.
+     * @return Error codes, in their original order, mapped to their message or {@code null} when there is no
+     * message for the code.
+     */
+    @NonNull
+    public Map<String, String> interpolate(@NonNull HandledException handled, @NonNull Locale locale) {
+        Function<String, String> templates = templatesFor(locale);
+        Map<String, List<Argument>> arguments = handled.getArguments();
+        Map<String, String> messages = new LinkedHashMap<>((int) (handled.getErrorCodes().size() / 0.75f) + 1);
+        for (String code : handled.getErrorCodes()) {
+            messages.put(code, interpolate(code, arguments.getOrDefault(code, emptyList()), locale, templates));
+        }
+
+        return messages;
+    }
+
+    /**
+     * @return The cache of resolved templates, if enabled. Otherwise {@code null}.
+     */
+    @Nullable
+    public MessageTemplateCache getMessageCache() {
+        return messageCache;
+    }
+
+    /**
+     * Determines whether resolving the messages never blocks the calling thread. This is the case for the
+     * {@link SnapshotMessageSource} and {@link MappedMessageSource}, as they serve the messages from memory
+     * without any locking, as long as they don't have a parent message source.
+     *
+     * @return {@code true} if the message resolution never blocks, {@code false} if it may block.
+     */
+    public boolean isNonBlocking() {
+        if (!(messageSource instanceof SnapshotMessageSource) && !(messageSource instanceof MappedMessageSource))
+            return false;
+
+        return ((AbstractMessageSource) messageSource).getParentMessageSource() == null;
+    }
+
+    /**
+     * Resolves and compiles the templates of the given codes for the given locale, so the subsequent
+     * interpolations would be served from the caches.
+     *
+     * @param codes  The error codes to resolve their templates.
+     * @param locale Locale.
+     * @return Error codes mapped to their compiled template. Codes without any message would be absent.
+     */
+    Map<String, CompiledTemplate> precompile(Collection<String> codes, Locale locale) {
+        Function<String, String> templates = templatesFor(locale);
+        Map<String, CompiledTemplate> compiled = new LinkedHashMap<>();
+        for (String code : codes) {
+            try {
+                String template = templates.apply(code);
+                if (template != null) compiled.put(code, templateParser.compile(template, locale));
+            } catch (Exception e) {
+                logger.warn("Failed to resolve the message template for {}", code, e);
+            }
+        }
+
+        return compiled;
+    }
+
+    private String interpolate(String code,
+                               List<Argument> arguments,
+                               Locale locale,
+                               Function<String, String> templates) {
         try {
-            String template = messageSource.getMessage(code, null, locale);
-            return templateParser.parse(template, arguments);
+            return templateParser.parse(templates.apply(code), arguments, locale);
         } catch (NoSuchMessageException e) {
             return null;
         } catch (Exception e) {
@@ -68,4 +178,18 @@ public class TemplateAwareMessageSource {
             return null;
         }
     }
+
+    private Function<String, String> templatesFor(Locale locale) {
+        if (messageCache == null) return code -> resolveTemplate(code, locale);
+
+        return messageCache.forLocale(locale, this::resolveTemplate);
+    }
+
+    /**
+     * Resolves the template using a {@code null} default message, so missing templates would be resolved to
+     * {@code null} instead of throwing exceptions.
+     */
+    private String resolveTemplate(String code, Locale locale) {
+        return messageSource.getMessage(code, null, null, locale);
+    }
 }
@@ -3,9 +3,8 @@ package me.alidg.errors.message;
 import me.alidg.errors.Argument;
 
 import java.util.List;
-import java.util.Optional;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Locale;
+import java.util.Objects;
 
 /**
  * Responsible for parsing string templates and replacing the named or positional arguments
@@ -45,72 +44,140 @@ import java.util.regex.Pattern;
  * When there is no corresponding value for a placeholder, the placeholder would remain intact. For example,
  * if there is no corresponding value for {min}, then the placeholder would be in the final outcome.
  *
+ * <h3>Formatted Arguments</h3>
+ * By default, argument values are rendered using their {@code toString()}. A placeholder may also carry a style
+ * hint, and optionally a style pattern, after its name to format the value according to the requested locale:
+ * <pre>
+ *     The maximum is {max,number} and the deadline is {deadline,date,short}.
+ * </pre>
+ * See {@link ArgumentFormatters} for the supported styles. The formatters are cached per locale and style.
+ *
+ * <h3>Plural and Select Forms</h3>
+ * Similar to the ICU message format, plural and select forms are supported, e.g.:
+ * <pre>
+ *     You can add {remaining,plural,=0{no more items} one{one more item} other{# more items}}.
+ * </pre>
+ * See {@link CompiledTemplate} for more details.
+ *
+ * <h3>Compiled Templates</h3>
+ * Each template is compiled to a {@link CompiledTemplate} once per locale and then cached in a bounded cache, so
+ * the subsequent interpolations of the same template only render the pre-parsed segments, without re-parsing
+ * the plural or select forms. Please note that the
+ * argument values are substituted as-is and the escape characters are only resolved in the template itself.
+ *
  * @author Ali Dehghani
  */
 final class TemplateParser {
 
     /**
-     * A regex to find all '{...}' patterns which are not escaped with a backslash.
+     * The default maximum number of compiled templates to cache.
      */
-    private final Pattern pattern = Pattern.compile("(?<!\\\\)(\\{[^}^{]*})");
+    static final int DEFAULT_CACHE_CAPACITY = 1024;
 
     /**
-     * Parses the given templated string and replaces '{...}' placeholders with their corresponding value.
+     * Keeps the compiled version of recently parsed templates.
+     */
+    private final BoundedCache<TemplateKey, CompiledTemplate> compiledTemplates;
+
+    /**
+     * Formats the argument values of the styled placeholders.
+     */
+    private final ArgumentFormatters formatters = new ArgumentFormatters(ArgumentFormatters.DEFAULT_CAPACITY);
+
+    /**
+     * Creates a parser caching at most {@link #DEFAULT_CACHE_CAPACITY} compiled templates.
+     */
+    TemplateParser() {
+        this(DEFAULT_CACHE_CAPACITY);
+    }
+
+    /**
+     * Creates a parser caching at most the given number of compiled templates.
      *
-     * <p>Please note that we had to use the thread-safe {@link StringBuffer} here because the
-     * {@link Matcher#appendReplacement(StringBuffer, String)} API needs it. But because JVM elides unnecessary
-     * locks, there shouldn't be any performance issue.
+     * @param cacheCapacity Maximum number of compiled templates to cache.
+     * @throws IllegalArgumentException When the capacity is not positive.
+     */
+    TemplateParser(int cacheCapacity) {
+        this.compiledTemplates = new BoundedCache<>(cacheCapacity);
+    }
+
+    /**
+     * Parses the given templated string and replaces '{...}' placeholders with their corresponding value.
      *
      * @param template  The templated string to parse.
      * @param arguments The arguments source to read placeholder values from.
      * @return The final interpolated string.
-     * @see <a href="https://shipilev.net/jvm/anatomy-quarks/19-lock-elision/">Lock Elision</a>
      */
     String parse(String template, List<Argument> arguments) {
+        return parse(template, arguments, Locale.ROOT);
+    }
+
+    /**
+     * Parses the given templated string and replaces '{...}' placeholders with their corresponding value,
+     * formatting the styled placeholders according to the given locale.
+     *
+     * @param template  The templated string to parse.
+     * @param arguments The arguments source to read placeholder values from.
+     * @param locale    The locale to format the argument values with.
+     * @return The final interpolated string.
+     */
+    String parse(String template, List<Argument> arguments, Locale locale) {
         if (template == null || arguments == null || arguments.isEmpty()) return template;
 
-        Matcher matcher = pattern.matcher(template);
-        StringBuffer sb = new StringBuffer();
-        while (matcher.find()) {
-            String placeholder = matcher.group();
+        return compile(template, locale).render(arguments, locale, formatters);
+    }
 
-            Object value = extractValue(placeholder, arguments);
-            if (value != null) matcher.appendReplacement(sb, value.toString());
-        }
-        matcher.appendTail(sb);
+    /**
+     * Compiles the given template for the given locale, or returns the cached compiled template, if any.
+     *
+     * @param template The template to compile.
+     * @param locale   The locale to compile the template for.
+     * @return The compiled template.
+     */
+    CompiledTemplate compile(String template, Locale locale) {
+        return compiledTemplates
+            .get(new TemplateKey(template, locale), key -> CompiledTemplate.compile(key.template, key.locale));
+    }
+
+    /**
+     * @return The cache of compiled templates.
+     */
+    BoundedCache<?, CompiledTemplate> getCompiledTemplates() {
+        return compiledTemplates;
+    }
 
-        return sb.toString().replace("\\{", "{").replace("\\}", "}");
+    /**
+     * @return The cache of argument formatters.
+     */
+    ArgumentFormatters getFormatters() {
+        return formatters;
     }
 
-    private Object extractValue(String placeholder, List<Argument> arguments) {
-        String variable = getPlaceholderVariable(placeholder);
+    /**
+     * The compiled templates cache key.
+     */
+    private static final class TemplateKey {
 
-        // Tries to resolve it as a named argument
-        Optional<Argument> argument = arguments.stream().filter(a -> a.getName().equals(variable)).findFirst();
-        if (argument.isPresent()) return argument.map(this::argumentValue).get();
+        private final String template;
+        private final Locale locale;
 
-        // Otherwise, tries to resolve it as a positional argument
-        try {
-            int index = Integer.parseInt(variable);
-            return argumentValue(arguments.get(index));
-        } catch (Exception ignored) {
+        private TemplateKey(String template, Locale locale) {
+            this.template = template;
+            this.locale = locale;
         }
 
-        return null;
-    }
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof TemplateKey)) return false;
 
-    /**
-     * Extracts the placeholder variable by removing the delimiters.
-     *
-     * @param placeholder The placeholder in {...} format.
-     * @return The extracted variable name.
-     */
-    private String getPlaceholderVariable(String placeholder) {
-        return placeholder.substring(1, placeholder.length() - 1);
-    }
+            TemplateKey that = (TemplateKey) o;
+            return template.equals(that.template) && locale.equals(that.locale);
+        }
 
-    private Object argumentValue(Argument argument) {
-        Object value = argument.getValue();
-        return value == null ? "null" : value;
+        @Override
+        public int hashCode() {
+            return Objects.hash(template, locale);
+        }
     }
 }
@@ -3,6 +3,7 @@ package me.alidg.errors.mvc;
 import me.alidg.errors.HttpError;
 import me.alidg.errors.WebErrorHandlers;
 import me.alidg.errors.adapter.HttpErrorAttributesAdapter;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -50,11 +51,13 @@ public abstract class ErrorsControllerAdvice {
      *
      * @param exception  The caught exception.
      * @param webRequest The current HTTP request.
-     * @param locale     Determines the locale for message translation.
+     * @param locale     Determines the locale for message translation, unless the {@code Accept-Language}
+     *                   based locale resolution is enabled.
      * @return A HTTP response with appropriate error body and status code.
      */
     @ExceptionHandler
     public ResponseEntity<?> handleException(Throwable exception, WebRequest webRequest, Locale locale) {
+        locale = errorHandlers.resolveLocale(webRequest.getHeader(HttpHeaders.ACCEPT_LANGUAGE), locale);
         HttpError httpError = errorHandlers.handle(exception, webRequest, locale);
 
         return ResponseEntity.status(httpError.getHttpStatus()).body(httpErrorAttributesAdapter.adapt(httpError));
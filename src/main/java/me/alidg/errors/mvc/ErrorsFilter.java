@@ -0,0 +1,95 @@
+package me.alidg.errors.mvc;
+
+import org.springframework.core.Ordered;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.NestedServletException;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A high precedence filter catching the exceptions thrown by the rest of the filter chain, e.g. rate limiters,
+ * tenant resolution or request decoding filters, and rendering them through the {@link ServletErrorWriter} straight
+ * into the response. Without this filter, such exceptions would reach the {@code /error} endpoint through the
+ * container's error page forwarding, i.e. a second filter chain traversal followed by the error controller and
+ * error attributes machinery.
+ *
+ * <p>When the response is already committed, the exception would be rethrown as is, since there is no way to
+ * write an error response anymore.
+ *
+ * @see me.alidg.errors.conf.ServletErrorsAutoConfiguration
+ */
+public class ErrorsFilter extends OncePerRequestFilter implements Ordered {
+
+    /**
+     * The default order of the filter, i.e. right after the Spring Boot's character encoding filter and before the
+     * Spring Security filters.
+     */
+    public static final int DEFAULT_ORDER = Ordered.HIGHEST_PRECEDENCE + 1;
+
+    /**
+     * To handle the caught exceptions and write the error responses.
+     */
+    private final ServletErrorWriter errorWriter;
+
+    /**
+     * The order of this filter.
+     */
+    private final int order;
+
+    /**
+     * Initializes the filter with the default order.
+     *
+     * @param errorWriter To handle the caught exceptions and write the error responses.
+     * @throws NullPointerException When the error writer is null.
+     */
+    public ErrorsFilter(ServletErrorWriter errorWriter) {
+        this(errorWriter, DEFAULT_ORDER);
+    }
+
+    /**
+     * Initializes the filter with the given order.
+     *
+     * @param errorWriter To handle the caught exceptions and write the error responses.
+     * @param order       The order of this filter.
+     * @throws NullPointerException When the error writer is null.
+     */
+    public ErrorsFilter(ServletErrorWriter errorWriter, int order) {
+        this.errorWriter = requireNonNull(errorWriter, "Error writer is required");
+        this.order = order;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        try {
+            filterChain.doFilter(request, response);
+        } catch (ServletException | IOException | RuntimeException e) {
+            if (response.isCommitted()) throw e;
+
+            errorWriter.handle(unwrap(e), request, response);
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        return order;
+    }
+
+    /**
+     * The exceptions not handled by the Spring MVC would be wrapped inside a {@link NestedServletException} by
+     * the {@link org.springframework.web.servlet.DispatcherServlet}. So we unwrap them to handle the actual ones.
+     */
+    private static Throwable unwrap(Exception exception) {
+        if (exception instanceof NestedServletException && exception.getCause() != null) return exception.getCause();
+
+        return exception;
+    }
+}
@@ -0,0 +1,81 @@
+package me.alidg.errors.mvc;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.servlet.ModelAndView;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A highest precedence {@link HandlerExceptionResolver} handling all exceptions thrown by the Spring MVC handlers
+ * using the {@link me.alidg.errors.WebErrorHandlers} and writing the error responses directly through the
+ * {@link ServletErrorWriter}. In contrast with the {@link ErrorsControllerAdvice}, there is no
+ * {@code @ExceptionHandler} method resolution, argument resolution, {@link org.springframework.http.ResponseEntity}
+ * wrapping, return value handling or content negotiation involved. The response is always a JSON.
+ *
+ * @see me.alidg.errors.conf.ServletErrorsAutoConfiguration
+ */
+public class ErrorsHandlerExceptionResolver implements HandlerExceptionResolver, Ordered {
+
+    /**
+     * Plain old logger.
+     */
+    private static final Logger log = LoggerFactory.getLogger(ErrorsHandlerExceptionResolver.class);
+
+    /**
+     * To handle the exceptions and write the error responses.
+     */
+    private final ServletErrorWriter errorWriter;
+
+    /**
+     * Initializes the resolver with required dependencies.
+     *
+     * @param errorWriter To handle the exceptions and write the error responses.
+     * @throws NullPointerException When the error writer is null.
+     */
+    public ErrorsHandlerExceptionResolver(ServletErrorWriter errorWriter) {
+        this.errorWriter = requireNonNull(errorWriter, "Error writer is required");
+    }
+
+    /**
+     * Handles the exception and writes the error response, unless the response is already committed.
+     *
+     * @param request   The current HTTP request.
+     * @param response  The current HTTP response.
+     * @param handler   The executed handler, if any.
+     * @param exception The exception thrown by the handler.
+     * @return An empty {@link ModelAndView} when the response is written, so no other resolver would be consulted
+     * and no view would be rendered. Otherwise {@code null}.
+     */
+    @Nullable
+    @Override
+    public ModelAndView resolveException(@NonNull HttpServletRequest request,
+                                         @NonNull HttpServletResponse response,
+                                         @Nullable Object handler,
+                                         @NonNull Exception exception) {
+        try {
+            if (errorWriter.handle(exception, request, response) == null) return null;
+        } catch (IOException e) {
+            log.warn("Failed to write the error response", e);
+            return null;
+        }
+
+        return new ModelAndView();
+    }
+
+    /**
+     * @return The highest precedence, i.e. before the {@code @ExceptionHandler} and other Spring MVC resolvers.
+     */
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
@@ -0,0 +1,104 @@
+package me.alidg.errors.mvc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import me.alidg.errors.HttpError;
+import me.alidg.errors.WebErrorHandlers;
+import me.alidg.errors.adapter.HttpErrorAttributesAdapter;
+import me.alidg.errors.adapter.HttpErrorJsonWriter;
+import me.alidg.errors.conf.ErrorsProperties;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Locale;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Handles the exceptions using the {@link WebErrorHandlers} and writes the adapted error straight into the
+ * {@link HttpServletResponse}. In contrast with the {@link HttpServletResponse#sendError(int)} approach, there is no
+ * container ERROR dispatch to the {@code /error} endpoint, i.e. no second filter chain traversal, error controller,
+ * error attributes or content negotiation involved. The response is always a JSON written by the
+ * {@link HttpErrorJsonWriter}.
+ *
+ * @see me.alidg.errors.conf.ServletErrorsAutoConfiguration
+ */
+public class ServletErrorWriter {
+
+    /**
+     * The precomputed content type of all error responses.
+     */
+    private static final String CONTENT_TYPE = MediaType.APPLICATION_JSON_VALUE;
+
+    /**
+     * Responsible for handling exceptions and converting them to appropriate {@link HttpError}s.
+     */
+    private final WebErrorHandlers webErrorHandlers;
+
+    /**
+     * Writes the JSON representation of the handled errors.
+     */
+    private final HttpErrorJsonWriter writer;
+
+    /**
+     * Initializes the writer with required dependencies.
+     *
+     * @param webErrorHandlers           To handle exceptions.
+     * @param httpErrorAttributesAdapter To adapt our representation of an error, if customized.
+     * @param errorsProperties           To expose the arguments, as the default representation does.
+     * @param objectMapper               To write the JSON responses.
+     * @throws NullPointerException When one of the required parameters is null.
+     */
+    public ServletErrorWriter(WebErrorHandlers webErrorHandlers,
+                              HttpErrorAttributesAdapter httpErrorAttributesAdapter,
+                              ErrorsProperties errorsProperties,
+                              ObjectMapper objectMapper) {
+        this.webErrorHandlers = requireNonNull(webErrorHandlers, "Web error handlers is required");
+        this.writer = new HttpErrorJsonWriter(httpErrorAttributesAdapter, errorsProperties, objectMapper);
+    }
+
+    /**
+     * Handles the given exception and writes the error response, unless the response is already committed.
+     *
+     * @param exception The exception to handle.
+     * @param request   The current HTTP request.
+     * @param response  The current HTTP response.
+     * @return The handled error or {@code null} when the response is already committed.
+     * @throws IOException When failed to write the response.
+     */
+    @Nullable
+    public HttpError handle(@Nullable Throwable exception,
+                            @NonNull HttpServletRequest request,
+                            @NonNull HttpServletResponse response) throws IOException {
+        if (response.isCommitted()) return null;
+
+        Locale locale = webErrorHandlers.resolveLocale(request.getHeader(HttpHeaders.ACCEPT_LANGUAGE), request.getLocale());
+        HttpError httpError = webErrorHandlers.handle(exception, new ServletWebRequest(request, response), locale);
+        write(httpError, response);
+
+        return httpError;
+    }
+
+    /**
+     * Writes the given handled error into the response, replacing any buffered content.
+     *
+     * @param httpError The handled error to write.
+     * @param response  The current HTTP response.
+     * @throws IOException When failed to write the response.
+     */
+    public void write(@NonNull HttpError httpError, @NonNull HttpServletResponse response) throws IOException {
+        response.resetBuffer();
+        response.setStatus(httpError.getHttpStatus().value());
+        response.setContentType(CONTENT_TYPE);
+
+        OutputStream outputStream = response.getOutputStream();
+        writer.write(outputStream, httpError);
+        outputStream.flush();
+    }
+}
@@ -0,0 +1,370 @@
+package me.alidg.errors.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * An annotation processor generating a {@link me.alidg.errors.handlers.GeneratedWebErrorHandler} for each
+ * exception annotated with {@link me.alidg.errors.annotation.ExceptionMapping}. The generated handlers read
+ * the {@link me.alidg.errors.annotation.ExposeAsArg} members directly, so the exception handling would not
+ * involve any reflection. All generated handlers are registered in the
+ * {@code META-INF/services/me.alidg.errors.handlers.GeneratedWebErrorHandler} file, which would be picked up
+ * by the {@link me.alidg.errors.conf.ErrorsAutoConfiguration}.
+ *
+ * <p>The processor ships within the starter itself, but it's not registered as a
+ * {@link javax.annotation.processing.Processor} service. Otherwise, it would run for every application having
+ * the starter on its classpath, and also while compiling the starter itself. In order to enable it, add it to
+ * the annotation processors of the compiler plugin:
+ * <pre>
+ * {@code
+ *     <plugin>
+ *         <groupId>org.apache.maven.plugins</groupId>
+ *         <artifactId>maven-compiler-plugin</artifactId>
+ *         <configuration>
+ *             <annotationProcessors>
+ *                 <annotationProcessor>me.alidg.errors.processor.ExceptionMappingProcessor</annotationProcessor>
+ *             </annotationProcessors>
+ *         </configuration>
+ *     </plugin>
+ * }
+ * </pre>
+ * Please note that the explicitly named processors replace the discovered ones. See the README for the
+ * {@code annotationProcessorPaths} and Gradle setups.
+ *
+ * <h3>Incremental Builds</h3>
+ * When only a subset of the sources is recompiled, e.g. by an IDE or an incremental Gradle build, the processor
+ * sees only the exceptions of that subset. So the existing service file, if any, would be read and merged with the
+ * newly generated handlers instead of being overwritten. Consequently, the entries of deleted exceptions would
+ * remain in the service file until the next clean build. Such stale entries are skipped with a warning by the
+ * {@link me.alidg.errors.handlers.GeneratedMappingsWebErrorHandler#load(ClassLoader)}.
+ *
+ * <h3>Limitations</h3>
+ * Since the generated handlers live in the same package as the exception, exceptions having a private
+ * exposed member or being private, local or anonymous classes are skipped with a note. Those exceptions
+ * would still be handled by the reflection based {@link me.alidg.errors.handlers.AnnotatedWebErrorHandler}.
+ *
+ * @see me.alidg.errors.handlers.GeneratedWebErrorHandler
+ */
+@SupportedAnnotationTypes(ExceptionMappingProcessor.EXCEPTION_MAPPING)
+public class ExceptionMappingProcessor extends AbstractProcessor {
+
+    /**
+     * Fully qualified name of the {@link me.alidg.errors.annotation.ExceptionMapping} annotation.
+     */
+    static final String EXCEPTION_MAPPING = "me.alidg.errors.annotation.ExceptionMapping";
+
+    /**
+     * Fully qualified name of the {@link me.alidg.errors.annotation.ExposeAsArg} annotation.
+     */
+    private static final String EXPOSE_AS_ARG = "me.alidg.errors.annotation.ExposeAsArg";
+
+    /**
+     * The service file registering all generated handlers.
+     */
+    private static final String SERVICE_FILE = "META-INF/services/me.alidg.errors.handlers.GeneratedWebErrorHandler";
+
+    /**
+     * The suffix we append to the exception name to name the generated handler.
+     */
+    private static final String HANDLER_SUFFIX = "_WebErrorHandler";
+
+    /**
+     * Fully qualified name of all generated handlers so far.
+     */
+    private final Set<String> generatedHandlers = new LinkedHashSet<>();
+
+    private Elements elements;
+    private Filer filer;
+    private Messager messager;
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        this.elements = processingEnv.getElementUtils();
+        this.filer = processingEnv.getFiler();
+        this.messager = processingEnv.getMessager();
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            writeServiceFile();
+            return false;
+        }
+
+        TypeElement mapping = elements.getTypeElement(EXCEPTION_MAPPING);
+        if (mapping == null) return false;
+
+        for (TypeElement type : ElementFilter.typesIn(roundEnv.getElementsAnnotatedWith(mapping))) {
+            if (type.getKind() == ElementKind.CLASS) generate(type);
+        }
+
+        return false;
+    }
+
+    private void generate(TypeElement type) {
+        if (!isAccessible(type)) {
+            note(type, "is not accessible from its package");
+            return;
+        }
+
+        AnnotationMirror mapping = findAnnotation(elements.getAllAnnotationMirrors(type), EXCEPTION_MAPPING);
+        if (mapping == null) return;
+
+        List<ExposedMember> members = new ArrayList<>();
+        for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            AnnotationMirror exposed = findAnnotation(field.getAnnotationMirrors(), EXPOSE_AS_ARG);
+            if (exposed == null) continue;
+            if (field.getModifiers().contains(Modifier.PRIVATE)) {
+                note(type, "exposes the private '" + field.getSimpleName() + "' field");
+                return;
+            }
+
+            members.add(new ExposedMember(field, exposed));
+        }
+        for (ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(type))) {
+            AnnotationMirror exposed = findAnnotation(method.getAnnotationMirrors(), EXPOSE_AS_ARG);
+            if (exposed != null && method.getModifiers().contains(Modifier.PUBLIC) &&
+                method.getReturnType().getKind() != TypeKind.VOID && method.getParameters().isEmpty()) {
+                members.add(new ExposedMember(method, exposed));
+            }
+        }
+        members.sort(Comparator.comparingInt(m -> m.index));
+
+        String packageName = getPackageName(type);
+        String handlerName = getHandlerName(type);
+        String qualifiedName = packageName.isEmpty() ? handlerName : packageName + "." + handlerName;
+        try {
+            try (Writer writer = filer.createSourceFile(qualifiedName, type).openWriter()) {
+                writer.write(source(type, mapping, members, packageName, handlerName));
+            }
+            generatedHandlers.add(qualifiedName);
+        } catch (IOException e) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "Failed to generate " + qualifiedName + ": " + e, type);
+        }
+    }
+
+    private String source(TypeElement type, AnnotationMirror mapping, List<ExposedMember> members,
+                          String packageName, String handlerName) {
+        String exceptionName = type.getQualifiedName().toString();
+        String errorCode = literal((String) getValue(mapping, "errorCode"));
+        String statusCode = getValue(mapping, "statusCode").toString();
+
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) source.append("package ").append(packageName).append(";\n\n");
+        source.append("/**\n")
+            .append(" * Generated by the ExceptionMappingProcessor for {@link ").append(exceptionName).append("}.\n")
+            .append(" */\n")
+            .append("public final class ").append(handlerName)
+            .append(" extends me.alidg.errors.handlers.GeneratedWebErrorHandler {\n\n")
+            .append("    public ").append(handlerName).append("() {\n")
+            .append("        super(").append(exceptionName).append(".class);\n")
+            .append("    }\n\n")
+            .append("    @Override\n")
+            .append("    public me.alidg.errors.HandledException handle(Throwable exception) {\n")
+            .append("        ").append(exceptionName).append(" e = (").append(exceptionName).append(") exception;\n")
+            .append("        java.util.List<me.alidg.errors.Argument> arguments = new java.util.ArrayList<>(")
+            .append(members.size()).append(");\n");
+
+        for (ExposedMember member : members) {
+            String receiver = member.element.getModifiers().contains(Modifier.STATIC) ? exceptionName : "e";
+            String access = receiver + "." + member.element.getSimpleName();
+            String add = "arguments.add(me.alidg.errors.Argument.arg(" + literal(member.name) + ", ";
+            if (member.element.getKind() == ElementKind.FIELD) {
+                source.append("        ").append(add).append(access).append("));\n");
+            } else {
+                source.append("        try {\n")
+                    .append("            ").append(add).append(access).append("()));\n")
+                    .append("        } catch (Throwable ignored) {\n")
+                    .append("        }\n");
+            }
+        }
+
+        return source
+            .append("\n        return new me.alidg.errors.HandledException(").append(errorCode)
+            .append(", org.springframework.http.HttpStatus.").append(statusCode)
+            .append(", java.util.Collections.singletonMap(").append(errorCode).append(", arguments));\n")
+            .append("    }\n")
+            .append("}\n")
+            .toString();
+    }
+
+    private void writeServiceFile() {
+        if (generatedHandlers.isEmpty()) return;
+
+        Set<String> handlers = readServiceFile();
+        handlers.addAll(generatedHandlers);
+        try {
+            FileObject file = filer.createResource(StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE);
+            try (Writer writer = file.openWriter()) {
+                for (String handler : handlers) writer.write(handler + "\n");
+            }
+        } catch (IOException e) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "Failed to write " + SERVICE_FILE + ": " + e);
+        }
+    }
+
+    /**
+     * Reads the handlers registered by the previous compilations, if any, so an incremental compilation of a
+     * subset of the sources won't drop the handlers of the unchanged exceptions.
+     */
+    private Set<String> readServiceFile() {
+        Set<String> handlers = new TreeSet<>();
+        try {
+            FileObject file = filer.getResource(StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE);
+            try (BufferedReader reader = new BufferedReader(file.openReader(true))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    int comment = line.indexOf('#');
+                    String handler = (comment < 0 ? line : line.substring(0, comment)).trim();
+                    if (!handler.isEmpty()) handlers.add(handler);
+                }
+            }
+        } catch (IOException | IllegalArgumentException ignored) {
+            // There is no service file yet
+        }
+
+        return handlers;
+    }
+
+    private void note(TypeElement type, String reason) {
+        messager.printMessage(Diagnostic.Kind.NOTE, type.getQualifiedName() + " " + reason +
+            ", so it would be handled by the AnnotatedWebErrorHandler", type);
+    }
+
+    private boolean isAccessible(TypeElement type) {
+        if (type.getNestingKind() == NestingKind.LOCAL || type.getNestingKind() == NestingKind.ANONYMOUS)
+            return false;
+
+        for (Element e = type; e instanceof TypeElement; e = e.getEnclosingElement()) {
+            if (e.getModifiers().contains(Modifier.PRIVATE)) return false;
+        }
+
+        return true;
+    }
+
+    private String getPackageName(TypeElement type) {
+        PackageElement pkg = elements.getPackageOf(type);
+        return pkg.isUnnamed() ? "" : pkg.getQualifiedName().toString();
+    }
+
+    private String getHandlerName(TypeElement type) {
+        StringBuilder name = new StringBuilder(type.getSimpleName());
+        for (Element e = type.getEnclosingElement(); e instanceof TypeElement; e = e.getEnclosingElement()) {
+            name.insert(0, e.getSimpleName() + "_");
+        }
+
+        return name.append(HANDLER_SUFFIX).toString();
+    }
+
+    private static AnnotationMirror findAnnotation(List<? extends AnnotationMirror> mirrors, String name) {
+        for (AnnotationMirror mirror : mirrors) {
+            TypeElement type = (TypeElement) mirror.getAnnotationType().asElement();
+            if (type.getQualifiedName().contentEquals(name)) return mirror;
+        }
+
+        return null;
+    }
+
+    private Object getValue(AnnotationMirror mirror, String attribute) {
+        Map<? extends ExecutableElement, ? extends AnnotationValue> values = elements.getElementValuesWithDefaults(mirror);
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : values.entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(attribute)) return entry.getValue().getValue();
+        }
+
+        return null;
+    }
+
+    private static String literal(String value) {
+        StringBuilder literal = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"':
+                    literal.append("\\\"");
+                    break;
+                case '\\':
+                    literal.append("\\\\");
+                    break;
+                case '\n':
+                    literal.append("\\n");
+                    break;
+                case '\r':
+                    literal.append("\\r");
+                    break;
+                case '\t':
+                    literal.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) literal.append(String.format("\\u%04x", (int) c));
+                    else literal.append(c);
+            }
+        }
+
+        return literal.append('"').toString();
+    }
+
+    /**
+     * Represents a field or method annotated with {@link me.alidg.errors.annotation.ExposeAsArg}.
+     */
+    private final class ExposedMember {
+
+        /**
+         * The annotated field or method.
+         */
+        private final Element element;
+
+        /**
+         * The {@link me.alidg.errors.annotation.ExposeAsArg#value()}.
+         */
+        private final int index;
+
+        /**
+         * The to-be-exposed name.
+         */
+        private final String name;
+
+        private ExposedMember(Element element, AnnotationMirror exposeAsArg) {
+            this.element = element;
+            this.index = (Integer) getValue(exposeAsArg, "value");
+
+            String name = (String) getValue(exposeAsArg, "name");
+            this.name = name == null || name.trim().isEmpty() ? element.getSimpleName().toString() : name;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package me.alidg.errors.webflux;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import me.alidg.errors.Argument;
+import me.alidg.errors.HandledException;
+import me.alidg.errors.HttpError;
+import me.alidg.errors.ReactiveWebErrorHandlers;
+import me.alidg.errors.adapter.HttpErrorAttributesAdapter;
+import me.alidg.errors.adapter.HttpErrorJsonWriter;
+import me.alidg.errors.conf.ErrorsProperties;
+import org.springframework.boot.web.reactive.error.ErrorWebExceptionHandler;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.HttpMessageReader;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.lang.NonNull;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Locale;
+
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static java.util.Objects.requireNonNull;
+import static me.alidg.errors.Argument.arg;
+import static me.alidg.errors.handlers.ServletWebErrorHandler.NO_HANDLER;
+
+/**
+ * An {@link ErrorWebExceptionHandler} handling the exceptions using the {@link ReactiveWebErrorHandlers} and writing
+ * the adapted error straight into the response {@link DataBuffer}, allocated from the possibly pooled buffer
+ * factory of the response. In contrast with the Spring Boot's default handler, there is no error attributes
+ * map, content negotiation or {@link org.springframework.web.reactive.function.server.ServerResponse} building
+ * involved. The response is always a JSON with a precomputed content type.
+ *
+ * <p>The representation would be written by the {@link HttpErrorJsonWriter}, i.e. streamed directly from the
+ * {@link HttpError} when the default representation is in use.
+ *
+ * @see me.alidg.errors.conf.ReactiveErrorsAutoConfiguration
+ */
+public class ErrorsWebExceptionHandler implements ErrorWebExceptionHandler, Ordered {
+
+    /**
+     * The precomputed content type of all error responses.
+     */
+    private static final MediaType CONTENT_TYPE = MediaType.APPLICATION_JSON;
+
+    /**
+     * The message readers used to create the {@link ServerRequest}s exposed through the {@link HttpError}.
+     */
+    private static final List<HttpMessageReader<?>> MESSAGE_READERS = HandlerStrategies.withDefaults().messageReaders();
+
+    /**
+     * The non-blocking facade responsible for catching all exceptions and delegating to appropriate exception
+     * handlers.
+     */
+    private final ReactiveWebErrorHandlers webErrorHandlers;
+
+    /**
+     * Writes the JSON representation of the handled errors.
+     */
+    private final HttpErrorJsonWriter writer;
+
+    /**
+     * Initializes the exception handler with required dependencies.
+     *
+     * @param webErrorHandlers           To handle exceptions.
+     * @param httpErrorAttributesAdapter To adapt our representation of an error, if customized.
+     * @param errorsProperties           To expose the arguments, as the default representation does.
+     * @param objectMapper               To write the JSON responses.
+     * @throws NullPointerException When one of the required parameters is null.
+     */
+    public ErrorsWebExceptionHandler(ReactiveWebErrorHandlers webErrorHandlers,
+                                     HttpErrorAttributesAdapter httpErrorAttributesAdapter,
+                                     ErrorsProperties errorsProperties,
+                                     ObjectMapper objectMapper) {
+        this.webErrorHandlers = requireNonNull(webErrorHandlers, "Web error handlers is required");
+        this.writer = new HttpErrorJsonWriter(httpErrorAttributesAdapter, errorsProperties, objectMapper);
+    }
+
+    /**
+     * Handles the exception and writes the error response, unless the response is already committed.
+     *
+     * @param exchange  The current exchange.
+     * @param exception The exception to handle.
+     * @return Indicates the completion of writing the response.
+     */
+    @NonNull
+    @Override
+    public Mono<Void> handle(@NonNull ServerWebExchange exchange, @NonNull Throwable exception) {
+        ServerHttpResponse response = exchange.getResponse();
+        if (response.isCommitted()) return Mono.error(exception);
+
+        return handleException(exchange, exception).flatMap(httpError -> write(response, httpError));
+    }
+
+    /**
+     * @return Same order as the Spring Boot's default exception handler, i.e. before the WebFlux's own handlers.
+     */
+    @Override
+    public int getOrder() {
+        return -1;
+    }
+
+    private Mono<HttpError> handleException(ServerWebExchange exchange, Throwable exception) {
+        ServerRequest request = ServerRequest.create(exchange, MESSAGE_READERS);
+        Locale locale = resolveLocale(exchange);
+        if (isNotFoundException(exception)) {
+            List<Argument> arguments = singletonList(arg("path", request.path()));
+            HandledException handled = new HandledException(NO_HANDLER, HttpStatus.NOT_FOUND, singletonMap(NO_HANDLER, arguments));
+
+            return webErrorHandlers.handle(handled, exception, request, locale);
+        }
+
+        return webErrorHandlers.handle(exception, request, locale);
+    }
+
+    /**
+     * Resolves the locale from the exchange itself, as the thread-local
+     * {@link org.springframework.context.i18n.LocaleContextHolder} is meaningless on the event-loop threads. Just
+     * like the Servlet requests, falls back to the JVM default locale when the request does not specify any.
+     */
+    private Locale resolveLocale(ServerWebExchange exchange) {
+        String acceptLanguage = exchange.getRequest().getHeaders().getFirst(HttpHeaders.ACCEPT_LANGUAGE);
+        Locale requestLocale = exchange.getLocaleContext().getLocale();
+
+        return webErrorHandlers.getWebErrorHandlers()
+            .resolveLocale(acceptLanguage, requestLocale != null ? requestLocale : Locale.getDefault());
+    }
+
+    private Mono<Void> write(ServerHttpResponse response, HttpError httpError) {
+        response.setStatusCode(httpError.getHttpStatus());
+        response.getHeaders().setContentType(CONTENT_TYPE);
+
+        DataBuffer buffer = response.bufferFactory().allocateBuffer();
+        try (OutputStream outputStream = buffer.asOutputStream()) {
+            writer.write(outputStream, httpError);
+        } catch (IOException | RuntimeException e) {
+            DataBufferUtils.release(buffer);
+            return Mono.error(e);
+        }
+
+        return response.writeWith(Mono.just(buffer));
+    }
+
+    /**
+     * Just like the {@link me.alidg.errors.adapter.attributes.ReactiveErrorAttributes}, handles the not found
+     * {@link ResponseStatusException}s consistently with the Servlet stack.
+     */
+    private static boolean isNotFoundException(Throwable e) {
+        return e instanceof ResponseStatusException &&
+            ((ResponseStatusException) e).getStatus() == HttpStatus.NOT_FOUND;
+    }
+}
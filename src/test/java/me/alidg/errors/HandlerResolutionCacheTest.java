@@ -0,0 +1,90 @@
+package me.alidg.errors;
+
+import org.junit.Test;
+import org.springframework.http.HttpStatus;
+
+import java.util.Arrays;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link HandlerResolutionCache}.
+ */
+public class HandlerResolutionCacheTest {
+
+    @Test
+    public void find_ShouldConsultTypeBasedHandlersOnlyOncePerType() {
+        CountingHandler first = new CountingHandler(true, e -> e instanceof IllegalStateException);
+        CountingHandler second = new CountingHandler(true, e -> e instanceof IllegalArgumentException);
+        HandlerResolutionCache cache = new HandlerResolutionCache(Arrays.asList(first, second));
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(cache.find(new IllegalArgumentException())).isSameAs(second);
+        }
+
+        assertThat(first.calls).isEqualTo(1);
+        assertThat(second.calls).isEqualTo(1);
+        assertThat(cache.getMissCount()).isEqualTo(1);
+        assertThat(cache.getHitCount()).isEqualTo(9);
+        assertThat(cache.getBypassCount()).isZero();
+    }
+
+    @Test
+    public void find_ShouldAlwaysConsultStateDependentHandlers() {
+        CountingHandler stateDependent = new CountingHandler(false, e -> "handle me".equals(e.getMessage()));
+        CountingHandler typeBased = new CountingHandler(true, e -> e instanceof IllegalArgumentException);
+        HandlerResolutionCache cache = new HandlerResolutionCache(Arrays.asList(stateDependent, typeBased));
+
+        assertThat(cache.find(new IllegalArgumentException())).isSameAs(typeBased);
+        assertThat(cache.find(new IllegalArgumentException("handle me"))).isSameAs(stateDependent);
+        assertThat(cache.find(new IllegalArgumentException())).isSameAs(typeBased);
+
+        assertThat(stateDependent.calls).isEqualTo(3);
+        assertThat(typeBased.calls).isEqualTo(1);
+        assertThat(cache.getMissCount()).isEqualTo(1);
+        assertThat(cache.getHitCount()).isZero();
+        assertThat(cache.getBypassCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void find_ShouldReturnNullWhenNoHandlerCanHandleTheException() {
+        CountingHandler handler = new CountingHandler(true, e -> e instanceof IllegalStateException);
+        HandlerResolutionCache cache = new HandlerResolutionCache(Arrays.asList(handler));
+
+        assertThat(cache.find(new RuntimeException())).isNull();
+        assertThat(cache.find(new RuntimeException())).isNull();
+
+        assertThat(handler.calls).isEqualTo(1);
+        assertThat(cache.getMissCount()).isEqualTo(1);
+        assertThat(cache.getHitCount()).isEqualTo(1);
+    }
+
+    private static class CountingHandler implements WebErrorHandler {
+
+        private final boolean typeBased;
+        private final Predicate<Throwable> predicate;
+        private int calls;
+
+        private CountingHandler(boolean typeBased, Predicate<Throwable> predicate) {
+            this.typeBased = typeBased;
+            this.predicate = predicate;
+        }
+
+        @Override
+        public boolean canHandle(Throwable exception) {
+            calls++;
+            return predicate.test(exception);
+        }
+
+        @Override
+        public boolean isTypeBased() {
+            return typeBased;
+        }
+
+        @Override
+        public HandledException handle(Throwable exception) {
+            return new HandledException("code", HttpStatus.BAD_REQUEST, null);
+        }
+    }
+}
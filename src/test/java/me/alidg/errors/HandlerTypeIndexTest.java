@@ -0,0 +1,137 @@
+package me.alidg.errors;
+
+import junitparams.JUnitParamsRunner;
+import junitparams.Parameters;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.http.HttpStatus;
+
+import java.util.Collection;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static me.alidg.Params.p;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for {@link HandlerTypeIndex}.
+ */
+@RunWith(JUnitParamsRunner.class)
+public class HandlerTypeIndexTest {
+
+    private static final Typed PARENT = new Typed(IllegalArgumentException.class);
+    private static final Typed CHILD = new Typed(NumberFormatException.class);
+    private static final Typed MARKED = new Typed(MarkedException.class);
+    private static final Typed ROOT = new Typed(RuntimeException.class);
+    private static final Typed TAGGED = new Typed(asThrowable(Tagged.class));
+    private static final Typed SUB_TAGGED = new Typed(asThrowable(SubTagged.class));
+
+    @Test
+    public void compile_ShouldReturnNullForNoTypedHandlers() {
+        assertThat(HandlerTypeIndex.compile(emptyList())).isNull();
+    }
+
+    @Test
+    public void compile_ShouldRejectDuplicateTypes() {
+        assertThatThrownBy(() -> HandlerTypeIndex.compile(asList(PARENT, new Typed(IllegalArgumentException.class))))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining(IllegalArgumentException.class.getName());
+    }
+
+    @Test
+    @Parameters(method = "provideParamsForFind")
+    public void find_ShouldReturnTheHandlerDeclaringTheMostSpecificType(Class<?> type, WebErrorHandler expected) {
+        List<TypedWebErrorHandler> handlers = asList(ROOT, PARENT, MARKED, CHILD);
+        HandlerTypeIndex index = HandlerTypeIndex.compile(handlers);
+
+        assertThat(index).isNotNull();
+        assertThat(index.find(type)).isSameAs(expected);
+    }
+
+    @Test
+    @Parameters(method = "provideParamsForFindWithInterfaces")
+    public void find_ShouldAlsoWalkTheImplementedInterfaces(Class<?> type, WebErrorHandler expected) {
+        List<TypedWebErrorHandler> handlers = asList(ROOT, PARENT, TAGGED, SUB_TAGGED);
+        HandlerTypeIndex index = HandlerTypeIndex.compile(handlers);
+
+        assertThat(index).isNotNull();
+        assertThat(index.find(type)).isSameAs(expected);
+    }
+
+    private Object[] provideParamsForFindWithInterfaces() {
+        return p(
+            p(TaggedException.class, TAGGED),
+            p(ChildOfTagged.class, TAGGED),
+            p(SubTaggedException.class, SUB_TAGGED),
+            p(TaggedIllegalArgument.class, TAGGED),
+            p(TaggedChecked.class, TAGGED),
+            p(Exception.class, null)
+        );
+    }
+
+    private Object[] provideParamsForFind() {
+        return p(
+            p(NumberFormatException.class, CHILD),
+            p(IllegalArgumentException.class, PARENT),
+            p(IllegalStateException.class, ROOT),
+            p(MarkedException.class, MARKED),
+            p(ChildOfMarked.class, MARKED),
+            p(Exception.class, null),
+            p(Error.class, null)
+        );
+    }
+
+    private static class MarkedException extends IllegalArgumentException {
+    }
+
+    private static class ChildOfMarked extends MarkedException {
+    }
+
+    private interface Tagged {
+    }
+
+    private interface SubTagged extends Tagged {
+    }
+
+    private static class TaggedException extends IllegalStateException implements Tagged {
+    }
+
+    private static class ChildOfTagged extends TaggedException {
+    }
+
+    private static class SubTaggedException extends IllegalStateException implements SubTagged {
+    }
+
+    private static class TaggedIllegalArgument extends IllegalArgumentException implements Tagged {
+    }
+
+    private static class TaggedChecked extends Exception implements Tagged {
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Class<? extends Throwable> asThrowable(Class<?> type) {
+        return (Class<? extends Throwable>) type;
+    }
+
+    private static class Typed implements TypedWebErrorHandler {
+
+        private final Class<? extends Throwable> type;
+
+        private Typed(Class<? extends Throwable> type) {
+            this.type = type;
+        }
+
+        @Override
+        public Collection<Class<? extends Throwable>> getHandledTypes() {
+            return singletonList(type);
+        }
+
+        @Override
+        public HandledException handle(Throwable exception) {
+            return new HandledException("code", HttpStatus.BAD_REQUEST, null);
+        }
+    }
+}
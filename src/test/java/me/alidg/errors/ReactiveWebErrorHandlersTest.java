@@ -0,0 +1,206 @@
+package me.alidg.errors;
+
+import junitparams.JUnitParamsRunner;
+import junitparams.Parameters;
+import me.alidg.errors.annotation.ExceptionMapping;
+import me.alidg.errors.annotation.ExposeAsArg;
+import me.alidg.errors.conf.ErrorsProperties;
+import me.alidg.errors.handlers.AnnotatedWebErrorHandler;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.context.support.StaticMessageSource;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static me.alidg.Params.p;
+import static me.alidg.errors.Argument.arg;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+
+/**
+ * Unit tests for {@link ReactiveWebErrorHandlers}.
+ */
+@RunWith(JUnitParamsRunner.class)
+public class ReactiveWebErrorHandlersTest {
+
+    private final Scheduler scheduler = Schedulers.newBoundedElastic(1, 10, "test-blocking");
+
+    private final List<String> threads = new CopyOnWriteArrayList<>();
+
+    @After
+    public void tearDown() {
+        scheduler.dispose();
+    }
+
+    @Test
+    @Parameters(method = "provideInvalidParamsToConstructor")
+    public void constructor_ShouldEnforceItsPreconditions(WebErrorHandlers handlers,
+                                                          Scheduler scheduler,
+                                                          List<ReactiveWebErrorHandlerPostProcessor> postProcessors,
+                                                          String expectedMessage) {
+        assertThatThrownBy(() -> new ReactiveWebErrorHandlers(handlers, scheduler, null, null, postProcessors))
+            .isInstanceOf(NullPointerException.class)
+            .hasMessage(expectedMessage);
+    }
+
+    @Test
+    public void handle_ShouldHandleTheExceptionsJustLikeThePlainHandlers() {
+        WebErrorHandlers handlers = handlers(new ErrorsProperties()).build();
+        ReactiveWebErrorHandlers reactiveHandlers = new ReactiveWebErrorHandlers(handlers, scheduler, null, null, emptyList());
+
+        HttpError error = reactiveHandlers.handle(new InvalidException("abc"), null, Locale.ROOT).block();
+        HttpError expected = handlers.handle(new InvalidException("abc"), null, Locale.ROOT);
+
+        assertThat(error).isNotNull();
+        assertThat(error.getHttpStatus()).isEqualTo(expected.getHttpStatus());
+        assertThat(error.getErrors()).isEqualTo(expected.getErrors());
+        assertThat(error.getRefinedException()).isInstanceOf(InvalidException.class);
+    }
+
+    @Test
+    public void handle_ShouldOffloadTheBlockingComponentsToTheScheduler() {
+        ErrorsProperties properties = new ErrorsProperties();
+        properties.setAddFingerprint(true);
+        WebErrorHandlers handlers = handlers(properties)
+            .withExceptionLogger(exception -> record())
+            .withPostProcessors(error -> record())
+            .withFingerprintProvider(error -> record())
+            .build();
+        ReactiveWebErrorHandlers reactiveHandlers = new ReactiveWebErrorHandlers(handlers, scheduler, null, null, emptyList());
+
+        HttpError error = reactiveHandlers.handle(new InvalidException("abc"), null, Locale.ROOT).block();
+
+        assertThat(error).isNotNull();
+        assertThat(error.getFingerprint()).startsWith("test-blocking");
+        assertThat(threads).hasSize(3).allMatch(thread -> thread.startsWith("test-blocking"));
+    }
+
+    @Test
+    public void handle_ShouldRunTheReactiveComponentsOnTheCallingThread() {
+        ErrorsProperties properties = new ErrorsProperties();
+        properties.setAddFingerprint(true);
+        WebErrorHandlers handlers = handlers(properties).build();
+        ReactiveMessageInterpolator interpolator = (handled, locale) -> Mono.fromSupplier(() -> {
+            record();
+            return singletonMap("invalid", "Reactive message");
+        });
+        ReactiveFingerprintProvider fingerprintProvider = error -> Mono.fromSupplier(this::record);
+        ReactiveWebErrorHandlerPostProcessor postProcessor = error -> Mono.fromRunnable(this::record);
+        ReactiveWebErrorHandlers reactiveHandlers = new ReactiveWebErrorHandlers(handlers, scheduler, interpolator,
+            fingerprintProvider, singletonList(postProcessor));
+
+        HttpError error = reactiveHandlers.handle(new InvalidException("abc"), null, Locale.ROOT).block();
+
+        assertThat(error).isNotNull();
+        assertThat(error.getErrors()).extracting(HttpError.CodedMessage::getMessage).containsExactly("Reactive message");
+        assertThat(error.getFingerprint()).isEqualTo(Thread.currentThread().getName());
+        assertThat(threads).hasSize(3).containsOnly(Thread.currentThread().getName());
+    }
+
+    @Test
+    public void handle_ShouldNotGenerateFingerprintsWhenDisabled() {
+        WebErrorHandlers handlers = handlers(new ErrorsProperties()).build();
+        ReactiveFingerprintProvider fingerprintProvider = error -> Mono.fromSupplier(this::record);
+        ReactiveWebErrorHandlers reactiveHandlers = new ReactiveWebErrorHandlers(handlers, scheduler, null,
+            fingerprintProvider, emptyList());
+
+        HttpError error = reactiveHandlers.handle(new InvalidException("abc"), null, Locale.ROOT).block();
+
+        assertThat(error).isNotNull();
+        assertThat(error.getFingerprint()).isNull();
+        assertThat(threads).isEmpty();
+    }
+
+    @Test
+    public void handle_ShouldTranslateTheAlreadyHandledErrors() {
+        WebErrorHandlers handlers = handlers(new ErrorsProperties()).withExceptionLogger(exception -> record()).build();
+        ReactiveWebErrorHandlers reactiveHandlers = new ReactiveWebErrorHandlers(handlers, scheduler, null, null, emptyList());
+        HandledException handled = new HandledException("not_found", NOT_FOUND, singletonMap("not_found", singletonList(arg("id", 42))));
+
+        HttpError error = reactiveHandlers.handle(handled, null, "request", null).block();
+
+        assertThat(error).isNotNull();
+        assertThat(error.getHttpStatus()).isEqualTo(NOT_FOUND);
+        assertThat(error.getRequest()).isEqualTo("request");
+        assertThat(error.getErrors()).extracting(HttpError.CodedMessage::getMessage).containsExactly("Not found 42");
+        assertThat(threads).isEmpty();
+    }
+
+    @Test
+    public void handle_ShouldHandleTheSameExceptionOnlyOncePerExchange() {
+        WebErrorHandlers handlers = handlers(new ErrorsProperties()).withExceptionLogger(exception -> record()).build();
+        ReactiveWebErrorHandlers reactiveHandlers = new ReactiveWebErrorHandlers(handlers, scheduler, null, null,
+            singletonList(error -> Mono.fromRunnable(this::record)));
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/"));
+        InvalidException exception = new InvalidException("abc");
+
+        HttpError first = reactiveHandlers.handle(exception, request(exchange), Locale.ROOT).block();
+        HttpError second = reactiveHandlers.handle(exception, request(exchange), Locale.ROOT).block();
+        HttpError plain = handlers.handle(exception, exchange, Locale.ROOT);
+        HttpError other = reactiveHandlers.handle(new InvalidException("abc"), request(exchange), Locale.ROOT).block();
+
+        assertThat(first).isNotNull();
+        assertThat(second).isSameAs(first);
+        assertThat(plain).isSameAs(first);
+        assertThat(other).isNotSameAs(first);
+        assertThat(threads).hasSize(4);
+    }
+
+    private Object[] provideInvalidParamsToConstructor() {
+        WebErrorHandlers handlers = mock(WebErrorHandlers.class);
+
+        return p(
+            p(null, null, null, "Web error handlers is required"),
+            p(handlers, null, null, "The blocking scheduler is required"),
+            p(handlers, scheduler, null, "Post processors are required")
+        );
+    }
+
+    private WebErrorHandlersBuilder handlers(ErrorsProperties properties) {
+        StaticMessageSource messageSource = new StaticMessageSource();
+        messageSource.addMessage("invalid", Locale.ROOT, "Invalid {0}");
+        messageSource.addMessage("not_found", Locale.ROOT, "Not found {0}");
+
+        return WebErrorHandlers.builder(messageSource)
+            .withErrorsProperties(properties)
+            .withErrorHandlers(new AnnotatedWebErrorHandler());
+    }
+
+    private ServerRequest request(MockServerWebExchange exchange) {
+        return ServerRequest.create(exchange, HandlerStrategies.withDefaults().messageReaders());
+    }
+
+    private String record() {
+        String thread = Thread.currentThread().getName();
+        threads.add(thread);
+
+        return thread;
+    }
+
+    @ExceptionMapping(statusCode = BAD_REQUEST, errorCode = "invalid")
+    private static class InvalidException extends RuntimeException {
+
+        @ExposeAsArg(0)
+        private final String value;
+
+        private InvalidException(String value) {
+            this.value = value;
+        }
+    }
+}
@@ -34,7 +34,9 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
 
+import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonMap;
 import static me.alidg.Params.p;
 import static me.alidg.errors.Argument.arg;
 import static me.alidg.errors.WebErrorHandlersIT.Pojo.pojo;
@@ -108,6 +110,25 @@ public class WebErrorHandlersIT {
         });
     }
 
+    @Test
+    public void handledErrors_ShouldBeTranslatedWithoutAnyException() {
+        contextRunner.run(ctx -> {
+            WebErrorHandlers errorHandlers = ctx.getBean(WebErrorHandlers.class);
+
+            List<Argument> arguments = asList(arg("min", 10), arg("max", 12), arg("theAnswer", "42"));
+            HandledException handled = new HandledException("invalid_params", HttpStatus.UNPROCESSABLE_ENTITY,
+                singletonMap("invalid_params", arguments));
+
+            HttpError error = errorHandlers.handle(handled, null, null, null);
+            assertThat(error.getHttpStatus()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+            assertThat(error.getErrors()).containsOnly(cm("invalid_params", "Params are: 10, 12 and 42",
+                arg("min", 10), arg("max", 12), arg("theAnswer", "42")));
+            assertThat(error.getOriginalException()).isNull();
+
+            verifyPostProcessorsHasBeenCalled(ctx);
+        });
+    }
+
     @Test
     @Parameters(method = "provideParamsForUnknownErrors")
     public void unknownErrors_ShouldBeHandledProperly(Throwable exception) {
@@ -173,6 +194,46 @@ public class WebErrorHandlersIT {
         });
     }
 
+    @Test
+    public void resolveLocale_ShouldUseTheGivenLocale_WhenTheLocaleResolutionIsDisabled() {
+        contextRunner.run(ctx -> {
+            WebErrorHandlers errorHandlers = ctx.getBean(WebErrorHandlers.class);
+
+            assertThat(errorHandlers.getLocaleResolver()).isNull();
+            assertThat(errorHandlers.resolveLocale("fa-IR", Locale.GERMAN)).isEqualTo(Locale.GERMAN);
+        });
+    }
+
+    @Test
+    public void resolveLocale_ShouldMatchTheHeaderAgainstTheMessageCatalogLocales() {
+        contextRunner.withPropertyValues(
+            "errors.message-catalog.enabled=true",
+            "errors.locale-resolution.enabled=true",
+            "errors.locale-resolution.default-locale=en"
+        ).run(ctx -> {
+            WebErrorHandlers errorHandlers = ctx.getBean(WebErrorHandlers.class);
+
+            assertThat(errorHandlers.resolveLocale("fr, fa-IR;q=0.5", Locale.GERMAN)).isEqualTo(IRAN_LOCALE);
+            assertThat(errorHandlers.resolveLocale("fr", Locale.GERMAN)).isEqualTo(Locale.ENGLISH);
+            assertThat(errorHandlers.resolveLocale(null, Locale.GERMAN)).isEqualTo(Locale.ENGLISH);
+        });
+    }
+
+    @Test
+    public void resolveLocale_ShouldMatchTheHeaderAgainstTheConfiguredLocales() {
+        contextRunner.withPropertyValues(
+            "errors.locale-resolution.enabled=true",
+            "errors.locale-resolution.supported-locales=de,fa_IR",
+            "errors.locale-resolution.default-locale=en"
+        ).run(ctx -> {
+            WebErrorHandlers errorHandlers = ctx.getBean(WebErrorHandlers.class);
+
+            assertThat(errorHandlers.resolveLocale("de-CH", null)).isEqualTo(Locale.GERMAN);
+            assertThat(errorHandlers.resolveLocale("fa-IR", null)).isEqualTo(IRAN_LOCALE);
+            assertThat(errorHandlers.resolveLocale("fr", null)).isEqualTo(Locale.ENGLISH);
+        });
+    }
+
     @Test
     public void errorFingerprint_ShouldNotBeCalculatedByDefault() {
         contextRunner.run(ctx -> {
@@ -2,16 +2,29 @@ package me.alidg.errors;
 
 import junitparams.JUnitParamsRunner;
 import junitparams.Parameters;
+import me.alidg.errors.annotation.ExceptionMapping;
+import me.alidg.errors.conf.ErrorsProperties;
+import me.alidg.errors.handlers.AnnotatedWebErrorHandler;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.context.MessageSource;
+import org.springframework.context.support.StaticMessageSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
 import static me.alidg.Params.p;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.mock;
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
 
 /**
  * Unit tests for {@link WebErrorHandlers} factory.
@@ -33,6 +46,106 @@ public class WebErrorHandlersTest {
             .hasMessage(expectedMessage);
     }
 
+    @Test
+    public void handle_ShouldHandleTheSameExceptionOnlyOncePerRequest() {
+        AtomicInteger logged = new AtomicInteger();
+        AtomicInteger processed = new AtomicInteger();
+        WebErrorHandlers handlers = handlers(logged, processed);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        InvalidException exception = new InvalidException();
+
+        HttpError first = handlers.handle(exception, new ServletWebRequest(request), Locale.ROOT);
+        HttpError second = handlers.handle(exception, new ServletWebRequest(request), Locale.ROOT);
+
+        assertThat(second).isSameAs(first);
+        assertThat(request.getAttribute(WebErrorHandlers.HTTP_ERROR_ATTRIBUTE)).isSameAs(first);
+        assertThat(logged).hasValue(1);
+        assertThat(processed).hasValue(1);
+    }
+
+    @Test
+    public void handle_ShouldHandleOtherExceptionsAndRequestsAgain() {
+        AtomicInteger logged = new AtomicInteger();
+        AtomicInteger processed = new AtomicInteger();
+        WebErrorHandlers handlers = handlers(logged, processed);
+        ServletWebRequest request = new ServletWebRequest(new MockHttpServletRequest());
+        InvalidException exception = new InvalidException();
+
+        HttpError first = handlers.handle(exception, request, Locale.ROOT);
+        HttpError other = handlers.handle(new InvalidException(), request, Locale.ROOT);
+        HttpError otherRequest = handlers.handle(exception, new ServletWebRequest(new MockHttpServletRequest()), Locale.ROOT);
+        HttpError withoutRequest = handlers.handle(exception, null, Locale.ROOT);
+
+        assertThat(other).isNotSameAs(first);
+        assertThat(otherRequest).isNotSameAs(first);
+        assertThat(withoutRequest).isNotSameAs(first);
+        assertThat(logged).hasValue(4);
+        assertThat(processed).hasValue(4);
+    }
+
+    @Test
+    public void handle_ShouldReuseTheHandledErrorForTheAlreadyHandledErrorsOfTheSameException() {
+        AtomicInteger logged = new AtomicInteger();
+        AtomicInteger processed = new AtomicInteger();
+        WebErrorHandlers handlers = handlers(logged, processed);
+        ServletWebRequest request = new ServletWebRequest(new MockHttpServletRequest());
+        InvalidException exception = new InvalidException();
+
+        HttpError first = handlers.handle(exception, request, Locale.ROOT);
+        HttpError second = handlers.handle(new HandledException("invalid", BAD_REQUEST, null), exception, request, Locale.ROOT);
+
+        assertThat(second).isSameAs(first);
+        assertThat(logged).hasValue(1);
+        assertThat(processed).hasValue(1);
+    }
+
+    @Test
+    @Parameters({"true", "false"})
+    public void findHandler_ShouldNotLetBroadTypedHandlersPreemptTheBuiltInOnesRegisteredBeforeThem(boolean cache) {
+        ErrorsProperties properties = new ErrorsProperties();
+        properties.setCacheHandlerResolution(cache);
+        AnnotatedWebErrorHandler annotated = new AnnotatedWebErrorHandler();
+        RuntimeHandler typed = new RuntimeHandler();
+        WebErrorHandlers handlers = WebErrorHandlers.builder(new StaticMessageSource())
+            .withErrorsProperties(properties)
+            .withErrorHandlers(annotated, typed)
+            .build();
+
+        assertThat(handlers.findHandler(new InvalidException())).isSameAs(annotated);
+        assertThat(handlers.findHandler(new IllegalStateException())).isSameAs(typed);
+        assertThat(handlers.handle(new InvalidException(), null, Locale.ROOT).getHttpStatus()).isEqualTo(BAD_REQUEST);
+    }
+
+    @Test
+    @Parameters({"true", "false"})
+    public void findHandler_ShouldPreferTypedHandlersRegisteredBeforeTheUntypedOnes(boolean cache) {
+        ErrorsProperties properties = new ErrorsProperties();
+        properties.setCacheHandlerResolution(cache);
+        RuntimeHandler typed = new RuntimeHandler();
+        WebErrorHandlers handlers = WebErrorHandlers.builder(new StaticMessageSource())
+            .withErrorsProperties(properties)
+            .withErrorHandlers(typed, new AnnotatedWebErrorHandler())
+            .build();
+
+        assertThat(handlers.findHandler(new InvalidException())).isSameAs(typed);
+    }
+
+    @Test
+    @Parameters({"true", "false"})
+    public void findHandler_ShouldSelectTypedHandlersDeclaringAnInterface(boolean cache) {
+        ErrorsProperties properties = new ErrorsProperties();
+        properties.setCacheHandlerResolution(cache);
+        TaggedHandler typed = new TaggedHandler();
+        WebErrorHandlers handlers = WebErrorHandlers.builder(new StaticMessageSource())
+            .withErrorsProperties(properties)
+            .withErrorHandlers(new AnnotatedWebErrorHandler(), typed)
+            .build();
+
+        assertThat(handlers.findHandler(new TaggedException())).isSameAs(typed);
+        assertThat(handlers.handle(new TaggedException(), null, Locale.ROOT).getErrors())
+            .extracting(HttpError.CodedMessage::getCode).containsExactly("tagged");
+    }
+
     private Object[] paramsForConstructor() {
         return p(
             p(null, null, NullPointerException.class, "We need a MessageSource implementation to message translation"),
@@ -40,4 +153,52 @@ public class WebErrorHandlersTest {
             p(mock(MessageSource.class), emptyList(), IllegalArgumentException.class, "We need at least one error handler")
         );
     }
+
+    private WebErrorHandlers handlers(AtomicInteger logged, AtomicInteger processed) {
+        StaticMessageSource messageSource = new StaticMessageSource();
+        messageSource.addMessage("invalid", Locale.ROOT, "Invalid");
+
+        return WebErrorHandlers.builder(messageSource)
+            .withErrorHandlers(new AnnotatedWebErrorHandler())
+            .withExceptionLogger(exception -> logged.incrementAndGet())
+            .withPostProcessors(error -> processed.incrementAndGet())
+            .build();
+    }
+
+    @ExceptionMapping(statusCode = BAD_REQUEST, errorCode = "invalid")
+    private static class InvalidException extends RuntimeException {
+    }
+
+    private interface Tagged {
+    }
+
+    private static class TaggedException extends RuntimeException implements Tagged {
+    }
+
+    private static class TaggedHandler implements TypedWebErrorHandler {
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Collection<Class<? extends Throwable>> getHandledTypes() {
+            return singletonList((Class<? extends Throwable>) (Class<?>) Tagged.class);
+        }
+
+        @Override
+        public HandledException handle(Throwable exception) {
+            return new HandledException("tagged", BAD_REQUEST, null);
+        }
+    }
+
+    private static class RuntimeHandler implements TypedWebErrorHandler {
+
+        @Override
+        public Collection<Class<? extends Throwable>> getHandledTypes() {
+            return singletonList(RuntimeException.class);
+        }
+
+        @Override
+        public HandledException handle(Throwable exception) {
+            return new HandledException("runtime", INTERNAL_SERVER_ERROR, null);
+        }
+    }
 }
@@ -0,0 +1,106 @@
+package me.alidg.errors.adapter;
+
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import junitparams.JUnitParamsRunner;
+import junitparams.Parameters;
+import me.alidg.errors.HttpError;
+import me.alidg.errors.HttpError.CodedMessage;
+import me.alidg.errors.conf.ErrorsProperties;
+import me.alidg.errors.conf.ErrorsProperties.ArgumentExposure;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static me.alidg.Params.p;
+import static me.alidg.errors.Argument.arg;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+
+/**
+ * Unit tests for {@link HttpErrorJsonWriter}.
+ */
+@RunWith(JUnitParamsRunner.class)
+public class HttpErrorJsonWriterTest {
+
+    @Test
+    @Parameters(method = "provideParamsForBothRepresentations")
+    public void write_ShouldStreamTheSameBodyAsSerializingTheDefaultRepresentation(Include inclusion,
+                                                                                   ArgumentExposure exposure,
+                                                                                   String fingerprint) throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper().setSerializationInclusion(inclusion);
+        ErrorsProperties properties = new ErrorsProperties();
+        properties.setExposeArguments(exposure);
+        DefaultHttpErrorAttributesAdapter adapter = new DefaultHttpErrorAttributesAdapter(properties);
+        HttpError httpError = httpError(fingerprint);
+
+        String streamed = write(new HttpErrorJsonWriter(adapter, properties, objectMapper), httpError);
+        String serialized = objectMapper.writeValueAsString(adapter.adapt(httpError));
+
+        assertThat(objectMapper.readTree(streamed)).isEqualTo(objectMapper.readTree(serialized));
+    }
+
+    @Test
+    public void write_ShouldOmitTheNullMessagesWhenTheObjectMapperDoes() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper().setSerializationInclusion(Include.NON_NULL);
+        ErrorsProperties properties = new ErrorsProperties();
+        HttpErrorJsonWriter writer = new HttpErrorJsonWriter(new DefaultHttpErrorAttributesAdapter(properties),
+            properties, objectMapper);
+        HttpError httpError = new HttpError(asList(new CodedMessage("code", null, emptyList())), BAD_REQUEST);
+
+        assertThat(write(writer, httpError)).isEqualTo("{\"errors\":[{\"code\":\"code\"}]}");
+    }
+
+    @Test
+    public void write_ShouldReadTheArgumentExposureOnEachWrite() throws Exception {
+        ErrorsProperties properties = new ErrorsProperties();
+        HttpErrorJsonWriter writer = new HttpErrorJsonWriter(new DefaultHttpErrorAttributesAdapter(properties),
+            properties, new ObjectMapper());
+        HttpError httpError = new HttpError(asList(new CodedMessage("code", "Message", asList(arg("a", 1)))), BAD_REQUEST);
+
+        assertThat(write(writer, httpError)).isEqualTo("{\"errors\":[{\"code\":\"code\",\"message\":\"Message\"}]}");
+
+        properties.setExposeArguments(ArgumentExposure.NON_EMPTY);
+        assertThat(write(writer, httpError))
+            .isEqualTo("{\"errors\":[{\"code\":\"code\",\"message\":\"Message\",\"arguments\":{\"a\":1}}]}");
+    }
+
+    private Object[] provideParamsForBothRepresentations() {
+        Include[] inclusions = {Include.ALWAYS, Include.NON_NULL, Include.NON_ABSENT, Include.NON_EMPTY, Include.NON_DEFAULT};
+        Object[] params = new Object[inclusions.length * ArgumentExposure.values().length * 2];
+
+        int i = 0;
+        for (Include inclusion : inclusions) {
+            for (ArgumentExposure exposure : ArgumentExposure.values()) {
+                params[i++] = p(inclusion, exposure, "fingerprint");
+                params[i++] = p(inclusion, exposure, "");
+            }
+        }
+
+        return params;
+    }
+
+    private static HttpError httpError(String fingerprint) {
+        List<CodedMessage> errors = asList(
+            new CodedMessage("with_arguments", "Message", asList(arg("a", 1), arg("b", "text"), arg("a", 2))),
+            new CodedMessage("without_message", null, emptyList()),
+            new CodedMessage("empty_message", "", asList(arg("null", null), arg("empty", ""), arg("list", emptyList()))),
+            new CodedMessage("null_arguments", "Message", asList(arg("null", null)))
+        );
+        HttpError httpError = new HttpError(errors, BAD_REQUEST);
+        httpError.setFingerprint(fingerprint);
+
+        return httpError;
+    }
+
+    private static String write(HttpErrorJsonWriter writer, HttpError httpError) throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        writer.write(outputStream, httpError);
+
+        return outputStream.toString("UTF-8");
+    }
+}
@@ -2,12 +2,15 @@ package me.alidg.errors.adapter.attributes;
 
 import junitparams.JUnitParamsRunner;
 import junitparams.Parameters;
+import me.alidg.errors.HandledException;
+import me.alidg.errors.handlers.AnnotatedWebErrorHandler;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
 import java.util.HashMap;
 import java.util.Map;
 
+import static java.util.Collections.singletonMap;
 import static me.alidg.Params.p;
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -33,6 +36,44 @@ public class ExceptionsTest {
             .isEqualTo(expected);
     }
 
+    @Test
+    @Parameters(method = "provideParamsForFastPath")
+    public void handleUnknownStatus_ShouldBeEquivalentToHandlingTheRefinedException(Object code, Object path) {
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put("status", code);
+        attributes.put("path", path);
+
+        HandledException expected = new AnnotatedWebErrorHandler().handle(Exceptions.refineUnknownException(attributes));
+        HandledException handled = Exceptions.handleUnknownStatus(attributes);
+
+        assertThat(handled).isNotNull();
+        assertThat(handled.getErrorCodes()).isEqualTo(expected.getErrorCodes());
+        assertThat(handled.getStatusCode()).isEqualTo(expected.getStatusCode());
+        assertThat(handled.getArguments()).isEqualTo(expected.getArguments());
+    }
+
+    @Test
+    @Parameters(method = "provideParamsForSlowPath")
+    public void handleUnknownStatus_ShouldReturnNullForOtherStatusCodes(Object code) {
+        Map<String, Object> attributes = null;
+        if (code != null) attributes = singletonMap("status", code);
+
+        assertThat(Exceptions.handleUnknownStatus(attributes)).isNull();
+    }
+
+    private Object[] provideParamsForFastPath() {
+        return p(
+            p(401, null),
+            p(403, "/test"),
+            p(404, "/test"),
+            p(404, null)
+        );
+    }
+
+    private Object[] provideParamsForSlowPath() {
+        return p(p("dqd"), p((Object) null), p(12), p(500));
+    }
+
     private Object[] provideParams() {
         return p(
             p("dqd", "IllegalStateException"),
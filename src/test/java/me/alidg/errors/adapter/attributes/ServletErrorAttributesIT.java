@@ -83,6 +83,22 @@ public class ServletErrorAttributesIT {
             .andExpect(jsonPath("$.errors[0].arguments.path").value("unknown"));
     }
 
+    @Test
+    public void getErrorAttributes_ShouldNotComputeTheDefaultAttributes() throws Exception {
+        MockHttpServletRequestBuilder request = get("/error")
+            .param("trace", "true")
+            .requestAttr("javax.servlet.error.status_code", 500)
+            .requestAttr("javax.servlet.error.exception", new IllegalArgumentException("boom"));
+
+        mvc.perform(request)
+            .andExpect(status().is(500))
+            .andExpect(jsonPath("$.errors").exists())
+            .andExpect(jsonPath("$.trace").doesNotExist())
+            .andExpect(jsonPath("$.timestamp").doesNotExist())
+            .andExpect(jsonPath("$.message").doesNotExist())
+            .andExpect(jsonPath("$.path").doesNotExist());
+    }
+
     private Object[] dataForDifferentErrorScenarios() {
         return p(
             p(new AccessDeniedException(""), 0, 403, ACCESS_DENIED, null),
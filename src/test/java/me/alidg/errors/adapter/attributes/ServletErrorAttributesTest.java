@@ -2,12 +2,23 @@ package me.alidg.errors.adapter.attributes;
 
 import junitparams.JUnitParamsRunner;
 import junitparams.Parameters;
+import me.alidg.errors.HttpError;
 import me.alidg.errors.WebErrorHandlers;
+import me.alidg.errors.adapter.DefaultHttpErrorAttributesAdapter;
 import me.alidg.errors.adapter.HttpErrorAttributesAdapter;
+import me.alidg.errors.conf.ErrorsProperties;
+import me.alidg.errors.handlers.AnnotatedWebErrorHandler;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.springframework.context.support.StaticMessageSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.ArrayList;
+import java.util.List;
 
 import static me.alidg.Params.p;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.mock;
 
@@ -30,6 +41,36 @@ public class ServletErrorAttributesTest {
             .hasMessage(expectedMessage);
     }
 
+    @Test
+    @Parameters(method = "provideStatusOnlyErrors")
+    public void getErrorAttributes_ShouldExposeAnExceptionForTheStatusOnlyErrors(int status, String expectedException) {
+        List<HttpError> processed = new ArrayList<>();
+        WebErrorHandlers handlers = WebErrorHandlers.builder(new StaticMessageSource())
+            .withErrorHandlers(new AnnotatedWebErrorHandler())
+            .withPostProcessors(processed::add)
+            .build();
+        ServletErrorAttributes errorAttributes = new ServletErrorAttributes(handlers,
+            new DefaultHttpErrorAttributesAdapter(new ErrorsProperties()));
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAttribute("javax.servlet.error.status_code", status);
+        request.setAttribute("javax.servlet.error.request_uri", "/test");
+        errorAttributes.getErrorAttributes(new ServletWebRequest(request), false);
+
+        assertThat(processed).hasSize(1);
+        assertThat(processed.get(0).getHttpStatus().value()).isEqualTo(status);
+        assertThat(processed.get(0).getOriginalException().getClass().getSimpleName()).isEqualTo(expectedException);
+        assertThat(processed.get(0).getOriginalException().getStackTrace()).isEmpty();
+    }
+
+    private Object[] provideStatusOnlyErrors() {
+        return p(
+            p(401, "UnauthorizedException"),
+            p(403, "ForbiddenException"),
+            p(404, "HandlerNotFoundException")
+        );
+    }
+
     private Object[] provideInvalidParamsToConstructor() {
         return p(
             p(null, null, NullPointerException.class, "Web error handlers is required"),
@@ -0,0 +1,109 @@
+package me.alidg.errors.annotation;
+
+import junitparams.JUnitParamsRunner;
+import junitparams.Parameters;
+import me.alidg.errors.HandledException;
+import me.alidg.errors.handlers.AnnotatedWebErrorHandler;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static me.alidg.Params.p;
+import static me.alidg.errors.Argument.arg;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+
+/**
+ * Unit tests for {@link StacklessException}.
+ */
+@RunWith(JUnitParamsRunner.class)
+public class StacklessExceptionTest {
+
+    @After
+    public void tearDown() {
+        StacklessException.setStackTraceSamplingRate(0);
+    }
+
+    @Test
+    public void byDefault_StackTraceShouldNotBeCaptured() {
+        OrderNotFoundException exception = new OrderNotFoundException("42");
+
+        assertThat(exception.hasStackTrace()).isFalse();
+        assertThat(exception.getStackTrace()).isEmpty();
+    }
+
+    @Test
+    public void withStackTraceEnabled_StackTraceShouldBeCaptured() {
+        TracedException exception = new TracedException();
+
+        assertThat(exception.hasStackTrace()).isTrue();
+        assertThat(exception.getStackTrace()).isNotEmpty();
+    }
+
+    @Test
+    public void withFullSampling_StackTraceShouldBeCaptured() {
+        StacklessException.setStackTraceSamplingRate(1);
+        OrderNotFoundException exception = new OrderNotFoundException("42");
+
+        assertThat(exception.hasStackTrace()).isTrue();
+        assertThat(exception.getStackTrace()).isNotEmpty();
+    }
+
+    @Test
+    public void withPartialSampling_OnlySomeStackTracesShouldBeCaptured() {
+        StacklessException.setStackTraceSamplingRate(0.5);
+
+        int captured = 0;
+        for (int i = 0; i < 1000; i++) {
+            if (new OrderNotFoundException("42").hasStackTrace()) captured++;
+        }
+
+        assertThat(captured).isBetween(1, 999);
+    }
+
+    @Test
+    @Parameters(method = "provideInvalidRates")
+    public void setStackTraceSamplingRate_ShouldRejectRatesOutOfRange(double rate) {
+        assertThatThrownBy(() -> StacklessException.setStackTraceSamplingRate(rate))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("between 0 and 1");
+    }
+
+    @Test
+    public void stacklessExceptions_ShouldBeHandledByTheAnnotatedHandler() {
+        AnnotatedWebErrorHandler handler = new AnnotatedWebErrorHandler();
+        OrderNotFoundException exception = new OrderNotFoundException("42");
+
+        assertThat(handler.canHandle(exception)).isTrue();
+        HandledException handled = handler.handle(exception);
+
+        assertThat(handled.getErrorCodes()).containsExactly("order.not_found");
+        assertThat(handled.getStatusCode()).isEqualTo(NOT_FOUND);
+        assertThat(handled.getArguments().get("order.not_found")).containsExactly(arg("orderId", "42"));
+    }
+
+    private Object[] provideInvalidRates() {
+        return p(-0.1, 1.1, Double.NaN);
+    }
+
+    @ExceptionMapping(statusCode = NOT_FOUND, errorCode = "order.not_found")
+    private static class OrderNotFoundException extends StacklessException {
+
+        @ExposeAsArg(0)
+        private final String orderId;
+
+        private OrderNotFoundException(String orderId) {
+            super("Order not found");
+            this.orderId = orderId;
+        }
+    }
+
+    @ExceptionMapping(statusCode = NOT_FOUND, errorCode = "traced", stackTrace = true)
+    private static class TracedException extends StacklessException {
+
+        private TracedException() {
+            super(null);
+        }
+    }
+}
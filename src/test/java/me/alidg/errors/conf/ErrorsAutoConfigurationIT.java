@@ -3,28 +3,52 @@ package me.alidg.errors.conf;
 import junitparams.JUnitParamsRunner;
 import junitparams.Parameters;
 import me.alidg.errors.HandledException;
+import me.alidg.errors.HttpError;
+import me.alidg.errors.ReactiveWebErrorHandlers;
 import me.alidg.errors.WebErrorHandler;
+import me.alidg.errors.WebErrorHandlerPostProcessor;
 import me.alidg.errors.WebErrorHandlers;
 import me.alidg.errors.adapter.DefaultHttpErrorAttributesAdapter;
 import me.alidg.errors.adapter.HttpErrorAttributesAdapter;
+import me.alidg.errors.annotation.ExceptionMapping;
+import me.alidg.errors.annotation.StacklessException;
 import me.alidg.errors.conf.ErrorsProperties.ArgumentExposure;
 import me.alidg.errors.handlers.*;
+import me.alidg.errors.message.MappedMessageSource;
+import me.alidg.errors.message.MessageCatalogCompiler;
+import me.alidg.errors.message.SnapshotMessageSource;
+import me.alidg.errors.mvc.ErrorsFilter;
+import me.alidg.errors.webflux.ErrorsWebExceptionHandler;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.springframework.beans.TypeMismatchException;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.boot.autoconfigure.AutoConfigurationPackage;
 import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.context.MessageSourceAutoConfiguration;
 import org.springframework.boot.autoconfigure.web.ServerProperties;
 import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.context.runner.ReactiveWebApplicationContextRunner;
 import org.springframework.boot.test.context.runner.WebApplicationContextRunner;
+import org.springframework.boot.web.reactive.error.ErrorAttributes;
 import org.springframework.context.MessageSource;
 import org.springframework.context.annotation.Bean;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpStatus;
 import org.springframework.lang.NonNull;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.Locale;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
 import static me.alidg.Params.p;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -44,6 +68,12 @@ public class ErrorsAutoConfigurationIT {
             ServletErrorsAutoConfiguration.class
         ));
 
+    private final ReactiveWebApplicationContextRunner reactiveContextRunner = new ReactiveWebApplicationContextRunner()
+        .withConfiguration(AutoConfigurations.of(
+            ErrorsAutoConfiguration.class,
+            ReactiveErrorsAutoConfiguration.class
+        ));
+
     @Test
     public void whenAnotherWebErrorHandlersRegistered_TheDefaultOneShouldBeDiscarded() {
         contextRunner.withUserConfiguration(CustomWebErrorHandlers.class).run(ctx -> {
@@ -189,6 +219,157 @@ public class ErrorsAutoConfigurationIT {
         });
     }
 
+    @Test
+    public void withMessageCatalog_ErrorCodesShouldBeTranslatedUsingTheSnapshotMessageSource() {
+        contextRunner
+            .withConfiguration(AutoConfigurations.of(MessageSourceAutoConfiguration.class))
+            .withPropertyValues("spring.messages.basename=test_messages", "errors.message-catalog.enabled=true",
+                "errors.cache-messages=true")
+            .run(ctx -> {
+                SnapshotMessageSource catalog = ctx.getBean("errorsMessageCatalog", SnapshotMessageSource.class);
+                WebErrorHandlers errorHandlers = ctx.getBean(WebErrorHandlers.class);
+
+                assertThat(ctx.getBean(MessageSource.class)).isNotSameAs(catalog);
+                assertThat(catalog.getMessage("text.required", null, new Locale("fa", "IR"))).isEqualTo("متن اجباری است");
+
+                errorHandlers.handle(new RuntimeException(), null, Locale.ROOT);
+                assertThat(errorHandlers.getMessageCache().size()).isEqualTo(1);
+
+                catalog.reload();
+                assertThat(errorHandlers.getMessageCache().size()).isZero();
+            });
+    }
+
+    @Test
+    public void withMessageSourceCacheDuration_TheErrorsPropertiesShouldBeLeftIntact() {
+        contextRunner
+            .withConfiguration(AutoConfigurations.of(MessageSourceAutoConfiguration.class))
+            .withPropertyValues("spring.messages.basename=test_messages", "spring.messages.cache-duration=1m",
+                "errors.cache-messages=true")
+            .run(ctx -> {
+                assertThat(ctx.getBean(WebErrorHandlers.class).getMessageCache()).isNotNull();
+                assertThat(ctx.getBean(ErrorsProperties.class).getMessageCacheDuration()).isNull();
+            });
+    }
+
+    @Test
+    public void withCompiledMessageCatalog_ErrorCodesShouldBeTranslatedUsingTheMappedMessageSource() throws Exception {
+        Path catalog = Files.createTempFile("messages", ".bin");
+        catalog.toFile().deleteOnExit();
+        MessageCatalogCompiler.compile(singletonList("test_messages"), UTF_8, catalog);
+
+        contextRunner
+            .withPropertyValues("errors.message-catalog.enabled=true", "errors.message-catalog.location=" + catalog)
+            .run(ctx -> {
+                MessageSource messageCatalog = ctx.getBean("errorsMessageCatalog", MessageSource.class);
+
+                assertThat(messageCatalog).isInstanceOf(MappedMessageSource.class);
+                assertThat(messageCatalog.getMessage("text.required", null, Locale.ROOT)).isEqualTo("The text is required");
+            });
+    }
+
+    @Test
+    public void withWarmUp_MessagesOfAllKnownErrorCodesShouldBeCachedAtStartup() {
+        contextRunner
+            .withConfiguration(AutoConfigurations.of(MessageSourceAutoConfiguration.class))
+            .withUserConfiguration(WarmUpPackage.class)
+            .withPropertyValues("spring.messages.basename=test_messages", "errors.cache-messages=true",
+                "errors.warm-up.enabled=true", "errors.warm-up.locales=de")
+            .run(ctx -> {
+                ErrorMessagesWarmUp warmUp = ctx.getBean("errorMessagesWarmUp", ErrorMessagesWarmUp.class);
+                WebErrorHandlers errorHandlers = ctx.getBean(WebErrorHandlers.class);
+
+                assertThat(warmUp.handlerCodes()).contains(ServletWebErrorHandler.NO_HANDLER,
+                    MultipartWebErrorHandler.MAX_SIZE, LastResortWebErrorHandler.UNKNOWN_ERROR_CODE);
+                assertThat(warmUp.mappedCodes()).containsExactly("warm_up.mapped");
+
+                long misses = errorHandlers.getMessageCache().getMissCount();
+                assertThat(errorHandlers.getMessageCache().size()).isPositive();
+                errorHandlers.handle(new RuntimeException(), null, new Locale("fa", "IR"));
+                errorHandlers.handle(new RuntimeException(), null, Locale.GERMAN);
+                assertThat(errorHandlers.getMessageCache().getMissCount()).isEqualTo(misses);
+            });
+    }
+
+    @Test
+    public void byDefault_TheWarmUpShouldNotBeRegistered() {
+        contextRunner.run(ctx -> assertThat(ctx.containsBean("errorMessagesWarmUp")).isFalse());
+    }
+
+    @Test
+    public void withWarmUpIterations_SyntheticExceptionsShouldBeHandledSilently() {
+        contextRunner
+            .withUserConfiguration(WarmUpPackage.class, CountingPostProcessor.class)
+            .withPropertyValues("errors.warm-up.iterations=2", "errors.warm-up.locales=en,de")
+            .run(ctx -> {
+                ErrorHandlersWarmUp warmUp = ctx.getBean("errorHandlersWarmUp", ErrorHandlersWarmUp.class);
+                List<Throwable> exceptions = warmUp.syntheticExceptions();
+
+                assertThat(exceptions).hasAtLeastOneElementOfType(MethodArgumentNotValidException.class)
+                    .hasAtLeastOneElementOfType(TypeMismatchException.class)
+                    .hasAtLeastOneElementOfType(ResponseStatusException.class)
+                    .hasAtLeastOneElementOfType(AccessDeniedException.class)
+                    .hasAtLeastOneElementOfType(WarmUpException.class);
+
+                warmUp.run(new DefaultApplicationArguments(new String[0]));
+                assertThat(ctx.getBean(CountingPostProcessor.class).count).isZero();
+            });
+    }
+
+    @Test
+    public void byDefault_TheHandlersWarmUpShouldNotBeRegistered() {
+        contextRunner.run(ctx -> assertThat(ctx.containsBean("errorHandlersWarmUp")).isFalse());
+    }
+
+    @Test
+    public void byDefault_TheReactiveDirectWriteBeansShouldNotBeRegistered() {
+        reactiveContextRunner.run(ctx -> {
+            assertThat(ctx).hasSingleBean(ErrorAttributes.class);
+            assertThat(ctx).doesNotHaveBean(ErrorsWebExceptionHandler.class);
+            assertThat(ctx).doesNotHaveBean(ReactiveWebErrorHandlers.class);
+            assertThat(ctx).doesNotHaveBean("errorsBlockingScheduler");
+        });
+    }
+
+    @Test
+    public void whenDirectWriteIsEnabled_TheReactiveDirectWriteBeansShouldBeRegistered() {
+        reactiveContextRunner.withPropertyValues("errors.reactive.direct-write=true").run(ctx -> {
+            assertThat(ctx).hasSingleBean(ErrorsWebExceptionHandler.class);
+            assertThat(ctx).hasSingleBean(ReactiveWebErrorHandlers.class);
+            assertThat(ctx).hasBean("errorsBlockingScheduler");
+        });
+    }
+
+    @Test
+    public void stackTraceSamplingRate_ShouldBeAppliedWhileTheContextIsOpenAndRestoredOnClose() {
+        contextRunner.withPropertyValues("errors.stack-trace-sampling-rate=0.5")
+            .run(ctx -> assertThat(StacklessException.getStackTraceSamplingRate()).isEqualTo(0.5));
+
+        assertThat(StacklessException.getStackTraceSamplingRate()).isZero();
+    }
+
+    @Test
+    public void byDefault_TheStackTraceSamplingRateShouldNotBeTouched() {
+        contextRunner.run(ctx -> assertThat(ctx.containsBean("errorsStackTraceSampling")).isFalse());
+    }
+
+    @Test
+    public void byDefault_TheMessageCatalogShouldNotBeRegistered() {
+        contextRunner.run(ctx -> assertThat(ctx.containsBean("errorsMessageCatalog")).isFalse());
+    }
+
+    @Test
+    public void byDefault_TheExceptionFilterShouldNotBeRegistered() {
+        contextRunner.run(ctx -> assertThat(ctx).doesNotHaveBean(ErrorsFilter.class));
+    }
+
+    @Test
+    public void withExceptionFilter_TheFilterShouldBeRegisteredWithTheConfiguredOrder() {
+        contextRunner
+            .withPropertyValues("errors.servlet.exception-filter=true", "errors.servlet.exception-filter-order=42")
+            .run(ctx -> assertThat(ctx.getBean(ErrorsFilter.class).getOrder()).isEqualTo(42));
+    }
+
     private Object[] provideExposures() {
         return p(
             p("ALWAYS¨", ArgumentExposure.ALWAYS),
@@ -325,4 +506,22 @@ public class ErrorsAutoConfigurationIT {
             return new HandledException("", HttpStatus.BAD_REQUEST, null);
         }
     }
+
+    @AutoConfigurationPackage
+    static class WarmUpPackage {
+    }
+
+    static class CountingPostProcessor implements WebErrorHandlerPostProcessor {
+
+        private int count;
+
+        @Override
+        public void process(@NonNull HttpError error) {
+            count++;
+        }
+    }
+
+    @ExceptionMapping(statusCode = HttpStatus.BAD_REQUEST, errorCode = "warm_up.mapped")
+    static class WarmUpException extends RuntimeException {
+    }
 }
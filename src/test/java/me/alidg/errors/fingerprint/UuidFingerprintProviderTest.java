@@ -0,0 +1,40 @@
+package me.alidg.errors.fingerprint;
+
+import me.alidg.errors.HttpError;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit tests for {@link UuidFingerprintProvider} fingerprint provider.
+ */
+public class UuidFingerprintProviderTest {
+
+    /**
+     * Subject under test.
+     */
+    private final UuidFingerprintProvider fingerprintProvider = new UuidFingerprintProvider();
+
+    @Test
+    public void generate_ShouldGenerateUniqueVersion4Uuids() {
+        Set<String> generatedFingerprints = new HashSet<>();
+        HttpError httpError = mock(HttpError.class);
+
+        for (int i = 0; i < 100; i++) {
+            String fingerprint = fingerprintProvider.generate(httpError);
+            UUID uuid = UUID.fromString(fingerprint);
+
+            assertThat(uuid.version()).isEqualTo(4);
+            assertThat(uuid.variant()).isEqualTo(2);
+            assertThat(uuid.toString()).isEqualTo(fingerprint);
+            generatedFingerprints.add(fingerprint);
+        }
+
+        assertThat(generatedFingerprints).hasSize(100);
+    }
+}
@@ -74,7 +74,10 @@ public class AnnotatedWebErrorHandlerTest {
                 arg("staticExposure", "42"),
                 arg("random", "random"),
                 arg("other", "s"))),
-            p(new NoExposedArgs(), "no_exposed", BAD_REQUEST, Collections.emptyList())
+            p(new NoExposedArgs(), "no_exposed", BAD_REQUEST, Collections.emptyList()),
+            p(new StaticallyExposed(), "static", BAD_REQUEST, asList(
+                arg("staticField", 42),
+                arg("staticMethod", "static")))
         );
     }
 
@@ -83,6 +86,18 @@ public class AnnotatedWebErrorHandlerTest {
     private class NotAnnotated extends RuntimeException {
     }
 
+    @ExceptionMapping(statusCode = BAD_REQUEST, errorCode = "static")
+    private static class StaticallyExposed extends RuntimeException {
+
+        @ExposeAsArg(0)
+        private static int staticField = 42;
+
+        @ExposeAsArg(1)
+        public static String staticMethod() {
+            return "static";
+        }
+    }
+
     @ExceptionMapping(statusCode = BAD_REQUEST, errorCode = "no_exposed")
     private class NoExposedArgs extends RuntimeException {
     }
@@ -0,0 +1,120 @@
+package me.alidg.errors.message;
+
+import junitparams.JUnitParamsRunner;
+import junitparams.Parameters;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static me.alidg.Params.p;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for the {@link AcceptLanguageLocaleResolver}.
+ */
+@RunWith(JUnitParamsRunner.class)
+public class AcceptLanguageLocaleResolverTest {
+
+    private static final Locale PERSIAN = new Locale("fa", "IR");
+
+    @Test
+    @Parameters(method = "provideParamsForSupportedLocales")
+    public void resolve_ShouldMatchTheHeaderAgainstTheSupportedLocales(String acceptLanguage, Locale expected) {
+        AcceptLanguageLocaleResolver resolver = new AcceptLanguageLocaleResolver(
+            Arrays.asList(Locale.ROOT, Locale.GERMAN, PERSIAN), Locale.ENGLISH);
+
+        assertThat(resolver.resolve(acceptLanguage)).isEqualTo(expected);
+    }
+
+    @Test
+    @Parameters(method = "provideParamsForAnyLocale")
+    public void resolve_ShouldUseTheMostPreferredRange_WhenAnyLocaleIsSupported(String acceptLanguage, Locale expected) {
+        AcceptLanguageLocaleResolver resolver = new AcceptLanguageLocaleResolver(Collections.emptyList(), Locale.ENGLISH);
+
+        assertThat(resolver.resolve(acceptLanguage)).isEqualTo(expected);
+    }
+
+    @Test
+    public void resolve_ShouldParseEachHeaderValueOnlyOnce() {
+        AtomicInteger reads = new AtomicInteger();
+        AcceptLanguageLocaleResolver resolver = new AcceptLanguageLocaleResolver(() -> {
+            reads.incrementAndGet();
+            return Collections.singletonList(Locale.GERMAN);
+        }, Locale.ENGLISH, 10);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(resolver.resolve("de-CH")).isEqualTo(Locale.GERMAN);
+        }
+
+        assertThat(reads).hasValue(1);
+        assertThat(resolver.size()).isEqualTo(1);
+        assertThat(resolver.getHitCount()).isEqualTo(2);
+        assertThat(resolver.getMissCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void clear_ShouldReadTheSupportedLocalesAgain() {
+        List<Locale> supported = new ArrayList<>(Collections.singletonList(Locale.GERMAN));
+        AcceptLanguageLocaleResolver resolver = new AcceptLanguageLocaleResolver(() -> supported, Locale.ENGLISH, 10);
+        assertThat(resolver.resolve("fa-IR")).isEqualTo(Locale.ENGLISH);
+
+        supported.add(PERSIAN);
+        resolver.clear();
+
+        assertThat(resolver.size()).isZero();
+        assertThat(resolver.resolve("fa-IR")).isEqualTo(PERSIAN);
+    }
+
+    @Test
+    public void resolve_ShouldKeepAtMostCapacityHeaderValues() {
+        AcceptLanguageLocaleResolver resolver = new AcceptLanguageLocaleResolver(Collections::emptyList, Locale.ENGLISH, 2);
+
+        resolver.resolve("de");
+        resolver.resolve("fa");
+        resolver.resolve("fr");
+
+        assertThat(resolver.size()).isEqualTo(2);
+    }
+
+    @Test
+    public void constructor_ShouldEnforceItsPreconditions() {
+        assertThatThrownBy(() -> new AcceptLanguageLocaleResolver(Collections.emptyList(), null))
+            .isInstanceOf(NullPointerException.class)
+            .hasMessage("The default locale is required");
+        assertThatThrownBy(() -> new AcceptLanguageLocaleResolver(Collections::emptyList, Locale.ROOT, 0))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private Object[] provideParamsForSupportedLocales() {
+        return p(
+            p(null, Locale.ENGLISH),
+            p("", Locale.ENGLISH),
+            p("de", Locale.GERMAN),
+            p("de-CH", Locale.GERMAN),
+            p("fa-IR", PERSIAN),
+            p("fr, fa-IR;q=0.8, de;q=0.5", PERSIAN),
+            p("de;q=0.5, fa-IR;q=0.8", PERSIAN),
+            p("fa", Locale.ENGLISH),
+            p("fr", Locale.ENGLISH),
+            p("*", Locale.ENGLISH),
+            p("de;q=invalid", Locale.ENGLISH)
+        );
+    }
+
+    private Object[] provideParamsForAnyLocale() {
+        return p(
+            p(null, Locale.ENGLISH),
+            p("fr-CA", Locale.CANADA_FRENCH),
+            p("*, de;q=0.5", Locale.GERMAN),
+            p("*", Locale.ENGLISH),
+            p("not a valid header", Locale.ENGLISH)
+        );
+    }
+}
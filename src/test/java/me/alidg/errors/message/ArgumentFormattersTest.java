@@ -0,0 +1,124 @@
+package me.alidg.errors.message;
+
+import junitparams.JUnitParamsRunner;
+import junitparams.Parameters;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static java.util.Arrays.asList;
+import static me.alidg.Params.p;
+import static me.alidg.errors.Argument.arg;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the {@link ArgumentFormatters}.
+ */
+@RunWith(JUnitParamsRunner.class)
+public class ArgumentFormattersTest {
+
+    @Test
+    @Parameters(method = "provideParamsForFormat")
+    public void format_ShouldFormatTheValueAccordingToItsStyleAndLocale(Object value,
+                                                                        String style,
+                                                                        String pattern,
+                                                                        Locale locale,
+                                                                        String expected) {
+        ArgumentFormatters formatters = new ArgumentFormatters(16);
+
+        assertThat(formatters.format(value, style, pattern, locale)).isEqualTo(expected);
+        assertThat(formatters.format(value, style, pattern, locale)).isEqualTo(expected);
+    }
+
+    @Test
+    public void format_ShouldCacheFormattersPerLocaleAndStyle() {
+        ArgumentFormatters formatters = new ArgumentFormatters(16);
+
+        formatters.format(1, "number", null, Locale.US);
+        formatters.format(2, "number", null, Locale.US);
+        formatters.format(3, "number", "integer", Locale.US);
+        formatters.format(4, "number", null, Locale.GERMANY);
+        formatters.format("not a number", "number", null, Locale.FRANCE);
+
+        assertThat(formatters.size()).isEqualTo(3);
+    }
+
+    @Test
+    public void format_ShouldCacheTheInvalidPatternsToo() {
+        ArgumentFormatters formatters = new ArgumentFormatters(16);
+        LocalDate date = LocalDate.of(2020, 1, 2);
+
+        assertThat(formatters.format(date, "date", "invalid {", Locale.US)).isEqualTo("2020-01-02");
+        assertThat(formatters.format(date, "date", "invalid {", Locale.US)).isEqualTo("2020-01-02");
+        assertThat(formatters.format(42, "number", "#.#.#", Locale.US)).isEqualTo("42");
+        assertThat(formatters.format(42, "number", "#.#.#", Locale.US)).isEqualTo("42");
+
+        assertThat(formatters.size()).isEqualTo(2);
+    }
+
+    @Test
+    public void format_ShouldBeSafeToUseConcurrently() throws Exception {
+        ArgumentFormatters formatters = new ArgumentFormatters(16);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                results.add(executor.submit(() -> {
+                    for (int j = 0; j < 1000; j++) {
+                        if (!"1,234.5".equals(formatters.format(1234.5, "number", null, Locale.US))) return false;
+                    }
+
+                    return true;
+                }));
+            }
+
+            for (Future<Boolean> result : results) assertThat(result.get()).isTrue();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void templateParser_ShouldFormatStyledPlaceholdersUsingTheGivenLocale() {
+        TemplateParser parser = new TemplateParser();
+        String template = "{max,number} - { max , number , integer } - {max} - {at,date,yyyy/MM/dd} - {at,foo}";
+
+        assertThat(parser.parse(template, asList(arg("max", 1234.5), arg("at", LocalDate.of(2020, 1, 2))),
+            Locale.GERMANY)).isEqualTo("1.234,5 - 1.234 - 1234.5 - 2020/01/02 - 2020-01-02");
+        assertThat(parser.parse("{min,number} {0,number}", asList(arg("max", 10)), Locale.US))
+            .isEqualTo("{min,number} 10");
+    }
+
+    private Object[] provideParamsForFormat() {
+        return p(
+            p(null, "number", null, Locale.US, "null"),
+            p(1234.5, "number", null, Locale.US, "1,234.5"),
+            p(1234.5, "number", null, Locale.GERMANY, "1.234,5"),
+            p(1234.5, "number", "integer", Locale.US, "1,234"),
+            p(0.25, "number", "percent", Locale.US, "25%"),
+            p(1234.5, "number", "#.00", Locale.GERMANY, "1234,50"),
+            p(1234.5, "number", "#.0.0", Locale.US, "1,234.5"),
+            p("text", "number", null, Locale.US, "text"),
+            p(LocalDate.of(2020, 1, 2), "date", "yyyy/MM/dd", Locale.US, "2020/01/02"),
+            p(LocalDate.of(2020, 1, 2), "date", "short", Locale.US, "1/2/20"),
+            p(LocalTime.of(13, 5), "time", "HH:mm", Locale.US, "13:05"),
+            p(LocalDateTime.of(2020, 1, 2, 13, 5), "datetime", "yyyy-MM-dd HH:mm", Locale.US, "2020-01-02 13:05"),
+            p(LocalDate.of(2020, 1, 2), "time", "short", Locale.US, "2020-01-02"),
+            p("text", "date", null, Locale.US, "text"),
+            p(asList(1000, 2000), "list", null, Locale.GERMANY, "1000, 2000"),
+            p(asList(1000, 2000), "list", "number", Locale.GERMANY, "1.000, 2.000"),
+            p(new int[]{1, 2, 3}, "list", null, Locale.US, "1, 2, 3"),
+            p("text", "list", null, Locale.US, "text"),
+            p(42, "unknown", null, Locale.US, "42")
+        );
+    }
+}
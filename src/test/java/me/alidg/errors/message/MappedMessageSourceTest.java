@@ -0,0 +1,79 @@
+package me.alidg.errors.message;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for the {@link MessageCatalogCompiler} and {@link MappedMessageSource}.
+ */
+public class MappedMessageSourceTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void compiledCatalog_ShouldResolveTheSameMessagesAsTheBundles() throws Exception {
+        List<String> basenames = asList("test_messages", "templated_messages");
+        Path catalog = temporaryFolder.getRoot().toPath().resolve("catalogs/messages.bin");
+
+        int compiled = MessageCatalogCompiler.compile(basenames, UTF_8, catalog);
+        MappedMessageSource mapped = new MappedMessageSource(catalog);
+        SnapshotMessageSource snapshot = new SnapshotMessageSource(basenames, UTF_8);
+
+        assertThat(compiled).isEqualTo(22);
+        assertThat(mapped.getLocales()).containsExactlyInAnyOrder(Locale.ROOT, new Locale("fa", "IR"));
+        for (String code : asList("range.limit", "number.min", "text.required", "code.named-with-escape", "missing")) {
+            for (Locale locale : asList(Locale.ROOT, new Locale("fa", "IR"), new Locale("fa"), Locale.GERMANY)) {
+                assertThat(mapped.getMessage(code, null, null, locale))
+                    .isEqualTo(snapshot.getMessage(code, null, null, locale));
+            }
+        }
+        assertThat(mapped.getMessage("number.min", null, new Locale("fa", "IR"))).isEqualTo("کم ترین مقدار قابل قبول {0} است");
+    }
+
+    @Test
+    public void compiledCatalog_ShouldFindAllKeysWithMultiByteCharacters() throws Exception {
+        Map<String, String> messages = new HashMap<>();
+        for (String code : asList("a", "b", "ab", "é", "z", "😀", "�", "")) {
+            messages.put(code, "value of " + code);
+        }
+        File output = temporaryFolder.newFile();
+        try (OutputStream out = Files.newOutputStream(output.toPath())) {
+            MessageCatalogCompiler.write(singletonMap(Locale.GERMAN, messages), out);
+        }
+
+        MappedMessageSource mapped = new MappedMessageSource(output.toPath());
+        for (String code : messages.keySet()) {
+            assertThat(mapped.getMessage(code, null, null, new Locale("de", "AT"))).isEqualTo("value of " + code);
+        }
+        assertThat(mapped.getMessage("c", null, null, Locale.GERMAN)).isNull();
+        assertThat(mapped.getMessage("a", null, null, Locale.FRENCH)).isNull();
+    }
+
+    @Test
+    public void mappedMessageSource_ShouldRejectInvalidCatalogs() throws Exception {
+        File invalid = temporaryFolder.newFile();
+        Files.write(invalid.toPath(), singletonList("Not a catalog"), UTF_8);
+
+        assertThatThrownBy(() -> new MappedMessageSource(invalid.toPath()))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageStartingWith("Not a compiled message catalog");
+    }
+}
@@ -0,0 +1,93 @@
+package me.alidg.errors.message;
+
+import org.junit.Test;
+import org.springframework.context.support.StaticMessageSource;
+
+import java.util.Locale;
+import java.util.TreeSet;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static me.alidg.errors.Argument.arg;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+/**
+ * Unit tests for the {@link MessageCatalogWarmer}.
+ */
+public class MessageCatalogWarmerTest {
+
+    @Test
+    public void warmUp_ShouldCacheTheTemplatesAndReportMissingAndMalformedOnes() {
+        StaticMessageSource messages = new FallbackMessageSource();
+        messages.addMessage("valid", Locale.ROOT, "Valid {0}");
+        messages.addMessage("malformed", Locale.ROOT, "{count,plural,one{# item}}");
+        messages.addMessage("german", Locale.GERMAN, "Deutsch");
+        MessageTemplateCache cache = new MessageTemplateCache(16);
+        TemplateAwareMessageSource messageSource = new TemplateAwareMessageSource(messages, cache);
+
+        MessageCatalogWarmer.Report report = new MessageCatalogWarmer(messageSource)
+            .withCodes(asList("valid", "malformed", "german", "missing"))
+            .withLocales(asList(Locale.ROOT, Locale.GERMANY))
+            .warmUp();
+
+        assertThat(report.getCodes()).isEqualTo(4);
+        assertThat(report.getLocales()).isEqualTo(2);
+        assertThat(report.getCompiled()).isEqualTo(5);
+        assertThat(report.getMissing()).containsOnly(
+            entry(Locale.ROOT, new TreeSet<>(asList("german", "missing"))),
+            entry(Locale.GERMANY, new TreeSet<>(singletonList("missing"))));
+        assertThat(report.getMalformed()).containsOnlyKeys(Locale.ROOT, Locale.GERMANY);
+        assertThat(report.getMalformed().get(Locale.ROOT)).containsExactly("malformed");
+
+        long misses = cache.getMissCount();
+        assertThat(messageSource.interpolate("valid", singletonList(arg("0", 1)), Locale.GERMANY)).isEqualTo("Valid 1");
+        assertThat(messageSource.interpolate("german", singletonList(arg("0", 1)), Locale.GERMANY)).isEqualTo("Deutsch");
+        assertThat(cache.getMissCount()).isEqualTo(misses);
+    }
+
+    @Test
+    public void warmUp_ShouldWarmUpAllCodesAndLocalesOfTheBundles() throws Exception {
+        MessageCatalogWarmer.Report report = new MessageCatalogWarmer(
+            new TemplateAwareMessageSource(new SnapshotMessageSource(singletonList("test_messages"), UTF_8)))
+            .withBundles(singletonList("test_messages"), UTF_8)
+            .warmUp();
+
+        assertThat(report.getLocales()).isEqualTo(2);
+        assertThat(report.getCodes()).isPositive();
+        assertThat(report.getCompiled()).isEqualTo(2 * report.getCodes());
+        assertThat(report.getMissing()).isEmpty();
+        assertThat(report.getMalformed()).isEmpty();
+    }
+
+    @Test
+    public void warmUp_WithoutAnyLocale_ShouldWarmUpTheRootLocale() {
+        StaticMessageSource messages = new StaticMessageSource();
+        messages.addMessage("code", Locale.ROOT, "Message");
+
+        MessageCatalogWarmer.Report report = new MessageCatalogWarmer(new TemplateAwareMessageSource(messages))
+            .withCodes(singletonList("code"))
+            .warmUp();
+
+        assertThat(report.getLocales()).isEqualTo(1);
+        assertThat(report.getCompiled()).isEqualTo(1);
+        assertThat(report.toString()).startsWith("Warmed up 1 message templates of 1 codes in 1 locales");
+    }
+
+    /**
+     * Falls back to the less specific locales, just like the resource bundle based message sources.
+     */
+    private static final class FallbackMessageSource extends StaticMessageSource {
+
+        @Override
+        protected String resolveCodeWithoutArguments(String code, Locale locale) {
+            for (Locale candidate : MessageTemplateCache.computeFallbackChain(locale)) {
+                String message = super.resolveCodeWithoutArguments(code, candidate);
+                if (message != null) return message;
+            }
+
+            return null;
+        }
+    }
+}
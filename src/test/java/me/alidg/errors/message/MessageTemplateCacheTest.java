@@ -0,0 +1,120 @@
+package me.alidg.errors.message;
+
+import junitparams.JUnitParamsRunner;
+import junitparams.Parameters;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.context.support.StaticMessageSource;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Collections.singletonList;
+import static me.alidg.Params.p;
+import static me.alidg.errors.Argument.arg;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the {@link MessageTemplateCache}.
+ */
+@RunWith(JUnitParamsRunner.class)
+public class MessageTemplateCacheTest {
+
+    @Test
+    @Parameters(method = "provideParamsForFallbackChains")
+    public void computeFallbackChain_ShouldRemoveTheLocalePartsOneAfterAnother(Locale locale, Locale[] expected) {
+        assertThat(MessageTemplateCache.computeFallbackChain(locale)).containsExactly(expected);
+    }
+
+    @Test
+    public void get_ShouldResolveEachCodeAndLocaleOnlyOnce() {
+        MessageTemplateCache cache = new MessageTemplateCache(10);
+        AtomicInteger resolutions = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            String template = cache.get("code", Locale.GERMAN, (code, locale) -> {
+                resolutions.incrementAndGet();
+                return code + "_" + locale;
+            });
+            assertThat(template).isEqualTo("code_de");
+        }
+
+        assertThat(resolutions).hasValue(1);
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(cache.getHitCount()).isEqualTo(2);
+        assertThat(cache.getMissCount()).isEqualTo(1);
+        assertThat(cache.getHitRate()).isEqualTo(2.0 / 3);
+    }
+
+    @Test
+    public void get_ShouldLeaveTheFallbackToTheResolver() {
+        MessageTemplateCache cache = new MessageTemplateCache(10);
+        List<Locale> requested = new ArrayList<>();
+
+        Locale swiss = new Locale("de", "CH");
+        String missing = cache.get("code", swiss, (code, locale) -> {
+            requested.add(locale);
+            return null;
+        });
+
+        assertThat(missing).isNull();
+        assertThat(requested).containsExactly(swiss);
+        assertThat(cache.get("code", swiss, (code, locale) -> "Unexpected")).isNull();
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void clear_ShouldEvictAllCachedTemplates() {
+        MessageTemplateCache cache = new MessageTemplateCache(10);
+        cache.get("code", Locale.ROOT, (code, locale) -> "first");
+
+        cache.clear();
+
+        assertThat(cache.size()).isZero();
+        assertThat(cache.get("code", Locale.ROOT, (code, locale) -> "second")).isEqualTo("second");
+    }
+
+    @Test
+    public void get_ShouldExpireTheTemplatesAfterTheGivenDuration() throws InterruptedException {
+        MessageTemplateCache cache = new MessageTemplateCache(10, Duration.ofMillis(1));
+        cache.get("code", Locale.ROOT, (code, locale) -> "first");
+
+        Thread.sleep(10);
+
+        assertThat(cache.get("code", Locale.ROOT, (code, locale) -> "second")).isEqualTo("second");
+    }
+
+    @Test
+    public void getHitRate_ShouldBeZeroWithoutAnyLookup() {
+        assertThat(new MessageTemplateCache(10).getHitRate()).isZero();
+    }
+
+    @Test
+    public void templateAwareMessageSource_ShouldUseTheCachedTemplates() {
+        StaticMessageSource source = new StaticMessageSource();
+        source.addMessage("code", Locale.GERMAN, "Hallo {name}");
+        MessageTemplateCache cache = new MessageTemplateCache(10);
+        TemplateAwareMessageSource messageSource = new TemplateAwareMessageSource(source, cache);
+
+        assertThat(messageSource.interpolate("code", singletonList(arg("name", "Ali")), Locale.GERMAN)).isEqualTo("Hallo Ali");
+        assertThat(messageSource.interpolate("code", singletonList(arg("name", "Ali")), Locale.GERMAN)).isEqualTo("Hallo Ali");
+        assertThat(messageSource.interpolate("other", singletonList(arg("name", "Ali")), Locale.GERMAN)).isNull();
+        assertThat(messageSource.getMessageCache()).isSameAs(cache);
+        assertThat(cache.getHitCount()).isEqualTo(1);
+    }
+
+    private Object[] provideParamsForFallbackChains() {
+        Locale swiss = new Locale("de", "CH");
+
+        return p(
+            p(Locale.ROOT, new Locale[]{Locale.ROOT}),
+            p(Locale.GERMAN, new Locale[]{Locale.GERMAN, Locale.ROOT}),
+            p(swiss, new Locale[]{swiss, Locale.GERMAN, Locale.ROOT}),
+            p(new Locale("de", "CH", "POSIX"), new Locale[]{new Locale("de", "CH", "POSIX"), swiss, Locale.GERMAN, Locale.ROOT}),
+            p(Locale.forLanguageTag("sr-Latn-RS"), new Locale[]{Locale.forLanguageTag("sr-Latn-RS"), new Locale("sr", "RS"), new Locale("sr"), Locale.ROOT})
+        );
+    }
+}
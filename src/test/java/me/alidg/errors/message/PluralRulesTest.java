@@ -0,0 +1,67 @@
+package me.alidg.errors.message;
+
+import junitparams.JUnitParamsRunner;
+import junitparams.Parameters;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.math.BigDecimal;
+import java.util.Locale;
+
+import static me.alidg.Params.p;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the {@link PluralRules}.
+ */
+@RunWith(JUnitParamsRunner.class)
+public class PluralRulesTest {
+
+    @Test
+    @Parameters(method = "provideParamsForSelect")
+    public void select_ShouldReturnThePluralCategoryOfTheNumber(String language, String number, String expected) {
+        PluralRules rules = PluralRules.forLocale(new Locale(language));
+
+        assertThat(rules.select(new BigDecimal(number))).isEqualTo(expected);
+    }
+
+    private Object[] provideParamsForSelect() {
+        return p(
+            p("en", "1", "one"),
+            p("en", "1.0", "other"),
+            p("en", "1.00", "other"),
+            p("en", "-1", "one"),
+            p("en", "0", "other"),
+            p("en", "1.5", "other"),
+            p("", "1", "one"),
+            p("ja", "1", "other"),
+            p("fr", "0", "one"),
+            p("fr", "1.5", "one"),
+            p("fr", "2", "other"),
+            p("fa", "0.5", "one"),
+            p("fa", "1.5", "other"),
+            p("fa", "1.0", "one"),
+            p("ru", "21", "one"),
+            p("ru", "11", "many"),
+            p("ru", "22", "few"),
+            p("ru", "12", "many"),
+            p("ru", "1.5", "other"),
+            p("ru", "100000000000000000000001", "one"),
+            p("pl", "1", "one"),
+            p("pl", "21", "many"),
+            p("pl", "24", "few"),
+            p("cs", "3", "few"),
+            p("cs", "1.5", "many"),
+            p("cs", "5", "other"),
+            p("ar", "0", "zero"),
+            p("ar", "2", "two"),
+            p("ar", "103", "few"),
+            p("ar", "111", "many"),
+            p("ar", "100", "other"),
+            p("ar", "2.0", "two"),
+            p("he", "2", "two"),
+            p("he", "0.5", "one"),
+            p("he", "1.0", "other")
+        );
+    }
+}
@@ -0,0 +1,159 @@
+package me.alidg.errors.message;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.context.NoSuchMessageException;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
+
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+/**
+ * Unit tests for the {@link SnapshotMessageSource}.
+ */
+public class SnapshotMessageSourceTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private SnapshotMessageSource messageSource;
+
+    @After
+    public void tearDown() {
+        if (messageSource != null) messageSource.close();
+    }
+
+    @Test
+    public void getMessage_ShouldResolveTheMessagesThroughTheLocaleFallbackChain() {
+        messageSource = new SnapshotMessageSource(asList("test_messages", "classpath:templated_messages"), UTF_8);
+
+        Locale persian = new Locale("fa", "IR");
+        assertThat(messageSource.getMessage("text.required", null, persian)).isEqualTo("متن اجباری است");
+        assertThat(messageSource.getMessage("range.limit", new Object[]{"1", "2"}, persian)).isEqualTo("Between 2 and 1");
+        assertThat(messageSource.getMessage("text.required", null, Locale.GERMANY)).isEqualTo("The text is required");
+        assertThat(messageSource.getMessage("code.simple-named", null, Locale.ROOT)).isEqualTo("arg={arg}");
+        assertThat(messageSource.getMessage("missing", null, null, Locale.ROOT)).isNull();
+        assertThatThrownBy(() -> messageSource.getMessage("missing", null, Locale.ROOT))
+            .isInstanceOf(NoSuchMessageException.class);
+    }
+
+    @Test
+    public void getMessage_TheFirstBasenameShouldWin() throws Exception {
+        File first = write("first.properties", "shared=First\nfirst=1");
+        File second = write("second.properties", "shared=Second\nsecond=2");
+        messageSource = new SnapshotMessageSource(asList(basename(first), basename(second)), UTF_8);
+
+        assertThat(messageSource.getMessage("shared", null, Locale.ROOT)).isEqualTo("First");
+        assertThat(messageSource.getMessage("second", null, Locale.ROOT)).isEqualTo("2");
+    }
+
+    @Test
+    public void getLocales_ShouldIgnoreTheSiblingBundles() throws Exception {
+        File bundle = write("messages.properties", "code=Root");
+        write("messages_errors.properties", "code=Sibling");
+        write("messages_de_AT.properties", "code=Servus");
+        write("messages_xx.properties", "code=Unknown");
+        messageSource = new SnapshotMessageSource(singletonList(basename(bundle)), UTF_8);
+
+        assertThat(messageSource.getLocales()).containsOnly(Locale.ROOT, new Locale("de", "AT"));
+        assertThat(messageSource.getMessage("code", null, Locale.ROOT)).isEqualTo("Root");
+    }
+
+    @Test
+    public void discover_ShouldReadOnlyTheFirstClasspathFileUnlessAskedForAllOfThem() throws Exception {
+        File first = temporaryFolder.newFolder("first");
+        File second = temporaryFolder.newFolder("second");
+        Files.write(new File(first, "bundle.properties").toPath(), singletonList("code=First"), UTF_8);
+        Files.write(new File(second, "bundle.properties").toPath(), singletonList("code=Second"), UTF_8);
+        Files.write(new File(second, "bundle_fr.properties").toPath(), singletonList("code=Deuxieme"), UTF_8);
+
+        URL[] roots = {first.toURI().toURL(), second.toURI().toURL()};
+        try (URLClassLoader classLoader = new URLClassLoader(roots, null)) {
+            ResourcePatternResolver resolver = new PathMatchingResourcePatternResolver(classLoader);
+
+            Map<Locale, Map<String, String>> firstOnly = MessageBundles.read(
+                MessageBundles.discover(singletonList("classpath:bundle"), resolver), UTF_8);
+            assertThat(firstOnly.get(Locale.ROOT)).containsOnly(entry("code", "First"));
+            assertThat(firstOnly.get(Locale.FRENCH)).containsOnly(entry("code", "Deuxieme"));
+
+            Map<Resource, Locale> all = MessageBundles.discover(singletonList("classpath*:bundle"), resolver);
+            assertThat(all.values()).containsExactlyInAnyOrder(Locale.ROOT, Locale.ROOT, Locale.FRENCH);
+        }
+    }
+
+    @Test
+    public void reload_ShouldSwapTheMessagesAndNotifyTheListeners() throws Exception {
+        File bundle = write("messages.properties", "code=Old");
+        write("messages_de.properties", "code=Alt");
+        messageSource = new SnapshotMessageSource(singletonList(basename(bundle)), UTF_8);
+        AtomicInteger reloads = new AtomicInteger();
+        messageSource.addReloadListener(reloads::incrementAndGet);
+
+        assertThat(messageSource.reloadIfModified()).isFalse();
+
+        write("messages_de.properties", "code=Neu");
+        assertThat(messageSource.reload()).isTrue();
+
+        assertThat(messageSource.getMessage("code", null, new Locale("de", "CH"))).isEqualTo("Neu");
+        assertThat(messageSource.getMessage("code", null, Locale.FRENCH)).isEqualTo("Old");
+        assertThat(reloads).hasValue(1);
+    }
+
+    @Test
+    public void startReloading_ShouldReloadTheModifiedBundlesInBackground() throws Exception {
+        File bundle = write("messages.properties", "code=Old");
+        messageSource = new SnapshotMessageSource(singletonList(basename(bundle)), UTF_8);
+        CountDownLatch reloaded = new CountDownLatch(1);
+        messageSource.addReloadListener(reloaded::countDown);
+
+        messageSource.startReloading(Duration.ofMillis(10));
+        write("messages_fr.properties", "code=Nouveau");
+
+        assertThat(reloaded.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(messageSource.getMessage("code", null, Locale.FRANCE)).isEqualTo("Nouveau");
+        assertThatThrownBy(() -> messageSource.startReloading(Duration.ofMillis(10)))
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void startReloading_ShouldRejectNonPositiveIntervals() {
+        messageSource = new SnapshotMessageSource(singletonList("test_messages"), UTF_8);
+
+        assertThatThrownBy(() -> messageSource.startReloading(Duration.ZERO))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("The reload interval should be positive");
+    }
+
+    private File write(String name, String content) throws Exception {
+        File file = new File(temporaryFolder.getRoot(), name);
+        List<String> lines = singletonList(content);
+        Files.write(file.toPath(), lines, UTF_8);
+
+        return file;
+    }
+
+    private static String basename(File bundle) {
+        String path = bundle.getAbsolutePath();
+        return "file:" + path.substring(0, path.length() - ".properties".length());
+    }
+}
@@ -0,0 +1,76 @@
+package me.alidg.errors.message;
+
+import me.alidg.errors.Argument;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.support.StaticMessageSource;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Arrays.asList;
+import static me.alidg.errors.Argument.arg;
+
+/**
+ * JMH benchmarks for the {@link TemplateAwareMessageSource} message interpolation. In order to run the
+ * benchmarks, first compile the test classes and then run the {@link #main(String[])} method with the test
+ * classpath:
+ * <pre>
+ *     ./mvnw test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ *     java -cp target/test-classes:target/classes:$(cat target/cp.txt) \
+ *         me.alidg.errors.message.TemplateAwareMessageSourceBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TemplateAwareMessageSourceBenchmark {
+
+    private TemplateAwareMessageSource messageSource;
+    private List<Argument> arguments;
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(TemplateAwareMessageSourceBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    @Setup
+    public void setUp() {
+        StaticMessageSource source = new StaticMessageSource();
+        source.addMessage("named", Locale.ROOT, "The {field} should be between {min} and {max} but it was {invalid}");
+        source.addMessage("positional", Locale.ROOT, "The {0} should be between {1} and {2} but it was {3}");
+        source.addMessage("escaped", Locale.ROOT, "The \\{field} is escaped but {field} is not, {unknown} stays");
+
+        messageSource = new TemplateAwareMessageSource(source);
+        arguments = asList(arg("field", "age"), arg("min", 18), arg("max", 120), arg("invalid", 12));
+    }
+
+    @Benchmark
+    public String named() {
+        return messageSource.interpolate("named", arguments, Locale.ROOT);
+    }
+
+    @Benchmark
+    public String positional() {
+        return messageSource.interpolate("positional", arguments, Locale.ROOT);
+    }
+
+    @Benchmark
+    public String escaped() {
+        return messageSource.interpolate("escaped", arguments, Locale.ROOT);
+    }
+}
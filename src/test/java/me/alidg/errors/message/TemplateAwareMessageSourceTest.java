@@ -0,0 +1,114 @@
+package me.alidg.errors.message;
+
+import me.alidg.errors.Argument;
+import me.alidg.errors.HandledException;
+import org.junit.Test;
+import org.springframework.context.MessageSource;
+import org.springframework.context.MessageSourceResolvable;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static me.alidg.errors.Argument.arg;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+
+/**
+ * Unit tests for the {@link TemplateAwareMessageSource}.
+ */
+public class TemplateAwareMessageSourceTest {
+
+    private final CountingMessageSource source = new CountingMessageSource();
+
+    @Test
+    public void interpolate_ShouldResolveMissingMessagesWithoutExceptions() {
+        TemplateAwareMessageSource messageSource = new TemplateAwareMessageSource(source);
+
+        assertThat(messageSource.interpolate("missing", singletonList(arg("a", 1)), Locale.ROOT)).isNull();
+        assertThat(messageSource.interpolate("known", singletonList(arg("a", 1)), Locale.ROOT)).isEqualTo("Known 1");
+        assertThat(source.lookups).hasValue(2);
+    }
+
+    @Test
+    public void interpolate_ShouldCacheTheMissingMessages() {
+        MessageTemplateCache cache = new MessageTemplateCache(10);
+        TemplateAwareMessageSource messageSource = new TemplateAwareMessageSource(source, cache);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(messageSource.interpolate("missing", singletonList(arg("a", 1)), Locale.GERMANY)).isNull();
+        }
+
+        assertThat(source.lookups).hasValue(1);
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(cache.getHitCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void interpolate_ShouldTranslateAllErrorCodesOfTheHandledExceptionAtOnce() {
+        MessageTemplateCache cache = new MessageTemplateCache(10);
+        TemplateAwareMessageSource messageSource = new TemplateAwareMessageSource(source, cache);
+        Map<String, List<Argument>> arguments = new HashMap<>();
+        arguments.put("known", singletonList(arg("a", 42)));
+        HandledException handled = new HandledException(new LinkedHashSet<>(asList("missing", "known", "other")),
+            BAD_REQUEST, arguments);
+
+        Map<String, String> messages = messageSource.interpolate(handled, Locale.ROOT);
+
+        assertThat(messages).containsExactly(entry("missing", null), entry("known", "Known 42"), entry("other", null));
+        assertThat(source.lookups).hasValue(3);
+        assertThat(messageSource.interpolate(handled, Locale.ROOT)).isEqualTo(messages);
+        assertThat(source.lookups).hasValue(3);
+    }
+
+    @Test
+    public void interpolate_ShouldTranslateAllErrorCodesWithoutCache() {
+        TemplateAwareMessageSource messageSource = new TemplateAwareMessageSource(source);
+        HandledException handled = new HandledException(new LinkedHashSet<>(asList("known", "missing")),
+            BAD_REQUEST, null);
+
+        assertThat(messageSource.interpolate(handled, Locale.ROOT))
+            .containsExactly(entry("known", "Known {a}"), entry("missing", null));
+    }
+
+    @Test
+    public void isNonBlocking_ShouldOnlyBeTrueForTheLockFreeSourcesWithoutParents() {
+        SnapshotMessageSource snapshot = new SnapshotMessageSource(singletonList("test_messages"), UTF_8);
+        assertThat(new TemplateAwareMessageSource(snapshot).isNonBlocking()).isTrue();
+        assertThat(new TemplateAwareMessageSource(source).isNonBlocking()).isFalse();
+
+        snapshot.setParentMessageSource(source);
+        assertThat(new TemplateAwareMessageSource(snapshot).isNonBlocking()).isFalse();
+    }
+
+    /**
+     * Counts the lookups and fails on any attempt to resolve a message via an exception throwing method.
+     */
+    private static class CountingMessageSource implements MessageSource {
+
+        private final AtomicInteger lookups = new AtomicInteger();
+
+        @Override
+        public String getMessage(String code, Object[] args, String defaultMessage, Locale locale) {
+            lookups.incrementAndGet();
+            return "known".equals(code) ? "Known {a}" : defaultMessage;
+        }
+
+        @Override
+        public String getMessage(String code, Object[] args, Locale locale) {
+            throw new AssertionError("Should not resolve the messages that way");
+        }
+
+        @Override
+        public String getMessage(MessageSourceResolvable resolvable, Locale locale) {
+            throw new AssertionError("Should not resolve the messages that way");
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package me.alidg.errors.message;
+
+import junitparams.JUnitParamsRunner;
+import junitparams.Parameters;
+import me.alidg.errors.Argument;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Locale;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static me.alidg.Params.p;
+import static me.alidg.errors.Argument.arg;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for the {@link TemplateParser} and its {@link CompiledTemplate}s.
+ */
+@RunWith(JUnitParamsRunner.class)
+public class TemplateParserTest {
+
+    @Test
+    @Parameters(method = "provideParamsForParse")
+    public void parse_ShouldReplacePlaceholdersWithTheirValues(String template, List<Argument> arguments, String expected) {
+        TemplateParser parser = new TemplateParser();
+
+        assertThat(parser.parse(template, arguments)).isEqualTo(expected);
+        assertThat(parser.parse(template, arguments)).isEqualTo(expected);
+    }
+
+    @Test
+    public void parse_ShouldCompileEachTemplateOnlyOnce() {
+        TemplateParser parser = new TemplateParser();
+        List<Argument> arguments = singletonList(arg("name", "value"));
+
+        parser.parse("Hello {name}", arguments);
+        parser.parse("Hello {name}", arguments);
+        parser.parse("Bye {name}", arguments);
+
+        BoundedCache<?, CompiledTemplate> cache = parser.getCompiledTemplates();
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.getMissCount()).isEqualTo(2);
+        assertThat(cache.getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    @Parameters(method = "provideParamsForChoices")
+    public void parse_ShouldRenderTheSelectedPluralOrSelectBranch(String template,
+                                                                  List<Argument> arguments,
+                                                                  Locale locale,
+                                                                  String expected) {
+        TemplateParser parser = new TemplateParser();
+
+        assertThat(parser.parse(template, arguments, locale)).isEqualTo(expected);
+        assertThat(parser.parse(template, arguments, locale)).isEqualTo(expected);
+    }
+
+    @Test
+    public void parse_ShouldCompileEachTemplateOncePerLocale() {
+        TemplateParser parser = new TemplateParser();
+        String template = "{n,plural,one{# file} few{# files} many{# files} other{# files}}";
+
+        assertThat(parser.parse(template, singletonList(arg("n", 3)), Locale.ENGLISH)).isEqualTo("3 files");
+        assertThat(parser.parse(template, singletonList(arg("n", 21)), Locale.ENGLISH)).isEqualTo("21 files");
+        assertThat(parser.parse(template, singletonList(arg("n", 21)), new Locale("ru"))).isEqualTo("21 file");
+
+        BoundedCache<?, CompiledTemplate> cache = parser.getCompiledTemplates();
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void parse_ShouldNotCacheMoreTemplatesThanTheCapacity() {
+        TemplateParser parser = new TemplateParser(2);
+        List<Argument> arguments = singletonList(arg("0", "value"));
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(parser.parse("{0} " + i, arguments)).isEqualTo("value " + i);
+        }
+
+        assertThat(parser.getCompiledTemplates().size()).isLessThanOrEqualTo(2);
+    }
+
+    @Test(timeout = 5000)
+    public void compile_ShouldTakeLinearTimeForUnclosedChoices() {
+        StringBuilder template = new StringBuilder();
+        for (int i = 0; i < 50_000; i++) template.append("{a,select,x{");
+
+        CompiledTemplate compiled = CompiledTemplate.compile(template.toString(), Locale.ENGLISH);
+
+        assertThat(compiled.isWellFormed()).isFalse();
+        assertThat(compiled.render(singletonList(arg("a", "x")), Locale.ENGLISH, new ArgumentFormatters(ArgumentFormatters.DEFAULT_CAPACITY)))
+            .isEqualTo(template.toString());
+    }
+
+    @Test(timeout = 5000)
+    public void compile_ShouldTakeLinearTimeForDeeplyNestedMalformedChoices() {
+        String template = "x";
+        for (int i = 0; i < 1_000; i++) template = "{a,select,x{" + template + "} y{" + template.length() + "}}";
+
+        CompiledTemplate compiled = CompiledTemplate.compile(template, Locale.ENGLISH);
+
+        assertThat(compiled.render(singletonList(arg("b", "x")), Locale.ENGLISH, new ArgumentFormatters(ArgumentFormatters.DEFAULT_CAPACITY)))
+            .isEqualTo(template);
+    }
+
+    @Test
+    public void constructor_ShouldRejectNonPositiveCapacities() {
+        assertThatThrownBy(() -> new TemplateParser(0))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("The cache capacity should be positive");
+    }
+
+    private Object[] provideParamsForParse() {
+        List<Argument> many = asList(arg("a", 1), arg("b", 2), arg("c", 3), arg("d", 4), arg("e", 5), arg("a", 6));
+
+        return p(
+            p(null, singletonList(arg("a", 1)), null),
+            p("{a}", null, "{a}"),
+            p("No placeholder", singletonList(arg("a", 1)), "No placeholder"),
+            p("{a}{a}", singletonList(arg("a", 1)), "11"),
+            p("{a}", singletonList(arg("a", null)), "null"),
+            p("{}", singletonList(arg("a", 1)), "{}"),
+            p("{-1} {+0} {1}", singletonList(arg("a", 1)), "{-1} 1 {1}"),
+            p("{a^b} {a{b} {a", singletonList(arg("b", 1)), "{a^b} {a1 {a"),
+            p("\\{a} \\}", singletonList(arg("a", 1)), "{a} }"),
+            p("{a\\}", singletonList(arg("b", 1)), "{a}"),
+            p("{a}", singletonList(arg("a", "$1 \\{b}")), "$1 \\{b}"),
+            p("{a} {e} {5} {f}", many, "1 5 6 {f}")
+        );
+    }
+
+    private Object[] provideParamsForChoices() {
+        String items = "{count,plural,=0{No items} one{One item} other{# items}}";
+        String gender = "{gender,select,female{She has {n,plural,one{# file} other{# files}}} other{They have # files}}";
+        String files = "{n, plural, one {# plik} few {# pliki} many {# plików} other {# pliku}}";
+
+        return p(
+            p(items, singletonList(arg("count", 0)), Locale.ENGLISH, "No items"),
+            p(items, singletonList(arg("count", 1)), Locale.ENGLISH, "One item"),
+            p(items, singletonList(arg("count", 1.0)), Locale.ENGLISH, "One item"),
+            p(items, singletonList(arg("count", 1.5)), Locale.ENGLISH, "1.5 items"),
+            p(items, singletonList(arg("count", 1234)), Locale.ENGLISH, "1,234 items"),
+            p(items, singletonList(arg("count", 1234)), Locale.GERMAN, "1.234 items"),
+            p(items, singletonList(arg("count", new BigDecimal("0.00"))), Locale.ENGLISH, "No items"),
+            p(items, singletonList(arg("count", "1")), Locale.ENGLISH, "One item"),
+            p(items, singletonList(arg("count", "1.0")), Locale.ENGLISH, "1.0 items"),
+            p(items, singletonList(arg("count", "many")), Locale.ENGLISH, "many items"),
+            p(items, singletonList(arg("count", 0.5)), Locale.FRENCH, "One item"),
+            p(items, singletonList(arg("other", 1)), Locale.ENGLISH, items),
+            p("{0,plural,one{# item} other{# items}}", singletonList(arg("x", 2)), Locale.ENGLISH, "2 items"),
+            p(files, singletonList(arg("n", 1)), new Locale("pl"), "1 plik"),
+            p(files, singletonList(arg("n", 3)), new Locale("pl"), "3 pliki"),
+            p(files, singletonList(arg("n", 12)), new Locale("pl"), "12 plików"),
+            p(files, singletonList(arg("n", 1.5)), new Locale("pl"), "1,5 pliku"),
+            p(gender, asList(arg("gender", "female"), arg("n", 1)), Locale.ENGLISH, "She has 1 file"),
+            p(gender, asList(arg("gender", "female"), arg("n", 2)), Locale.ENGLISH, "She has 2 files"),
+            p(gender, asList(arg("gender", "male"), arg("n", 2)), Locale.ENGLISH, "They have # files"),
+            p("\\{a,select,x{X} other{Y}}", singletonList(arg("a", "x")), Locale.ENGLISH, "{a,select,x{X} other{Y}}"),
+            p("{a,select,x{\\{X\\}} other{Y}}", singletonList(arg("a", "x")), Locale.ENGLISH, "{X}"),
+            p("{a,select,x{X}}", singletonList(arg("a", "x")), Locale.ENGLISH, "{a,select,x{X}}"),
+            p("{a,select,x{X} other{Y}", singletonList(arg("a", "x")), Locale.ENGLISH, "{a,select,x{X} other{Y}"),
+            p("{a,choice,x{X} other{Y}}", singletonList(arg("a", "x")), Locale.ENGLISH, "{a,choice,x{X} other{Y}}")
+        );
+    }
+}
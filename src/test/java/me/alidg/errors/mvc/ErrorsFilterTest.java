@@ -0,0 +1,108 @@
+package me.alidg.errors.mvc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import me.alidg.errors.WebErrorHandlers;
+import me.alidg.errors.adapter.DefaultHttpErrorAttributesAdapter;
+import me.alidg.errors.annotation.ExceptionMapping;
+import me.alidg.errors.conf.ErrorsProperties;
+import me.alidg.errors.handlers.AnnotatedWebErrorHandler;
+import org.junit.Test;
+import org.springframework.context.support.StaticMessageSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.util.NestedServletException;
+
+import javax.servlet.FilterChain;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.http.HttpStatus.TOO_MANY_REQUESTS;
+
+/**
+ * Unit tests for {@link ErrorsFilter}.
+ */
+public class ErrorsFilterTest {
+
+    private final ErrorsFilter filter = new ErrorsFilter(writer());
+
+    @Test
+    public void constructor_ShouldEnforceItsPreconditions() {
+        assertThatThrownBy(() -> new ErrorsFilter(null))
+            .isInstanceOf(NullPointerException.class)
+            .hasMessage("Error writer is required");
+    }
+
+    @Test
+    public void doFilter_ShouldWriteTheExceptionsOfTheFilterChainDirectly() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request(), response, (req, res) -> {
+            throw new RateLimitedException();
+        });
+
+        assertThat(response.getStatus()).isEqualTo(TOO_MANY_REQUESTS.value());
+        assertThat(response.getContentAsString()).isEqualTo("{\"errors\":[{\"code\":\"rate_limited\",\"message\":\"Slow down\"}]}");
+    }
+
+    @Test
+    public void doFilter_ShouldUnwrapTheExceptionsWrappedByTheDispatcherServlet() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request(), response, (req, res) -> {
+            throw new NestedServletException("Request processing failed", new RateLimitedException());
+        });
+
+        assertThat(response.getStatus()).isEqualTo(TOO_MANY_REQUESTS.value());
+    }
+
+    @Test
+    public void doFilter_ShouldRethrowTheExceptions_WhenTheResponseIsCommitted() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (req, res) -> {
+            res.flushBuffer();
+            throw new RateLimitedException();
+        };
+
+        assertThatThrownBy(() -> filter.doFilter(request(), response, chain)).isInstanceOf(RateLimitedException.class);
+    }
+
+    @Test
+    public void doFilter_ShouldNotTouchSuccessfulResponses() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request(), response, (req, res) -> res.getWriter().write("ok"));
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsString()).isEqualTo("ok");
+    }
+
+    @Test
+    public void getOrder_ShouldBeTheDefaultOrderByDefault() {
+        assertThat(filter.getOrder()).isEqualTo(ErrorsFilter.DEFAULT_ORDER);
+    }
+
+    private static ServletErrorWriter writer() {
+        StaticMessageSource messageSource = new StaticMessageSource();
+        messageSource.addMessage("rate_limited", Locale.ENGLISH, "Slow down");
+
+        ErrorsProperties properties = new ErrorsProperties();
+        WebErrorHandlers handlers = WebErrorHandlers.builder(messageSource)
+            .withErrorsProperties(properties)
+            .withErrorHandlers(new AnnotatedWebErrorHandler())
+            .build();
+        return new ServletErrorWriter(handlers, new DefaultHttpErrorAttributesAdapter(properties), properties,
+            new ObjectMapper());
+    }
+
+    private static MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/test");
+        request.addPreferredLocale(Locale.ENGLISH);
+
+        return request;
+    }
+
+    @ExceptionMapping(statusCode = TOO_MANY_REQUESTS, errorCode = "rate_limited")
+    private static class RateLimitedException extends RuntimeException {
+    }
+}
@@ -0,0 +1,84 @@
+package me.alidg.errors.mvc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import me.alidg.errors.WebErrorHandlers;
+import me.alidg.errors.adapter.DefaultHttpErrorAttributesAdapter;
+import me.alidg.errors.annotation.ExceptionMapping;
+import me.alidg.errors.conf.ErrorsProperties;
+import me.alidg.errors.handlers.AnnotatedWebErrorHandler;
+import org.junit.Test;
+import org.springframework.context.support.StaticMessageSource;
+import org.springframework.core.Ordered;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.ModelAndView;
+
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.http.HttpStatus.CONFLICT;
+
+/**
+ * Unit tests for {@link ErrorsHandlerExceptionResolver}.
+ */
+public class ErrorsHandlerExceptionResolverTest {
+
+    private final ErrorsHandlerExceptionResolver resolver = new ErrorsHandlerExceptionResolver(writer());
+
+    @Test
+    public void constructor_ShouldEnforceItsPreconditions() {
+        assertThatThrownBy(() -> new ErrorsHandlerExceptionResolver(null))
+            .isInstanceOf(NullPointerException.class)
+            .hasMessage("Error writer is required");
+    }
+
+    @Test
+    public void resolveException_ShouldWriteTheErrorDirectly() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        ModelAndView modelAndView = resolver.resolveException(request(), response, null, new DuplicateException());
+
+        assertThat(modelAndView).isNotNull();
+        assertThat(modelAndView.isEmpty()).isTrue();
+        assertThat(response.getStatus()).isEqualTo(CONFLICT.value());
+        assertThat(response.getContentAsString()).isEqualTo("{\"errors\":[{\"code\":\"duplicate\",\"message\":\"Already exists\"}]}");
+    }
+
+    @Test
+    public void resolveException_ShouldNotResolveTheException_WhenTheResponseIsCommitted() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setCommitted(true);
+
+        assertThat(resolver.resolveException(request(), response, null, new DuplicateException())).isNull();
+    }
+
+    @Test
+    public void getOrder_ShouldBeTheHighestPrecedence() {
+        assertThat(resolver.getOrder()).isEqualTo(Ordered.HIGHEST_PRECEDENCE);
+    }
+
+    private static ServletErrorWriter writer() {
+        StaticMessageSource messageSource = new StaticMessageSource();
+        messageSource.addMessage("duplicate", Locale.ENGLISH, "Already exists");
+
+        ErrorsProperties properties = new ErrorsProperties();
+        WebErrorHandlers handlers = WebErrorHandlers.builder(messageSource)
+            .withErrorsProperties(properties)
+            .withErrorHandlers(new AnnotatedWebErrorHandler())
+            .build();
+        return new ServletErrorWriter(handlers, new DefaultHttpErrorAttributesAdapter(properties), properties,
+            new ObjectMapper());
+    }
+
+    private static MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/test");
+        request.addPreferredLocale(Locale.ENGLISH);
+
+        return request;
+    }
+
+    @ExceptionMapping(statusCode = CONFLICT, errorCode = "duplicate")
+    private static class DuplicateException extends RuntimeException {
+    }
+}
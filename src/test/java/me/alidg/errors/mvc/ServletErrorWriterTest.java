@@ -0,0 +1,133 @@
+package me.alidg.errors.mvc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import junitparams.JUnitParamsRunner;
+import junitparams.Parameters;
+import me.alidg.errors.HttpError;
+import me.alidg.errors.WebErrorHandlers;
+import me.alidg.errors.adapter.DefaultHttpErrorAttributesAdapter;
+import me.alidg.errors.adapter.HttpErrorAttributesAdapter;
+import me.alidg.errors.annotation.ExceptionMapping;
+import me.alidg.errors.annotation.ExposeAsArg;
+import me.alidg.errors.conf.ErrorsProperties;
+import me.alidg.errors.conf.ErrorsProperties.ArgumentExposure;
+import me.alidg.errors.handlers.AnnotatedWebErrorHandler;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.context.support.StaticMessageSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Collections;
+import java.util.Locale;
+
+import static me.alidg.Params.p;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+
+/**
+ * Unit tests for {@link ServletErrorWriter}.
+ */
+@RunWith(JUnitParamsRunner.class)
+public class ServletErrorWriterTest {
+
+    @Test
+    @Parameters(method = "provideInvalidParamsToConstructor")
+    public void constructor_ShouldEnforceItsPreconditions(WebErrorHandlers handlers,
+                                                          HttpErrorAttributesAdapter adapter,
+                                                          ErrorsProperties properties,
+                                                          ObjectMapper objectMapper,
+                                                          String expectedMessage) {
+        assertThatThrownBy(() -> new ServletErrorWriter(handlers, adapter, properties, objectMapper))
+            .isInstanceOf(NullPointerException.class)
+            .hasMessage(expectedMessage);
+    }
+
+    @Test
+    public void handle_ShouldWriteTheDefaultRepresentationDirectly() throws Exception {
+        ErrorsProperties properties = new ErrorsProperties();
+        properties.setExposeArguments(ArgumentExposure.NON_EMPTY);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        HttpError httpError = writer(properties, new DefaultHttpErrorAttributesAdapter(properties))
+            .handle(new InvalidException("abc"), request(), response);
+
+        assertThat(httpError).isNotNull();
+        assertThat(httpError.getRequest()).isInstanceOf(WebRequest.class);
+        assertThat(response.getStatus()).isEqualTo(BAD_REQUEST.value());
+        assertThat(response.getContentType()).isEqualTo(APPLICATION_JSON_VALUE);
+        assertThat(response.getContentAsString())
+            .isEqualTo("{\"errors\":[{\"code\":\"invalid\",\"message\":\"Invalid abc\",\"arguments\":{\"value\":\"abc\"}}]}");
+    }
+
+    @Test
+    public void handle_ShouldSerializeCustomRepresentations() throws Exception {
+        ErrorsProperties properties = new ErrorsProperties();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        writer(properties, error -> Collections.singletonMap("status", error.getHttpStatus().value()))
+            .handle(new InvalidException("abc"), request(), response);
+
+        assertThat(response.getStatus()).isEqualTo(BAD_REQUEST.value());
+        assertThat(response.getContentAsString()).isEqualTo("{\"status\":400}");
+    }
+
+    @Test
+    public void handle_ShouldNotWriteCommittedResponses() throws Exception {
+        ErrorsProperties properties = new ErrorsProperties();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setCommitted(true);
+
+        HttpError httpError = writer(properties, new DefaultHttpErrorAttributesAdapter(properties))
+            .handle(new InvalidException("abc"), request(), response);
+
+        assertThat(httpError).isNull();
+        assertThat(response.getContentAsString()).isEmpty();
+    }
+
+    private Object[] provideInvalidParamsToConstructor() {
+        WebErrorHandlers handlers = mock(WebErrorHandlers.class);
+        HttpErrorAttributesAdapter adapter = mock(HttpErrorAttributesAdapter.class);
+        ErrorsProperties properties = new ErrorsProperties();
+
+        return p(
+            p(null, null, null, null, "Web error handlers is required"),
+            p(handlers, null, null, null, "Adapter is required"),
+            p(handlers, adapter, null, null, "Errors properties is required"),
+            p(handlers, adapter, properties, null, "Object mapper is required")
+        );
+    }
+
+    private ServletErrorWriter writer(ErrorsProperties properties, HttpErrorAttributesAdapter adapter) {
+        StaticMessageSource messageSource = new StaticMessageSource();
+        messageSource.addMessage("invalid", Locale.ENGLISH, "Invalid {0}");
+
+        WebErrorHandlers handlers = WebErrorHandlers.builder(messageSource)
+            .withErrorsProperties(properties)
+            .withErrorHandlers(new AnnotatedWebErrorHandler())
+            .build();
+        return new ServletErrorWriter(handlers, adapter, properties, new ObjectMapper());
+    }
+
+    private MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/test");
+        request.addPreferredLocale(Locale.ENGLISH);
+
+        return request;
+    }
+
+    @ExceptionMapping(statusCode = BAD_REQUEST, errorCode = "invalid")
+    private static class InvalidException extends RuntimeException {
+
+        @ExposeAsArg(0)
+        private final String value;
+
+        private InvalidException(String value) {
+            this.value = value;
+        }
+    }
+}
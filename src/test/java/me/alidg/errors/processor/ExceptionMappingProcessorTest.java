@@ -0,0 +1,150 @@
+package me.alidg.errors.processor;
+
+import me.alidg.errors.HandledException;
+import me.alidg.errors.handlers.GeneratedMappingsWebErrorHandler;
+import me.alidg.errors.handlers.GeneratedWebErrorHandler;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.StringWriter;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static me.alidg.errors.Argument.arg;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+
+/**
+ * Unit tests for the {@link ExceptionMappingProcessor}.
+ */
+public class ExceptionMappingProcessorTest {
+
+    private static final String EXCEPTIONS = "package sample;\n" +
+        "import me.alidg.errors.annotation.*;\n" +
+        "import static org.springframework.http.HttpStatus.BAD_REQUEST;\n" +
+        "public class Exceptions {\n" +
+        "    @ExceptionMapping(statusCode = BAD_REQUEST, errorCode = \"user.exists\")\n" +
+        "    public static class UserExists extends RuntimeException {\n" +
+        "        @ExposeAsArg(value = 1, name = \"name\") final String username;\n" +
+        "        public UserExists(String username) { this.username = username; }\n" +
+        "        @ExposeAsArg(0) public int length() { return username.length(); }\n" +
+        "        @ExposeAsArg(2) public String thrower() { throw new IllegalStateException(); }\n" +
+        "        @ExposeAsArg(3) public void discarded() { }\n" +
+        "    }\n" +
+        "    @ExceptionMapping(statusCode = BAD_REQUEST, errorCode = \"private\")\n" +
+        "    public static class PrivateMember extends RuntimeException {\n" +
+        "        @ExposeAsArg(0) private final String value = \"\";\n" +
+        "    }\n" +
+        "    public static class NotAnnotated extends RuntimeException {\n" +
+        "    }\n" +
+        "}\n";
+
+    private static final String OTHER_EXCEPTION = "package sample;\n" +
+        "import me.alidg.errors.annotation.*;\n" +
+        "import static org.springframework.http.HttpStatus.CONFLICT;\n" +
+        "@ExceptionMapping(statusCode = CONFLICT, errorCode = \"other\")\n" +
+        "public class OtherException extends RuntimeException {\n" +
+        "}\n";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void processor_ShouldGenerateHandlersForAccessibleMappedExceptions() throws Exception {
+        File output = temporaryFolder.newFolder();
+        compile(output, "Exceptions", EXCEPTIONS);
+
+        File serviceFile = new File(output, "META-INF/services/" + GeneratedWebErrorHandler.class.getName());
+        assertThat(Files.readAllLines(serviceFile.toPath(), UTF_8))
+            .containsExactly("sample.Exceptions_UserExists_WebErrorHandler");
+
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{output.toURI().toURL()}, getClass().getClassLoader())) {
+            GeneratedMappingsWebErrorHandler handler = GeneratedMappingsWebErrorHandler.load(classLoader);
+            assertThat(handler).isNotNull();
+
+            Class<?> userExists = classLoader.loadClass("sample.Exceptions$UserExists");
+            Throwable exception = (Throwable) userExists.getConstructor(String.class).newInstance("ali");
+            Throwable privateMember = (Throwable) classLoader.loadClass("sample.Exceptions$PrivateMember").newInstance();
+
+            assertThat(handler.canHandle(exception)).isTrue();
+            assertThat(handler.canHandle(privateMember)).isFalse();
+            assertThat(handler.canHandle(new RuntimeException())).isFalse();
+
+            HandledException handled = handler.handle(exception);
+            assertThat(handled.getErrorCodes()).containsExactly("user.exists");
+            assertThat(handled.getStatusCode()).isEqualTo(BAD_REQUEST);
+            assertThat(handled.getArguments().get("user.exists")).containsExactly(arg("length", 3), arg("name", "ali"));
+        }
+    }
+
+    @Test
+    public void processor_ShouldMergeTheExistingServiceFileOnIncrementalCompilations() throws Exception {
+        File output = temporaryFolder.newFolder();
+        compile(output, "Exceptions", EXCEPTIONS);
+        compile(output, "OtherException", OTHER_EXCEPTION);
+
+        File serviceFile = new File(output, "META-INF/services/" + GeneratedWebErrorHandler.class.getName());
+        assertThat(Files.readAllLines(serviceFile.toPath(), UTF_8))
+            .containsExactly("sample.Exceptions_UserExists_WebErrorHandler", "sample.OtherException_WebErrorHandler");
+
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{output.toURI().toURL()}, getClass().getClassLoader())) {
+            GeneratedMappingsWebErrorHandler handler = GeneratedMappingsWebErrorHandler.load(classLoader);
+            assertThat(handler).isNotNull();
+
+            Throwable userExists = (Throwable) classLoader.loadClass("sample.Exceptions$UserExists")
+                .getConstructor(String.class).newInstance("ali");
+            Throwable other = (Throwable) classLoader.loadClass("sample.OtherException").newInstance();
+            assertThat(handler.canHandle(userExists)).isTrue();
+            assertThat(handler.canHandle(other)).isTrue();
+        }
+    }
+
+    @Test
+    public void load_ShouldSkipTheStaleEntries() throws Exception {
+        File output = temporaryFolder.newFolder();
+        compile(output, "OtherException", OTHER_EXCEPTION);
+
+        File serviceFile = new File(output, "META-INF/services/" + GeneratedWebErrorHandler.class.getName());
+        Files.write(serviceFile.toPath(), Arrays.asList("sample.Deleted_WebErrorHandler",
+            "sample.OtherException_WebErrorHandler"), UTF_8);
+
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{output.toURI().toURL()}, getClass().getClassLoader())) {
+            GeneratedMappingsWebErrorHandler handler = GeneratedMappingsWebErrorHandler.load(classLoader);
+            assertThat(handler).isNotNull();
+
+            Throwable other = (Throwable) classLoader.loadClass("sample.OtherException").newInstance();
+            assertThat(handler.canHandle(other)).isTrue();
+        }
+    }
+
+    private void compile(File output, String name, String code) {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        JavaFileObject source = new SimpleJavaFileObject(URI.create("string:///sample/" + name + ".java"),
+            JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return code;
+            }
+        };
+
+        List<String> options = Arrays.asList("-source", "1.8", "-target", "1.8", "-d", output.getAbsolutePath(),
+            "-classpath", System.getProperty("java.class.path") + File.pathSeparator + output.getAbsolutePath());
+        StringWriter diagnostics = new StringWriter();
+        JavaCompiler.CompilationTask task = compiler.getTask(diagnostics, null, null, options, null,
+            Arrays.asList(source));
+        task.setProcessors(Arrays.asList(new ExceptionMappingProcessor()));
+
+        assertThat(task.call()).as(diagnostics.toString()).isTrue();
+    }
+}
@@ -0,0 +1,11 @@
+package me.alidg.errors.reactive;
+
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Runs the non-blocking integration tests with the {@link me.alidg.errors.webflux.ErrorsWebExceptionHandler}
+ * writing the errors directly, i.e. using the {@link me.alidg.errors.ReactiveWebErrorHandlers}.
+ */
+@TestPropertySource(properties = "errors.reactive.direct-write=true")
+public class NonBlockingReactiveDirectWriteIT extends NonBlockingReactiveIT {
+}
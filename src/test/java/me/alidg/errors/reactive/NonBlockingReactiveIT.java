@@ -0,0 +1,250 @@
+package me.alidg.errors.reactive;
+
+import junitparams.JUnitParamsRunner;
+import junitparams.Parameters;
+import me.alidg.errors.handlers.ServletWebErrorHandler;
+import org.hibernate.validator.resourceloading.PlatformResourceBundleLocator;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.LocalVariableTableParameterNameDiscoverer;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.core.userdetails.MapReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.ServerAuthenticationEntryPoint;
+import org.springframework.security.web.server.authorization.ServerAccessDeniedHandler;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import org.springframework.security.web.server.csrf.CookieServerCsrfTokenRepository;
+import org.springframework.security.web.server.savedrequest.NoOpServerRequestCache;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.rules.SpringClassRule;
+import org.springframework.test.context.junit4.rules.SpringMethodRule;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.blockhound.BlockHound;
+import reactor.blockhound.BlockingOperationError;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static me.alidg.Params.p;
+import static me.alidg.errors.handlers.MissingRequestParametersWebErrorHandler.MISSING_COOKIE;
+import static me.alidg.errors.handlers.MissingRequestParametersWebErrorHandler.MISSING_HEADER;
+import static me.alidg.errors.handlers.MissingRequestParametersWebErrorHandler.MISSING_MATRIX_VARIABLE;
+import static me.alidg.errors.handlers.ServletWebErrorHandler.INVALID_OR_MISSING_BODY;
+import static me.alidg.errors.handlers.ServletWebErrorHandler.MISSING_PARAMETER;
+import static me.alidg.errors.handlers.ServletWebErrorHandler.NOT_SUPPORTED;
+import static me.alidg.errors.handlers.ServletWebErrorHandler.NO_HANDLER;
+import static me.alidg.errors.handlers.SpringSecurityWebErrorHandler.ACCESS_DENIED;
+import static me.alidg.errors.handlers.SpringSecurityWebErrorHandler.AUTH_REQUIRED;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+import static org.springframework.http.HttpMethod.GET;
+import static org.springframework.http.HttpMethod.POST;
+import static org.springframework.http.HttpStatus.*;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.http.MediaType.IMAGE_JPEG;
+import static org.springframework.http.MediaType.TEXT_PLAIN;
+
+/**
+ * Runs the reactive error path on an actual Netty server with BlockHound installed, so any blocking call on the
+ * event-loop threads would fail the test. With the default properties, the errors are rendered by the Spring Boot's
+ * default exception handler using the {@link me.alidg.errors.adapter.attributes.ReactiveErrorAttributes}. These
+ * tests are executed by a dedicated failsafe execution, in a separate JVM, as BlockHound instruments the whole JVM
+ * and needs the {@code -XX:+AllowRedefinitionToAddDeleteMethods} on JDK 13+.
+ *
+ * @see NonBlockingReactiveDirectWriteIT
+ */
+@RunWith(JUnitParamsRunner.class)
+@SpringBootTest(classes = {ReactiveApplication.class, NonBlockingReactiveIT.NonBlockingConfig.class}, webEnvironment = RANDOM_PORT)
+@TestPropertySource(properties = {
+    "errors.expose-arguments=non_empty",
+    "spring.main.allow-bean-definition-overriding=true",
+    "spring.main.web-application-type=reactive"
+})
+public class NonBlockingReactiveIT {
+
+    @ClassRule
+    public static final SpringClassRule springClassRule = new SpringClassRule();
+
+    /**
+     * The blocking calls detected on the non-blocking threads.
+     */
+    private static final List<String> blockingCalls = new CopyOnWriteArrayList<>();
+
+    @Rule
+    public final SpringMethodRule springMethodRule = new SpringMethodRule();
+
+    @Autowired
+    private WebTestClient client;
+
+    /**
+     * The Reactor Netty event-loop threads should be marked as non-blocking explicitly, as the Netty versions
+     * before 4.1.44 don't register their own BlockHound integration. Also, Spring reads the controller's class
+     * file to discover its parameter names and Hibernate Validator loads its message bundles on the first
+     * violation. Both are one-off framework concerns and are cached afterwards.
+     */
+    @BeforeClass
+    public static void installBlockHound() {
+        BlockHound.builder()
+            .nonBlockingThreadPredicate(current -> current.or(thread -> thread.getName().startsWith("reactor-http-")))
+            .allowBlockingCallsInside(LocalVariableTableParameterNameDiscoverer.class.getName(), "inspectClass")
+            .allowBlockingCallsInside(PlatformResourceBundleLocator.class.getName(), "getResourceBundle")
+            .blockingMethodCallback(method -> {
+                blockingCalls.add(method + " on " + Thread.currentThread().getName());
+                throw new BlockingOperationError(method);
+            })
+            .install();
+    }
+
+    @Before
+    public void setUp() {
+        blockingCalls.clear();
+    }
+
+    @After
+    public void tearDown() {
+        assertThat(blockingCalls).isEmpty();
+    }
+
+    @Test
+    @Parameters(method = "provideFailingGetRequests")
+    public void getRequests_ShouldBeHandledWithoutBlocking(String uri, HttpStatus expectedStatus,
+                                                           String expectedCode, String expectedMessage) {
+        client.get().uri(uri).accept(APPLICATION_JSON).exchange()
+            .expectStatus().isEqualTo(expectedStatus)
+            .expectBody()
+            .jsonPath("$.errors[0].code").isEqualTo(expectedCode)
+            .jsonPath("$.errors[0].message").value(is(expectedMessage))
+            .jsonPath("$.fingerprint").exists();
+    }
+
+    @Test
+    public void notAcceptableErrors_ShouldBeHandledWithoutBlocking() {
+        client.get().uri("/test/param?name=ali").accept(IMAGE_JPEG).exchange()
+            .expectStatus().isEqualTo(NOT_ACCEPTABLE);
+    }
+
+    @Test
+    @Parameters(method = "provideInvalidBodies")
+    public void validationErrors_ShouldBeHandledWithoutBlocking(String body, String expectedCode, String expectedMessage) {
+        client.post().uri("/test")
+            .cookie("XSRF-TOKEN", "token").header("X-XSRF-TOKEN", "token")
+            .contentType(APPLICATION_JSON).bodyValue(body).exchange()
+            .expectStatus().isBadRequest()
+            .expectBody()
+            .jsonPath("$.errors[0].code").isEqualTo(expectedCode)
+            .jsonPath("$.errors[0].message").value(is(expectedMessage))
+            .jsonPath("$.fingerprint").exists();
+    }
+
+    @Test
+    public void unsupportedMediaTypes_ShouldBeHandledWithoutBlocking() {
+        client.post().uri("/test")
+            .cookie("XSRF-TOKEN", "token").header("X-XSRF-TOKEN", "token")
+            .contentType(TEXT_PLAIN).bodyValue("gibberish").exchange()
+            .expectStatus().isEqualTo(UNSUPPORTED_MEDIA_TYPE)
+            .expectBody()
+            .jsonPath("$.errors[0].code").isEqualTo(NOT_SUPPORTED);
+    }
+
+    @Test
+    public void missingCsrfTokens_ShouldBeHandledWithoutBlocking() {
+        client.post().uri("/test").contentType(APPLICATION_JSON).bodyValue("{}").exchange()
+            .expectStatus().isForbidden()
+            .expectBody()
+            .jsonPath("$.errors[0].code").isEqualTo(ACCESS_DENIED);
+    }
+
+    @Test
+    public void accessDeniedErrors_ShouldBeHandledWithoutBlocking() {
+        client.post().uri("/test/protected")
+            .cookie("XSRF-TOKEN", "token").header("X-XSRF-TOKEN", "token")
+            .headers(headers -> headers.setBasicAuth("user", "password")).exchange()
+            .expectStatus().isForbidden()
+            .expectBody()
+            .jsonPath("$.errors[0].code").isEqualTo(ACCESS_DENIED);
+    }
+
+    private Object[] provideFailingGetRequests() {
+        return p(
+            p("/test", UNPROCESSABLE_ENTITY, "invalid_params", "Params are: a, c and 10"),
+            p("/should_not_be_found", NOT_FOUND, NO_HANDLER, null),
+            p("/test/default-codes", METHOD_NOT_ALLOWED, ServletWebErrorHandler.METHOD_NOT_ALLOWED,
+                "GET method is not supported"),
+            p("/test/param", BAD_REQUEST, MISSING_PARAMETER, "Parameter name of type String is required"),
+            p("/test/header", BAD_REQUEST, MISSING_HEADER, null),
+            p("/test/cookie", BAD_REQUEST, MISSING_COOKIE, null),
+            p("/test/matrix", BAD_REQUEST, MISSING_MATRIX_VARIABLE, null),
+            p("/test/type-mismatch?number=invalid", BAD_REQUEST, "binding.type_mismatch.number", null),
+            p("/test/protected", UNAUTHORIZED, AUTH_REQUIRED, null)
+        );
+    }
+
+    private Object[] provideInvalidBodies() {
+        return p(
+            p("{}", "text.required", "The text is required"),
+            p("gibberish", INVALID_OR_MISSING_BODY, null)
+        );
+    }
+
+    /**
+     * Unlike the mock server, an actual server needs a CSRF token repository and a user store to exercise the
+     * security errors. Also, since the Tomcat is on the classpath too, the Netty server should be registered
+     * explicitly. Otherwise, the requests would be served by the Tomcat worker threads which BlockHound won't
+     * examine.
+     */
+    @TestConfiguration
+    static class NonBlockingConfig {
+
+        @Bean
+        public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+            return new NettyReactiveWebServerFactory();
+        }
+
+        @Bean
+        @Order(Ordered.HIGHEST_PRECEDENCE)
+        public SecurityWebFilterChain nonBlockingSecurityWebFilterChain(ServerHttpSecurity http,
+                                                                        ServerAccessDeniedHandler accessDeniedHandler,
+                                                                        ServerAuthenticationEntryPoint authenticationEntryPoint) {
+            return http
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                .requestCache().requestCache(NoOpServerRequestCache.getInstance())
+                .and()
+                .csrf()
+                .csrfTokenRepository(CookieServerCsrfTokenRepository.withHttpOnlyFalse())
+                .accessDeniedHandler(accessDeniedHandler)
+                .and()
+                .httpBasic()
+                .authenticationEntryPoint(authenticationEntryPoint)
+                .and()
+                .exceptionHandling()
+                .authenticationEntryPoint(authenticationEntryPoint)
+                .accessDeniedHandler(accessDeniedHandler)
+                .and()
+                .authorizeExchange()
+                .pathMatchers(GET, "/test/protected").authenticated()
+                .pathMatchers(POST, "/test/protected").hasRole("ADMIN")
+                .anyExchange().permitAll()
+                .and().build();
+        }
+
+        @Bean
+        public MapReactiveUserDetailsService userDetailsService() {
+            return new MapReactiveUserDetailsService(User.withUsername("user").password("{noop}password").roles("USER").build());
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package me.alidg.errors.reactive;
+
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Runs the reactive integration tests with the {@link me.alidg.errors.webflux.ErrorsWebExceptionHandler} writing
+ * the errors directly, instead of the Spring Boot's default exception handler.
+ */
+@TestPropertySource(properties = "errors.reactive.direct-write=true")
+public class ReactiveDirectWriteIT extends ReactiveIT {
+}
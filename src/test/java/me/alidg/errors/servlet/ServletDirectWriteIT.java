@@ -0,0 +1,11 @@
+package me.alidg.errors.servlet;
+
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Runs the servlet integration tests with the Spring Security handlers writing the errors directly, instead of
+ * going through the container ERROR dispatch.
+ */
+@TestPropertySource(properties = "errors.servlet.direct-write=true")
+public class ServletDirectWriteIT extends ServletIT {
+}
@@ -0,0 +1,109 @@
+package me.alidg.errors.servlet;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * JMH benchmarks comparing the {@link me.alidg.errors.mvc.ErrorsControllerAdvice} and the
+ * {@link me.alidg.errors.mvc.ErrorsHandlerExceptionResolver} paths, both under the {@link MockMvc} and an embedded
+ * Tomcat. Each invocation sends a request to an endpoint throwing an {@code @ExceptionMapping} exception. In order
+ * to run the benchmarks, first compile the test classes and then run the {@link #main(String[])} method with the
+ * test classpath. The usual JMH options, e.g. {@code -wi} or {@code -i}, may be passed as arguments:
+ * <pre>
+ *     ./mvnw test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ *     java -cp target/test-classes:target/classes:$(cat target/cp.txt) \
+ *         me.alidg.errors.servlet.ServletExceptionResolverBenchmark -wi 5 -i 10 -r 2
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ServletExceptionResolverBenchmark {
+
+    /**
+     * Whether the {@link me.alidg.errors.mvc.ErrorsHandlerExceptionResolver} is enabled.
+     */
+    @Param({"false", "true"})
+    private boolean exceptionResolver;
+
+    private ConfigurableApplicationContext context;
+    private MockMvc mvc;
+    private URL url;
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        new Runner(new OptionsBuilder()
+            .parent(new CommandLineOptions(args))
+            .include(ServletExceptionResolverBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        context = new SpringApplicationBuilder(ServletApplication.class)
+            .properties("server.port=0", "logging.level.root=warn",
+                "errors.servlet.exception-resolver=" + exceptionResolver)
+            .run();
+        mvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context).build();
+
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        url = new URL("http://localhost:" + port + "/test");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int mockMvc() throws Exception {
+        return mvc.perform(get("/test")).andReturn().getResponse().getContentLength();
+    }
+
+    @Benchmark
+    public int embeddedTomcat() throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        try {
+            int status = connection.getResponseCode();
+            try (InputStream body = connection.getErrorStream()) {
+                if (body != null) while (body.read() != -1) ;
+            }
+
+            return status;
+        } finally {
+            connection.disconnect();
+        }
+    }
+}
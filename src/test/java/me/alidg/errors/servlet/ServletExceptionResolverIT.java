@@ -0,0 +1,11 @@
+package me.alidg.errors.servlet;
+
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Runs the servlet integration tests with the {@link me.alidg.errors.mvc.ErrorsHandlerExceptionResolver} handling
+ * the Spring MVC exceptions, instead of the {@link me.alidg.errors.mvc.ErrorsControllerAdvice}.
+ */
+@TestPropertySource(properties = "errors.servlet.exception-resolver=true")
+public class ServletExceptionResolverIT extends ServletIT {
+}
@@ -0,0 +1,154 @@
+package me.alidg.errors.webflux;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import junitparams.JUnitParamsRunner;
+import junitparams.Parameters;
+import me.alidg.errors.ReactiveWebErrorHandlers;
+import me.alidg.errors.WebErrorHandlers;
+import me.alidg.errors.adapter.DefaultHttpErrorAttributesAdapter;
+import me.alidg.errors.adapter.HttpErrorAttributesAdapter;
+import me.alidg.errors.annotation.ExceptionMapping;
+import me.alidg.errors.annotation.ExposeAsArg;
+import me.alidg.errors.conf.ErrorsProperties;
+import me.alidg.errors.conf.ErrorsProperties.ArgumentExposure;
+import me.alidg.errors.handlers.AnnotatedWebErrorHandler;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.context.support.StaticMessageSource;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Collections;
+import java.util.Locale;
+
+import static me.alidg.Params.p;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+
+/**
+ * Unit tests for {@link ErrorsWebExceptionHandler}.
+ */
+@RunWith(JUnitParamsRunner.class)
+public class ErrorsWebExceptionHandlerTest {
+
+    @Test
+    @Parameters(method = "provideInvalidParamsToConstructor")
+    public void constructor_ShouldEnforceItsPreconditions(ReactiveWebErrorHandlers handlers,
+                                                          HttpErrorAttributesAdapter adapter,
+                                                          ErrorsProperties properties,
+                                                          ObjectMapper objectMapper,
+                                                          String expectedMessage) {
+        assertThatThrownBy(() -> new ErrorsWebExceptionHandler(handlers, adapter, properties, objectMapper))
+            .isInstanceOf(NullPointerException.class)
+            .hasMessage(expectedMessage);
+    }
+
+    @Test
+    @Parameters(method = "provideParamsForDirectWrite")
+    public void handle_ShouldWriteTheDefaultRepresentationDirectly(ArgumentExposure exposure, String expectedBody) {
+        ErrorsProperties properties = new ErrorsProperties();
+        properties.setExposeArguments(exposure);
+        MockServerWebExchange exchange = exchange();
+
+        handler(properties, new DefaultHttpErrorAttributesAdapter(properties))
+            .handle(exchange, new InvalidException("abc")).block();
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(BAD_REQUEST);
+        assertThat(exchange.getResponse().getHeaders().getContentType()).isEqualTo(APPLICATION_JSON);
+        assertThat(exchange.getResponse().getBodyAsString().block()).isEqualTo(expectedBody);
+    }
+
+    @Test
+    public void handle_ShouldSerializeCustomRepresentations() {
+        ErrorsProperties properties = new ErrorsProperties();
+        MockServerWebExchange exchange = exchange();
+
+        handler(properties, error -> Collections.singletonMap("status", error.getHttpStatus().value()))
+            .handle(exchange, new InvalidException("abc")).block();
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(BAD_REQUEST);
+        assertThat(exchange.getResponse().getBodyAsString().block()).isEqualTo("{\"status\":400}");
+    }
+
+    @Test
+    public void handle_ShouldExposeThePathOfNotFoundExceptions() {
+        ErrorsProperties properties = new ErrorsProperties();
+        properties.setExposeArguments(ArgumentExposure.NON_EMPTY);
+        MockServerWebExchange exchange = exchange();
+
+        handler(properties, new DefaultHttpErrorAttributesAdapter(properties))
+            .handle(exchange, new ResponseStatusException(HttpStatus.NOT_FOUND)).block();
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(exchange.getResponse().getBodyAsString().block())
+            .isEqualTo("{\"errors\":[{\"code\":\"web.no_handler\",\"message\":null,\"arguments\":{\"path\":\"/test\"}}]}");
+    }
+
+    @Test
+    public void handle_ShouldNotWriteCommittedResponses() {
+        ErrorsProperties properties = new ErrorsProperties();
+        MockServerWebExchange exchange = exchange();
+        exchange.getResponse().setComplete().block();
+
+        assertThatThrownBy(() -> handler(properties, new DefaultHttpErrorAttributesAdapter(properties))
+            .handle(exchange, new InvalidException("abc")).block())
+            .isInstanceOf(InvalidException.class);
+    }
+
+    private Object[] provideInvalidParamsToConstructor() {
+        ReactiveWebErrorHandlers handlers = mock(ReactiveWebErrorHandlers.class);
+        HttpErrorAttributesAdapter adapter = mock(HttpErrorAttributesAdapter.class);
+        ErrorsProperties properties = new ErrorsProperties();
+
+        return p(
+            p(null, null, null, null, "Web error handlers is required"),
+            p(handlers, null, null, null, "Adapter is required"),
+            p(handlers, adapter, null, null, "Errors properties is required"),
+            p(handlers, adapter, properties, null, "Object mapper is required")
+        );
+    }
+
+    private Object[] provideParamsForDirectWrite() {
+        return p(
+            p(ArgumentExposure.NEVER, "{\"errors\":[{\"code\":\"invalid\",\"message\":\"Invalid abc\"}]}"),
+            p(ArgumentExposure.NON_EMPTY,
+                "{\"errors\":[{\"code\":\"invalid\",\"message\":\"Invalid abc\",\"arguments\":{\"value\":\"abc\"}}]}"),
+            p(ArgumentExposure.ALWAYS,
+                "{\"errors\":[{\"code\":\"invalid\",\"message\":\"Invalid abc\",\"arguments\":{\"value\":\"abc\"}}]}")
+        );
+    }
+
+    private ErrorsWebExceptionHandler handler(ErrorsProperties properties, HttpErrorAttributesAdapter adapter) {
+        StaticMessageSource messageSource = new StaticMessageSource();
+        messageSource.addMessage("invalid", Locale.getDefault(), "Invalid {0}");
+
+        WebErrorHandlers handlers = WebErrorHandlers.builder(messageSource)
+            .withErrorsProperties(properties)
+            .withErrorHandlers(new AnnotatedWebErrorHandler())
+            .build();
+        ReactiveWebErrorHandlers reactiveHandlers = new ReactiveWebErrorHandlers(handlers, Schedulers.immediate(),
+            null, null, Collections.emptyList());
+        return new ErrorsWebExceptionHandler(reactiveHandlers, adapter, properties, new ObjectMapper());
+    }
+
+    private MockServerWebExchange exchange() {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/test"));
+    }
+
+    @ExceptionMapping(statusCode = BAD_REQUEST, errorCode = "invalid")
+    private static class InvalidException extends RuntimeException {
+
+        @ExposeAsArg(0)
+        private final String value;
+
+        private InvalidException(String value) {
+            this.value = value;
+        }
+    }
+}